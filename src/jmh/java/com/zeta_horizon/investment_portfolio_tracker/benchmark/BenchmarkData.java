@@ -0,0 +1,108 @@
+package com.zeta_horizon.investment_portfolio_tracker.benchmark;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.LedgerEntryProjection;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.Portfolio;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Deterministic in-memory fixtures shared by the benchmarks, so every run and
+ * every commit measures the same shapes of data.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    // a plain mock records every call it answers, growing with the iterations measured
+    static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    static User user(UserRole role) {
+        return User.builder()
+                .id(UUID.nameUUIDFromBytes(role.name().getBytes()))
+                .name("Benchmark " + role.name())
+                .email(role.name().toLowerCase() + "@example.com")
+                .passwordHash("secret")
+                .role(role)
+                .build();
+    }
+
+    static List<InvestmentProduct> products(int count) {
+        InvestmentType[] types = InvestmentType.values();
+        RiskLevel[] risks = RiskLevel.values();
+        List<InvestmentProduct> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(InvestmentProduct.builder()
+                    .id(i + 1)
+                    .name("Product " + i)
+                    .type(types[i % types.length])
+                    .riskLevel(risks[i % risks.length])
+                    .minimumInvestment(new BigDecimal("100.00"))
+                    .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                    .currentNetAssetValuePerUnit(BigDecimal.valueOf(1000 + i % 9000, 2))
+                    .description("Benchmark product " + i)
+                    .isActive(true)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                    .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                    .build());
+        }
+        return products;
+    }
+
+    static List<Portfolio> holdings(User user, List<InvestmentProduct> products) {
+        List<Portfolio> holdings = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            holdings.add(Portfolio.builder()
+                    .id(i + 1)
+                    .user(user)
+                    .investmentProduct(products.get(i))
+                    .unitsOwned(BigDecimal.valueOf(1 + i % 50))
+                    .avgPurchasePrice(new BigDecimal("12.5000"))
+                    .build());
+        }
+        return holdings;
+    }
+
+    // one buy per product, then a partial sell of every tenth, in date order
+    static List<LedgerEntryProjection> ledger(List<InvestmentProduct> products) {
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 10, 0);
+        List<LedgerEntryProjection> ledger = new ArrayList<>();
+        int id = 1;
+        for (int i = 0; i < products.size(); i++) {
+            ledger.add(entry(id++, products.get(i).getId(), TransactionType.BUY, BigDecimal.TEN,
+                    new BigDecimal("10.00"), start.plusHours(i)));
+        }
+        for (int i = 0; i < products.size(); i += 10) {
+            ledger.add(entry(id++, products.get(i).getId(), TransactionType.SELL, BigDecimal.ONE,
+                    new BigDecimal("11.00"), start.plusHours(products.size() + i)));
+        }
+        return ledger;
+    }
+
+    private static LedgerEntryProjection entry(int id, Integer productId, TransactionType type, BigDecimal units,
+                                               BigDecimal nav, LocalDateTime date) {
+        return new LedgerEntryProjection() {
+            public Integer getId() { return id; }
+            public Integer getProductId() { return productId; }
+            public TransactionType getTxnType() { return type; }
+            public BigDecimal getUnits() { return units; }
+            public BigDecimal getNavAtTxn() { return nav; }
+            public LocalDateTime getTxnDate() { return date; }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.zeta_horizon.investment_portfolio_tracker.benchmark;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.entity.UserPrincipal;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.JWTServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on every authenticated request: the JWT filter parses the
+ * token for the username and validates it against the loaded user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "gmmPXxn19o6o3k9qDP78rFDFuPGpoi4u95fT9gYKnp0=";
+
+    private JWTServiceImpl jwtService;
+    private User user;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JWTServiceImpl();
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", SECRET);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .name("Benchmark User")
+                .email("benchmark@example.com")
+                .passwordHash("secret")
+                .role(UserRole.USER)
+                .build();
+        principal = new UserPrincipal(user);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(token, principal);
+    }
+}
@@ -0,0 +1,121 @@
+package com.zeta_horizon.investment_portfolio_tracker.benchmark;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
+import com.zeta_horizon.investment_portfolio_tracker.dto.InvestmentProductListDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketAttachment;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.SupportTicketMapper;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.TicketMessageMapper;
+import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.InvestmentProductServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Entity to DTO mapping: the ModelMapper product list behind GET /investments
+ * and the support ticket mapper on threads of 10 to 10k messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private InvestmentProductServiceImpl investmentProductService;
+    private SupportTicketMapper ticketMapper;
+    private SupportTicket thread;
+
+    @Setup
+    public void setUp() {
+        InvestmentProductRepository investmentProductRepository = BenchmarkData.stub(InvestmentProductRepository.class);
+        when(investmentProductRepository.findByIsActiveTrue()).thenReturn(BenchmarkData.products(size));
+        investmentProductService = new InvestmentProductServiceImpl(investmentProductRepository,
+                BenchmarkData.stub(NavHistoryService.class), BenchmarkData.stub(TwoTierCache.class));
+
+        ticketMapper = new SupportTicketMapper(new TicketMessageMapper());
+        thread = thread(size);
+    }
+
+    @Benchmark
+    public List<InvestmentProductListDto> activeProductsWithModelMapper() {
+        return investmentProductService.getAllActiveProducts();
+    }
+
+    @Benchmark
+    public SupportTicketResponseDto ticketWithLargeThread() {
+        return ticketMapper.toResponseDto(thread);
+    }
+
+    // alternating customer and admin messages, stored newest first so the mapper has to sort, every tenth
+    // with an attachment
+    private static SupportTicket thread(int messages) {
+        User customer = BenchmarkData.user(UserRole.USER);
+        User admin = BenchmarkData.user(UserRole.ADMIN);
+        InvestmentProduct product = BenchmarkData.products(1).get(0);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        SupportTicket ticket = SupportTicket.builder()
+                .id(UUID.nameUUIDFromBytes("ticket".getBytes()))
+                .user(customer)
+                .assignedAdmin(admin)
+                .investmentProduct(product)
+                .subject("Benchmark thread")
+                .description("A long support conversation")
+                .status(TicketStatus.RESPONDED)
+                .priority(Priority.HIGH)
+                .createdAt(start)
+                .updatedAt(start.plusMinutes(messages))
+                .build();
+        List<TicketMessage> thread = new ArrayList<>(messages);
+        for (int i = messages - 1; i >= 0; i--) {
+            User sender = i % 2 == 0 ? customer : admin;
+            TicketMessage message = TicketMessage.builder()
+                    .id(new UUID(0, i))
+                    .supportTicket(ticket)
+                    .sender(sender)
+                    .senderType(sender.getRole())
+                    .message("Message " + i + " about the redemption that has not arrived yet")
+                    .timestamp(start.plusMinutes(i))
+                    .attachments(i % 10 == 0 ? Set.of(TicketAttachment.builder()
+                            .id(new UUID(1, i))
+                            .fileName("statement-" + i + ".pdf")
+                            .contentType("application/pdf")
+                            .size(48_000L)
+                            .build()) : Set.of())
+                    .build();
+            thread.add(message);
+        }
+        ticket.setMessages(thread);
+        return ticket;
+    }
+}
@@ -0,0 +1,101 @@
+package com.zeta_horizon.investment_portfolio_tracker.benchmark;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.GainLossDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioPerformanceDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioResponseDto;
+import com.zeta_horizon.investment_portfolio_tracker.cache.InMemorySharedCacheStore;
+import com.zeta_horizon.investment_portfolio_tracker.cache.NavHistoryCache;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReadYourWritesWindow;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.NavHistoryRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.PortfolioRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TransactionRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.NavHistoryServiceImpl;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.PortfolioAnalyticsServiceImpl;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.PortfolioServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Portfolio read paths over 10, 100 and 10k holdings with the repositories
+ * answering from memory, so the scores are the Java side only: the holding to
+ * DTO mapping behind GET /portfolio, the gain/loss loop and the performance
+ * replay over the ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortfolioBenchmark {
+
+    @Param({"10", "100", "10000"})
+    private int holdings;
+
+    private User user;
+    private PortfolioServiceImpl portfolioService;
+    private PortfolioAnalyticsServiceImpl analyticsService;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user(UserRole.USER);
+        List<InvestmentProduct> products = BenchmarkData.products(holdings);
+
+        PortfolioRepository portfolioRepository = BenchmarkData.stub(PortfolioRepository.class);
+        TransactionRepository transactionRepository = BenchmarkData.stub(TransactionRepository.class);
+        InvestmentProductRepository investmentProductRepository = BenchmarkData.stub(InvestmentProductRepository.class);
+        when(portfolioRepository.findByUser(user)).thenReturn(BenchmarkData.holdings(user, products));
+        when(transactionRepository.findLedgerByUserId(user.getId())).thenReturn(BenchmarkData.ledger(products));
+        when(investmentProductRepository.findAllById(any())).thenReturn(products);
+        // a cache that always misses, so the performance score is the replay
+        TwoTierCache twoTierCache = BenchmarkData.stub(TwoTierCache.class);
+        when(twoTierCache.get(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+
+        NavHistoryRepository navHistoryRepository = BenchmarkData.stub(NavHistoryRepository.class);
+        NavHistoryServiceImpl navHistoryService = new NavHistoryServiceImpl(navHistoryRepository,
+                investmentProductRepository, new NavHistoryCache(navHistoryRepository));
+
+        portfolioService = new PortfolioServiceImpl(portfolioRepository, investmentProductRepository,
+                transactionRepository, new ReadYourWritesWindow(new InMemorySharedCacheStore(100), 5_000), twoTierCache);
+        analyticsService = new PortfolioAnalyticsServiceImpl(portfolioRepository, transactionRepository,
+                investmentProductRepository, navHistoryService, twoTierCache);
+    }
+
+    // maps every holding through mapToPortfolioItemDto and sums the totals
+    @Benchmark
+    public PortfolioResponseDto userPortfolio() {
+        return portfolioService.getUserPortfolio(user);
+    }
+
+    @Benchmark
+    public List<GainLossDto> gainLossAnalysis() {
+        return analyticsService.getGainLossAnalysis(user);
+    }
+
+    @Benchmark
+    public PortfolioPerformanceDto performance() {
+        return analyticsService.getPortfolioPerformance(user);
+    }
+}
@@ -0,0 +1,109 @@
+package com.zeta_horizon.investment_portfolio_tracker.benchmark;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.NavSeries;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
+import com.zeta_horizon.investment_portfolio_tracker.dto.LedgerEntryProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioValuePointDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.SeriesInterval;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.PortfolioRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TransactionRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.PortfolioAnalyticsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Daily value series behind GET /portfolio/value-series for a ledger of 50k
+ * transactions across 40 products over three years, each product with a daily
+ * NAV history. The ledger and the NAV series come from memory, so the score is
+ * the replay alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueSeriesBenchmark {
+
+    private static final int PRODUCTS = 40;
+    private static final int TRANSACTIONS = 50_000;
+    private static final LocalDate START = LocalDate.of(2021, 1, 1);
+    private static final LocalDate END = LocalDate.of(2023, 12, 31);
+
+    private User user;
+    private PortfolioAnalyticsServiceImpl analyticsService;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user(UserRole.USER);
+        int days = (int) (END.toEpochDay() - START.toEpochDay()) + 1;
+
+        List<NavSeries.Snapshot> navs = new ArrayList<>(PRODUCTS);
+        for (int p = 0; p < PRODUCTS; p++) {
+            NavSeries series = new NavSeries();
+            for (int d = 0; d < days; d++) {
+                series.put(START.plusDays(d), BigDecimal.valueOf(1000 + (d * (p + 1)) % 500, 2));
+            }
+            navs.add(series.snapshot());
+        }
+        NavHistoryService navHistoryService = BenchmarkData.stub(NavHistoryService.class);
+        when(navHistoryService.getNavSnapshot(anyInt())).thenAnswer(inv -> navs.get(inv.<Integer>getArgument(0)));
+
+        // every fifth transaction sells what an earlier buy added, spread evenly over the range
+        List<LedgerEntryProjection> ledger = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            LocalDateTime at = START.atStartOfDay().plusMinutes((long) i * days * 24 * 60 / TRANSACTIONS);
+            ledger.add(entry(i, i % PRODUCTS, i % 5 == 4 ? TransactionType.SELL : TransactionType.BUY, at));
+        }
+        TransactionRepository transactionRepository = BenchmarkData.stub(TransactionRepository.class);
+        when(transactionRepository.streamLedgerByUserIdBefore(eq(user.getId()), any()))
+                .thenAnswer(inv -> ledger.stream());
+
+        analyticsService = new PortfolioAnalyticsServiceImpl(BenchmarkData.stub(PortfolioRepository.class),
+                transactionRepository, BenchmarkData.stub(InvestmentProductRepository.class), navHistoryService,
+                BenchmarkData.stub(TwoTierCache.class));
+    }
+
+    @Benchmark
+    public List<PortfolioValuePointDto> dailyValueSeries() {
+        return analyticsService.getPortfolioValueSeries(user, START, END, SeriesInterval.DAY);
+    }
+
+    private static LedgerEntryProjection entry(int id, Integer productId, TransactionType type, LocalDateTime date) {
+        BigDecimal units = new BigDecimal("1.5000");
+        BigDecimal nav = new BigDecimal("10.00");
+        return new LedgerEntryProjection() {
+            public Integer getId() { return id; }
+            public Integer getProductId() { return productId; }
+            public TransactionType getTxnType() { return type; }
+            public BigDecimal getUnits() { return units; }
+            public BigDecimal getNavAtTxn() { return nav; }
+            public LocalDateTime getTxnDate() { return date; }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.zeta_horizon.investment_portfolio_tracker.loadtest;
+
+import com.zeta_horizon.investment_portfolio_tracker.InvestmentPortfolioTrackerApplication;
+import com.zeta_horizon.investment_portfolio_tracker.seed.SeedPlan;
+import com.zeta_horizon.investment_portfolio_tracker.seed.SyntheticDataGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+/**
+ * The application started in this JVM on an in-memory H2 database, seeded with a
+ * small synthetic dataset, for runs without a PostgreSQL instance at hand. The
+ * numbers are only comparable with other stand-in runs: driver and server share
+ * the CPU, and H2 is not PostgreSQL.
+ */
+final class EmbeddedStandIn implements AutoCloseable {
+
+    static final int CUSTOMERS = 2_000;
+    static final int ADMINS = 5;
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedStandIn(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static EmbeddedStandIn start(String password) throws Exception {
+        // command-line arguments, so they win over the PostgreSQL settings in application.properties
+        ConfigurableApplicationContext context = SpringApplication.run(InvestmentPortfolioTrackerApplication.class,
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--support.search.engine=memory",
+                "--support.attachments.dir=attachments",
+                "--logging.level.root=WARN");
+        // a fixed plan, so stand-in runs on different commits face the same data
+        SeedPlan plan = new SeedPlan(42, CUSTOMERS, ADMINS, 200, 100_000, 1_000, 6, 0.9, 1.1, 365,
+                LocalDateTime.of(2026, 1, 1, 0, 0), 5_000);
+        String hash = context.getBean(PasswordEncoder.class).encode(password);
+        new SyntheticDataGenerator(context.getBean(DataSource.class), plan, hash).generate();
+        return new EmbeddedStandIn(context);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,120 @@
+package com.zeta_horizon.investment_portfolio_tracker.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the request-thread cost of ticket creation under three execution modes
+ * with 2k clients arriving at once. Each database query is simulated by a short
+ * blocking sleep, so the numbers show scheduling overhead, not query cost.
+ *
+ * - legacy hop: 200 Tomcat-sized request threads, each handing the user and
+ *   product lookups to the old shared ThreadPoolExecutor(5, 10, CallerRunsPolicy)
+ *   and blocking on both futures.
+ * - direct platform: the same 200 request threads running the lookups inline.
+ * - direct virtual: one virtual thread per request (spring.threads.virtual.enabled
+ *   on Java 21+); skipped when the JVM has no virtual threads.
+ *
+ * Thread counts are peak platform threads, as reported by the JVM, during the run.
+ * Timing depends on the machine, so this is run by hand rather than in the build:
+ *   mvn -Ploadtest -DskipTests test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.zeta_horizon.investment_portfolio_tracker.loadtest.ExecutorHopComparison
+ */
+public final class ExecutorHopComparison {
+
+    private static final int CLIENTS = 2_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long QUERY_MILLIS = 5;
+
+    private ExecutorHopComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        run("legacy hop", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), true);
+        run("direct platform", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), false);
+        ExecutorService virtualPerTask = newVirtualThreadPerTaskExecutor();
+        if (virtualPerTask != null) {
+            run("direct virtual", virtualPerTask, false);
+        } else {
+            System.out.println("direct virtual   skipped, virtual threads need Java 21+");
+        }
+    }
+
+    private static void run(String mode, ExecutorService requestExecutor, boolean hop) throws Exception {
+        ThreadPoolExecutor legacyPool = new ThreadPoolExecutor(5, 10, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(100), Executors.defaultThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        int baseline = threads.getThreadCount();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> requests = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            requests.add(requestExecutor.submit(() -> {
+                start.await();
+                createTicket(hop ? legacyPool : null);
+                return System.nanoTime();
+            }));
+        }
+        long wallStart = System.nanoTime();
+        start.countDown();
+
+        long[] latencies = new long[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            // client-side latency: from the moment all clients fire until this one is answered
+            latencies[i] = requests.get(i).get(60, TimeUnit.SECONDS) - wallStart;
+        }
+        double wallMillis = (System.nanoTime() - wallStart) / 1_000_000.0;
+        int peakThreads = threads.getPeakThreadCount() - baseline;
+        requestExecutor.shutdown();
+        legacyPool.shutdown();
+
+        Arrays.sort(latencies);
+        double p50 = latencies[CLIENTS / 2] / 1_000_000.0;
+        double p99 = latencies[(int) (CLIENTS * 0.99) - 1] / 1_000_000.0;
+        System.out.printf("%-16s clients=%d peakThreads=%d p50=%.1f ms p99=%.1f ms wall=%.0f ms%n",
+                mode, CLIENTS, peakThreads, p50, p99, wallMillis);
+    }
+
+    // shape of SupportTicketServiceImpl.createTicket: two lookups, then the insert
+    private static void createTicket(ExecutorService hopPool) throws Exception {
+        if (hopPool != null) {
+            CompletableFuture<Void> user = CompletableFuture.runAsync(ExecutorHopComparison::query, hopPool);
+            CompletableFuture<Void> product = CompletableFuture.runAsync(ExecutorHopComparison::query, hopPool);
+            user.get();
+            product.get();
+        } else {
+            query();
+            query();
+        }
+        query();
+    }
+
+    private static void query() {
+        try {
+            Thread.sleep(QUERY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
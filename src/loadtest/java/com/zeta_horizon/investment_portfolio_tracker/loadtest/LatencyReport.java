@@ -0,0 +1,93 @@
+package com.zeta_horizon.investment_portfolio_tracker.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms. Samples are dropped outside {@link #start} and
+ * {@link #stop}, so the warm-up does not count.
+ */
+final class LatencyReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String endpoint, long latencyNanos, boolean failed) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+        stats.recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (failed) {
+            stats.errors.increment();
+        }
+    }
+
+    // p50/p99/p999 in milliseconds, and requests per second over the arrival window
+    void print(PrintStream out, double seconds) {
+        out.printf("%-46s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Histogram> entry : histograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            long errors = endpoints.get(entry.getKey()).errors.sum();
+            total.add(histogram);
+            totalErrors += errors;
+            printRow(out, entry.getKey(), histogram, errors, seconds);
+        }
+        printRow(out, "all", total, totalErrors, seconds);
+    }
+
+    // full percentile distributions, one block per endpoint, for HdrHistogram plotters
+    void printDistributions(PrintStream out) {
+        for (Map.Entry<String, Histogram> entry : histograms().entrySet()) {
+            out.println("# " + entry.getKey());
+            entry.getValue().outputPercentileDistribution(out, 1000.0);
+            out.println();
+        }
+    }
+
+    private Map<String, Histogram> histograms() {
+        Map<String, Histogram> histograms = new TreeMap<>();
+        endpoints.forEach((name, stats) -> histograms.put(name, stats.histogram()));
+        return histograms;
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf("%-46s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+        private Histogram snapshot;
+
+        // the recorder hands out each interval once, so the first read is kept
+        private synchronized Histogram histogram() {
+            if (snapshot == null) {
+                snapshot = recorder.getIntervalHistogram();
+            }
+            return snapshot;
+        }
+    }
+}
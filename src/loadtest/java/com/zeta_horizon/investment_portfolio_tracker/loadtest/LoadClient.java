@@ -0,0 +1,140 @@
+package com.zeta_horizon.investment_portfolio_tracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous JSON calls against the application, each one recorded in the
+ * {@link LatencyReport} under its endpoint template.
+ *
+ * Latency is measured from when a step was due, not from when it was sent, so a
+ * driver falling behind shows up in the numbers instead of hiding as a lower
+ * arrival rate.
+ */
+final class LoadClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LatencyReport report;
+    private final long thinkMillis;
+
+    LoadClient(String baseUrl, LatencyReport report, long thinkMillis) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.report = report;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * One user's walk through a scenario: holds the token and when the next step is due.
+     */
+    final class Session {
+
+        private String token;
+        private long dueNanos;
+
+        Session(long arrivalNanos) {
+            this.dueNanos = arrivalNanos;
+        }
+
+        CompletableFuture<Void> login(String email, String password) {
+            JsonBody body = new JsonBody().put("email", email).put("passwordHash", password);
+            return send("POST /auth/login", request("/auth/login").POST(body.publisher(mapper)), false)
+                    .thenAccept(response -> token = response.body());
+        }
+
+        CompletableFuture<JsonNode> get(String endpoint, String path) {
+            return json(endpoint, request(path).GET());
+        }
+
+        CompletableFuture<JsonNode> post(String endpoint, String path, JsonBody body) {
+            return json(endpoint, request(path).POST(body.publisher(mapper)));
+        }
+
+        CompletableFuture<JsonNode> put(String endpoint, String path, JsonBody body) {
+            return json(endpoint, request(path).PUT(body.publisher(mapper)));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json");
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private CompletableFuture<JsonNode> json(String endpoint, HttpRequest.Builder request) {
+            return send(endpoint, request, true).thenApply(response -> {
+                try {
+                    return response.body().isEmpty() ? mapper.nullNode() : mapper.readTree(response.body());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        // waits for the step to come due, then sends and records; non-2xx fails the session
+        private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest.Builder request,
+                                                             boolean afterThinkTime) {
+            if (afterThinkTime) {
+                dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+            }
+            long due = dueNanos;
+            Executor whenDue = CompletableFuture.delayedExecutor(Math.max(0, due - System.nanoTime()),
+                    TimeUnit.NANOSECONDS);
+            return CompletableFuture.supplyAsync(() -> request.build(), whenDue)
+                    .thenCompose(built -> http.sendAsync(built, HttpResponse.BodyHandlers.ofString()))
+                    .handle((response, failure) -> {
+                        boolean failed = failure != null || response.statusCode() / 100 != 2;
+                        report.record(endpoint, System.nanoTime() - due, failed);
+                        if (failure != null) {
+                            throw new CompletionException(failure);
+                        }
+                        if (failed) {
+                            throw new CompletionException(new IOException(
+                                    endpoint + " answered " + response.statusCode()));
+                        }
+                        return response;
+                    });
+        }
+    }
+
+    /**
+     * Flat JSON request body.
+     */
+    static final class JsonBody {
+
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+
+        JsonBody put(String name, Object value) {
+            fields.put(name, value);
+            return this;
+        }
+
+        private HttpRequest.BodyPublisher publisher(ObjectMapper mapper) {
+            try {
+                return HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(fields));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
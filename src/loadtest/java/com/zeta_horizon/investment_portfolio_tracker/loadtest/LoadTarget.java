@@ -0,0 +1,20 @@
+package com.zeta_horizon.investment_portfolio_tracker.loadtest;
+
+import java.util.Random;
+
+/**
+ * The application under test and the accounts the sessions sign in with, the
+ * {@code userN} and {@code adminN} accounts written by the seed profile.
+ */
+record LoadTarget(String baseUrl, int customers, int admins, String password) {
+
+    private static final String EMAIL_DOMAIN = "@seed.example";
+
+    String customerEmail(Random random) {
+        return "user" + random.nextInt(customers) + EMAIL_DOMAIN;
+    }
+
+    String adminEmail(Random random) {
+        return "admin" + random.nextInt(admins) + EMAIL_DOMAIN;
+    }
+}
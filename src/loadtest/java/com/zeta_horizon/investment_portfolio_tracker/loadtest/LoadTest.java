@@ -0,0 +1,192 @@
+package com.zeta_horizon.investment_portfolio_tracker.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end HTTP load test with an open workload: sessions arrive as a Poisson
+ * process at {@code load.rate} per second whatever the response times, pick a
+ * {@link Scenario} by the {@code load.mix} weights and walk through it. A slow
+ * server therefore builds up sessions in flight, as real traffic would, instead
+ * of slowing the driver down and hiding its own latency.
+ *
+ * Runs against {@code load.base-url}, normally an instance on PostgreSQL loaded
+ * by the seed profile, or when that is blank against an {@link EmbeddedStandIn}.
+ * Writes the per-endpoint report to {@code <load.label>.txt} and the full
+ * HdrHistogram distributions to {@code <load.label>.hgrm}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.base-url", "");
+        double rate = Double.parseDouble(System.getProperty("load.rate", "5"));
+        long warmupSeconds = Long.getLong("load.warmup", 10);
+        long durationSeconds = Long.getLong("load.duration", 60);
+        long thinkMillis = Long.getLong("load.think-ms", 200);
+        int maxSessions = Integer.getInteger("load.max-sessions", 5_000);
+        String password = System.getProperty("load.password", "password");
+        String label = System.getProperty("load.label", "latest");
+        Map<Scenario, Integer> mix = parseMix(System.getProperty("load.mix", "DASHBOARD=60,TRADER=25,CATALOG=5,SUPPORT=10"));
+
+        EmbeddedStandIn standIn = null;
+        LoadTarget target;
+        if (baseUrl.isBlank()) {
+            standIn = EmbeddedStandIn.start(password);
+            target = new LoadTarget(standIn.baseUrl(), EmbeddedStandIn.CUSTOMERS, EmbeddedStandIn.ADMINS, password);
+        } else {
+            target = new LoadTarget(baseUrl, Integer.getInteger("load.customers", 200_000),
+                    Integer.getInteger("load.admins", 20), password);
+        }
+
+        try {
+            LatencyReport report = new LatencyReport();
+            LoadClient client = new LoadClient(target.baseUrl(), report, thinkMillis);
+            Arrivals arrivals = new Arrivals(client, target, mix, rate, maxSessions);
+
+            System.out.printf("Warming up for %d s against %s%n", warmupSeconds, target.baseUrl());
+            arrivals.run(TimeUnit.SECONDS.toNanos(warmupSeconds));
+            arrivals.resetCounts();
+            report.start();
+            System.out.printf("Measuring for %d s at %.1f sessions/s%n", durationSeconds, rate);
+            arrivals.run(TimeUnit.SECONDS.toNanos(durationSeconds));
+            // sessions started in the window still count, their later steps land during the drain
+            arrivals.drain(TimeUnit.SECONDS.toNanos(30));
+            report.stop();
+
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            try (PrintStream out = new PrintStream(text, true, StandardCharsets.UTF_8)) {
+                out.printf("target %s, %.1f sessions/s offered, mix %s, think %d ms, %d s measured after %d s warm-up%n",
+                        target.baseUrl(), rate, mix, thinkMillis, durationSeconds, warmupSeconds);
+                arrivals.printCounts(out, durationSeconds);
+                out.println();
+                report.print(out, durationSeconds);
+            }
+            String summary = text.toString(StandardCharsets.UTF_8);
+            System.out.print(summary);
+            try (FileOutputStream file = new FileOutputStream(label + ".txt")) {
+                file.write(text.toByteArray());
+            }
+            try (PrintStream distributions = new PrintStream(new FileOutputStream(label + ".hgrm"), true,
+                    StandardCharsets.UTF_8)) {
+                report.printDistributions(distributions);
+            }
+        } finally {
+            if (standIn != null) {
+                standIn.close();
+            }
+        }
+        // HttpClient selector and delayed executor threads would otherwise keep the JVM alive
+        System.exit(0);
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(Scenario.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * The arrival process and the session bookkeeping.
+     */
+    private static final class Arrivals {
+
+        private final LoadClient client;
+        private final LoadTarget target;
+        private final Scenario[] scenarios;
+        private final int[] cumulativeWeights;
+        private final double rate;
+        private final int maxSessions;
+        // only the dispatching thread draws from it
+        private final SplittableRandom random = new SplittableRandom();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder started = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private Arrivals(LoadClient client, LoadTarget target, Map<Scenario, Integer> mix, double rate,
+                         int maxSessions) {
+            this.client = client;
+            this.target = target;
+            this.rate = rate;
+            this.maxSessions = maxSessions;
+            this.scenarios = mix.keySet().toArray(new Scenario[0]);
+            this.cumulativeWeights = new int[scenarios.length];
+            int sum = 0;
+            for (int i = 0; i < scenarios.length; i++) {
+                sum += mix.get(scenarios[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        // exponential gaps between arrivals; each session is scheduled at its arrival time, not when this loop gets to it
+        private void run(long windowNanos) {
+            long end = System.nanoTime() + windowNanos;
+            long next = System.nanoTime();
+            while (true) {
+                next += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+                if (next >= end) {
+                    LockSupport.parkNanos(end - System.nanoTime());
+                    return;
+                }
+                LockSupport.parkNanos(next - System.nanoTime());
+                if (inFlight.get() >= maxSessions) {
+                    dropped.increment();
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                started.increment();
+                pickScenario().run(client.new Session(next), target).whenComplete((ignored, failure) -> {
+                    inFlight.decrementAndGet();
+                    (failure == null ? completed : failed).increment();
+                });
+            }
+        }
+
+        private Scenario pickScenario() {
+            int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < scenarios.length; i++) {
+                if (draw < cumulativeWeights[i]) {
+                    return scenarios[i];
+                }
+            }
+            return scenarios[scenarios.length - 1];
+        }
+
+        private void drain(long timeoutNanos) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            }
+        }
+
+        private void resetCounts() {
+            started.reset();
+            completed.reset();
+            failed.reset();
+            dropped.reset();
+        }
+
+        private void printCounts(PrintStream out, long seconds) {
+            out.printf("sessions: %d started (%.1f/s), %d completed, %d failed, %d dropped at %d in flight, %d unfinished%n",
+                    started.sum(), started.sum() / (double) seconds, completed.sum(), failed.sum(), dropped.sum(),
+                    maxSessions, inFlight.get());
+        }
+    }
+}
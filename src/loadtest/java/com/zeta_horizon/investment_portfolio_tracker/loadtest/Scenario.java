@@ -0,0 +1,142 @@
+package com.zeta_horizon.investment_portfolio_tracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.zeta_horizon.investment_portfolio_tracker.loadtest.LoadClient.JsonBody;
+import com.zeta_horizon.investment_portfolio_tracker.loadtest.LoadClient.Session;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What an arriving user does. Every scenario starts with a login and runs its steps
+ * one after the other, as a browser session would; the sessions themselves arrive
+ * independently of how fast earlier ones finish.
+ */
+enum Scenario {
+
+    /** Customer opening the dashboard and paging through the ledger. */
+    DASHBOARD {
+        @Override
+        CompletableFuture<Void> run(Session session, LoadTarget target) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String ledgerPage = "/portfolio/transactions/filter?page=" + random.nextInt(3) + "&size=20"
+                    + (random.nextBoolean() ? "&txnType=" + (random.nextBoolean() ? "BUY" : "SELL") : "");
+            return session.login(target.customerEmail(random), target.password())
+                    .thenCompose(v -> session.get("GET /portfolio", "/portfolio"))
+                    .thenCompose(v -> session.get("GET /portfolio/summary", "/portfolio/summary"))
+                    .thenCompose(v -> session.get("GET /portfolio/allocation", "/portfolio/allocation"))
+                    .thenCompose(v -> session.get("GET /portfolio/gains", "/portfolio/gains"))
+                    .thenCompose(v -> session.get("GET /portfolio/transactions/filter", ledgerPage))
+                    .thenAccept(v -> { });
+        }
+    },
+
+    /** Customer buying a few products in a row, then trimming some holdings. */
+    TRADER {
+        @Override
+        CompletableFuture<Void> run(Session session, LoadTarget target) {
+            return session.login(target.customerEmail(ThreadLocalRandom.current()), target.password())
+                    .thenCompose(v -> session.get("GET /investments", "/investments"))
+                    .thenCompose(products -> {
+                        List<JsonNode> active = new ArrayList<>();
+                        products.path("data").forEach(active::add);
+                        CompletableFuture<JsonNode> burst = CompletableFuture.completedFuture(null);
+                        int buys = active.isEmpty() ? 0 : 2 + ThreadLocalRandom.current().nextInt(4);
+                        for (int i = 0; i < buys; i++) {
+                            JsonNode product = active.get(ThreadLocalRandom.current().nextInt(active.size()));
+                            burst = burst.thenCompose(r -> session.post("POST /portfolio/buy", "/portfolio/buy",
+                                    new JsonBody().put("investmentProductId", product.path("id").asInt())
+                                            .put("units", unitsToBuy(product))));
+                        }
+                        return burst;
+                    })
+                    .thenCompose(v -> session.get("GET /portfolio", "/portfolio"))
+                    .thenCompose(portfolio -> {
+                        CompletableFuture<JsonNode> sells = CompletableFuture.completedFuture(null);
+                        for (JsonNode holding : pick(portfolio.path("holdings"), 2)) {
+                            BigDecimal units = holding.path("unitsOwned").decimalValue()
+                                    .divide(BigDecimal.valueOf(4), 2, RoundingMode.DOWN);
+                            if (units.signum() > 0) {
+                                sells = sells.thenCompose(r -> session.post("POST /portfolio/sell", "/portfolio/sell",
+                                        new JsonBody().put("investmentProductId", holding.path("investmentProductId").asInt())
+                                                .put("units", units)));
+                            }
+                        }
+                        return sells;
+                    })
+                    .thenAccept(v -> { });
+        }
+    },
+
+    /** Admin moving the NAV of one catalog product. */
+    CATALOG {
+        @Override
+        CompletableFuture<Void> run(Session session, LoadTarget target) {
+            return session.login(target.adminEmail(ThreadLocalRandom.current()), target.password())
+                    .thenCompose(v -> session.get("GET /admin/investments", "/admin/investments"))
+                    .thenCompose(products -> {
+                        List<JsonNode> picked = pick(products.path("data"), 1);
+                        if (picked.isEmpty()) {
+                            return CompletableFuture.completedFuture(null);
+                        }
+                        JsonNode product = picked.get(0);
+                        BigDecimal nav = product.path("currentNetAssetValuePerUnit").decimalValue()
+                                .multiply(BigDecimal.valueOf(0.98 + 0.04 * ThreadLocalRandom.current().nextDouble()))
+                                .setScale(2, RoundingMode.HALF_UP)
+                                .max(new BigDecimal("0.01"));
+                        return session.put("PUT /admin/investments/{id}", "/admin/investments/" + product.path("id").asInt(),
+                                new JsonBody().put("currentNetAssetValuePerUnit", nav));
+                    })
+                    .thenAccept(v -> { });
+        }
+    },
+
+    /** Admin answering one of the open tickets assigned to them. */
+    SUPPORT {
+        @Override
+        CompletableFuture<Void> run(Session session, LoadTarget target) {
+            return session.login(target.adminEmail(ThreadLocalRandom.current()), target.password())
+                    .thenCompose(v -> session.get("GET /support/admin/assigned",
+                            "/support/admin/assigned?status=OPEN&size=20"))
+                    .thenCompose(page -> {
+                        List<JsonNode> picked = pick(page.path("items"), 1);
+                        if (picked.isEmpty()) {
+                            return CompletableFuture.completedFuture(null);
+                        }
+                        String ticketId = picked.get(0).path("ticketId").asText();
+                        return session.put("PUT /support/reply/", "/support/reply/", new JsonBody()
+                                        .put("ticketId", ticketId)
+                                        .put("responseMessage", "Thanks for your patience, this is resolved now.")
+                                        .put("status", "RESPONDED"))
+                                .thenCompose(r -> session.get("GET /support/ticket/{id}/messages",
+                                        "/support/ticket/" + ticketId + "/messages?limit=20"));
+                    })
+                    .thenAccept(v -> { });
+        }
+    };
+
+    abstract CompletableFuture<Void> run(Session session, LoadTarget target);
+
+    // the smallest whole number of units meeting the product minimum, times one to three
+    private static BigDecimal unitsToBuy(JsonNode product) {
+        BigDecimal nav = product.path("currentNetAssetValuePerUnit").decimalValue();
+        BigDecimal minimum = product.path("minimumInvestment").decimalValue();
+        BigDecimal units = nav.signum() > 0 ? minimum.divide(nav, 0, RoundingMode.CEILING) : BigDecimal.ONE;
+        return units.max(BigDecimal.ONE).multiply(BigDecimal.valueOf(1 + ThreadLocalRandom.current().nextInt(3)));
+    }
+
+    private static List<JsonNode> pick(JsonNode array, int count) {
+        List<JsonNode> all = new ArrayList<>();
+        array.forEach(all::add);
+        List<JsonNode> picked = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!all.isEmpty() && picked.size() < count) {
+            picked.add(all.remove(random.nextInt(all.size())));
+        }
+        return picked;
+    }
+}
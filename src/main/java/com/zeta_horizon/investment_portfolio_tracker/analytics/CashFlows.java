@@ -0,0 +1,38 @@
+package com.zeta_horizon.investment_portfolio_tracker.analytics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Growable list of dated cash flows backed by primitive arrays, fed to {@link ReturnCalculator#xirr}.
+ */
+public final class CashFlows {
+
+    private static final double SECONDS_PER_DAY = 86_400.0;
+
+    private double[] days = new double[8];
+    private double[] amounts = new double[8];
+    private int size;
+
+    public void add(LocalDateTime at, double amount) {
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            amounts = Arrays.copyOf(amounts, size * 2);
+        }
+        days[size] = at.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_DAY;
+        amounts[size] = amount;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return annualised money-weighted return as a fraction, or NaN when it is undefined
+     */
+    public double xirr() {
+        return ReturnCalculator.xirr(days, amounts, size);
+    }
+}
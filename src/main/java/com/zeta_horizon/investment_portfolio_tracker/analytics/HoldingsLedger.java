@@ -0,0 +1,93 @@
+package com.zeta_horizon.investment_portfolio_tracker.analytics;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.LedgerEntryProjection;
+import com.zeta_horizon.investment_portfolio_tracker.entity.CheckpointHolding;
+import com.zeta_horizon.investment_portfolio_tracker.entity.HoldingsCheckpoint;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Units and average purchase price per product, rebuilt by folding ledger
+ * entries in order. Averages follow the same rule as buying through the
+ * portfolio service: a buy blends the new NAV into the average, a sell keeps it.
+ */
+public final class HoldingsLedger {
+
+    // scale of the stored average purchase price, so replayed and checkpointed values compare equal
+    private static final int AVG_PRICE_SCALE = 4;
+
+    private final Map<Integer, CheckpointHolding> holdings = new LinkedHashMap<>();
+    private long transactionCount;
+    private Integer lastTransactionId;
+    private LocalDateTime lastTransactionDate;
+
+    public static HoldingsLedger from(HoldingsCheckpoint checkpoint) {
+        HoldingsLedger ledger = new HoldingsLedger();
+        for (CheckpointHolding holding : checkpoint.getHoldings()) {
+            ledger.holdings.put(holding.getInvestmentProductId(), new CheckpointHolding(
+                    holding.getInvestmentProductId(), holding.getUnitsOwned(), holding.getAvgPurchasePrice()));
+        }
+        ledger.transactionCount = checkpoint.getTransactionCount();
+        ledger.lastTransactionId = checkpoint.getLastTransactionId();
+        ledger.lastTransactionDate = checkpoint.getLastTransactionDate();
+        return ledger;
+    }
+
+    public void apply(LedgerEntryProjection entry) {
+        CheckpointHolding holding = holdings.computeIfAbsent(entry.getProductId(),
+                id -> new CheckpointHolding(id, BigDecimal.ZERO, BigDecimal.ZERO));
+
+        if (entry.getTxnType() == TransactionType.BUY) {
+            BigDecimal totalUnits = holding.getUnitsOwned().add(entry.getUnits());
+            if (holding.getUnitsOwned().signum() > 0) {
+                BigDecimal totalValue = holding.getUnitsOwned().multiply(holding.getAvgPurchasePrice())
+                        .add(entry.getUnits().multiply(entry.getNavAtTxn()));
+                holding.setAvgPurchasePrice(totalValue.divide(totalUnits, 2, RoundingMode.HALF_UP)
+                        .setScale(AVG_PRICE_SCALE));
+            } else {
+                holding.setAvgPurchasePrice(entry.getNavAtTxn().setScale(AVG_PRICE_SCALE, RoundingMode.HALF_UP));
+            }
+            holding.setUnitsOwned(totalUnits);
+        } else {
+            holding.setUnitsOwned(holding.getUnitsOwned().subtract(entry.getUnits()));
+        }
+        if (holding.getUnitsOwned().signum() <= 0) {
+            holdings.remove(entry.getProductId());
+        }
+
+        transactionCount++;
+        lastTransactionId = entry.getId();
+        lastTransactionDate = entry.getTxnDate();
+    }
+
+    /**
+     * @return a copy of the open positions, safe to store in a checkpoint
+     */
+    public List<CheckpointHolding> holdings() {
+        List<CheckpointHolding> copy = new ArrayList<>(holdings.size());
+        for (CheckpointHolding holding : holdings.values()) {
+            copy.add(new CheckpointHolding(holding.getInvestmentProductId(),
+                    holding.getUnitsOwned(), holding.getAvgPurchasePrice()));
+        }
+        return copy;
+    }
+
+    public long transactionCount() {
+        return transactionCount;
+    }
+
+    public Integer lastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public LocalDateTime lastTransactionDate() {
+        return lastTransactionDate;
+    }
+}
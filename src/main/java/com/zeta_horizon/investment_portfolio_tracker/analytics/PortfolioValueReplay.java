@@ -0,0 +1,133 @@
+package com.zeta_horizon.investment_portfolio_tracker.analytics;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.NavSeries;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Running unit balances of one portfolio, valued against NAV history while the
+ * ledger is replayed in date order.
+ *
+ * Balances live in parallel primitive arrays indexed through an open-addressing
+ * table keyed by product id, so applying a transaction allocates nothing. Units
+ * are held scaled by 10^4 (the scale of the units column) and therefore never
+ * drift. Each product keeps a cursor into its NAV series that only moves forward,
+ * which makes valuing a whole date range a single merge pass over the history.
+ * {@link #valueAt} must therefore be called with non-decreasing days.
+ */
+public final class PortfolioValueReplay {
+
+    public static final int UNITS_SCALE = 4;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double VALUE_DIVISOR = Math.pow(10, UNITS_SCALE + NavSeries.NAV_SCALE);
+
+    private final IntFunction<NavSeries.Snapshot> navLookup;
+
+    // open-addressing table holding dense index + 1, 0 marks a free slot
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+    private int[] productIds = new int[INITIAL_CAPACITY];
+    private long[] units = new long[INITIAL_CAPACITY];
+    private long[] lastTradedNavs = new long[INITIAL_CAPACITY];
+    private NavSeries.Snapshot[] series = new NavSeries.Snapshot[INITIAL_CAPACITY];
+    private int[] cursors = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public PortfolioValueReplay(IntFunction<NavSeries.Snapshot> navLookup) {
+        this.navLookup = navLookup;
+    }
+
+    /**
+     * Applies one transaction; positive units for a buy, negative for a sell.
+     */
+    public void apply(int productId, BigDecimal unitDelta, BigDecimal navAtTxn) {
+        int index = indexFor(productId);
+        units[index] += unitDelta.setScale(UNITS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        lastTradedNavs[index] = NavSeries.toScaled(navAtTxn);
+    }
+
+    /**
+     * Value of the balances applied so far, priced at the last recorded NAV on or
+     * before the given epoch day, or at the last traded NAV when the product has
+     * no history that far back.
+     */
+    public BigDecimal valueAt(int epochDay) {
+        double total = 0.0;
+        for (int i = 0; i < size; i++) {
+            if (units[i] == 0) {
+                continue;
+            }
+            total += (double) units[i] * navAt(i, epochDay);
+        }
+        return BigDecimal.valueOf(total / VALUE_DIVISOR).setScale(NavSeries.NAV_SCALE, RoundingMode.HALF_UP);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private long navAt(int index, int epochDay) {
+        NavSeries.Snapshot snapshot = series[index];
+        if (snapshot == null) {
+            return lastTradedNavs[index];
+        }
+        int cursor = cursors[index];
+        while (cursor + 1 < snapshot.size() && snapshot.dayAt(cursor + 1) <= epochDay) {
+            cursor++;
+        }
+        cursors[index] = cursor;
+        return cursor >= 0 ? snapshot.navAt(cursor) : lastTradedNavs[index];
+    }
+
+    private int indexFor(int productId) {
+        int mask = table.length - 1;
+        int slot = mix(productId) & mask;
+        while (table[slot] != 0) {
+            int index = table[slot] - 1;
+            if (productIds[index] == productId) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == productIds.length) {
+            grow();
+            return indexFor(productId);
+        }
+        int index = size++;
+        productIds[index] = productId;
+        NavSeries.Snapshot snapshot = navLookup.apply(productId);
+        series[index] = snapshot != null && snapshot.size() > 0 ? snapshot : null;
+        cursors[index] = -1;
+        table[slot] = index + 1;
+        return index;
+    }
+
+    private void grow() {
+        int capacity = productIds.length * 2;
+        productIds = Arrays.copyOf(productIds, capacity);
+        units = Arrays.copyOf(units, capacity);
+        lastTradedNavs = Arrays.copyOf(lastTradedNavs, capacity);
+        series = Arrays.copyOf(series, capacity);
+        cursors = Arrays.copyOf(cursors, capacity);
+
+        // keep the table at most half full
+        table = new int[capacity * 2];
+        int mask = table.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = mix(productIds[index]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index + 1;
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
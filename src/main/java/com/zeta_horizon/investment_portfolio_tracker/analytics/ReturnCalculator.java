@@ -0,0 +1,110 @@
+package com.zeta_horizon.investment_portfolio_tracker.analytics;
+
+/**
+ * Numeric core of the performance endpoint.
+ *
+ * Money-weighted return (XIRR) solves sum(cf_i / (1 + r)^(t_i / 365)) = 0 for the
+ * annual rate r, with t_i measured in days from the first cash flow. The solver
+ * first brackets a sign change of the NPV and then runs Newton steps that fall
+ * back to bisection whenever a step would leave the bracket or stalls, so it
+ * always converges once a bracket is found.
+ */
+public final class ReturnCalculator {
+
+    private static final double DAYS_PER_YEAR = 365.0;
+    private static final double TOLERANCE = 1e-10;
+    private static final int MAX_ITERATIONS = 200;
+    private static final double MIN_RATE = -0.9999;
+    private static final double MAX_RATE = 1e6;
+
+    private ReturnCalculator() {
+    }
+
+    /**
+     * Annualised internal rate of return of irregular cash flows.
+     *
+     * @param days    time of each flow in (fractional) days, in any order
+     * @param amounts flow amounts; money paid in is negative, money received is positive
+     * @param count   number of flows to use from the arrays
+     * @return the rate as a fraction (0.12 for 12%), or NaN if the flows have no root
+     */
+    public static double xirr(double[] days, double[] amounts, int count) {
+        if (count < 2) {
+            return Double.NaN;
+        }
+        double origin = days[0];
+        for (int i = 1; i < count; i++) {
+            origin = Math.min(origin, days[i]);
+        }
+
+        double low = MIN_RATE;
+        double high = 0.1;
+        double fLow = npv(days, amounts, count, origin, low);
+        double fHigh = npv(days, amounts, count, origin, high);
+        if (Double.isNaN(fLow)) {
+            return Double.NaN;
+        }
+        while (Math.signum(fLow) == Math.signum(fHigh)) {
+            if (high >= MAX_RATE) {
+                return Double.NaN;
+            }
+            low = high;
+            fLow = fHigh;
+            high = Math.min(MAX_RATE, high * 4 + 1);
+            fHigh = npv(days, amounts, count, origin, high);
+            if (Double.isNaN(fHigh)) {
+                return Double.NaN;
+            }
+        }
+        if (fLow == 0) {
+            return low;
+        }
+        if (fHigh == 0) {
+            return high;
+        }
+
+        double rate = (low + high) / 2;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double value = npv(days, amounts, count, origin, rate);
+            if (Math.abs(value) < TOLERANCE) {
+                return rate;
+            }
+            if (Math.signum(value) == Math.signum(fLow)) {
+                low = rate;
+                fLow = value;
+            } else {
+                high = rate;
+            }
+
+            double derivative = npvDerivative(days, amounts, count, origin, rate);
+            double next = derivative != 0 ? rate - value / derivative : Double.NaN;
+            if (!(next > low && next < high)) {
+                next = (low + high) / 2;
+            }
+            if (Math.abs(next - rate) < TOLERANCE * Math.max(1, Math.abs(rate))) {
+                return next;
+            }
+            rate = next;
+        }
+        return rate;
+    }
+
+    private static double npv(double[] days, double[] amounts, int count, double origin, double rate) {
+        double base = 1 + rate;
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += amounts[i] / Math.pow(base, (days[i] - origin) / DAYS_PER_YEAR);
+        }
+        return sum;
+    }
+
+    private static double npvDerivative(double[] days, double[] amounts, int count, double origin, double rate) {
+        double base = 1 + rate;
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            double years = (days[i] - origin) / DAYS_PER_YEAR;
+            sum -= years * amounts[i] / Math.pow(base, years + 1);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,52 @@
+package com.zeta_horizon.investment_portfolio_tracker.archive;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Turns an archived ticket into the bytes stored in {@code support_ticket_archive}
+ * and back. The snapshot is the response DTO, so reading it needs no joins, and
+ * it is gzipped because message threads are mostly repetitive text.
+ */
+@Component
+public class TicketArchiveCodec {
+
+    // own mapper so the stored format does not change with the web layer's Jackson settings
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public byte[] encode(SupportTicketResponseDto ticket) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode archived ticket " + ticket.getTicketId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public SupportTicketResponseDto decode(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return mapper.readValue(in, SupportTicketResponseDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode archived ticket", e);
+        }
+    }
+}
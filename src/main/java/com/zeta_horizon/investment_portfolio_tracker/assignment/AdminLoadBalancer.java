@@ -0,0 +1,134 @@
+package com.zeta_horizon.investment_portfolio_tracker.assignment;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.AdminLoadProjection;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Picks the admin for a new ticket: the one whose tickets that are not closed
+ * weigh least, a HIGH ticket weighing three LOW ones.
+ *
+ * Loads live in an {@link AdminLoadHeap} that is built from the database on
+ * first use and moved by {@link #assign} and {@link #release}. {@link #refresh}
+ * rebuilds it from the database, which picks up admins registered since and
+ * corrects loads changed outside the support service.
+ *
+ * A ticket being created is not in the database until its transaction commits,
+ * so what {@link #assign} reserved is kept aside until {@link #confirm} or
+ * {@link #cancel} and added on top of the counted loads by every refresh. A
+ * refresh that lands between the commit and its confirm counts that ticket
+ * twice until the next one, which only makes the admin look busier.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdminLoadBalancer {
+
+    private final UserRepository userRepository;
+    private final SupportTicketRepository ticketRepository;
+
+    private final AdminLoadHeap heap = new AdminLoadHeap();
+    // weight reserved by assign for tickets whose transaction has not completed yet
+    private final Map<UUID, Long> reserved = new HashMap<>();
+    private boolean loaded;
+
+    public static long weight(Priority priority) {
+        return switch (priority) {
+            case LOW -> 1;
+            case MEDIUM -> 2;
+            case HIGH -> 3;
+        };
+    }
+
+    /**
+     * Reserves the least loaded admin for a ticket of the given priority. The
+     * reservation is settled with {@link #confirm} or {@link #cancel} once the
+     * ticket is committed or not.
+     *
+     * @return the admin id, or null when there is no admin to assign to
+     */
+    public synchronized UUID assign(Priority priority) {
+        ensureLoaded();
+        UUID admin = heap.peek();
+        if (admin != null) {
+            heap.adjust(admin, weight(priority));
+            reserved.merge(admin, weight(priority), Long::sum);
+        }
+        return admin;
+    }
+
+    /**
+     * The ticket was committed: its weight is now counted from the database.
+     */
+    public synchronized void confirm(UUID admin, Priority priority) {
+        unreserve(admin, priority);
+    }
+
+    /**
+     * The ticket was not committed: gives back the weight its reservation added.
+     */
+    public synchronized void cancel(UUID admin, Priority priority) {
+        unreserve(admin, priority);
+        release(admin, priority);
+    }
+
+    /**
+     * Gives back the weight of a ticket that was closed.
+     */
+    public synchronized void release(UUID admin, Priority priority) {
+        if (loaded && admin != null) {
+            heap.adjust(admin, -weight(priority));
+        }
+    }
+
+    public synchronized void refresh() {
+        List<UUID> adminIds = userRepository.findIdsByRole(UserRole.ADMIN);
+        List<AdminLoadProjection> rows = ticketRepository.countOpenByAssignedAdmin(TicketStatus.CLOSED);
+
+        Map<UUID, Long> loads = new HashMap<>();
+        for (AdminLoadProjection row : rows) {
+            loads.merge(row.getAdminId(), weight(row.getPriority()) * row.getTotal(), Long::sum);
+        }
+        Set<UUID> current = new HashSet<>(adminIds);
+        for (UUID admin : heap.snapshot().keySet()) {
+            if (!current.contains(admin)) {
+                heap.remove(admin);
+            }
+        }
+        for (UUID admin : adminIds) {
+            heap.put(admin, loads.getOrDefault(admin, 0L) + reserved.getOrDefault(admin, 0L));
+        }
+        loaded = true;
+        log.debug("Refreshed admin loads for {} admins", heap.size());
+    }
+
+    public synchronized Map<UUID, Long> loads() {
+        ensureLoaded();
+        return heap.snapshot();
+    }
+
+    private void unreserve(UUID admin, Priority priority) {
+        if (admin != null) {
+            reserved.computeIfPresent(admin, (id, weight) -> weight > weight(priority) ? weight - weight(priority) : null);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            refresh();
+        }
+    }
+}
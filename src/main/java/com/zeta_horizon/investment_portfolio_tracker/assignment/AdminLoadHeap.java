@@ -0,0 +1,157 @@
+package com.zeta_horizon.investment_portfolio_tracker.assignment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary min-heap of admins ordered by load, with a position index so the load
+ * of any admin can be changed in O(log n) instead of rebuilding the heap. Ties
+ * are broken by admin id to keep assignment deterministic. Not thread-safe;
+ * {@link AdminLoadBalancer} guards it.
+ */
+public class AdminLoadHeap {
+
+    private UUID[] admins = new UUID[8];
+    private long[] loads = new long[8];
+    private int size;
+    private final Map<UUID, Integer> positions = new HashMap<>();
+
+    /**
+     * Adds the admin with the given load, or sets the load of an admin already in the heap.
+     */
+    public void put(UUID admin, long load) {
+        Integer position = positions.get(admin);
+        if (position != null) {
+            loads[position] = load;
+            fix(position);
+            return;
+        }
+        if (size == admins.length) {
+            admins = Arrays.copyOf(admins, size * 2);
+            loads = Arrays.copyOf(loads, size * 2);
+        }
+        admins[size] = admin;
+        loads[size] = load;
+        positions.put(admin, size);
+        siftUp(size++);
+    }
+
+    /**
+     * Changes the load of an admin by {@code delta}; unknown admins are ignored.
+     */
+    public boolean adjust(UUID admin, long delta) {
+        Integer position = positions.get(admin);
+        if (position == null) {
+            return false;
+        }
+        loads[position] += delta;
+        fix(position);
+        return true;
+    }
+
+    public boolean remove(UUID admin) {
+        Integer position = positions.remove(admin);
+        if (position == null) {
+            return false;
+        }
+        int last = --size;
+        if (position != last) {
+            move(last, position);
+            fix(position);
+        }
+        admins[last] = null;
+        return true;
+    }
+
+    /**
+     * @return the least loaded admin, or null when the heap is empty
+     */
+    public UUID peek() {
+        return size > 0 ? admins[0] : null;
+    }
+
+    public long load(UUID admin) {
+        Integer position = positions.get(admin);
+        return position != null ? loads[position] : 0;
+    }
+
+    public boolean contains(UUID admin) {
+        return positions.containsKey(admin);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Map<UUID, Long> snapshot() {
+        Map<UUID, Long> snapshot = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            snapshot.put(admins[i], loads[i]);
+        }
+        return snapshot;
+    }
+
+    private void fix(int position) {
+        if (position > 0 && less(position, (position - 1) / 2)) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!less(position, parent)) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && less(left, smallest)) {
+                smallest = left;
+            }
+            if (right < size && less(right, smallest)) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private boolean less(int a, int b) {
+        if (loads[a] != loads[b]) {
+            return loads[a] < loads[b];
+        }
+        return admins[a].compareTo(admins[b]) < 0;
+    }
+
+    private void swap(int a, int b) {
+        UUID admin = admins[a];
+        long load = loads[a];
+        admins[a] = admins[b];
+        loads[a] = loads[b];
+        admins[b] = admin;
+        loads[b] = load;
+        positions.put(admins[a], a);
+        positions.put(admins[b], b);
+    }
+
+    private void move(int from, int to) {
+        admins[to] = admins[from];
+        loads[to] = loads[from];
+        positions.put(admins[to], to);
+    }
+}
@@ -0,0 +1,9 @@
+package com.zeta_horizon.investment_portfolio_tracker.attachment;
+
+import java.nio.file.Path;
+
+/**
+ * What a download needs: the stored file and the headers to send with it.
+ */
+public record AttachmentContent(String fileName, String contentType, long size, String sha256, Path path) {
+}
@@ -0,0 +1,102 @@
+package com.zeta_horizon.investment_portfolio_tracker.attachment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Attachment bytes on local disk, addressed by their SHA-256.
+ *
+ * An upload is copied in fixed-size chunks to a temporary file in the same
+ * directory tree while it is hashed, then renamed to {@code ab/cd/<hash>}. The
+ * same content uploaded twice is stored once, and a stored file never changes,
+ * so it can be served with a strong ETag and read by any number of requests.
+ */
+@Slf4j
+@Component
+public class AttachmentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA_256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public AttachmentStore(@Value("${support.attachments.dir:data/attachments}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create attachment directory " + incoming, e);
+        }
+        log.info("Storing ticket attachments under {}", this.root);
+    }
+
+    /**
+     * Streams the content to disk, never holding more than one buffer of it in memory.
+     *
+     * @throws IllegalArgumentException if the content is empty or longer than {@code maxBytes}
+     */
+    public StoredFile store(InputStream content, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        Path temporary = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            long size = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new IllegalArgumentException("Attachment is larger than " + maxBytes + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("Attachment must not be empty");
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = path(hash);
+            if (Files.exists(target)) {
+                log.debug("Attachment content {} already stored", hash);
+            } else {
+                Files.createDirectories(target.getParent());
+                // a concurrent upload of the same content renames identical bytes over it
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredFile(hash, size);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public Path path(String sha256) {
+        if (sha256 == null || !SHA_256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 content address: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
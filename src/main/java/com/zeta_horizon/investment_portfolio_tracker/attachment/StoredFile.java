@@ -0,0 +1,7 @@
+package com.zeta_horizon.investment_portfolio_tracker.attachment;
+
+/**
+ * Content written by {@link AttachmentStore#store}, identified by its SHA-256 in hex.
+ */
+public record StoredFile(String sha256, long size) {
+}
@@ -0,0 +1,37 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import java.util.UUID;
+
+/**
+ * Invalidation tags of {@link TwoTierCache}. A cached value names the tags it was
+ * computed from, a write invalidates the tags of what it changed.
+ */
+public final class CacheTags {
+
+    // any field of any product, for values computed from many products
+    public static final String ANY_PRODUCT = "products";
+
+    // everything, sent when invalidations may have been missed
+    public static final String ALL = "*";
+
+    private static final String PRODUCT_PREFIX = "product:";
+
+    private CacheTags() {
+    }
+
+    public static String product(Integer productId) {
+        return PRODUCT_PREFIX + productId;
+    }
+
+    // a user's holdings and ledger
+    public static String portfolio(UUID userId) {
+        return "portfolio:" + userId;
+    }
+
+    /**
+     * The product id of a {@link #product} tag, or null for any other tag.
+     */
+    public static Integer productId(String tag) {
+        return tag.startsWith(PRODUCT_PREFIX) ? Integer.valueOf(tag.substring(PRODUCT_PREFIX.length())) : null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Shared tier held in the heap, for a single instance and for tests
+ * ({@code cache.shared.store=memory}, the default). Messages are delivered on the
+ * publishing thread to every subscriber of this store, so several
+ * {@link TwoTierCache}s on one store behave like instances on one Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.shared.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Cache<String, Stored> values;
+    private final List<Consumer<String>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InMemorySharedCacheStore(@Value("${cache.shared.maximum-size:10000}") long maximumSize) {
+        this.values = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @Override
+    public long[] versions(List<String> tags) {
+        long[] result = new long[tags.size()];
+        for (int i = 0; i < result.length; i++) {
+            AtomicLong version = versions.get(tags.get(i));
+            result[i] = version != null ? version.get() : 0;
+        }
+        return result;
+    }
+
+    @Override
+    public long increment(String tag) {
+        return versions.computeIfAbsent(tag, t -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public String get(String key) {
+        Stored stored = values.getIfPresent(key);
+        if (stored == null || stored.expiresAt() < System.nanoTime()) {
+            return null;
+        }
+        return stored.value();
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        values.put(key, new Stored(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void publish(String message) {
+        subscribers.forEach(subscriber -> subscriber.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> onMessage, Runnable onMessagesLost) {
+        // nothing is ever lost in process
+        subscribers.add(onMessage);
+    }
+
+    private record Stored(String value, long expiresAt) {
+    }
+}
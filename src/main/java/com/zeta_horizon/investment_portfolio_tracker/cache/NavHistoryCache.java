@@ -0,0 +1,117 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.NavPointProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.ProductNavPointProjection;
+import com.zeta_horizon.investment_portfolio_tracker.repository.NavHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory NAV history for every product that has been asked for.
+ *
+ * A product's series is read from the database once, on first access, and is
+ * afterwards kept current by {@link #record} calls made after each committed
+ * NAV change. Products that were never loaded are skipped by {@link #record};
+ * their first load already sees the committed row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NavHistoryCache {
+
+    private final NavHistoryRepository navHistoryRepository;
+
+    private final Map<Integer, NavSeries> seriesByProduct = new ConcurrentHashMap<>();
+
+    // bumped on every recorded NAV change or eviction, lets preload notice one racing its query
+    private final AtomicLong version = new AtomicLong();
+
+    public NavSeries.Snapshot snapshot(Integer productId) {
+        return seriesByProduct.computeIfAbsent(productId, this::load).snapshot();
+    }
+
+    public boolean isLoaded(Integer productId) {
+        return seriesByProduct.containsKey(productId);
+    }
+
+    /**
+     * Loads the series of every product in {@code productIds} that is not cached yet
+     * with one query, so a caller about to read many products does not load them one
+     * by one. A NAV change recorded while the query runs could be missing from its
+     * result, in that case the preloaded series are dropped again and load on first access.
+     */
+    public void preload(Collection<Integer> productIds) {
+        List<Integer> missing = new ArrayList<>();
+        for (Integer productId : productIds) {
+            if (!seriesByProduct.containsKey(productId)) {
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        long versionBefore = version.get();
+        Map<Integer, NavSeries> loaded = new HashMap<>();
+        for (Integer productId : missing) {
+            loaded.put(productId, new NavSeries());
+        }
+        for (ProductNavPointProjection point : navHistoryRepository.findPointsByProductIdIn(missing)) {
+            loaded.get(point.getProductId()).put(point.getNavDate(), point.getNav());
+        }
+        loaded.forEach(seriesByProduct::putIfAbsent);
+        if (version.get() != versionBefore) {
+            // only drops the series this call put in, a concurrent first load keeps its own
+            loaded.forEach(seriesByProduct::remove);
+            return;
+        }
+        log.debug("Preloaded NAV history for {} products", loaded.size());
+    }
+
+    public void record(Integer productId, LocalDate date, BigDecimal nav) {
+        // computeIfPresent waits for a concurrent first load of the same product
+        seriesByProduct.computeIfPresent(productId, (id, series) -> {
+            series.put(date, nav);
+            return series;
+        });
+        version.incrementAndGet();
+    }
+
+    /**
+     * Drops the product's series, it is read again on next access. For NAV changes
+     * committed by another instance, which this one cannot {@link #record}.
+     */
+    public void evict(Integer productId) {
+        seriesByProduct.remove(productId);
+        version.incrementAndGet();
+    }
+
+    public void evictAll() {
+        seriesByProduct.clear();
+        version.incrementAndGet();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    private NavSeries load(Integer productId) {
+        List<NavPointProjection> points = navHistoryRepository.findPointsByProductId(productId);
+        NavSeries series = new NavSeries();
+        for (NavPointProjection point : points) {
+            series.put(point.getNavDate(), point.getNav());
+        }
+        log.debug("Loaded {} NAV points for product id: {}", points.size(), productId);
+        return series;
+    }
+}
@@ -0,0 +1,109 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Columnar, date-ordered NAV history of a single investment product.
+ *
+ * Points are kept in two parallel primitive arrays: the epoch day of the point
+ * and the NAV scaled by 100 (the NAV column has two decimals). That is 12 bytes
+ * per point, and both as-of and range lookups are binary searches.
+ *
+ * Writers are serialised on the instance and publish a new {@link Snapshot}
+ * through a volatile field. Appends write past the published size, so readers
+ * holding an older snapshot never observe a partially written point.
+ */
+public final class NavSeries {
+
+    public static final int NAV_SCALE = 2;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile Snapshot snapshot = new Snapshot(new int[0], new long[0], 0);
+
+    /**
+     * Immutable view of the series at one point in time.
+     */
+    public record Snapshot(int[] days, long[] navs, int size) {
+
+        /**
+         * @return index of the last point on or before the given epoch day, or -1 if there is none
+         */
+        public int floorIndex(int epochDay) {
+            int idx = Arrays.binarySearch(days, 0, size, epochDay);
+            return idx >= 0 ? idx : -idx - 2;
+        }
+
+        /**
+         * @return index of the first point on or after the given epoch day, or size if there is none
+         */
+        public int ceilIndex(int epochDay) {
+            int idx = Arrays.binarySearch(days, 0, size, epochDay);
+            return idx >= 0 ? idx : -idx - 1;
+        }
+
+        public int dayAt(int index) {
+            return days[index];
+        }
+
+        public long navAt(int index) {
+            return navs[index];
+        }
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Records the NAV of a day, replacing the value if that day already has a point.
+     */
+    public synchronized void put(LocalDate date, BigDecimal nav) {
+        put((int) date.toEpochDay(), toScaled(nav));
+    }
+
+    synchronized void put(int epochDay, long scaledNav) {
+        Snapshot current = snapshot;
+        int size = current.size();
+        int idx = Arrays.binarySearch(current.days(), 0, size, epochDay);
+        if (idx >= 0) {
+            long[] navs = current.navs().clone();
+            navs[idx] = scaledNav;
+            snapshot = new Snapshot(current.days(), navs, size);
+            return;
+        }
+
+        int insertAt = -idx - 1;
+        int[] days = current.days();
+        long[] navs = current.navs();
+        if (size == days.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            days = Arrays.copyOf(days, capacity);
+            navs = Arrays.copyOf(navs, capacity);
+        } else if (insertAt < size) {
+            // shifting in place would be visible to readers of the current snapshot
+            days = days.clone();
+            navs = navs.clone();
+        }
+        System.arraycopy(days, insertAt, days, insertAt + 1, size - insertAt);
+        System.arraycopy(navs, insertAt, navs, insertAt + 1, size - insertAt);
+        days[insertAt] = epochDay;
+        navs[insertAt] = scaledNav;
+        snapshot = new Snapshot(days, navs, size + 1);
+    }
+
+    public static long toScaled(BigDecimal nav) {
+        return nav.setScale(NAV_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromScaled(long scaledNav) {
+        return BigDecimal.valueOf(scaledNav, NAV_SCALE);
+    }
+}
@@ -0,0 +1,122 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Shared tier on Redis, or anything speaking its protocol, at {@code cache.shared.redis-url}
+ * ({@code cache.shared.store=redis}).
+ *
+ * Values expire on their own; tag versions are plain counters and never expire,
+ * one small key per product and per user. Invalidations go out with PUBLISH on one
+ * channel. Pub/sub does not queue for a disconnected subscriber, so after the
+ * channel reconnects {@link TwoTierCache} is told messages may have been lost.
+ *
+ * The application does not start when Redis is unreachable: an instance without
+ * the channel would keep serving what other instances have changed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cache.shared.store", havingValue = "redis")
+public class RedisSharedCacheStore implements SharedCacheStore, AutoCloseable {
+
+    private static final String CHANNEL = "cache:invalidations";
+    private static final String VALUE_PREFIX = "cache:value:";
+    private static final String VERSION_PREFIX = "cache:version:";
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> connection;
+    private final StatefulRedisPubSubConnection<String, String> pubSub;
+
+    public RedisSharedCacheStore(@Value("${cache.shared.redis-url:redis://localhost:6379}") String url,
+                                 @Value("${cache.shared.redis-timeout-ms:500}") long timeoutMillis) {
+        this.client = RedisClient.create(url);
+        // a cache call that waits longer than a database query has no point, callers fall back to loading
+        client.setDefaultTimeout(Duration.ofMillis(timeoutMillis));
+        this.connection = client.connect();
+        this.pubSub = client.connectPubSub();
+    }
+
+    @Override
+    public long[] versions(List<String> tags) {
+        long[] result = new long[tags.size()];
+        if (tags.isEmpty()) {
+            return result;
+        }
+        List<KeyValue<String, String>> values = commands().mget(tags.stream()
+                .map(tag -> VERSION_PREFIX + tag)
+                .toArray(String[]::new));
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i).hasValue() ? Long.parseLong(values.get(i).getValue()) : 0;
+        }
+        return result;
+    }
+
+    @Override
+    public long increment(String tag) {
+        return commands().incr(VERSION_PREFIX + tag);
+    }
+
+    @Override
+    public String get(String key) {
+        return commands().get(VALUE_PREFIX + key);
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        commands().set(VALUE_PREFIX + key, value, SetArgs.Builder.px(ttl.toMillis()));
+    }
+
+    @Override
+    public void publish(String message) {
+        commands().publish(CHANNEL, message);
+    }
+
+    @Override
+    public void subscribe(Consumer<String> onMessage, Runnable onMessagesLost) {
+        pubSub.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String channel, String message) {
+                onMessage.accept(message);
+            }
+        });
+        // registered after the first connect, so every call is a reconnect; Lettuce subscribes again by itself
+        client.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> reconnected, SocketAddress socketAddress) {
+                if (reconnected == pubSub) {
+                    log.warn("Cache invalidation channel reconnected to {}, messages may have been lost", socketAddress);
+                    onMessagesLost.run();
+                }
+            }
+        });
+        pubSub.sync().subscribe(CHANNEL);
+    }
+
+    @Override
+    public void close() {
+        pubSub.close();
+        connection.close();
+        client.shutdown();
+    }
+
+    private RedisCommands<String, String> commands() {
+        return connection.sync();
+    }
+}
@@ -0,0 +1,44 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies product changes made on other instances to the caches that only ever see
+ * this instance's writes: Hibernate's second-level cache, whose cached active-product
+ * query goes with any product, and the NAV history. Changes made here already
+ * reached both when their transaction committed.
+ */
+@Slf4j
+@Component
+public class RemoteInvalidationListener {
+
+    private final NavHistoryCache navHistoryCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public RemoteInvalidationListener(TwoTierCache twoTierCache, NavHistoryCache navHistoryCache,
+                                      EntityManagerFactory entityManagerFactory) {
+        this.navHistoryCache = navHistoryCache;
+        this.entityManagerFactory = entityManagerFactory;
+        twoTierCache.onRemoteInvalidation(this::invalidated);
+    }
+
+    void invalidated(String tag) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (CacheTags.ALL.equals(tag)) {
+            cache.evictAllRegions();
+            navHistoryCache.evictAll();
+            return;
+        }
+        Integer productId = CacheTags.productId(tag);
+        if (productId != null) {
+            log.debug("Product id: {} changed on another instance, evicting local copies", productId);
+            cache.evictEntityData(InvestmentProduct.class, productId);
+            cache.evictDefaultQueryRegion();
+            navHistoryCache.evict(productId);
+        }
+    }
+}
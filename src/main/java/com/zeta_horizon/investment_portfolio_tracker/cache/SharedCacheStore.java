@@ -0,0 +1,43 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The tier of {@link TwoTierCache} shared by every application instance: the
+ * cached values, a version counter per invalidation tag, and the channel
+ * invalidations are broadcast on.
+ *
+ * Values are opaque strings here; the versions they were computed at travel
+ * inside them and are checked by {@link TwoTierCache}, so a store never has to
+ * order writes itself.
+ */
+public interface SharedCacheStore {
+
+    /**
+     * Current version of every tag, in order, 0 for a tag that was never invalidated.
+     */
+    long[] versions(List<String> tags);
+
+    /**
+     * Moves the tag to its next version and returns it.
+     */
+    long increment(String tag);
+
+    // the stored value, or null
+    String get(String key);
+
+    void put(String key, String value, Duration ttl);
+
+    /**
+     * Sends the message to the subscribers of every instance, this one included.
+     */
+    void publish(String message);
+
+    /**
+     * Registers for published messages. {@code onMessagesLost} runs when messages
+     * may have been missed, after the channel was reconnected.
+     */
+    void subscribe(Consumer<String> onMessage, Runnable onMessagesLost);
+}
@@ -0,0 +1,119 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketCountProjection;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of tickets per status and priority, kept in memory so the admin
+ * dashboard does not have to load tickets to count them.
+ *
+ * The counters are seeded by the first {@link #reconcile} with the grouped
+ * database counts and afterwards moved by {@link #ticketCreated} and
+ * {@link #statusChanged}, which the support service calls after each commit,
+ * and by {@link #ticketRemoved} when the archive job moves tickets out.
+ * Later reconciles only correct a cell when the same difference is seen twice
+ * in a row, so a commit whose update has not been applied yet is not mistaken
+ * for drift.
+ */
+@Slf4j
+@Component
+public class TicketQueueCounters {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final LongAdder[][] cells = new LongAdder[STATUSES.length][PRIORITIES.length];
+    private final long[][] pendingDrift = new long[STATUSES.length][PRIORITIES.length];
+    private boolean seeded;
+    private volatile LocalDateTime reconciledAt;
+
+    public TicketQueueCounters() {
+        for (LongAdder[] row : cells) {
+            for (int p = 0; p < row.length; p++) {
+                row[p] = new LongAdder();
+            }
+        }
+    }
+
+    public void ticketCreated(TicketStatus status, Priority priority) {
+        cells[status.ordinal()][priority.ordinal()].increment();
+    }
+
+    public void statusChanged(Priority priority, TicketStatus from, TicketStatus to) {
+        if (from == to) {
+            return;
+        }
+        cells[from.ordinal()][priority.ordinal()].decrement();
+        cells[to.ordinal()][priority.ordinal()].increment();
+    }
+
+    public void ticketRemoved(TicketStatus status, Priority priority) {
+        cells[status.ordinal()][priority.ordinal()].decrement();
+    }
+
+    public long count(TicketStatus status, Priority priority) {
+        return cells[status.ordinal()][priority.ordinal()].sum();
+    }
+
+    public Map<TicketStatus, Map<Priority, Long>> snapshot() {
+        Map<TicketStatus, Map<Priority, Long>> counts = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus status : STATUSES) {
+            Map<Priority, Long> row = new EnumMap<>(Priority.class);
+            for (Priority priority : PRIORITIES) {
+                row.put(priority, count(status, priority));
+            }
+            counts.put(status, row);
+        }
+        return counts;
+    }
+
+    public LocalDateTime reconciledAt() {
+        return reconciledAt;
+    }
+
+    /**
+     * Compares the counters with grouped database counts and corrects them.
+     *
+     * @return the number of cells that were corrected
+     */
+    public synchronized int reconcile(List<TicketCountProjection> databaseCounts) {
+        long[][] expected = new long[STATUSES.length][PRIORITIES.length];
+        for (TicketCountProjection row : databaseCounts) {
+            expected[row.getStatus().ordinal()][row.getPriority().ordinal()] = row.getTotal();
+        }
+        int corrected = 0;
+        for (int s = 0; s < STATUSES.length; s++) {
+            for (int p = 0; p < PRIORITIES.length; p++) {
+                long drift = expected[s][p] - cells[s][p].sum();
+                if (drift != 0 && seeded && drift != pendingDrift[s][p]) {
+                    // first sighting, may be a commit whose counter update is still on its way
+                    pendingDrift[s][p] = drift;
+                    continue;
+                }
+                if (drift != 0) {
+                    if (seeded) {
+                        log.warn("Ticket counter {}/{} drifted by {}, correcting", STATUSES[s], PRIORITIES[p], drift);
+                    }
+                    cells[s][p].add(drift);
+                    corrected++;
+                }
+                pendingDrift[s][p] = 0;
+            }
+        }
+        if (!seeded) {
+            log.info("Seeded ticket queue counters from {} grouped rows", databaseCounts.size());
+        }
+        seeded = true;
+        reconciledAt = LocalDateTime.now();
+        return corrected;
+    }
+}
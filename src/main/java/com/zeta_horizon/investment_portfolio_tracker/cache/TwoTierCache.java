@@ -0,0 +1,201 @@
+package com.zeta_horizon.investment_portfolio_tracker.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.PrimaryReads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Cache with a small in-process tier in front of the {@link SharedCacheStore} every
+ * instance reads, kept correct across instances with versioned invalidation tags.
+ *
+ * Every value is stored with the versions its tags had before it was computed. A
+ * write moves each tag it touched to a new version in the shared store once its
+ * transaction commits and broadcasts that version. A value is served only while
+ * none of its versions is behind: the shared tier is checked against the versions
+ * in the store, the local tier against the highest version this instance has been
+ * told about. Versions only grow, so invalidations arriving late or out of order
+ * never make an older value current again, and a value computed while a write was
+ * committing carries the old version and is dropped on its next read.
+ *
+ * Local entries live for {@code cache.local.ttl-ms} at most, which bounds how long
+ * a lost message can leave one stale. Values are loaded through {@link PrimaryReads},
+ * so the loader has to be the first database work of its transaction. When the
+ * shared store fails, values are computed without caching.
+ */
+@Slf4j
+@Component
+public class TwoTierCache {
+
+    private final SharedCacheStore sharedStore;
+    private final ObjectMapper objectMapper;
+    private final Duration sharedTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<String, LocalEntry> local;
+    // highest version announced per tag; kept longer than any local entry it may have to reject
+    private final Cache<String, Long> announcedVersions;
+    private final List<Consumer<String>> remoteListeners = new CopyOnWriteArrayList<>();
+
+    public TwoTierCache(SharedCacheStore sharedStore, ObjectMapper objectMapper,
+                        @Value("${cache.local.maximum-size:10000}") long localMaximumSize,
+                        @Value("${cache.local.ttl-ms:60000}") long localTtlMillis,
+                        @Value("${cache.shared.ttl-ms:600000}") long sharedTtlMillis) {
+        this.sharedStore = sharedStore;
+        this.objectMapper = objectMapper;
+        this.sharedTtl = Duration.ofMillis(sharedTtlMillis);
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis))
+                .build();
+        this.announcedVersions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis * 2))
+                .build();
+        sharedStore.subscribe(this::onMessage, this::onMessagesLost);
+    }
+
+    /**
+     * The value cached under the key, or the loader's result, cached for later calls
+     * until one of the tags is invalidated.
+     */
+    public <V> V get(String key, List<String> tags, Class<V> type, Supplier<V> loader) {
+        LocalEntry entry = local.getIfPresent(key);
+        if (entry != null && isCurrent(entry.versions(), tags)) {
+            return type.cast(entry.value());
+        }
+
+        long[] versions;
+        V value;
+        try {
+            // read before loading, a write committed meanwhile leaves the loaded value behind
+            versions = sharedStore.versions(tags);
+            value = readShared(key, versions, type);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Shared cache unavailable for {}, loading without caching: {}", key, e.toString());
+            return loader.get();
+        }
+        if (value == null) {
+            // every instance will serve this value, so it must not come from a lagging replica
+            value = PrimaryReads.call(loader);
+            writeShared(key, versions, value);
+        }
+        local.put(key, new LocalEntry(versions, value));
+        return value;
+    }
+
+    /**
+     * Invalidates the tags once the surrounding transaction commits, so no instance
+     * can reload the data before the change is visible. Runs immediately without a transaction.
+     */
+    public void invalidateAfterCommit(String... tags) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(tags);
+                }
+            });
+        } else {
+            invalidate(tags);
+        }
+    }
+
+    public void invalidate(String... tags) {
+        for (String tag : tags) {
+            try {
+                long version = sharedStore.increment(tag);
+                announce(tag, version);
+                sharedStore.publish(nodeId + " " + version + " " + tag);
+            } catch (RuntimeException e) {
+                // other instances keep their copies until they expire, this one stops caching the tag
+                log.error("Could not invalidate cache tag {}: {}", tag, e.toString());
+                announce(tag, Long.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Registers for tags invalidated by other instances, for caches outside this one
+     * that hold the same data. {@link CacheTags#ALL} stands for every tag.
+     */
+    public void onRemoteInvalidation(Consumer<String> listener) {
+        remoteListeners.add(listener);
+    }
+
+    private <V> V readShared(String key, long[] versions, Class<V> type) throws JsonProcessingException {
+        String stored = sharedStore.get(key);
+        if (stored == null) {
+            return null;
+        }
+        SharedEntry entry = objectMapper.readValue(stored, SharedEntry.class);
+        if (entry.versions().length != versions.length) {
+            return null;
+        }
+        for (int i = 0; i < versions.length; i++) {
+            if (entry.versions()[i] < versions[i]) {
+                return null;
+            }
+        }
+        return objectMapper.readValue(entry.value(), type);
+    }
+
+    private void writeShared(String key, long[] versions, Object value) {
+        try {
+            sharedStore.put(key, objectMapper.writeValueAsString(
+                    new SharedEntry(versions, objectMapper.writeValueAsString(value))), sharedTtl);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Could not store {} in the shared cache: {}", key, e.toString());
+        }
+    }
+
+    private boolean isCurrent(long[] versions, List<String> tags) {
+        for (int i = 0; i < versions.length; i++) {
+            Long announced = announcedVersions.getIfPresent(tags.get(i));
+            if (announced != null && announced > versions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void announce(String tag, long version) {
+        announcedVersions.asMap().merge(tag, version, Math::max);
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split(" ", 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed cache invalidation: {}", message);
+            return;
+        }
+        announce(parts[2], Long.parseLong(parts[1]));
+        if (!parts[0].equals(nodeId)) {
+            remoteListeners.forEach(listener -> listener.accept(parts[2]));
+        }
+    }
+
+    private void onMessagesLost() {
+        local.invalidateAll();
+        remoteListeners.forEach(listener -> listener.accept(CacheTags.ALL));
+    }
+
+    private record LocalEntry(long[] versions, Object value) {
+    }
+
+    // the value stays JSON text, a parsed tree would read decimals back as doubles
+    private record SharedEntry(long[] versions, String value) {
+    }
+}
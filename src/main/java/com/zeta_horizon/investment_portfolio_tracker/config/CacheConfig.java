@@ -0,0 +1,43 @@
+package com.zeta_horizon.investment_portfolio_tracker.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Hibernate's second-level cache, held in process by Caffeine behind JCache.
+ *
+ * Entities marked {@code @Cache}, their natural ids and queries hinted as cacheable
+ * are kept in the regions configured in {@code hibernate-cache.conf}. Entries are
+ * read-write: a change replaces the entry when its transaction commits, and cached
+ * query results are dropped once any table they read is written. Only writes made
+ * through this instance's Hibernate are seen this way.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache() {
+        return properties -> {
+            // one cache manager per session factory, Hibernate closes it with the factory; the fragment
+            // keeps the provider from handing the same manager to a second application context
+            URI uri = URI.create("classpath:hibernate-cache.conf#" + UUID.randomUUID());
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(uri, CacheConfig.class.getClassLoader());
+
+            properties.put(CacheSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(CacheSettings.USE_QUERY_CACHE, true);
+        };
+    }
+}
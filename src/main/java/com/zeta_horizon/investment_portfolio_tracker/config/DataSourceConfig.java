@@ -0,0 +1,120 @@
+package com.zeta_horizon.investment_portfolio_tracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.BulkheadRoutingDataSource;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReadYourWritesWindow;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReplicaRoutingDataSource;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingBulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The connection pools and the {@link DataSource} the application sees in front of them.
+ *
+ * The OLTP pool keeps the usual {@code spring.datasource.*} settings and serves
+ * everything not marked {@link com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingQuery}.
+ * The reporting pool is a separate, smaller pool on the same database, or on
+ * {@code datasource.reporting.url}, with a longer statement timeout. Listing JDBC
+ * URLs in {@code datasource.replica.urls} adds a read-only pool per replica behind
+ * the OLTP side, see {@link ReplicaRoutingDataSource}.
+ *
+ * Statement timeouts are set per connection with {@code SET statement_timeout}, on
+ * PostgreSQL only; other databases keep their default.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties properties,
+                                           @Value("${datasource.oltp.statement-timeout-ms:0}") long statementTimeoutMillis) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("oltp");
+        setStatementTimeout(dataSource, statementTimeoutMillis);
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource reportingDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.reporting.url:}") String url,
+            @Value("${datasource.reporting.maximum-pool-size:3}") int maximumPoolSize,
+            @Value("${datasource.reporting.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${datasource.reporting.statement-timeout-ms:60000}") long statementTimeoutMillis) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("reporting");
+        dataSource.setJdbcUrl(url.isBlank() ? properties.determineUrl() : url);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setUsername(properties.determineUsername());
+        dataSource.setPassword(properties.determinePassword());
+        // the bulkhead admits one call per connection, the wait only covers connections being replaced
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(1);
+        dataSource.setConnectionTimeout(connectionTimeoutMillis);
+        dataSource.setReadOnly(true);
+        setStatementTimeout(dataSource, statementTimeoutMillis);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.urls")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("oltpDataSource") HikariDataSource oltpDataSource, DataSourceProperties properties,
+            ReadYourWritesWindow readYourWritesWindow, MeterRegistry meterRegistry,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // a replica that is down at startup must not stop the application, the health check picks it up later
+            replica.setInitializationFailTimeout(-1);
+            // Boot only instruments the pools it finds as beans
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(oltpDataSource, replicas, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("oltpDataSource") HikariDataSource oltpDataSource,
+                                 @Qualifier("reportingDataSource") HikariDataSource reportingDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource,
+                                 ReportingBulkhead reportingBulkhead) {
+        DataSource replicas = replicaRoutingDataSource.getIfAvailable();
+        DataSource oltp = replicas != null ? replicas : oltpDataSource;
+        // routing needs the transaction's read-only flag and the bulkhead mark, both set after the connection is requested
+        return new LazyConnectionDataSourceProxy(
+                new BulkheadRoutingDataSource(oltp, reportingDataSource, reportingBulkhead));
+    }
+
+    private static void setStatementTimeout(HikariDataSource dataSource, long millis) {
+        String url = dataSource.getJdbcUrl();
+        if (millis > 0 && url != null && url.startsWith("jdbc:postgresql:")) {
+            dataSource.setConnectionInitSql("SET statement_timeout = " + millis);
+        }
+    }
+}
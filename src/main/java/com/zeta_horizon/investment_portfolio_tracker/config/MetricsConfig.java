@@ -0,0 +1,94 @@
+package com.zeta_horizon.investment_portfolio_tracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingBulkhead;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.filters.AllocationMetricsFilter;
+import com.zeta_horizon.investment_portfolio_tracker.realtime.TicketMessageWaiters;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application gauges served with the rest of the metrics on /actuator/prometheus.
+ *
+ * HTTP, HikariCP, Hibernate, repository and JVM metrics come from Spring Boot's
+ * auto-configuration and the service timers from {@code @Timed}; this adds the
+ * support state that lives in memory, the ticket message delivery threads and the
+ * saturation of the connection pools. Gauges are read at scrape time, so nothing is
+ * added to the request path.
+ *
+ * Requests run on virtual threads, which no pool owns, so there are no executor
+ * meters for them. A long poll or stream waits without a thread; replies reach it
+ * on the delivery threads, reported as {@code executor.*} with
+ * {@code name=ticket.message.delivery}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder supportTicketMetrics(TicketMessageWaiters messageWaiters, TicketQueueCounters queueCounters) {
+        return registry -> {
+            Gauge.builder("support.messages.waiting", messageWaiters, TicketMessageWaiters::waitingTotal)
+                    .description("Long-poll and stream clients waiting for a ticket reply")
+                    .register(registry);
+            new ExecutorServiceMetrics(messageWaiters.deliveryExecutor(), "ticket.message.delivery", Tags.empty())
+                    .bindTo(registry);
+            for (TicketStatus status : TicketStatus.values()) {
+                for (Priority priority : Priority.values()) {
+                    Gauge.builder("support.tickets", queueCounters, counters -> counters.count(status, priority))
+                            .description("Tickets in the live table by status and priority")
+                            .tag("status", status.name())
+                            .tag("priority", priority.name())
+                            .register(registry);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPoolMetrics(@Qualifier("oltpDataSource") HikariDataSource oltpDataSource,
+                                             @Qualifier("reportingDataSource") HikariDataSource reportingDataSource,
+                                             ReportingBulkhead reportingBulkhead) {
+        return registry -> {
+            for (HikariDataSource pool : new HikariDataSource[]{oltpDataSource, reportingDataSource}) {
+                Gauge.builder("datasource.pool.saturation", pool, MetricsConfig::saturation)
+                        .description("Share of the pool's connections in use, 1 when callers start to wait")
+                        .tag("pool", pool.getPoolName())
+                        .register(registry);
+            }
+            Gauge.builder("datasource.bulkhead.in.use", reportingBulkhead, ReportingBulkhead::inUse)
+                    .description("Reporting calls admitted and running")
+                    .tag("pool", reportingDataSource.getPoolName())
+                    .register(registry);
+            FunctionCounter.builder("datasource.bulkhead.rejected", reportingBulkhead, ReportingBulkhead::rejected)
+                    .description("Reporting calls refused because every reporting connection was taken")
+                    .tag("pool", reportingDataSource.getPoolName())
+                    .register(registry);
+        };
+    }
+
+    // virtual threads report no allocations, the filter would run on every request and record nothing
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AllocationMetricsFilter allocationMetricsFilter(MeterRegistry meterRegistry) {
+        return new AllocationMetricsFilter(meterRegistry);
+    }
+
+    // the pool starts on the first connection, until then nothing is in use
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean == null ? 0 : (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+}
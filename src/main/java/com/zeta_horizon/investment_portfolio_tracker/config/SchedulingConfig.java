@@ -0,0 +1,12 @@
+package com.zeta_horizon.investment_portfolio_tracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// the seed profile loads data and exits, the archive and auto-close jobs must not touch it half-loaded
+@Configuration
+@Profile("!seed")
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -5,14 +5,18 @@ import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
 import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
 import com.zeta_horizon.investment_portfolio_tracker.exception.ResourceNotFoundException;
 import com.zeta_horizon.investment_portfolio_tracker.service.InvestmentProductService;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,15 +28,19 @@ import java.util.List;
 public class InvestmentProductController {
 
     private final InvestmentProductService investmentProductService;
+    private final NavHistoryService navHistoryService;
 
     /**
-     * Constructor for dependency injection of InvestmentProductService.
+     * Constructor for dependency injection of InvestmentProductService and NavHistoryService.
      *
      * @param investmentProductService Service layer component for business logic
+     * @param navHistoryService Service serving the NAV price history of products
      */
     @Autowired
-    public InvestmentProductController(InvestmentProductService investmentProductService) {
+    public InvestmentProductController(InvestmentProductService investmentProductService,
+                                       NavHistoryService navHistoryService) {
         this.investmentProductService = investmentProductService;
+        this.navHistoryService = navHistoryService;
         log.info("InvestmentProductController initialized successfully");
     }
 
@@ -118,6 +126,69 @@ public class InvestmentProductController {
         }
     }
 
+    /**
+     * Retrieves the NAV history of an investment product, oldest point first.
+     *
+     * @param id The unique identifier of the investment product (must be positive integer)
+     * @param from Optional first day of the range (inclusive)
+     * @param to Optional last day of the range (inclusive)
+     * @return ResponseEntity containing SuccessResponse with the NAV points in the range
+     * @throws IllegalArgumentException if ID is invalid or from is after to
+     */
+    @GetMapping("/investments/{id}/nav-history")
+    public ResponseEntity<SuccessResponse<List<NavPointDto>>> getNavHistory(
+            @PathVariable Integer id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("GET /investments/{}/nav-history - from: {}, to: {}", id, from, to);
+
+        if (id == null || id <= 0) {
+            log.warn("Invalid product ID received: {}", id);
+            throw new IllegalArgumentException("Product ID must be a positive integer");
+        }
+
+        List<NavPointDto> points = navHistoryService.getNavHistory(id, from, to);
+
+        log.debug("Returning {} NAV points for product ID {}", points.size(), id);
+        return new ResponseEntity<>(new SuccessResponse<>(
+                HttpStatus.OK.value(),
+                points,
+                String.format("Successfully fetched %d NAV points for investment product with id %d", points.size(), id),
+                LocalDateTime.now()
+        ), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the NAV an investment product had on a given day.
+     *
+     * @param id The unique identifier of the investment product (must be positive integer)
+     * @param asOf The day to look up; the last NAV recorded on or before it is returned
+     * @return ResponseEntity containing SuccessResponse with the NAV point
+     * @throws ResourceNotFoundException if no NAV was recorded on or before that day
+     */
+    @GetMapping("/investments/{id}/nav")
+    public ResponseEntity<SuccessResponse<NavPointDto>> getNavAsOf(
+            @PathVariable Integer id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        log.info("GET /investments/{}/nav - asOf: {}", id, asOf);
+
+        if (id == null || id <= 0) {
+            log.warn("Invalid product ID received: {}", id);
+            throw new IllegalArgumentException("Product ID must be a positive integer");
+        }
+
+        BigDecimal nav = navHistoryService.getNavAsOf(id, asOf)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No NAV recorded for investment product " + id + " on or before " + asOf));
+
+        return new ResponseEntity<>(new SuccessResponse<>(
+                HttpStatus.OK.value(),
+                new NavPointDto(asOf, nav),
+                String.format("Successfully fetched NAV of investment product with id %d as of %s", id, asOf),
+                LocalDateTime.now()
+        ), HttpStatus.OK);
+    }
+
     /**
      * Retrieves all available investment types in the system.
      *
@@ -2,14 +2,21 @@ package com.zeta_horizon.investment_portfolio_tracker.controller;
 
 import com.zeta_horizon.investment_portfolio_tracker.dto.AssetAllocationDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.GainLossDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioAsOfDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioPerformanceDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioSummaryDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioValuePointDto;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
 import com.zeta_horizon.investment_portfolio_tracker.entity.UserPrincipal;
+import com.zeta_horizon.investment_portfolio_tracker.enums.SeriesInterval;
+import com.zeta_horizon.investment_portfolio_tracker.service.HoldingsCheckpointService;
 import com.zeta_horizon.investment_portfolio_tracker.service.PortfolioAnalyticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,6 +25,7 @@ import java.util.List;
 public class PortfolioAnalyticsController {
 
     private final PortfolioAnalyticsService portfolioAnalyticsService;
+    private final HoldingsCheckpointService holdingsCheckpointService;
 
     @GetMapping("/summary")
     public PortfolioSummaryDto getSummary(@AuthenticationPrincipal UserPrincipal userPrincipal) {
@@ -31,9 +39,46 @@ public class PortfolioAnalyticsController {
         return portfolioAnalyticsService.getAssetAllocation(user);
     }
 
+    @GetMapping("/allocation/risk")
+    public List<AssetAllocationDto> getAllocationByRiskLevel(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        return portfolioAnalyticsService.getAssetAllocationByRiskLevel(user);
+    }
+
+    @GetMapping("/allocation/product")
+    public List<AssetAllocationDto> getAllocationByProduct(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        return portfolioAnalyticsService.getAssetAllocationByProduct(user);
+    }
+
     @GetMapping("/gains")
     public List<GainLossDto> getGains(@AuthenticationPrincipal UserPrincipal userPrincipal) {
         User user = userPrincipal.getUser();
         return portfolioAnalyticsService.getGainLossAnalysis(user);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/performance")
+    public PortfolioPerformanceDto getPerformance(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        User user = userPrincipal.getUser();
+        return portfolioAnalyticsService.getPortfolioPerformance(user);
+    }
+
+    @GetMapping("/value-series")
+    public List<PortfolioValuePointDto> getValueSeries(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") String interval) {
+        User user = userPrincipal.getUser();
+        return portfolioAnalyticsService.getPortfolioValueSeries(user, from, to,
+                SeriesInterval.valueOf(interval.toUpperCase()));
+    }
+
+    @GetMapping("/as-of")
+    public PortfolioAsOfDto getHoldingsAsOf(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        User user = userPrincipal.getUser();
+        return holdingsCheckpointService.getHoldingsAsOf(user, date);
+    }
+}
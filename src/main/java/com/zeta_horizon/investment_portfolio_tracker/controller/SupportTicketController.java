@@ -1,20 +1,33 @@
 package com.zeta_horizon.investment_portfolio_tracker.controller;
 
+import com.zeta_horizon.investment_portfolio_tracker.datasource.PrimaryReads;
+import com.zeta_horizon.investment_portfolio_tracker.dto.CursorPageDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.MessageRequestDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketRequestDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessagePageDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketQueueStatsDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchResultDto;
 import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
 import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.exception.TicketAccessDeniedException;
 import com.zeta_horizon.investment_portfolio_tracker.service.JWTService;
 import com.zeta_horizon.investment_portfolio_tracker.service.SupportTicketService;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAccessService;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketQueueStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,8 +37,14 @@ import java.util.UUID;
 @Slf4j
 public class SupportTicketController {
 
+    private static final long DEFAULT_POLL_SECONDS = 30;
+    private static final long MAX_POLL_SECONDS = 60;
+    private static final long STREAM_TIMEOUT_MILLIS = 5 * 60 * 1000L;
+
     private final SupportTicketService supportTicketService;
     private final JWTService jwtService;
+    private final TicketQueueStatsService ticketQueueStatsService;
+    private final TicketAccessService ticketAccessService;
 
     //controller for user to create tickets
     @PostMapping("/createTicket")
@@ -57,13 +76,82 @@ public class SupportTicketController {
 
     //get the particular ticket based on the id
     @GetMapping("ticket/{ticketId}")
-    public ResponseEntity<SupportTicketResponseDto> getTicketById(@PathVariable UUID ticketId) {
+    public ResponseEntity<SupportTicketResponseDto> getTicketById(@PathVariable UUID ticketId,
+                                                                  @RequestHeader("Authorization") String bearerToken) {
         log.info("ticket id get from the request is {}", ticketId);
+        ensureCanView(ticketId, bearerToken);
         SupportTicketResponseDto reponseTicket = supportTicketService.getTicketViaId(ticketId);
         log.info("response get from the service is {}", reponseTicket);
         return ResponseEntity.ok(reponseTicket);
     }
 
+    //messages of a ticket after a position, pass the returned after value back to continue
+    @GetMapping("ticket/{ticketId}/messages")
+    public ResponseEntity<TicketMessagePageDto> getTicketMessages(
+            @PathVariable UUID ticketId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("Authorization") String bearerToken) {
+        ensureCanView(ticketId, bearerToken);
+        log.info("Fetching messages of ticket {} after={}, limit={}", ticketId, after, limit);
+        return ResponseEntity.ok(supportTicketService.getMessagesAfter(ticketId, after, limit));
+    }
+
+    //long poll, answers as soon as there are messages after the position or with an empty page on timeout
+    @GetMapping("ticket/{ticketId}/messages/poll")
+    public DeferredResult<TicketMessagePageDto> pollTicketMessages(
+            @PathVariable UUID ticketId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Long timeoutSeconds,
+            @RequestHeader("Authorization") String bearerToken) {
+        long seconds = timeoutSeconds != null ? timeoutSeconds : DEFAULT_POLL_SECONDS;
+        if (seconds < 1 || seconds > MAX_POLL_SECONDS) {
+            throw new IllegalArgumentException("Poll timeout must be between 1 and " + MAX_POLL_SECONDS + " seconds");
+        }
+        ensureCanView(ticketId, bearerToken);
+        DeferredResult<TicketMessagePageDto> result = new DeferredResult<>(seconds * 1000,
+                () -> TicketMessagePageDto.builder().messages(new ArrayList<>()).after(after).hasMore(false).build());
+
+        //subscribe before reading so a reply committed in between is not missed
+        //a reply only wakes the poll, which answers with everything after the client's cursor: one published
+        //before the subscription is in that page too, and a later one is fetched with the cursor, so overflow loses nothing
+        //the reply was committed on the primary, a replica may not have it yet
+        Runnable unsubscribe = supportTicketService.subscribeToMessages(ticketId, published -> result.setResult(
+                PrimaryReads.call(() -> supportTicketService.getMessagesAfter(ticketId, after, null))), () -> { });
+        result.onCompletion(unsubscribe);
+        try {
+            TicketMessagePageDto page = supportTicketService.getMessagesAfter(ticketId, after, null);
+            if (!page.getMessages().isEmpty()) {
+                result.setResult(page);
+            }
+        } catch (RuntimeException exception) {
+            unsubscribe.run();
+            throw exception;
+        }
+        return result;
+    }
+
+    //server sent events, one "message" event per reply saved while the stream is open
+    @GetMapping(value = "ticket/{ticketId}/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTicketMessages(@PathVariable UUID ticketId,
+                                           @RequestHeader("Authorization") String bearerToken) {
+        ensureCanView(ticketId, bearerToken);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        //sends run on the delivery threads; a client too slow to keep up is closed and catches up with the cursor
+        Runnable unsubscribe = supportTicketService.subscribeToMessages(ticketId, page -> {
+            try {
+                emitter.send(SseEmitter.event().name("message").id(page.getAfter()).data(page.getMessages().get(0)));
+            } catch (IOException exception) {
+                emitter.completeWithError(exception);
+            }
+        }, emitter::complete);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        log.info("Opened message stream for ticket {}", ticketId);
+        return emitter;
+    }
+
     //get all the ticket created by the user
     @GetMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
@@ -112,6 +200,70 @@ public class SupportTicketController {
         return ResponseEntity.ok(filtered);
     }
 
+    //ticket counts per status and priority for the admin dashboard, served from memory
+    @GetMapping("/admin/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TicketQueueStatsDto> getQueueStats() {
+        return ResponseEntity.ok(ticketQueueStatsService.getQueueStats());
+    }
+
+    //paged admin queue, every filter optional, pass nextCursor back to get the following page
+    @GetMapping("/admin/tickets")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageDto<SupportTicketResponseDto>> searchTickets(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("Admin ticket page request: userId={}, priority={}, status={}, size={}", userId, priority, status, size);
+        return ResponseEntity.ok(supportTicketService.searchTickets(userId, priority, status, cursor, size));
+    }
+
+    //paged tickets assigned to the calling admin, newest first
+    @GetMapping("/admin/assigned")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageDto<SupportTicketResponseDto>> getAssignedTickets(
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader("Authorization") String bearerToken) {
+        String emailId = getUserName(bearerToken);
+        log.info("Assigned ticket page request: admin={}, status={}, size={}", emailId, status, size);
+        return ResponseEntity.ok(supportTicketService.getAssignedTickets(emailId, status, cursor, size));
+    }
+
+    //paged tickets of the current user
+    @GetMapping("/user/tickets")
+    public ResponseEntity<CursorPageDto<SupportTicketResponseDto>> searchUserTickets(
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader("Authorization") String bearerToken) {
+        String emailId = getUserName(bearerToken);
+        log.info("User ticket page request: user={}, priority={}, status={}, size={}", emailId, priority, status, size);
+        return ResponseEntity.ok(supportTicketService.searchTicketsForUser(emailId, priority, status, cursor, size));
+    }
+
+    //ranked full-text search over tickets and their messages, matching words come back wrapped in <mark>
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TicketSearchResultDto> searchTicketText(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        log.info("Ticket search request: q={}, page={}, size={}", query, page, size);
+        return ResponseEntity.ok(supportTicketService.searchTicketText(query, page, size));
+    }
+
+    //someone else's ticket is refused; admins pass, so an unknown ticket is still a 404 for them
+    private void ensureCanView(UUID ticketId, String bearerToken) {
+        if (!ticketAccessService.canView(ticketId, getUserName(bearerToken))) {
+            throw new TicketAccessDeniedException("Not allowed to view support ticket with ID: " + ticketId);
+        }
+    }
+
     //fucntion to extract email from the token
     public String getUserName(String bearerToken) {
         String token = bearerToken.substring(7);
@@ -0,0 +1,74 @@
+package com.zeta_horizon.investment_portfolio_tracker.controller;
+
+import com.zeta_horizon.investment_portfolio_tracker.attachment.AttachmentContent;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketAttachmentDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.UserPrincipal;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAttachmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/support")
+@RequiredArgsConstructor
+@Slf4j
+public class TicketAttachmentController {
+
+    private final TicketAttachmentService ticketAttachmentService;
+
+    //the request body is the raw file, read as a stream so it is never buffered whole
+    @PostMapping("ticket/{ticketId}/messages/{messageId}/attachments")
+    public ResponseEntity<TicketAttachmentDto> uploadAttachment(
+            @PathVariable UUID ticketId,
+            @PathVariable UUID messageId,
+            @RequestParam String fileName,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            InputStream content) throws IOException {
+        log.info("Uploading attachment {} to message {} of ticket {}", fileName, messageId, ticketId);
+        TicketAttachmentDto attachment = ticketAttachmentService.addAttachment(ticketId, messageId,
+                userPrincipal.getUsername(), fileName, contentType, content);
+        return ResponseEntity.status(HttpStatus.CREATED).body(attachment);
+    }
+
+    //returning the file as a Resource lets Spring answer Range requests with 206 and only the requested regions
+    @GetMapping("attachments/{attachmentId}")
+    public ResponseEntity<Resource> downloadAttachment(@PathVariable UUID attachmentId,
+                                                       @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        AttachmentContent attachment = ticketAttachmentService.getAttachment(attachmentId, userPrincipal.getUsername());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(attachment.contentType()))
+                .contentLength(attachment.size())
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(attachment.fileName()))
+                .header("X-Content-Type-Options", "nosniff")
+                // stored content never changes, its hash is a strong validator
+                .eTag(attachment.sha256())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new FileSystemResource(attachment.path()));
+    }
+
+    //plain filename for ascii names, the encoded form only when it is needed
+    private String contentDisposition(String fileName) {
+        ContentDisposition.Builder disposition = ContentDisposition.attachment();
+        if (StandardCharsets.US_ASCII.newEncoder().canEncode(fileName)) {
+            disposition.filename(fileName);
+        } else {
+            disposition.filename(fileName, StandardCharsets.UTF_8);
+        }
+        return disposition.build().toString();
+    }
+}
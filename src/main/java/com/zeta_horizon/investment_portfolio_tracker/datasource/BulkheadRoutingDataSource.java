@@ -0,0 +1,37 @@
+package com.zeta_horizon.investment_portfolio_tracker.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out reporting pool connections inside a {@link ReportingQuery} call and
+ * OLTP connections everywhere else, so long reports can only exhaust their own pool
+ * and never hold up buys and sells. Like {@link ReplicaRoutingDataSource} it needs
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} in
+ * front, so the choice is made at the first statement.
+ */
+public class BulkheadRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource oltp;
+    private final DataSource reporting;
+    private final ReportingBulkhead bulkhead;
+
+    public BulkheadRoutingDataSource(DataSource oltp, DataSource reporting, ReportingBulkhead bulkhead) {
+        this.oltp = oltp;
+        this.reporting = reporting;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return bulkhead.isActive() ? reporting.getConnection() : oltp.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Connections are opened with the configured credentials only");
+    }
+}
@@ -0,0 +1,35 @@
+package com.zeta_horizon.investment_portfolio_tracker.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads that must see the latest commit, such as values about to be cached for
+ * every instance: inside {@link #call}, {@link ReplicaRoutingDataSource} hands out
+ * primary connections to read-only transactions too.
+ *
+ * A transaction keeps the connection its first statement opened, so the call has to
+ * start before the surrounding transaction touches the database.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        if (isRequired()) {
+            return reads.get();
+        }
+        REQUIRED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            REQUIRED.remove();
+        }
+    }
+
+    public static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+}
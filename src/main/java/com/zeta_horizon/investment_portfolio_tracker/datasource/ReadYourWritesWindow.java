@@ -0,0 +1,76 @@
+package com.zeta_horizon.investment_portfolio_tracker.datasource;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.SharedCacheStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users who changed their portfolio in the last {@code datasource.replica.read-your-writes-ms}.
+ * Their read-only transactions stay on the primary until the window closes, so a
+ * replica lagging behind cannot show them a portfolio without the trade they just made.
+ *
+ * The window is a key in the {@link SharedCacheStore} expiring with it, so the next
+ * request reaches the primary whichever instance serves it. Windows opened here are
+ * also kept in process and answered without a store call. While the store cannot be
+ * reached every window counts as open, putting reads on the primary.
+ */
+@Slf4j
+@Component
+public class ReadYourWritesWindow {
+
+    private static final String KEY_PREFIX = "read-your-writes:";
+
+    private final SharedCacheStore sharedStore;
+    private final long windowNanos;
+
+    // username -> System.nanoTime() at which a window opened on this instance closes
+    private final Map<String, Long> openUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesWindow(SharedCacheStore sharedStore,
+                                @Value("${datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+        this.sharedStore = sharedStore;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    public void recordWrite(String username) {
+        if (windowNanos <= 0) {
+            return;
+        }
+        openUntil.put(username, System.nanoTime() + windowNanos);
+        try {
+            sharedStore.put(KEY_PREFIX + username, "1", Duration.ofNanos(windowNanos));
+        } catch (RuntimeException e) {
+            log.warn("Could not share the read-your-writes window of {}: {}", username, e.toString());
+        }
+    }
+
+    public boolean isOpen(String username) {
+        if (windowNanos <= 0) {
+            return false;
+        }
+        Long until = openUntil.get(username);
+        if (until != null) {
+            if (until - System.nanoTime() > 0) {
+                return true;
+            }
+            openUntil.remove(username, until);
+        }
+        try {
+            return sharedStore.get(KEY_PREFIX + username) != null;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    // closed windows of users who never read again are only dropped here
+    public void evictClosed() {
+        long now = System.nanoTime();
+        openUntil.values().removeIf(until -> until - now <= 0);
+    }
+}
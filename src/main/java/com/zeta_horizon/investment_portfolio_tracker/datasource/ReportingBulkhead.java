@@ -0,0 +1,90 @@
+package com.zeta_horizon.investment_portfolio_tracker.datasource;
+
+import com.zeta_horizon.investment_portfolio_tracker.exception.ReportingCapacityExceededException;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits at most {@code datasource.reporting.maximum-pool-size} concurrent
+ * {@link ReportingQuery} calls, one per reporting connection, and marks the thread
+ * so {@link BulkheadRoutingDataSource} hands it a reporting connection.
+ *
+ * A call arriving when all permits are taken fails at once with
+ * {@link ReportingCapacityExceededException} rather than queueing for a connection,
+ * so a burst of reports cannot pile up request threads behind the pool. Runs
+ * outside the transaction interceptor, before the transaction picks its connection.
+ */
+@Component
+public class ReportingBulkhead extends AbstractPointcutAdvisor implements MethodInterceptor {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private static final Pointcut POINTCUT = new ComposablePointcut(new AnnotationMatchingPointcut(ReportingQuery.class, true))
+            .union(new AnnotationMatchingPointcut(null, ReportingQuery.class, true));
+
+    private final int capacity;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public ReportingBulkhead(@Value("${datasource.reporting.maximum-pool-size:3}") int capacity) {
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity);
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // a reporting service method calling a reporting repository method holds one permit
+        if (isActive()) {
+            return invocation.proceed();
+        }
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            throw new ReportingCapacityExceededException("Reporting capacity is exhausted, please retry shortly");
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            ACTIVE.remove();
+            permits.release();
+        }
+    }
+
+    public boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int inUse() {
+        return capacity - permits.availablePermits();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return POINTCUT;
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return this;
+    }
+}
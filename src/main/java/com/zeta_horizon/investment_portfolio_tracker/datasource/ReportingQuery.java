@@ -0,0 +1,21 @@
+package com.zeta_horizon.investment_portfolio_tracker.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated repository or service method on the reporting pool instead of
+ * the OLTP pool, through the {@link ReportingBulkhead}.
+ *
+ * The pool is chosen when the transaction first touches the database, so the
+ * annotation has to be on the method that opens the transaction, or on a
+ * repository method called outside one.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ReportingQuery {
+}
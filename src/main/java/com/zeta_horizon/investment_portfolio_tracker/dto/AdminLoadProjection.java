@@ -0,0 +1,15 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+
+import java.util.UUID;
+
+/**
+ * Row of SupportTicketRepository.countOpenByAssignedAdmin: how many tickets that
+ * are not closed an admin holds for one priority.
+ */
+public interface AdminLoadProjection {
+    UUID getAdminId();
+    Priority getPriority();
+    Long getTotal();
+}
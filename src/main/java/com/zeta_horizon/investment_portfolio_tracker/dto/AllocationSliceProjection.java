@@ -0,0 +1,12 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Row returned by the grouped allocation queries in PortfolioRepository.
+ * One row per bucket (investment type, risk level or product) instead of one per holding.
+ */
+public interface AllocationSliceProjection {
+    String getBucket();
+    BigDecimal getTotal();
+}
@@ -0,0 +1,19 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HoldingAsOfDto {
+    private Integer investmentProductId;
+    private String investmentProductName;
+    private BigDecimal unitsOwned;
+    private BigDecimal avgPurchasePrice;
+}
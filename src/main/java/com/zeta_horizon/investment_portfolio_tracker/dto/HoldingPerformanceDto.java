@@ -0,0 +1,23 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HoldingPerformanceDto {
+    private Integer investmentProductId;
+    private String investmentProductName;
+    private BigDecimal unitsHeld;
+    private BigDecimal currentValue;
+    // annualised money-weighted return, null when it cannot be computed
+    private BigDecimal xirrPercentage;
+    // cumulative time-weighted return over the periods the product was held
+    private BigDecimal timeWeightedReturnPercentage;
+}
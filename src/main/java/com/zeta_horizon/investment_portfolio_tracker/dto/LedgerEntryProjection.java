@@ -0,0 +1,18 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One transaction of a user's ledger without the eager user and product associations.
+ */
+public interface LedgerEntryProjection {
+    Integer getId();
+    Integer getProductId();
+    TransactionType getTxnType();
+    BigDecimal getUnits();
+    BigDecimal getNavAtTxn();
+    LocalDateTime getTxnDate();
+}
@@ -0,0 +1,18 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NavPointDto {
+    private LocalDate date;
+    private BigDecimal nav;
+}
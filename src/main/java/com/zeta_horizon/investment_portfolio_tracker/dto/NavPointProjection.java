@@ -0,0 +1,12 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Slim NAV history row used to fill the in-memory NAV cache without loading NavHistory entities.
+ */
+public interface NavPointProjection {
+    LocalDate getNavDate();
+    BigDecimal getNav();
+}
@@ -0,0 +1,20 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PortfolioAsOfDto {
+    private LocalDate date;
+    private List<HoldingAsOfDto> holdings;
+    // transactions replayed on top of the checkpoint that was used
+    private long replayedTransactions;
+}
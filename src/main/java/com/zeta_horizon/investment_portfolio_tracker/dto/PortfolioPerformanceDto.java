@@ -0,0 +1,24 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PortfolioPerformanceDto {
+    private BigDecimal currentValue;
+    // annualised money-weighted return, null when it cannot be computed
+    private BigDecimal xirrPercentage;
+    // cumulative time-weighted return, null when it cannot be computed
+    private BigDecimal timeWeightedReturnPercentage;
+    private List<HoldingPerformanceDto> holdings;
+    private LocalDateTime calculatedAt;
+}
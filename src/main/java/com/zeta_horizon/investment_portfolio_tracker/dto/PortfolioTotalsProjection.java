@@ -0,0 +1,12 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Single-row result of the portfolio totals query in PortfolioRepository.
+ * Both sums are null when the user has no holdings.
+ */
+public interface PortfolioTotalsProjection {
+    BigDecimal getTotalInvested();
+    BigDecimal getCurrentValue();
+}
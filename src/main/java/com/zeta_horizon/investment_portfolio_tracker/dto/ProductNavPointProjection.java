@@ -0,0 +1,8 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+/**
+ * NAV history row tagged with its product, used to fill the NAV cache for many products in one query.
+ */
+public interface ProductNavPointProjection extends NavPointProjection {
+    Integer getProductId();
+}
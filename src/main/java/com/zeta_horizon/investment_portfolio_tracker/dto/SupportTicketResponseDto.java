@@ -30,6 +30,10 @@ public class SupportTicketResponseDto {
 
     private String investmentProductName;
 
+    private UUID assignedAdminId;
+
+    private String assignedAdminName;
+
     private String subject;
 
     private String description;
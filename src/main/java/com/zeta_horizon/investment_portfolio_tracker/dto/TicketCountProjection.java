@@ -0,0 +1,14 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+
+/**
+ * Row of SupportTicketRepository.countByStatusAndPriority, one per non-empty
+ * status and priority pair.
+ */
+public interface TicketCountProjection {
+    TicketStatus getStatus();
+    Priority getPriority();
+    Long getTotal();
+}
@@ -3,6 +3,8 @@ package com.zeta_horizon.investment_portfolio_tracker.dto;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @Getter
 @Setter
@@ -11,8 +13,10 @@ import java.time.LocalDateTime;
 @Data
 @Builder
 public class TicketMessageDto {
+    private UUID messageId;
     private String senderName;
     private String message;
     private String senderType;
     private LocalDateTime timestamp;
+    private List<TicketAttachmentDto> attachments;
 }
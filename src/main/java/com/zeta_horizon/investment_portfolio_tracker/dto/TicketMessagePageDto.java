@@ -0,0 +1,23 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Messages of a ticket after a position in the conversation. {@code after} is always
+ * set: it points past the last returned message, or repeats the requested position
+ * when nothing new arrived, so clients can keep polling with it.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketMessagePageDto {
+    private List<TicketMessageDto> messages;
+    private String after;
+    private boolean hasMore;
+}
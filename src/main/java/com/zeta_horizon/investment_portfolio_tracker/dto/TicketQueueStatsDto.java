@@ -0,0 +1,23 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketQueueStatsDto {
+    private Map<TicketStatus, Map<Priority, Long>> counts;
+    private Map<TicketStatus, Long> totalsByStatus;
+    private long total;
+    // last time the counters were compared with the database
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,26 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketSearchHitDto {
+    private UUID ticketId;
+    private String subject;
+    private TicketStatus status;
+    private Priority priority;
+    private LocalDateTime updatedAt;
+    private double score;
+    // matching fragment of the description or of the best matching message, terms wrapped in <mark>
+    private String highlight;
+}
@@ -0,0 +1,20 @@
+package com.zeta_horizon.investment_portfolio_tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketSearchResultDto {
+    private List<TicketSearchHitDto> hits;
+    private Integer currentPage;
+    private Integer pageSize;
+    private Long totalElements;
+    private Boolean hasNext;
+}
@@ -0,0 +1,42 @@
+package com.zeta_horizon.investment_portfolio_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A closed ticket moved out of {@code support_tickets}, together with its
+ * messages, as one compressed snapshot of its response DTO. Rows are only ever
+ * inserted; the primary key is the lookup index from ticket id to snapshot.
+ */
+@Entity
+@Table(name = "support_ticket_archive", indexes =
+        @Index(name = "idx_support_ticket_archive_user_closed", columnList = "user_id, closed_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTicket {
+
+    // the id the ticket had in support_tickets
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // gzipped JSON written by TicketArchiveCodec
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] payload;
+
+}
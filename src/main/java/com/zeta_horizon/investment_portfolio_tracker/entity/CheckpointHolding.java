@@ -0,0 +1,30 @@
+package com.zeta_horizon.investment_portfolio_tracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Position in one product as captured by a {@link HoldingsCheckpoint}.
+ */
+@Embeddable
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckpointHolding {
+
+    @Column(name = "investment_product_id", nullable = false)
+    private Integer investmentProductId;
+
+    @Column(name = "units_owned", nullable = false, precision = 10, scale = 4)
+    private BigDecimal unitsOwned;
+
+    @Column(name = "avg_purchase_price", nullable = false, precision = 10, scale = 4)
+    private BigDecimal avgPurchasePrice;
+}
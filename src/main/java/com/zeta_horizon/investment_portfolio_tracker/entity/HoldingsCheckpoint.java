@@ -0,0 +1,58 @@
+package com.zeta_horizon.investment_portfolio_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holdings of a user after the first {@code transactionCount} transactions of
+ * their ledger (ordered by txnDate, then id), the last of which is
+ * {@code lastTransactionId}. Point-in-time queries start from the nearest
+ * checkpoint and replay only the transactions after it.
+ */
+@Entity
+@Table(name = "holdings_checkpoint",
+        indexes = @Index(name = "idx_holdings_checkpoint_user_last_txn",
+                columnList = "user_id, last_transaction_date, last_transaction_id"),
+        // two instances checkpointing the same user at once cannot both write a position
+        uniqueConstraints = @UniqueConstraint(name = "uk_holdings_checkpoint_user_count",
+                columnNames = {"user_id", "transaction_count"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldingsCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private Integer lastTransactionId;
+
+    @Column(name = "last_transaction_date", nullable = false)
+    private LocalDateTime lastTransactionDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "holdings_checkpoint_line", joinColumns = @JoinColumn(name = "checkpoint_id"))
+    private List<CheckpointHolding> holdings = new ArrayList<>();
+}
@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -27,11 +29,14 @@ import java.time.LocalDateTime;
  * - Current NAV (Net Asset Value) per unit
  * - Soft delete functionality with isActive flag
  * - Automatic timestamp tracking for audit purposes
+ * - Kept in the second-level cache, read-write so a NAV change replaces the entry on commit
  *
  */
 @Slf4j
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "investment-product")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -0,0 +1,42 @@
+package com.zeta_horizon.investment_portfolio_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One NAV point of an investment product. A row is written whenever the
+ * product's currentNetAssetValuePerUnit changes; several changes on the same
+ * day collapse into the last value of that day.
+ */
+@Entity
+@Table(name = "nav_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_nav_history_product_date",
+                columnNames = {"investment_product_id", "nav_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NavHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "investment_product_id", nullable = false)
+    private InvestmentProduct investmentProduct;
+
+    @Column(name = "nav_date", nullable = false)
+    private LocalDate navDate;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal nav;
+}
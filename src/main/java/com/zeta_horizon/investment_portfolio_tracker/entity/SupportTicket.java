@@ -5,6 +5,7 @@ import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
 import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,7 +15,29 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "support_tickets")
+@Table(name = "support_tickets", indexes = {
+        // one index per filter combination, each ending in the keyset order columns
+        @Index(name = "idx_support_tickets_created", columnList = "created_at, id"),
+        @Index(name = "idx_support_tickets_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_support_tickets_priority_status_created", columnList = "priority, status, created_at, id"),
+        @Index(name = "idx_support_tickets_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_support_tickets_user_status_created", columnList = "user_id, status, created_at, id"),
+        @Index(name = "idx_support_tickets_assignee_status_created", columnList = "assigned_admin_id, status, created_at, id"),
+        // stale ticket scan of the auto-close job
+        @Index(name = "idx_support_tickets_status_updated", columnList = "status, updated_at")
+})
+// everything SupportTicketMapper reads, so a list of tickets maps without further lazy loads
+@NamedEntityGraph(name = SupportTicket.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("investmentProduct"),
+                @NamedAttributeNode("assignedAdmin"),
+                @NamedAttributeNode(value = "messages", subgraph = "messages")
+        },
+        subgraphs = @NamedSubgraph(name = "messages", attributeNodes = {
+                @NamedAttributeNode("sender"),
+                @NamedAttributeNode("attachments")
+        }))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,6 +45,8 @@ import java.util.UUID;
 @Builder
 public class SupportTicket {
 
+    public static final String DETAILS_GRAPH = "SupportTicket.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
@@ -34,6 +59,11 @@ public class SupportTicket {
     @JoinColumn(name = "investment_product_id")
     private InvestmentProduct investmentProduct;
 
+    // admin picked by AdminLoadBalancer when the ticket was created, null while no admin exists
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_admin_id")
+    private User assignedAdmin;
+
     @Column(nullable = false)
     private String subject;
 
@@ -54,6 +84,9 @@ public class SupportTicket {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // tickets loaded without the details graph still initialise their messages in batches
+    @BatchSize(size = 50)
+    @OrderBy("timestamp ASC, id ASC")
     @OneToMany(mappedBy = "supportTicket", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TicketMessage> messages = new ArrayList<>();
 
@@ -0,0 +1,53 @@
+package com.zeta_horizon.investment_portfolio_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A file attached to a ticket message. Only the metadata lives here; the bytes
+ * are stored once per distinct content by AttachmentStore under their SHA-256.
+ */
+@Entity
+@Table(name = "ticket_attachments", indexes = {
+        @Index(name = "idx_ticket_attachments_message", columnList = "message_id"),
+        @Index(name = "idx_ticket_attachments_sha256", columnList = "sha256")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    // no foreign key, attachments stay downloadable after TicketArchiveJob deletes the message
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "message_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private TicketMessage message;
+
+    @Column(name = "ticket_id", nullable = false)
+    private UUID ticketId;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+}
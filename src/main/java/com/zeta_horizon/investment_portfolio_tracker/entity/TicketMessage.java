@@ -4,13 +4,18 @@ package com.zeta_horizon.investment_portfolio_tracker.entity;
 import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "ticket_messages")
+@Table(name = "ticket_messages", indexes =
+        // incremental fetch reads one ticket's messages after a (timestamp, id) position
+        @Index(name = "idx_ticket_messages_ticket_timestamp", columnList = "ticket_id, timestamp, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,4 +45,10 @@ public class TicketMessage {
     @Column(nullable = false)
     private UserRole senderType;
 
+    // metadata only; a set, so the details graph can fetch it together with the messages list
+    @BatchSize(size = 50)
+    @OrderBy("createdAt ASC, id ASC")
+    @OneToMany(mappedBy = "message")
+    private Set<TicketAttachment> attachments = new LinkedHashSet<>();
+
 }
\ No newline at end of file
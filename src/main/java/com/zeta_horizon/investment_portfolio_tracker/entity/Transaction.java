@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 
 
 @Entity
+// the ledger order, walked by the replay and checkpoint queries of one user
+@Table(indexes = @Index(name = "idx_transaction_user_date_id", columnList = "user_id, txn_date, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -6,7 +6,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.sql.Timestamp;
 import java.util.UUID;
@@ -17,6 +21,9 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name = "USERS")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-natural-id")
 @Builder
 public class User {
     @Id
@@ -26,6 +33,8 @@ public class User {
     @Column(nullable = false)
     private String name;
 
+    // looked up on every authenticated request, see UserLookupRepository
+    @NaturalId
     @Column(nullable = false,unique = true)
     private String email;
 
@@ -0,0 +1,15 @@
+package com.zeta_horizon.investment_portfolio_tracker.enums;
+
+import java.time.LocalDate;
+
+public enum SeriesInterval {
+    DAY, WEEK, MONTH;
+
+    public LocalDate next(LocalDate date) {
+        return switch (this) {
+            case DAY -> date.plusDays(1);
+            case WEEK -> date.plusWeeks(1);
+            case MONTH -> date.plusMonths(1);
+        };
+    }
+}
@@ -4,6 +4,7 @@ import com.zeta_horizon.investment_portfolio_tracker.dto.ErrorResponse;
 import com.zeta_horizon.investment_portfolio_tracker.dto.ValidationErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -93,6 +94,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(TicketAccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleTicketAccessDeniedException(TicketAccessDeniedException exception
+            ,HttpServletRequest request) {
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.FORBIDDEN, exception.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
+    }
+
+    // the reporting pool is full; the caller may retry, buys and sells are unaffected
+    @ExceptionHandler(ReportingCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleReportingCapacityExceededException(
+            ReportingCapacityExceededException exception, HttpServletRequest request) {
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     private ErrorResponse buildErrorResponse(HttpStatus status, String message) {
         return ErrorResponse.builder()
                 .status(status.value())
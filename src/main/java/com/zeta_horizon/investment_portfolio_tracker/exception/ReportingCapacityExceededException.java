@@ -0,0 +1,7 @@
+package com.zeta_horizon.investment_portfolio_tracker.exception;
+
+public class ReportingCapacityExceededException extends RuntimeException {
+    public ReportingCapacityExceededException(String message) {
+        super(message);
+    }
+}
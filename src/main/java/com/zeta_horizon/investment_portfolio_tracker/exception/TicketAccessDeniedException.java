@@ -0,0 +1,7 @@
+package com.zeta_horizon.investment_portfolio_tracker.exception;
+
+public class TicketAccessDeniedException extends RuntimeException {
+    public TicketAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,68 @@
+package com.zeta_horizon.investment_portfolio_tracker.filters;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Records the heap each request allocates on its thread, security filters and
+ * serialization included, as {@code http.server.request.allocation} per method and
+ * URI pattern. Work handed to other threads, such as the asynchronous half of a long
+ * poll, is not counted.
+ *
+ * Only available while requests run on platform threads: a virtual thread cannot
+ * report its allocations, so with {@code spring.threads.virtual.enabled} on Java 21
+ * {@link com.zeta_horizon.investment_portfolio_tracker.config.MetricsConfig} does not
+ * register the filter. There the process-wide {@code jvm.gc.memory.allocated} rate is
+ * what production shows, and the jmh profile's gc profiler gives the bytes per operation.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AllocationMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public AllocationMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long before = threads != null ? threads.getCurrentThreadAllocatedBytes() : -1;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (before >= 0) {
+                long after = threads.getCurrentThreadAllocatedBytes();
+                if (after >= before) {
+                    record(request, after - before);
+                }
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long bytes) {
+        // the pattern keeps path variables out of the tags, unmatched requests share one series
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.request.allocation")
+                .description("Heap allocated by the request thread while serving the request")
+                .baseUnit("bytes")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(bytes);
+    }
+}
@@ -0,0 +1,30 @@
+package com.zeta_horizon.investment_portfolio_tracker.job;
+
+import com.zeta_horizon.investment_portfolio_tracker.assignment.AdminLoadBalancer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the admin loads from the database on a fixed delay, so admins
+ * registered since the last run start receiving tickets and loads changed
+ * outside the support service are corrected.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdminLoadRefreshJob {
+
+    private final AdminLoadBalancer adminLoadBalancer;
+
+    @Scheduled(initialDelayString = "${support.assignment.refresh-interval-ms:300000}",
+            fixedDelayString = "${support.assignment.refresh-interval-ms:300000}")
+    public void refreshAdminLoads() {
+        try {
+            adminLoadBalancer.refresh();
+        } catch (RuntimeException e) {
+            log.warn("Admin load refresh failed", e);
+        }
+    }
+}
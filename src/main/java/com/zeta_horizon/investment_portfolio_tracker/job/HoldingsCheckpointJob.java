@@ -0,0 +1,69 @@
+package com.zeta_horizon.investment_portfolio_tracker.job;
+
+import com.zeta_horizon.investment_portfolio_tracker.service.HoldingsCheckpointService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodically writes holdings checkpoints for users who have made enough
+ * transactions since their last one. Each user is checkpointed in its own
+ * transaction so one failure does not hold back the others.
+ *
+ * A user can only become due by booking a transaction, so a run only counts
+ * the users who booked one since the last run, found by transaction id. Ids
+ * come from a pooled sequence, so one booked late on another instance can fall
+ * below that mark; a full pass over every user at startup and then every
+ * {@code full-pass-interval-ms} picks up whoever was missed. After a failed
+ * run the mark is not moved, so the next run retries the same users.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoldingsCheckpointJob {
+
+    private final HoldingsCheckpointService holdingsCheckpointService;
+
+    @Value("${portfolio.checkpoint.full-pass-interval-ms:86400000}")
+    private long fullPassIntervalMs = 86_400_000L;
+
+    // highest transaction id the last successful run covered, null until a full pass succeeded
+    private Integer coveredTransactionId;
+    private long lastFullPassAt;
+
+    @Scheduled(initialDelayString = "${portfolio.checkpoint.initial-delay-ms:60000}",
+            fixedDelayString = "${portfolio.checkpoint.interval-ms:300000}")
+    public void createDueCheckpoints() {
+        long now = System.currentTimeMillis();
+        boolean fullPass = coveredTransactionId == null || now - lastFullPassAt >= fullPassIntervalMs;
+        // read before the users, so a transaction booked meanwhile is above the mark for the next run
+        Integer latestTransactionId = holdingsCheckpointService.latestTransactionId();
+        List<UUID> userIds = fullPass
+                ? holdingsCheckpointService.findUsersDueForCheckpoint()
+                : holdingsCheckpointService.findUsersDueForCheckpoint(coveredTransactionId);
+        int created = 0;
+        boolean failed = false;
+        for (UUID userId : userIds) {
+            try {
+                created += holdingsCheckpointService.createCheckpoints(userId);
+            } catch (RuntimeException e) {
+                failed = true;
+                log.warn("Failed to checkpoint holdings of user {}", userId, e);
+            }
+        }
+        if (!failed && latestTransactionId != null) {
+            coveredTransactionId = latestTransactionId;
+            if (fullPass) {
+                lastFullPassAt = now;
+            }
+        }
+        if (created > 0) {
+            log.info("Holdings checkpoint run: {} users, {} checkpoints created", userIds.size(), created);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.zeta_horizon.investment_portfolio_tracker.job;
+
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReadYourWritesWindow;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates the read replicas on a fixed delay, so one taken out of rotation
+ * after a failed connection returns once it answers again, and drops the
+ * read-your-writes windows that have closed.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class ReplicaHealthCheckJob {
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        replicaRoutingDataSource.checkReplicas();
+        readYourWritesWindow.evictClosed();
+    }
+}
@@ -0,0 +1,54 @@
+package com.zeta_horizon.investment_portfolio_tracker.job;
+
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves tickets closed more than {@code support.archive.after-days} ago into
+ * {@code support_ticket_archive}, so the live ticket and message tables only hold
+ * recent and open work. Batches and the per-run cap work as in
+ * {@link TicketAutoCloseJob}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketArchiveJob {
+
+    private final TicketArchiveService ticketArchiveService;
+
+    @Value("${support.archive.after-days:90}")
+    private int afterDays;
+
+    @Value("${support.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${support.archive.max-batches:50}")
+    private int maxBatches;
+
+    @Scheduled(initialDelayString = "${support.archive.initial-delay-ms:300000}",
+            fixedDelayString = "${support.archive.interval-ms:21600000}")
+    public void archiveClosedTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int archived = ticketArchiveService.archiveClosedBatch(cutoff, batchSize);
+                total += archived;
+                if (archived < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Archive run stopped after archiving {} tickets", total, e);
+        }
+        if (total > 0) {
+            log.info("Archive run moved {} tickets closed before {}", total, cutoff);
+        }
+    }
+}
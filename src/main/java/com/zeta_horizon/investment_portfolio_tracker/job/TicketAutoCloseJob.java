@@ -0,0 +1,55 @@
+package com.zeta_horizon.investment_portfolio_tracker.job;
+
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAutoCloseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closes RESPONDED tickets that have seen no activity for
+ * {@code support.auto-close.after-days}. Work is done in batches of
+ * {@code support.auto-close.batch-size}, each in its own short transaction, and a
+ * run stops after {@code support.auto-close.max-batches} so a large backlog is
+ * worked off over several runs instead of holding locks for long.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketAutoCloseJob {
+
+    private final TicketAutoCloseService ticketAutoCloseService;
+
+    @Value("${support.auto-close.after-days:14}")
+    private int afterDays;
+
+    @Value("${support.auto-close.batch-size:500}")
+    private int batchSize;
+
+    @Value("${support.auto-close.max-batches:20}")
+    private int maxBatches;
+
+    @Scheduled(initialDelayString = "${support.auto-close.initial-delay-ms:120000}",
+            fixedDelayString = "${support.auto-close.interval-ms:3600000}")
+    public void closeStaleTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int closed = ticketAutoCloseService.closeStaleBatch(cutoff, batchSize);
+                total += closed;
+                if (closed < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Auto-close run stopped after closing {} tickets", total, e);
+        }
+        if (total > 0) {
+            log.info("Auto-close run closed {} tickets idle since {}", total, cutoff);
+        }
+    }
+}
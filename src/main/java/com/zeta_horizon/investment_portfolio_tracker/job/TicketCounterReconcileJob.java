@@ -0,0 +1,37 @@
+package com.zeta_horizon.investment_portfolio_tracker.job;
+
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketQueueStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the ticket queue counters once the application is up and then checks
+ * them against the database on a fixed delay, correcting any drift left by
+ * updates that bypassed the support service or by a lost after-commit hook.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketCounterReconcileJob {
+
+    private final TicketQueueStatsService ticketQueueStatsService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedCounters() {
+        ticketQueueStatsService.reconcileCounters();
+    }
+
+    @Scheduled(initialDelayString = "${support.counters.reconcile-interval-ms:300000}",
+            fixedDelayString = "${support.counters.reconcile-interval-ms:300000}")
+    public void checkDrift() {
+        try {
+            ticketQueueStatsService.reconcileCounters();
+        } catch (RuntimeException e) {
+            log.warn("Ticket counter drift check failed", e);
+        }
+    }
+}
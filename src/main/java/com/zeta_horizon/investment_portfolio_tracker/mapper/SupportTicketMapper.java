@@ -31,6 +31,8 @@ public class SupportTicketMapper {
                         ticket.getInvestmentProduct().getId() : null)
                 .investmentProductName(ticket.getInvestmentProduct() != null ?
                         ticket.getInvestmentProduct().getName() : null)
+                .assignedAdminId(ticket.getAssignedAdmin() != null ? ticket.getAssignedAdmin().getId() : null)
+                .assignedAdminName(ticket.getAssignedAdmin() != null ? ticket.getAssignedAdmin().getName() : null)
                 .subject(ticket.getSubject())
                 .description(ticket.getDescription())
                 .priority(ticket.getPriority())
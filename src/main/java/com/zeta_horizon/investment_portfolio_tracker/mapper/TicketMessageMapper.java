@@ -2,18 +2,36 @@ package com.zeta_horizon.investment_portfolio_tracker.mapper;
 
 import org.springframework.stereotype.Component;
 
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketAttachmentDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessageDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketAttachment;
 import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
 
+import java.util.Collections;
+import java.util.stream.Collectors;
+
 @Component
 public class TicketMessageMapper {
 
     public TicketMessageDto toDto(TicketMessage msg) {
         return TicketMessageDto.builder()
+                .messageId(msg.getId())
                 .senderName(msg.getSender().getName())
                 .message(msg.getMessage())
                 .senderType(msg.getSenderType().name())
                 .timestamp(msg.getTimestamp())
+                .attachments(msg.getAttachments() != null ?
+                        msg.getAttachments().stream().map(this::toDto).collect(Collectors.toList())
+                        : Collections.emptyList())
+                .build();
+    }
+
+    public TicketAttachmentDto toDto(TicketAttachment attachment) {
+        return TicketAttachmentDto.builder()
+                .attachmentId(attachment.getId())
+                .fileName(attachment.getFileName())
+                .contentType(attachment.getContentType())
+                .size(attachment.getSize())
                 .build();
     }
 
@@ -0,0 +1,175 @@
+package com.zeta_horizon.investment_portfolio_tracker.realtime;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory registry of clients waiting for new messages on a ticket, used by the
+ * long-poll and SSE endpoints. Replies are published after their transaction
+ * commits and handed to the listeners as they are, so a waiting client costs no
+ * database work until something actually arrives.
+ *
+ * Publishing only queues the message: listeners write to client connections, so
+ * they run on {@code support.messages.delivery-threads} delivery threads, one
+ * message at a time per listener and in publishing order. A listener with
+ * {@code support.messages.max-pending} messages still queued is dropped and its
+ * overflow callback run, so a stalled client holds neither the replying request
+ * nor an unbounded backlog.
+ *
+ * The registry is per instance: a client only hears about replies saved through
+ * the same node, and falls back to the cursor-based fetch after its wait ends.
+ */
+@Slf4j
+@Component
+public class TicketMessageWaiters implements AutoCloseable {
+
+    private final Map<UUID, Set<Listener>> listenersByTicket = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor delivery;
+    private final int maxPending;
+
+    public TicketMessageWaiters(@Value("${support.messages.delivery-threads:4}") int deliveryThreads,
+                                @Value("${support.messages.max-pending:100}") int maxPending) {
+        // holds at most one task per listener, whatever is published
+        this.delivery = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("ticket-message-delivery-"));
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @return a handle that removes the listener again; safe to call more than once
+     */
+    public Runnable subscribe(UUID ticketId, Consumer<TicketMessageDto> onMessage, Runnable onOverflow) {
+        Listener listener = new Listener(ticketId, onMessage, onOverflow);
+        // added inside compute so a concurrent unsubscribe cannot drop the set in between
+        listenersByTicket.compute(ticketId, (id, listeners) -> {
+            Set<Listener> set = listeners != null ? listeners : ConcurrentHashMap.newKeySet();
+            set.add(listener);
+            return set;
+        });
+        return listener::close;
+    }
+
+    public void publish(UUID ticketId, TicketMessageDto message) {
+        Set<Listener> listeners = listenersByTicket.get(ticketId);
+        if (listeners == null) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            listener.offer(message);
+        }
+    }
+
+    public int waiting(UUID ticketId) {
+        Set<Listener> listeners = listenersByTicket.get(ticketId);
+        return listeners != null ? listeners.size() : 0;
+    }
+
+    public int waitingTotal() {
+        int total = 0;
+        for (Set<Listener> listeners : listenersByTicket.values()) {
+            total += listeners.size();
+        }
+        return total;
+    }
+
+    public ThreadPoolExecutor deliveryExecutor() {
+        return delivery;
+    }
+
+    @Override
+    public void close() {
+        delivery.shutdownNow();
+    }
+
+    private final class Listener {
+        private final UUID ticketId;
+        private final Consumer<TicketMessageDto> onMessage;
+        private final Runnable onOverflow;
+        private final Queue<TicketMessageDto> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Listener(UUID ticketId, Consumer<TicketMessageDto> onMessage, Runnable onOverflow) {
+            this.ticketId = ticketId;
+            this.onMessage = onMessage;
+            this.onOverflow = onOverflow;
+        }
+
+        private void offer(TicketMessageDto message) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPending) {
+                log.warn("Listener for ticket {} fell {} messages behind, dropping it", ticketId, maxPending);
+                close();
+                execute(onOverflow);
+                return;
+            }
+            pending.add(message);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                TicketMessageDto message;
+                while (!closed.get() && (message = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        onMessage.accept(message);
+                    } catch (RuntimeException e) {
+                        log.warn("Message listener for ticket {} failed", ticketId, e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // a message queued after the last poll but before the flag was cleared
+            if (!closed.get() && !pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void execute(Runnable task) {
+            try {
+                delivery.execute(task);
+            } catch (RejectedExecutionException e) {
+                // shutting down, the client's connection goes with it
+                scheduled.set(false);
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                pending.clear();
+                listenersByTicket.computeIfPresent(ticketId, (id, listeners) -> {
+                    listeners.remove(this);
+                    return listeners.isEmpty() ? null : listeners;
+                });
+            }
+        }
+    }
+}
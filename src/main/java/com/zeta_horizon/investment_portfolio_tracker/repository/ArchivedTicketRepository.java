@@ -0,0 +1,13 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.ArchivedTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, UUID> {
+
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+}
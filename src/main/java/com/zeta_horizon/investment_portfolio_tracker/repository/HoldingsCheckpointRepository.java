@@ -0,0 +1,23 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.HoldingsCheckpoint;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface HoldingsCheckpointRepository extends JpaRepository<HoldingsCheckpoint, Long> {
+
+    // nearest checkpoint whose last transaction happened before the given time
+    @EntityGraph(attributePaths = "holdings")
+    Optional<HoldingsCheckpoint> findTopByUserIdAndLastTransactionDateBeforeOrderByTransactionCountDesc(
+            UUID userId, LocalDateTime before);
+
+    // the most recent checkpoint of a user, the starting point for the next one
+    @EntityGraph(attributePaths = "holdings")
+    Optional<HoldingsCheckpoint> findTopByUserIdOrderByTransactionCountDesc(UUID userId);
+}
@@ -3,8 +3,11 @@ package com.zeta_horizon.investment_portfolio_tracker.repository;
 import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
 import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -35,8 +38,12 @@ public interface InvestmentProductRepository extends JpaRepository<InvestmentPro
      * This method is used to get only products that are currently available
      * for investment (isActive = true). Soft-deleted products are excluded.
      *
+     * The result is kept in the query cache and dropped whenever the
+     * investment_product table is written.
+     *
      * @return List of active InvestmentProduct entities
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<InvestmentProduct> findByIsActiveTrue();
 
     /**
@@ -49,6 +56,18 @@ public interface InvestmentProductRepository extends JpaRepository<InvestmentPro
      */
     Optional<InvestmentProduct> findByIdAndIsActiveTrue(Integer id);
 
+    /**
+     * Loads a product from the database even when the second-level cache holds it.
+     * Buys and sells price units with this, as the cached copy may have been loaded
+     * from a lagging replica. The product is cached from this read only when absent.
+     *
+     * @param id The unique identifier of the investment product
+     * @return Optional containing the product as currently stored
+     */
+    @Query("SELECT i FROM InvestmentProduct i WHERE i.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    Optional<InvestmentProduct> findCurrentById(@Param("id") Integer id);
+
     /**
      * Retrieves all active investment products of a specific type.
      * Useful for filtering products by investment category (stocks, bonds, etc.).
@@ -0,0 +1,41 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * Position in a ticket's conversation, ordered by (timestamp, id). Written as
+ * {@code <timestamp>|<id>}; a bare timestamp selects messages sent at or after that instant.
+ */
+public record MessageCursor(LocalDateTime timestamp, UUID id) {
+
+    private static final String SEPARATOR = "|";
+    // sorts before every other UUID in the database order, used when only a timestamp is given
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    @Override
+    public String toString() {
+        return timestamp + SEPARATOR + id;
+    }
+
+    /**
+     * @return the parsed cursor, or null for a null or blank value (start of the conversation)
+     * @throws IllegalArgumentException if the value is neither {@code timestamp} nor {@code timestamp|id}
+     */
+    public static MessageCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            int split = value.indexOf(SEPARATOR);
+            if (split < 0) {
+                return new MessageCursor(LocalDateTime.parse(value.trim()), LOWEST_ID);
+            }
+            return new MessageCursor(LocalDateTime.parse(value.substring(0, split).trim()),
+                    UUID.fromString(value.substring(split + 1).trim()));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid message cursor: " + value);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.NavPointProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.ProductNavPointProjection;
+import com.zeta_horizon.investment_portfolio_tracker.entity.NavHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NavHistoryRepository extends JpaRepository<NavHistory, Long> {
+
+    // the point already recorded for a product on a given day, if any
+    Optional<NavHistory> findByInvestmentProductIdAndNavDate(Integer investmentProductId, LocalDate navDate);
+
+    // full history of one product in date order, used to fill the NAV cache
+    @Query("SELECT n.navDate AS navDate, n.nav AS nav FROM NavHistory n " +
+            "WHERE n.investmentProduct.id = :productId ORDER BY n.navDate ASC")
+    List<NavPointProjection> findPointsByProductId(@Param("productId") Integer productId);
+
+    // full history of several products, grouped by product and in date order within each
+    @Query("SELECT n.investmentProduct.id AS productId, n.navDate AS navDate, n.nav AS nav FROM NavHistory n " +
+            "WHERE n.investmentProduct.id IN :productIds ORDER BY n.investmentProduct.id, n.navDate ASC")
+    List<ProductNavPointProjection> findPointsByProductIdIn(@Param("productIds") Collection<Integer> productIds);
+}
@@ -1,9 +1,14 @@
 package com.zeta_horizon.investment_portfolio_tracker.repository;
 
+import com.zeta_horizon.investment_portfolio_tracker.dto.AllocationSliceProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioTotalsProjection;
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
 import com.zeta_horizon.investment_portfolio_tracker.entity.Portfolio;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,10 +18,44 @@ import java.util.UUID;
 @Repository
 public interface PortfolioRepository extends JpaRepository<Portfolio, Integer> {
 
-   // list all the portfolios of a particular user
+   // list all the portfolios of a particular user, products joined in to avoid one select per holding
+   @EntityGraph(attributePaths = {"user", "investmentProduct"})
    List<Portfolio> findByUser(User user);
 
    Optional<Portfolio> findByUserAndInvestmentProduct(User user, InvestmentProduct investmentProduct);
 
+   // invested and current value of all holdings of a user, summed in the database
+   @Query("SELECT SUM(p.avgPurchasePrice * p.unitsOwned) AS totalInvested, " +
+           "SUM(p.unitsOwned * ip.currentNetAssetValuePerUnit) AS currentValue " +
+           "FROM Portfolio p JOIN p.investmentProduct ip " +
+           "WHERE p.user.id = :userId")
+   PortfolioTotalsProjection sumTotalsByUserId(@Param("userId") UUID userId);
+
+   // current value of a user's holdings grouped by investment type
+   @Query("SELECT CAST(ip.type AS string) AS bucket, " +
+           "SUM(p.unitsOwned * ip.currentNetAssetValuePerUnit) AS total " +
+           "FROM Portfolio p JOIN p.investmentProduct ip " +
+           "WHERE p.user.id = :userId " +
+           "GROUP BY ip.type " +
+           "ORDER BY total DESC")
+   List<AllocationSliceProjection> sumCurrentValueByType(@Param("userId") UUID userId);
+
+   // current value of a user's holdings grouped by risk level
+   @Query("SELECT CAST(ip.riskLevel AS string) AS bucket, " +
+           "SUM(p.unitsOwned * ip.currentNetAssetValuePerUnit) AS total " +
+           "FROM Portfolio p JOIN p.investmentProduct ip " +
+           "WHERE p.user.id = :userId " +
+           "GROUP BY ip.riskLevel " +
+           "ORDER BY total DESC")
+   List<AllocationSliceProjection> sumCurrentValueByRiskLevel(@Param("userId") UUID userId);
+
+   // current value of a user's holdings grouped by investment product
+   @Query("SELECT ip.name AS bucket, " +
+           "SUM(p.unitsOwned * ip.currentNetAssetValuePerUnit) AS total " +
+           "FROM Portfolio p JOIN p.investmentProduct ip " +
+           "WHERE p.user.id = :userId " +
+           "GROUP BY ip.id, ip.name " +
+           "ORDER BY total DESC")
+   List<AllocationSliceProjection> sumCurrentValueByProduct(@Param("userId") UUID userId);
 
 }
@@ -0,0 +1,11 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+
+import java.util.UUID;
+
+/**
+ * Columns of a stale ticket that the auto-close and archive jobs need, read without loading the entity.
+ */
+public record StaleTicket(UUID id, Priority priority, UUID userId, UUID assignedAdminId) {
+}
@@ -0,0 +1,138 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.ArchivedTicket;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based ticket maintenance in plain SQL, for jobs that touch many tickets and
+ * must not load them as entities. Callers run these inside one transaction per batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SupportTicketBulkRepository {
+
+    // served by idx_support_tickets_status_updated
+    private static final String LOCK_STALE =
+            "SELECT id, priority, user_id, assigned_admin_id FROM support_tickets " +
+            "WHERE status = :status AND updated_at < :cutoff " +
+            "ORDER BY updated_at LIMIT :limit FOR UPDATE";
+
+    private static final String CLOSE =
+            "UPDATE support_tickets SET status = :closed, updated_at = :closedAt " +
+            "WHERE id IN (:ids) AND status = :status AND updated_at < :cutoff";
+
+    // the longest-standing admin account, for closing notes on tickets nobody was assigned to
+    private static final String SUPPORT_SENDER =
+            "SELECT id FROM users WHERE role = :admin ORDER BY created_at, id LIMIT 1";
+
+    private static final String INSERT_MESSAGE =
+            "INSERT INTO ticket_messages (id, ticket_id, sender_id, message, timestamp, sender_type) " +
+            "VALUES (:id, :ticketId, :senderId, :message, :timestamp, :senderType)";
+
+    private static final String INSERT_ARCHIVED =
+            "INSERT INTO support_ticket_archive (id, user_id, closed_at, archived_at, payload) " +
+            "VALUES (:id, :userId, :closedAt, :archivedAt, :payload)";
+
+    private static final String DELETE_MESSAGES = "DELETE FROM ticket_messages WHERE ticket_id IN (:ids)";
+
+    private static final String DELETE_TICKETS = "DELETE FROM support_tickets WHERE id IN (:ids) AND status = :status";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<StaleTicket> lockStale(TicketStatus status, LocalDateTime cutoff, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("status", status.name())
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", limit);
+        return jdbcTemplate.query(LOCK_STALE, parameters, (rs, rowNum) -> new StaleTicket(
+                rs.getObject("id", UUID.class),
+                Priority.valueOf(rs.getString("priority")),
+                rs.getObject("user_id", UUID.class),
+                rs.getObject("assigned_admin_id", UUID.class)));
+    }
+
+    /**
+     * @return the number of tickets closed, at most {@code tickets.size()}
+     */
+    public int close(List<StaleTicket> tickets, TicketStatus status, LocalDateTime cutoff, LocalDateTime closedAt) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("closed", TicketStatus.CLOSED.name())
+                .addValue("closedAt", Timestamp.valueOf(closedAt))
+                .addValue("ids", tickets.stream().map(StaleTicket::id).toList())
+                .addValue("status", status.name())
+                .addValue("cutoff", Timestamp.valueOf(cutoff));
+        return jdbcTemplate.update(CLOSE, parameters);
+    }
+
+    public Optional<UUID> findSupportSenderId() {
+        return jdbcTemplate.query(SUPPORT_SENDER, new MapSqlParameterSource("admin", UserRole.ADMIN.name()),
+                (rs, rowNum) -> rs.getObject("id", UUID.class)).stream().findFirst();
+    }
+
+    /**
+     * Adds one message per ticket in a single JDBC batch, always from the support
+     * side: the assigned admin signs it, unassigned tickets get {@code fallbackAdminId}.
+     *
+     * @return the number of messages added, tickets without any admin to sign are skipped
+     */
+    public int insertClosingMessages(List<StaleTicket> tickets, UUID fallbackAdminId, String message,
+                                     LocalDateTime at) {
+        List<SqlParameterSource> batch = new ArrayList<>(tickets.size());
+        for (StaleTicket ticket : tickets) {
+            UUID senderId = ticket.assignedAdminId() != null ? ticket.assignedAdminId() : fallbackAdminId;
+            if (senderId == null) {
+                continue;
+            }
+            batch.add(new MapSqlParameterSource()
+                    .addValue("id", UUID.randomUUID())
+                    .addValue("ticketId", ticket.id())
+                    .addValue("senderId", senderId)
+                    .addValue("message", message)
+                    .addValue("timestamp", Timestamp.valueOf(at))
+                    .addValue("senderType", UserRole.ADMIN.name()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE, batch.toArray(new SqlParameterSource[0]));
+        return batch.size();
+    }
+
+    public void insertArchived(List<ArchivedTicket> tickets) {
+        SqlParameterSource[] batch = new SqlParameterSource[tickets.size()];
+        for (int i = 0; i < batch.length; i++) {
+            ArchivedTicket ticket = tickets.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("id", ticket.getId())
+                    .addValue("userId", ticket.getUserId())
+                    .addValue("closedAt", Timestamp.valueOf(ticket.getClosedAt()))
+                    .addValue("archivedAt", Timestamp.valueOf(ticket.getArchivedAt()))
+                    .addValue("payload", ticket.getPayload());
+        }
+        jdbcTemplate.batchUpdate(INSERT_ARCHIVED, batch);
+    }
+
+    /**
+     * Deletes the tickets and their messages, messages first for the foreign key.
+     *
+     * @return the number of tickets deleted, only those still in {@code status} are
+     */
+    public int delete(List<UUID> ticketIds, TicketStatus status) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ids", ticketIds)
+                .addValue("status", status.name());
+        jdbcTemplate.update(DELETE_MESSAGES, parameters);
+        return jdbcTemplate.update(DELETE_TICKETS, parameters);
+    }
+}
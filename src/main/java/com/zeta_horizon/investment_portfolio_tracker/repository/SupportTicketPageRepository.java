@@ -0,0 +1,12 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface SupportTicketPageRepository {
+
+    // keyset positions of the first tickets matching the specification, newest first
+    List<TicketCursor> findPositions(Specification<SupportTicket> specification, int limit);
+}
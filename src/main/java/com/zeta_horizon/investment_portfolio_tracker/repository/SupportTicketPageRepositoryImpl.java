@@ -0,0 +1,44 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Selects only the ordering keys of tickets so the page limit is applied in SQL.
+ * The details of the page are fetched afterwards by id, because limiting a query
+ * that also fetches the messages collection would make Hibernate paginate in
+ * memory. The keys also give the next cursor, so a ticket deleted or archived
+ * before its details are read cannot shift the page boundary.
+ */
+public class SupportTicketPageRepositoryImpl implements SupportTicketPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketCursor> findPositions(Specification<SupportTicket> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketCursor> query = cb.createQuery(TicketCursor.class);
+        Root<SupportTicket> root = query.from(SupportTicket.class);
+
+        query.select(cb.construct(TicketCursor.class, root.get("createdAt"), root.get("id")))
+                .orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+        // a specification without filters yields no predicate
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
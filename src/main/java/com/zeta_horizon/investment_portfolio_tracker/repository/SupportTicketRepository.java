@@ -1,28 +1,74 @@
 package com.zeta_horizon.investment_portfolio_tracker.repository;
 
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingQuery;
+import com.zeta_horizon.investment_portfolio_tracker.dto.AdminLoadProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketCountProjection;
 import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
-import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
 import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface SupportTicketRepository extends JpaRepository<SupportTicket, UUID> {
-    List<SupportTicket> findByPriorityOrderByCreatedAtDesc(Priority priority);
+// every finder loads the ticket with its user, product, messages and senders in one statement,
+// filtered listings go through SupportTicketSpecifications
+public interface SupportTicketRepository extends JpaRepository<SupportTicket, UUID>,
+        JpaSpecificationExecutor<SupportTicket>, SupportTicketPageRepository {
 
-    List<SupportTicket> findByStatusOrderByCreatedAtDesc(TicketStatus status);
+    @EntityGraph(SupportTicket.DETAILS_GRAPH)
+    List<SupportTicket> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
-    List<SupportTicket> findByPriorityAndStatusOrderByCreatedAtDesc(Priority priority, TicketStatus status);
+    @ReportingQuery
+    @EntityGraph(SupportTicket.DETAILS_GRAPH)
+    List<SupportTicket> findAllByOrderByCreatedAtDesc();
 
-    List<SupportTicket> findByUserIdAndPriorityAndStatusOrderByCreatedAtDesc(UUID userId, Priority priority, TicketStatus status);
+    // details of one keyset page, selected beforehand by findPositions
+    @EntityGraph(SupportTicket.DETAILS_GRAPH)
+    List<SupportTicket> findByIdIn(Collection<UUID> ids);
 
-    List<SupportTicket> findByUserIdAndPriorityOrderByCreatedAtDesc(UUID userId, Priority priority);
+    @Override
+    @EntityGraph(SupportTicket.DETAILS_GRAPH)
+    List<SupportTicket> findAll(Specification<SupportTicket> specification, Sort sort);
 
-    List<SupportTicket> findByUserIdAndStatusOrderByCreatedAtDesc(UUID userId, TicketStatus status);
+    @Override
+    @EntityGraph(SupportTicket.DETAILS_GRAPH)
+    List<SupportTicket> findAll();
 
-    List<SupportTicket> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    // a query rather than a load by id, Hibernate's id loader stops the graph before the message attachments
+    @Override
+    @EntityGraph(SupportTicket.DETAILS_GRAPH)
+    @Query("SELECT t FROM SupportTicket t WHERE t.id = :id")
+    Optional<SupportTicket> findById(@Param("id") UUID id);
 
-    List<SupportTicket> findAllByOrderByCreatedAtDesc();
+    // the ticket row only, locked so a reply and TicketAutoCloseJob cannot both change the status
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM SupportTicket t WHERE t.id = :id")
+    Optional<SupportTicket> lockById(@Param("id") UUID id);
+
+    // access check on the ticket row alone, without loading the details graph
+    @Query("SELECT COUNT(t) > 0 FROM SupportTicket t LEFT JOIN t.assignedAdmin a " +
+            "WHERE t.id = :id AND (t.user.id = :userId OR a.id = :userId)")
+    boolean isParticipant(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // seeds and checks the in-memory queue counters, an index-only scan of idx_support_tickets_priority_status_created
+    @Query("SELECT t.status AS status, t.priority AS priority, COUNT(t) AS total " +
+            "FROM SupportTicket t GROUP BY t.status, t.priority")
+    List<TicketCountProjection> countByStatusAndPriority();
+
+    // tickets each admin still has to work on, per priority, for the admin load balancer
+    @Query("SELECT t.assignedAdmin.id AS adminId, t.priority AS priority, COUNT(t) AS total " +
+            "FROM SupportTicket t WHERE t.assignedAdmin IS NOT NULL AND t.status <> :closed " +
+            "GROUP BY t.assignedAdmin.id, t.priority")
+    List<AdminLoadProjection> countOpenByAssignedAdmin(@Param("closed") TicketStatus closed);
 
 }
@@ -0,0 +1,66 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Building blocks of the single dynamic ticket query. The admin queue filters
+ * (none, status, priority and status, user, user and status, assignee and
+ * status) each match a composite index on support_tickets ending in
+ * (created_at, id), so filtering and keyset ordering are both served by the index.
+ */
+public final class SupportTicketSpecifications {
+
+    // newest first; id breaks ties between tickets created in the same instant
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private SupportTicketSpecifications() {
+    }
+
+    /**
+     * Tickets matching every filter that is not null.
+     */
+    public static Specification<SupportTicket> matching(UUID userId, Priority priority, TicketStatus status) {
+        List<Specification<SupportTicket>> filters = new ArrayList<>(3);
+        if (userId != null) {
+            filters.add((root, query, cb) -> cb.equal(root.get("user").get("id"), userId));
+        }
+        if (priority != null) {
+            filters.add((root, query, cb) -> cb.equal(root.get("priority"), priority));
+        }
+        if (status != null) {
+            filters.add((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        return Specification.allOf(filters);
+    }
+
+    /**
+     * Tickets assigned to the admin.
+     */
+    public static Specification<SupportTicket> assignedTo(UUID adminId) {
+        return (root, query, cb) -> cb.equal(root.get("assignedAdmin").get("id"), adminId);
+    }
+
+    /**
+     * Tickets strictly after the cursor in {@link #NEWEST_FIRST} order, or all tickets for a null cursor.
+     */
+    public static Specification<SupportTicket> after(TicketCursor cursor) {
+        if (cursor == null) {
+            return Specification.allOf();
+        }
+        return (root, query, cb) -> {
+            var createdAt = root.<LocalDateTime>get("createdAt");
+            return cb.or(
+                    cb.lessThan(createdAt, cursor.createdAt()),
+                    cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(root.<UUID>get("id"), cursor.id())));
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the (createdAt desc, id desc) ticket order, carried between
+ * requests as an opaque URL-safe string.
+ */
+public record TicketCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a null or blank value (first page)
+     * @throws IllegalArgumentException if the value is not a cursor produced by {@link #encode()}
+     */
+    public static TicketCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            return new TicketCursor(LocalDateTime.parse(raw.substring(0, split)), UUID.fromString(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+    }
+}
@@ -1,12 +1,38 @@
 package com.zeta_horizon.investment_portfolio_tracker.repository;
 
 import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TicketMessageRepository extends JpaRepository<TicketMessage, UUID> {
     // get the messages from the db based on the ticketId in acsending order by time
+    // the sender and attachments are fetched with the messages because TicketMessageMapper reads them
+    @EntityGraph(attributePaths = {"sender", "attachments"})
     List<TicketMessage> findBySupportTicketIdOrderByTimestampAsc(UUID supportTicketId);
+
+    // first messages of a conversation, served by idx_ticket_messages_ticket_timestamp
+    @EntityGraph(attributePaths = {"sender", "attachments"})
+    List<TicketMessage> findBySupportTicketIdOrderByTimestampAscIdAsc(UUID supportTicketId, Limit limit);
+
+    // messages after a (timestamp, id) position, served by idx_ticket_messages_ticket_timestamp
+    @EntityGraph(attributePaths = {"sender", "attachments"})
+    @Query("SELECT m FROM TicketMessage m WHERE m.supportTicket.id = :ticketId " +
+            "AND (m.timestamp > :timestamp OR (m.timestamp = :timestamp AND m.id > :id)) " +
+            "ORDER BY m.timestamp ASC, m.id ASC")
+    List<TicketMessage> findAfter(@Param("ticketId") UUID ticketId,
+                                  @Param("timestamp") LocalDateTime timestamp,
+                                  @Param("id") UUID id,
+                                  Limit limit);
+
+    // what an attachment upload checks: the ticket it belongs to and who wrote it
+    @Query("SELECT m FROM TicketMessage m JOIN FETCH m.supportTicket JOIN FETCH m.sender WHERE m.id = :id")
+    Optional<TicketMessage> findWithTicketAndSenderById(@Param("id") UUID id);
 }
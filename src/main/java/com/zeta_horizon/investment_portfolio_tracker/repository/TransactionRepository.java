@@ -1,28 +1,40 @@
 package com.zeta_horizon.investment_portfolio_tracker.repository;
 
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingQuery;
+import com.zeta_horizon.investment_portfolio_tracker.dto.LedgerEntryProjection;
 import com.zeta_horizon.investment_portfolio_tracker.entity.Transaction;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
 import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
 
     // list all the transactions of a particular user
+    @EntityGraph(attributePaths = {"user", "investmentProduct"})
     List<Transaction> findByUser(User user);
 
     // list all the transactions of a particular user in a sorted manner of transaction date
+    @ReportingQuery
+    @EntityGraph(attributePaths = {"user", "investmentProduct"})
     List<Transaction> findByUserOrderByTxnDateDesc(User user);
 
-    // Custom query for filtered and paginated transactions
+    // Custom query for filtered and paginated transactions, the LIKE search scans the user's whole ledger
+    @ReportingQuery
+    @EntityGraph(attributePaths = {"user", "investmentProduct"})
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
             "AND (:searchQuery IS NULL OR " +
             "     LOWER(t.investmentProduct.name) LIKE LOWER(CONCAT('%', :searchQuery, '%')) OR " +
@@ -38,4 +50,59 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
             @Param("endDate") LocalDateTime endDate,
             Pageable pageable
     );
+
+    // the user's full ledger in chronological order, without loading the eager associations
+    @Query("SELECT t.id AS id, t.investmentProduct.id AS productId, t.txnType AS txnType, " +
+            "t.units AS units, t.navAtTxn AS navAtTxn, t.txnDate AS txnDate " +
+            "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.txnDate ASC, t.id ASC")
+    List<LedgerEntryProjection> findLedgerByUserId(@Param("userId") UUID userId);
+
+    // every product the user has traded before the given time
+    @Query("SELECT DISTINCT t.investmentProduct.id FROM Transaction t WHERE t.user.id = :userId AND t.txnDate < :before")
+    List<Integer> findProductIdsByUserIdBefore(@Param("userId") UUID userId, @Param("before") LocalDateTime before);
+
+    // same ledger read through a cursor, for replays that only need one pass
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.investmentProduct.id AS productId, t.txnType AS txnType, " +
+            "t.units AS units, t.navAtTxn AS navAtTxn, t.txnDate AS txnDate " +
+            "FROM Transaction t WHERE t.user.id = :userId AND t.txnDate < :before " +
+            "ORDER BY t.txnDate ASC, t.id ASC")
+    Stream<LedgerEntryProjection> streamLedgerByUserIdBefore(@Param("userId") UUID userId,
+                                                             @Param("before") LocalDateTime before);
+
+    // ledger entries after a checkpoint position (txnDate, id) and before the given time
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.investmentProduct.id AS productId, t.txnType AS txnType, " +
+            "t.units AS units, t.navAtTxn AS navAtTxn, t.txnDate AS txnDate " +
+            "FROM Transaction t WHERE t.user.id = :userId " +
+            "AND (t.txnDate > :afterDate OR (t.txnDate = :afterDate AND t.id > :afterId)) " +
+            "AND t.txnDate < :before ORDER BY t.txnDate ASC, t.id ASC")
+    Stream<LedgerEntryProjection> streamLedgerByUserIdBetween(@Param("userId") UUID userId,
+                                                              @Param("afterDate") LocalDateTime afterDate,
+                                                              @Param("afterId") Integer afterId,
+                                                              @Param("before") LocalDateTime before);
+
+    /*
+     * Users with at least :threshold transactions after their latest checkpoint's position in
+     * the ledger order, the tail createCheckpoints replays. Ids come from a pooled sequence
+     * and say nothing about that order on their own. Each user's tail is counted on the
+     * (user_id, txn_date, id) index, so the work follows the tails, not the whole table.
+     */
+    String USERS_DUE_FOR_CHECKPOINT = "SELECT u.id FROM User u LEFT JOIN HoldingsCheckpoint c ON c.user = u " +
+            "AND c.transactionCount = (SELECT MAX(l.transactionCount) FROM HoldingsCheckpoint l WHERE l.user = u) " +
+            "WHERE (SELECT COUNT(t) FROM Transaction t WHERE t.user = u AND (c.id IS NULL " +
+            "OR t.txnDate > c.lastTransactionDate " +
+            "OR (t.txnDate = c.lastTransactionDate AND t.id > c.lastTransactionId))) >= :threshold";
+
+    // every user is counted, a full pass
+    @Query(USERS_DUE_FOR_CHECKPOINT)
+    List<UUID> findUserIdsDueForCheckpoint(@Param("threshold") long threshold);
+
+    // only users who booked a transaction with an id above :afterId are counted, found on the primary key
+    @Query(USERS_DUE_FOR_CHECKPOINT + " AND u.id IN (SELECT r.user.id FROM Transaction r WHERE r.id > :afterId)")
+    List<UUID> findUserIdsDueForCheckpointBookedAfter(@Param("threshold") long threshold,
+                                                      @Param("afterId") Integer afterId);
+
+    @Query("SELECT MAX(t.id) FROM Transaction t")
+    Integer findMaxId();
 }
@@ -0,0 +1,9 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+
+public interface UserLookupRepository {
+
+    // the user with the given email, or null
+    User findByEmail(String email);
+}
@@ -0,0 +1,27 @@
+package com.zeta_horizon.investment_portfolio_tracker.repository;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads users by their natural id, the email, instead of a derived query. The
+ * email resolves to the id through the natural-id cache and the user comes from
+ * the entity cache, so the lookup made for every authenticated request reaches
+ * the database only on a miss. A derived query would always run its select.
+ */
+public class UserLookupRepositoryImpl implements UserLookupRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public User findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .load(email);
+    }
+}
@@ -1,13 +1,26 @@
 package com.zeta_horizon.investment_portfolio_tracker.repository;
 
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingQuery;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
-    User findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, UUID>, UserLookupRepository {
+
+    // every user, for the admin listing
+    @ReportingQuery
+    @Override
+    List<User> findAll();
+
+    // ids only, the admin load balancer does not need the rest of the user
+    @Query("SELECT u.id FROM User u WHERE u.role = :role")
+    List<UUID> findIdsByRole(@Param("role") UserRole role);
 }
@@ -0,0 +1,283 @@
+package com.zeta_horizon.investment_portfolio_tracker.search;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchHitDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchResultDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Inverted index kept in the heap, used where the database has no full-text
+ * search (the H2 test database, or when {@code support.search.engine=memory}).
+ *
+ * Every ticket is indexed as one document for its subject and description plus
+ * one document per message, the same split as the PostgreSQL tsvector columns,
+ * and ranked with tf-idf using the tsvector weights (subject A, description B,
+ * messages at half the ticket score). The index is filled from the database on
+ * the first search and kept current by {@link #index} calls made after commits.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "support.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryTicketSearchIndex implements TicketSearchIndex {
+
+    private static final float SUBJECT_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+    private static final float MESSAGE_WEIGHT = 0.5f;
+    private static final int HIGHLIGHT_CHARS = 200;
+
+    private final SupportTicketRepository ticketRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, IndexedTicket> tickets = new HashMap<>();
+    private final Map<String, Set<Document>> postings = new HashMap<>();
+    private int documentCount;
+    private volatile boolean loaded;
+
+    @Override
+    public TicketSearchResultDto search(String query, int page, int size) {
+        Set<String> terms = SearchTerms.queryTerms(query);
+        if (terms.isEmpty()) {
+            return result(new ArrayList<>(), page, size, 0);
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            Map<UUID, Float> scores = new HashMap<>();
+            Map<UUID, Document> bestMessage = new HashMap<>();
+            Set<UUID> ticketDocumentMatched = new HashSet<>();
+            for (Document document : matchingDocuments(terms)) {
+                float score = document.score(terms, this::idf);
+                scores.merge(document.ticketId, score, Float::sum);
+                if (document.message == null) {
+                    ticketDocumentMatched.add(document.ticketId);
+                } else {
+                    bestMessage.merge(document.ticketId, document,
+                            (a, b) -> a.score(terms, this::idf) >= b.score(terms, this::idf) ? a : b);
+                }
+            }
+
+            List<UUID> ranked = new ArrayList<>(scores.keySet());
+            ranked.sort(Comparator.comparing((UUID id) -> scores.get(id)).reversed()
+                    .thenComparing(Comparator.naturalOrder()));
+            int from = (int) Math.min((long) page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+
+            List<TicketSearchHitDto> hits = new ArrayList<>(to - from);
+            for (UUID id : ranked.subList(from, to)) {
+                IndexedTicket ticket = tickets.get(id);
+                String fragment = ticketDocumentMatched.contains(id) || !bestMessage.containsKey(id)
+                        ? ticket.description
+                        : bestMessage.get(id).message;
+                hits.add(TicketSearchHitDto.builder()
+                        .ticketId(id)
+                        .subject(ticket.subject)
+                        .status(ticket.status)
+                        .priority(ticket.priority)
+                        .updatedAt(ticket.updatedAt)
+                        .score(scores.get(id))
+                        .highlight(SearchTerms.highlight(fragment, terms, HIGHLIGHT_CHARS))
+                        .build());
+            }
+            return result(hits, page, size, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(SupportTicket ticket) {
+        IndexedTicket indexed = IndexedTicket.of(ticket);
+        lock.writeLock().lock();
+        try {
+            // tickets committed before the first load are picked up by the load itself
+            if (loaded) {
+                put(indexed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void reindex(Collection<UUID> ticketIds) {
+        if (!loaded || ticketIds.isEmpty()) {
+            return;
+        }
+        List<SupportTicket> changed = ticketRepository.findByIdIn(ticketIds);
+        Set<UUID> gone = new HashSet<>(ticketIds);
+        lock.writeLock().lock();
+        try {
+            for (SupportTicket ticket : changed) {
+                put(IndexedTicket.of(ticket));
+                gone.remove(ticket.getId());
+            }
+            // archived tickets are no longer in the table and drop out of the search
+            for (UUID id : gone) {
+                remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                List<SupportTicket> all = ticketRepository.findAll();
+                for (SupportTicket ticket : all) {
+                    put(IndexedTicket.of(ticket));
+                }
+                loaded = true;
+                log.info("Built in-memory ticket search index with {} tickets and {} terms", all.size(), postings.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // replaces whatever was indexed for the ticket before
+    private void put(IndexedTicket ticket) {
+        unlink(tickets.put(ticket.id, ticket));
+        for (Document document : ticket.documents) {
+            for (String term : document.weights.keySet()) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(document);
+            }
+        }
+        documentCount += ticket.documents.size();
+    }
+
+    private void remove(UUID ticketId) {
+        unlink(tickets.remove(ticketId));
+    }
+
+    private void unlink(IndexedTicket previous) {
+        if (previous == null) {
+            return;
+        }
+        for (Document document : previous.documents) {
+            for (String term : document.weights.keySet()) {
+                Set<Document> documents = postings.get(term);
+                documents.remove(document);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        documentCount -= previous.documents.size();
+    }
+
+    // documents containing every term, walking the rarest posting list
+    private List<Document> matchingDocuments(Set<String> terms) {
+        Set<Document> rarest = null;
+        for (String term : terms) {
+            Set<Document> documents = postings.get(term);
+            if (documents == null) {
+                return new ArrayList<>();
+            }
+            if (rarest == null || documents.size() < rarest.size()) {
+                rarest = documents;
+            }
+        }
+        List<Document> matches = new ArrayList<>();
+        for (Document document : rarest) {
+            if (document.weights.keySet().containsAll(terms)) {
+                matches.add(document);
+            }
+        }
+        return matches;
+    }
+
+    private float idf(String term) {
+        Set<Document> documents = postings.get(term);
+        int frequency = documents != null ? documents.size() : 0;
+        return (float) Math.log(1 + (double) documentCount / (1 + frequency));
+    }
+
+    private TicketSearchResultDto result(List<TicketSearchHitDto> hits, int page, int size, long total) {
+        return TicketSearchResultDto.builder()
+                .hits(hits)
+                .currentPage(page)
+                .pageSize(size)
+                .totalElements(total)
+                .hasNext((long) (page + 1) * size < total)
+                .build();
+    }
+
+    private record IndexedTicket(UUID id, String subject, String description, TicketStatus status,
+                                 Priority priority, LocalDateTime updatedAt, List<Document> documents) {
+
+        static IndexedTicket of(SupportTicket ticket) {
+            List<Document> documents = new ArrayList<>();
+            Map<String, Float> weights = new HashMap<>();
+            addTerms(weights, ticket.getSubject(), SUBJECT_WEIGHT);
+            addTerms(weights, ticket.getDescription(), DESCRIPTION_WEIGHT);
+            documents.add(new Document(ticket.getId(), null, weights, 1.0f));
+            if (ticket.getMessages() != null) {
+                for (TicketMessage message : ticket.getMessages()) {
+                    Map<String, Float> messageWeights = new HashMap<>();
+                    addTerms(messageWeights, message.getMessage(), DESCRIPTION_WEIGHT);
+                    documents.add(new Document(ticket.getId(), message.getMessage(), messageWeights, MESSAGE_WEIGHT));
+                }
+            }
+            return new IndexedTicket(ticket.getId(), ticket.getSubject(), ticket.getDescription(),
+                    ticket.getStatus(), ticket.getPriority(), ticket.getUpdatedAt(), documents);
+        }
+
+        private static void addTerms(Map<String, Float> weights, String text, float weight) {
+            for (String term : SearchTerms.tokenize(text)) {
+                weights.merge(term, weight, Float::sum);
+            }
+        }
+    }
+
+    // compared by identity, two messages with the same text are still two documents
+    private static final class Document {
+        private final UUID ticketId;
+        private final String message;
+        private final Map<String, Float> weights;
+        private final float boost;
+
+        private Document(UUID ticketId, String message, Map<String, Float> weights, float boost) {
+            this.ticketId = ticketId;
+            this.message = message;
+            this.weights = weights;
+            this.boost = boost;
+        }
+
+        private float score(Set<String> terms, ToDoubleFunction<String> idf) {
+            float score = 0;
+            for (String term : terms) {
+                // log damping keeps a word repeated many times from dominating the rank
+                score += (float) (idf.applyAsDouble(term) * Math.log1p(weights.get(term)));
+            }
+            return score * boost;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.zeta_horizon.investment_portfolio_tracker.search;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchHitDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchResultDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full-text search on PostgreSQL {@code tsvector} columns.
+ *
+ * Both vectors are stored generated columns, so PostgreSQL keeps them current on
+ * every insert and update and {@link #index} has nothing to do. Hibernate does
+ * not map them; they and their GIN indexes are added when the application starts,
+ * after the schema update has created the tables.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "support.search.engine", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresTicketSearchIndex implements TicketSearchIndex {
+
+    private static final List<String> SCHEMA = List.of(
+            "ALTER TABLE support_tickets ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('english', coalesce(subject, '')), 'A') || " +
+                    "setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_support_tickets_search ON support_tickets USING GIN (search_vector)",
+            "ALTER TABLE ticket_messages ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('english', coalesce(message, '')), 'B')) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_ticket_messages_search ON ticket_messages USING GIN (search_vector)");
+
+    // ranks are summed per ticket and only the requested page is highlighted, ts_headline re-parses the text;
+    // it selects with control characters that are escaped into marks afterwards, the text itself is not HTML
+    private static final String SEARCH =
+            "WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query), " +
+            "matches AS (" +
+            "  SELECT t.id AS ticket_id, ts_rank_cd(t.search_vector, q.query) AS score, TRUE AS in_ticket " +
+            "  FROM support_tickets t, q WHERE t.search_vector @@ q.query " +
+            "  UNION ALL " +
+            "  SELECT m.ticket_id, ts_rank_cd(m.search_vector, q.query) * 0.5, FALSE " +
+            "  FROM ticket_messages m, q WHERE m.search_vector @@ q.query), " +
+            "ranked AS (" +
+            "  SELECT ticket_id, SUM(score) AS score, BOOL_OR(in_ticket) AS in_ticket, COUNT(*) OVER () AS total " +
+            "  FROM matches GROUP BY ticket_id " +
+            "  ORDER BY score DESC, ticket_id LIMIT :limit OFFSET :offset) " +
+            "SELECT t.id, t.subject, t.status, t.priority, t.updated_at, r.score, r.total, " +
+            "  ts_headline('english', translate(CASE WHEN r.in_ticket OR best.message IS NULL THEN t.description " +
+            "    ELSE best.message END, chr(2) || chr(3), ''), q.query, " +
+            "    'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', MaxWords=35, MinWords=15, MaxFragments=2') " +
+            "  AS highlight " +
+            "FROM ranked r " +
+            "JOIN support_tickets t ON t.id = r.ticket_id " +
+            "CROSS JOIN q " +
+            "LEFT JOIN LATERAL (" +
+            "  SELECT m.message FROM ticket_messages m " +
+            "  WHERE NOT r.in_ticket AND m.ticket_id = r.ticket_id AND m.search_vector @@ q.query " +
+            "  ORDER BY ts_rank_cd(m.search_vector, q.query) DESC LIMIT 1) best ON TRUE " +
+            "ORDER BY r.score DESC, r.ticket_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchColumns() {
+        for (String statement : SCHEMA) {
+            jdbcTemplate.getJdbcTemplate().execute(statement);
+        }
+        log.info("Ticket full-text search columns and GIN indexes are in place");
+    }
+
+    @Override
+    public TicketSearchResultDto search(String query, int page, int size) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", size)
+                .addValue("offset", (long) page * size);
+        long[] total = {0};
+        List<TicketSearchHitDto> hits = new ArrayList<>(jdbcTemplate.query(SEARCH, parameters, (rs, rowNum) -> {
+            total[0] = rs.getLong("total");
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            return TicketSearchHitDto.builder()
+                    .ticketId(rs.getObject("id", UUID.class))
+                    .subject(rs.getString("subject"))
+                    .status(TicketStatus.valueOf(rs.getString("status")))
+                    .priority(Priority.valueOf(rs.getString("priority")))
+                    .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                    .score(rs.getDouble("score"))
+                    .highlight(SearchTerms.headlineToHtml(rs.getString("highlight")))
+                    .build();
+        }));
+        return TicketSearchResultDto.builder()
+                .hits(hits)
+                .currentPage(page)
+                .pageSize(size)
+                .totalElements(total[0])
+                .hasNext((long) (page + 1) * size < total[0])
+                .build();
+    }
+
+    @Override
+    public void index(SupportTicket ticket) {
+        // the generated tsvector columns are maintained by PostgreSQL
+    }
+
+    @Override
+    public void reindex(Collection<UUID> ticketIds) {
+        // the generated tsvector columns are maintained by PostgreSQL
+    }
+}
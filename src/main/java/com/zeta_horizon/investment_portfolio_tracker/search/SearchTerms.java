@@ -0,0 +1,139 @@
+package com.zeta_horizon.investment_portfolio_tracker.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizer of the in-memory index: lower-cased words and numbers, without
+ * common English stop words and with a trailing plural "s" removed, roughly
+ * what the PostgreSQL english configuration does for ticket text.
+ */
+final class SearchTerms {
+
+    static final String MARK_START = "<mark>";
+    static final String MARK_END = "</mark>";
+    // selection markers handed to ts_headline, removed from the source text so only it can place them
+    static final String HEADLINE_START = "\u0002";
+    static final String HEADLINE_END = "\u0003";
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "i",
+            "in", "is", "it", "its", "my", "no", "not", "of", "on", "or", "so", "that", "the", "this",
+            "to", "was", "we", "were", "will", "with", "you", "your");
+
+    private SearchTerms() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            String term = normalize(matcher.group());
+            if (term != null) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    static Set<String> queryTerms(String query) {
+        return new LinkedHashSet<>(tokenize(query));
+    }
+
+    /**
+     * Cuts a window of at most {@code maxChars} around the first matching word and
+     * wraps every matching word in {@code <mark>}; the text is returned from the
+     * start when nothing matches. Ticket text is HTML-escaped, the marks are the
+     * only markup in the result.
+     */
+    static String highlight(String text, Set<String> terms, int maxChars) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        Matcher matcher = TOKEN.matcher(text);
+        int firstMatch = -1;
+        while (matcher.find()) {
+            if (terms.contains(normalize(matcher.group()))) {
+                firstMatch = matcher.start();
+                break;
+            }
+        }
+        int start = firstMatch <= maxChars / 3 ? 0 : wordStart(text, firstMatch - maxChars / 3, firstMatch);
+        int end = Math.min(text.length(), start + maxChars);
+        if (end < text.length()) {
+            end = wordEnd(text, end);
+        }
+
+        StringBuilder out = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            out.append("...");
+        }
+        matcher = TOKEN.matcher(text).region(start, end);
+        int copied = start;
+        while (matcher.find()) {
+            if (terms.contains(normalize(matcher.group()))) {
+                out.append(HtmlUtils.htmlEscape(text.substring(copied, matcher.start())))
+                        .append(MARK_START).append(matcher.group()).append(MARK_END);
+                copied = matcher.end();
+            }
+        }
+        out.append(HtmlUtils.htmlEscape(text.substring(copied, end)));
+        if (end < text.length()) {
+            out.append("...");
+        }
+        return out.toString();
+    }
+
+    /**
+     * Turns a {@code ts_headline} result selected with {@link #HEADLINE_START} and
+     * {@link #HEADLINE_END} into HTML: the text is escaped, then the markers become marks.
+     */
+    static String headlineToHtml(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(HEADLINE_START, MARK_START)
+                .replace(HEADLINE_END, MARK_END);
+    }
+
+    private static String normalize(String token) {
+        String term = token.toLowerCase(Locale.ROOT);
+        if (STOP_WORDS.contains(term)) {
+            return null;
+        }
+        if (term.length() > 3 && term.endsWith("s") && !term.endsWith("ss")
+                && !term.endsWith("us") && !term.endsWith("is")) {
+            term = term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+
+    // moves forward to the beginning of the next word so a fragment never starts mid-word
+    private static int wordStart(String text, int index, int limit) {
+        while (index < limit && !Character.isWhitespace(text.charAt(index - 1))) {
+            index++;
+        }
+        return index;
+    }
+
+    // moves back to the end of the previous word so a fragment never ends mid-word
+    private static int wordEnd(String text, int index) {
+        int end = index;
+        while (end > 0 && !Character.isWhitespace(text.charAt(end))) {
+            end--;
+        }
+        return end > 0 ? end : index;
+    }
+}
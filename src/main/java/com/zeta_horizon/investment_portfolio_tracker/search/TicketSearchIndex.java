@@ -0,0 +1,36 @@
+package com.zeta_horizon.investment_portfolio_tracker.search;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchResultDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Full-text search over ticket subjects, descriptions and message bodies.
+ *
+ * A ticket matches when its subject and description together, or one of its
+ * messages, contain every term of the query. Hits are ordered by relevance,
+ * with subject terms counting more than description terms and message matches
+ * counting least.
+ */
+public interface TicketSearchIndex {
+
+    /**
+     * @param page zero based page number
+     */
+    TicketSearchResultDto search(String query, int page, int size);
+
+    /**
+     * Called after a ticket or one of its messages was committed. The ticket's
+     * messages must be initialised.
+     */
+    void index(SupportTicket ticket);
+
+    /**
+     * Called after tickets were changed in bulk without being loaded; implementations
+     * that keep their own copy of the text read the tickets back and drop the ones
+     * that no longer exist.
+     */
+    void reindex(Collection<UUID> ticketIds);
+}
@@ -0,0 +1,182 @@
+package com.zeta_horizon.investment_portfolio_tracker.seed;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Appends rows to one table on a connection of its own. On PostgreSQL the rows are
+ * streamed through a single {@code COPY ... FROM STDIN}; elsewhere (H2 in the tests)
+ * they go in as JDBC batches committed every {@code batchSize} rows.
+ */
+abstract class BulkWriter implements AutoCloseable {
+
+    protected final Connection connection;
+    protected final int batchSize;
+    private long rows;
+
+    private BulkWriter(Connection connection, int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    static BulkWriter open(DataSource dataSource, String table, List<String> columns, int batchSize)
+            throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                return new Copy(connection, table, columns, batchSize);
+            }
+            return new Batch(connection, table, columns, batchSize);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    void row(Object... values) throws SQLException {
+        write(values);
+        rows++;
+        if (rows % batchSize == 0) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    protected abstract void write(Object[] values) throws SQLException;
+
+    protected abstract void flush() throws SQLException;
+
+    protected abstract void finish() throws SQLException;
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            finish();
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static final class Copy extends BulkWriter {
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder();
+
+        private Copy(Connection connection, String table, List<String> columns, int batchSize) throws SQLException {
+            super(connection, batchSize);
+            copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        protected void write(Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            buffer.append('\n');
+        }
+
+        // unquoted empty is NULL in csv format, a quoted empty string stays a string
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof String text) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value instanceof Enum<?> constant) {
+                buffer.append(constant.name());
+            } else if (value instanceof BigDecimal number) {
+                buffer.append(number.toPlainString());
+            } else {
+                buffer.append(value);
+            }
+        }
+
+        @Override
+        protected void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        protected void finish() throws SQLException {
+            if (!copy.isActive()) {
+                return;
+            }
+            try {
+                flush();
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        }
+    }
+
+    private static final class Batch extends BulkWriter {
+
+        private final PreparedStatement statement;
+        private int pending;
+
+        private Batch(Connection connection, String table, List<String> columns, int batchSize) throws SQLException {
+            super(connection, batchSize);
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")");
+        }
+
+        @Override
+        protected void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value instanceof LocalDateTime time) {
+                    value = Timestamp.valueOf(time);
+                } else if (value instanceof Enum<?> constant) {
+                    value = constant.name();
+                }
+                statement.setObject(i + 1, value);
+            }
+            statement.addBatch();
+            pending++;
+        }
+
+        @Override
+        protected void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        protected void finish() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+                // the connection goes back to the pool, which expects auto-commit
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+}
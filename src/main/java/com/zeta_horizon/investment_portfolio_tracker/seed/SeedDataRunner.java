@@ -0,0 +1,85 @@
+package com.zeta_horizon.investment_portfolio_tracker.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+/**
+ * Loads a synthetic load-test dataset and exits. Runs only with the {@code seed}
+ * profile, whose properties switch off the web server and size the dataset:
+ *
+ * <pre>java -jar app.jar --spring.profiles.active=seed --seed.transactions=10000000</pre>
+ *
+ * Every seeded user, admins included, signs in with {@code seed.password}.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class SeedDataRunner implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.users:200000}")
+    private int users;
+
+    @Value("${seed.admins:20}")
+    private int admins;
+
+    @Value("${seed.products:2000}")
+    private int products;
+
+    @Value("${seed.transactions:5000000}")
+    private long transactions;
+
+    @Value("${seed.tickets:5000}")
+    private int tickets;
+
+    @Value("${seed.messages-per-ticket:6}")
+    private int messagesPerTicket;
+
+    @Value("${seed.user-skew:0.9}")
+    private double userSkew;
+
+    @Value("${seed.product-skew:1.1}")
+    private double productSkew;
+
+    @Value("${seed.history-days:730}")
+    private int historyDays;
+
+    @Value("${seed.as-of:2026-01-01}")
+    private String asOf;
+
+    @Value("${seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${seed.password:password}")
+    private String password;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        SeedPlan plan = new SeedPlan(randomSeed, users, admins, products, transactions, tickets, messagesPerTicket,
+                userSkew, productSkew, historyDays, LocalDate.parse(asOf).atStartOfDay(), batchSize);
+        long started = System.nanoTime();
+        // hashed once, BCrypt at strength 12 per row would take longer than the load itself
+        new SyntheticDataGenerator(dataSource, plan, passwordEncoder.encode(password)).generate()
+                .ifPresent(summary -> log.info("Seed data loaded in {} s: {}",
+                        (System.nanoTime() - started) / 1_000_000_000, summary));
+        System.exit(SpringApplication.exit(context));
+    }
+}
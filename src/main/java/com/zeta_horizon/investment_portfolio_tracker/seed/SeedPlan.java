@@ -0,0 +1,41 @@
+package com.zeta_horizon.investment_portfolio_tracker.seed;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sizes and shape of a synthetic dataset. The same plan always produces the same
+ * rows: ids, values and timestamps are derived from {@code randomSeed} and
+ * {@code asOf}, never from the wall clock.
+ *
+ * @param userSkew    Zipf exponent for how transactions and tickets spread over users
+ * @param productSkew Zipf exponent for how trades and tickets spread over products
+ * @param historyDays transactions and tickets fall within this many days before {@code asOf}
+ */
+public record SeedPlan(long randomSeed,
+                       int users,
+                       int admins,
+                       int products,
+                       long transactions,
+                       int tickets,
+                       int messagesPerTicket,
+                       double userSkew,
+                       double productSkew,
+                       int historyDays,
+                       LocalDateTime asOf,
+                       int batchSize) {
+
+    public SeedPlan {
+        if (users <= 0 || products <= 0 || batchSize <= 0 || historyDays <= 0) {
+            throw new IllegalArgumentException("Seed plan needs users, products, a batch size and a history window");
+        }
+        if (tickets > 0 && admins <= 0) {
+            throw new IllegalArgumentException("Seed plan needs admins to answer the tickets");
+        }
+        if (transactions < 0 || tickets < 0) {
+            throw new IllegalArgumentException("Seed plan counts must not be negative");
+        }
+        if (messagesPerTicket < 1) {
+            throw new IllegalArgumentException("Seed plan tickets need at least one message");
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.zeta_horizon.investment_portfolio_tracker.seed;
+
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Writes a synthetic dataset of products, users, transactions, the portfolios those
+ * transactions add up to, and support tickets with message threads.
+ *
+ * Activity is skewed the way production data is: users and products are ranked and
+ * drawn from {@link ZipfSampler}s, so {@code user0@seed.example} is the heaviest trader
+ * and the lowest seeded product ids are the most traded. Every phase draws from its
+ * own random stream and every UUID is a name-based hash of the seed, so a plan always
+ * yields the same rows whatever the order or speed of the writes.
+ *
+ * Rows bypass Hibernate and go through {@link BulkWriter}s with explicit ids, after
+ * which the identity column and the id sequences are moved past the loaded ids.
+ * Application instances holding a block of sequence values from before the load
+ * can still hand out colliding ids, so seed while the application is stopped.
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+
+    static final String EMAIL_DOMAIN = "@seed.example";
+
+    // allocationSize of the Portfolio and Transaction id sequences
+    private static final int SEQUENCE_INCREMENT = 50;
+    private static final double SELL_SHARE = 0.3;
+    private static final double TICKET_PRODUCT_SHARE = 0.7;
+
+    private static final List<String> PRODUCT_COLUMNS = List.of("id", "name", "type", "risk_level",
+            "minimum_investment", "expected_annual_return_rate", "current_net_asset_value_per_unit",
+            "description", "is_active", "created_at", "updated_at");
+    private static final List<String> USER_COLUMNS = List.of("id", "name", "email", "password_hash", "phone",
+            "role", "created_at");
+    private static final List<String> TRANSACTION_COLUMNS = List.of("id", "user_id", "investment_product_id",
+            "txn_type", "units", "nav_at_txn", "txn_date");
+    private static final List<String> PORTFOLIO_COLUMNS = List.of("id", "user_id", "investment_product_id",
+            "units_owned", "avg_purchase_price");
+    private static final List<String> TICKET_COLUMNS = List.of("id", "user_id", "investment_product_id",
+            "assigned_admin_id", "subject", "description", "status", "priority", "created_at", "updated_at");
+    private static final List<String> MESSAGE_COLUMNS = List.of("id", "ticket_id", "sender_id", "message",
+            "timestamp", "sender_type");
+
+    private static final BigDecimal[] MINIMUM_INVESTMENTS = {new BigDecimal("100.00"), new BigDecimal("500.00"),
+            new BigDecimal("1000.00"), new BigDecimal("5000.00"), new BigDecimal("10000.00")};
+    private static final String[] TOPICS = {"SIP mandate", "redemption timeline", "NAV mismatch",
+            "KYC verification", "statement download", "tax certificate", "failed transaction",
+            "portfolio valuation", "bank account change", "dividend payout"};
+    private static final String[] CUSTOMER_LINES = {"Could you please check this for me?",
+            "The amount shown in my portfolio does not match my bank statement.",
+            "I have attached the reference number from my bank.",
+            "It has been a few days and I still see the same problem.",
+            "Thanks, that helps. One more question on the same order."};
+    private static final String[] ADMIN_LINES = {"Thanks for reaching out, we are looking into it.",
+            "The transaction was settled at the NAV of the next business day.",
+            "Your request has been forwarded to the operations team.",
+            "Please allow two working days for the update to reflect.",
+            "This has been corrected on our side, please check again."};
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final SeedPlan plan;
+    private final String passwordHash;
+
+    public SyntheticDataGenerator(DataSource dataSource, SeedPlan plan, String passwordHash) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.plan = plan;
+        this.passwordHash = passwordHash;
+    }
+
+    public record Summary(int products, int users, long transactions, long portfolios, int tickets, long messages) {
+    }
+
+    /**
+     * Loads the plan, or does nothing if an earlier run already seeded this database.
+     */
+    public Optional<Summary> generate() throws SQLException {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, userEmail(0));
+        if (seeded != null && seeded > 0) {
+            log.warn("Database already holds seeded users, nothing loaded");
+            return Optional.empty();
+        }
+
+        int firstProductId = (int) maxId("investment_product") + 1;
+        long firstPortfolioId = maxId("portfolio") + 1;
+        long firstTransactionId = maxId("transaction") + 1;
+
+        Products products = writeProducts(firstProductId);
+        Users users = writeUsers();
+        long[] ledger = writeLedger(products, users, firstTransactionId, firstPortfolioId);
+        List<PlannedTicket> tickets = writeTickets(products, users);
+        long messages = writeMessages(tickets);
+
+        restartIdentity("investment_product", firstProductId + plan.products());
+        restartSequence("portfolio_seq", firstPortfolioId + ledger[1]);
+        restartSequence("transaction_seq", firstTransactionId + ledger[0]);
+
+        return Optional.of(new Summary(plan.products(), plan.users() + plan.admins(), ledger[0], ledger[1],
+                tickets.size(), messages));
+    }
+
+    private Products writeProducts(int firstId) throws SQLException {
+        SplittableRandom random = random(1);
+        InvestmentType[] types = InvestmentType.values();
+        Products products = new Products(firstId, new long[plan.products()]);
+        long started = System.nanoTime();
+        try (BulkWriter writer = BulkWriter.open(dataSource, "investment_product", PRODUCT_COLUMNS, plan.batchSize())) {
+            for (int i = 0; i < plan.products(); i++) {
+                InvestmentType type = types[random.nextInt(types.length)];
+                RiskLevel risk = riskOf(type);
+                long navCents = 500 + random.nextLong(199_500);
+                products.navCents()[i] = navCents;
+                LocalDateTime createdAt = historyStart().minusDays(random.nextInt(365));
+                writer.row(products.id(i),
+                        "Seed " + label(type) + " " + (i + 1),
+                        type,
+                        risk,
+                        MINIMUM_INVESTMENTS[random.nextInt(MINIMUM_INVESTMENTS.length)],
+                        BigDecimal.valueOf(expectedReturnBasisPoints(risk, random), 2),
+                        BigDecimal.valueOf(navCents, 2),
+                        "Synthetic " + label(type).toLowerCase() + " for load testing",
+                        random.nextDouble() < 0.95,
+                        createdAt,
+                        createdAt);
+            }
+        }
+        log.info("Seeded {} products in {} ms", plan.products(), elapsedMillis(started));
+        return products;
+    }
+
+    private Users writeUsers() throws SQLException {
+        SplittableRandom random = random(2);
+        Users users = new Users(new UUID[plan.users()], new UUID[plan.admins()]);
+        long started = System.nanoTime();
+        try (BulkWriter writer = BulkWriter.open(dataSource, "users", USER_COLUMNS, plan.batchSize())) {
+            for (int i = 0; i < plan.admins(); i++) {
+                users.admins()[i] = uuid("admin", i);
+                writer.row(users.admins()[i], "Seed Admin " + i, "admin" + i + EMAIL_DOMAIN, passwordHash, null,
+                        UserRole.ADMIN, joinedAt(random));
+            }
+            for (int i = 0; i < plan.users(); i++) {
+                users.customers()[i] = uuid("user", i);
+                String phone = random.nextBoolean() ? "+1555" + (1_000_000 + random.nextInt(9_000_000)) : null;
+                writer.row(users.customers()[i], "Seed User " + i, userEmail(i), passwordHash, phone,
+                        UserRole.USER, joinedAt(random));
+            }
+        }
+        log.info("Seeded {} users and {} admins in {} ms", plan.users(), plan.admins(), elapsedMillis(started));
+        return users;
+    }
+
+    // transactions and the portfolios they net out to, on two connections; returns both row counts
+    private long[] writeLedger(Products products, Users users, long firstTransactionId, long firstPortfolioId)
+            throws SQLException {
+        SplittableRandom random = random(3);
+        ZipfSampler productSampler = new ZipfSampler(plan.products(), plan.productSkew());
+        int[] counts = transactionsPerUser(random);
+        long historySeconds = plan.historyDays() * 86_400L;
+        long transactionId = firstTransactionId;
+        long portfolioId = firstPortfolioId;
+        long started = System.nanoTime();
+        try (BulkWriter transactions = BulkWriter.open(dataSource, "transaction", TRANSACTION_COLUMNS, plan.batchSize());
+             BulkWriter portfolios = BulkWriter.open(dataSource, "portfolio", PORTFOLIO_COLUMNS, plan.batchSize())) {
+            for (int user = 0; user < counts.length; user++) {
+                long[] offsets = new long[counts[user]];
+                for (int i = 0; i < offsets.length; i++) {
+                    offsets[i] = random.nextLong(historySeconds);
+                }
+                Arrays.sort(offsets);
+
+                // units in hundredths so the holdings match the 2-decimal portfolio column exactly
+                Map<Integer, Holding> holdings = new TreeMap<>();
+                for (long offset : offsets) {
+                    int product = productSampler.sample(random);
+                    long navCents = Math.max(1, Math.round(products.navCents()[product] * (0.7 + 0.6 * random.nextDouble())));
+                    Holding holding = holdings.get(product);
+                    TransactionType type;
+                    long units;
+                    if (holding != null && random.nextDouble() < SELL_SHARE) {
+                        type = TransactionType.SELL;
+                        units = Math.max(1, (long) (holding.units * (0.1 + 0.9 * random.nextDouble())));
+                        if (units >= holding.units) {
+                            units = holding.units;
+                            holdings.remove(product);
+                        } else {
+                            holding.cost -= holding.cost * units / holding.units;
+                            holding.units -= units;
+                        }
+                    } else {
+                        type = TransactionType.BUY;
+                        units = 100 + random.nextLong(9_901);
+                        if (holding == null) {
+                            holding = new Holding();
+                            holdings.put(product, holding);
+                        }
+                        holding.units += units;
+                        holding.cost += (double) units * navCents;
+                    }
+                    transactions.row(transactionId++, users.customers()[user], products.id(product), type,
+                            BigDecimal.valueOf(units, 2), BigDecimal.valueOf(navCents, 2),
+                            historyStart().plusSeconds(offset));
+                }
+                for (Map.Entry<Integer, Holding> entry : holdings.entrySet()) {
+                    Holding holding = entry.getValue();
+                    BigDecimal averagePrice = BigDecimal.valueOf(holding.cost / holding.units / 100)
+                            .setScale(4, RoundingMode.HALF_UP);
+                    portfolios.row(portfolioId++, users.customers()[user], products.id(entry.getKey()),
+                            BigDecimal.valueOf(holding.units, 2), averagePrice);
+                }
+                if ((user + 1) % 50_000 == 0) {
+                    log.info("Seeded ledgers of {} users, {} transactions so far", user + 1, transactions.rows());
+                }
+            }
+        }
+        long transactionRows = transactionId - firstTransactionId;
+        long portfolioRows = portfolioId - firstPortfolioId;
+        log.info("Seeded {} transactions and {} portfolios in {} ms", transactionRows, portfolioRows,
+                elapsedMillis(started));
+        return new long[]{transactionRows, portfolioRows};
+    }
+
+    // Zipf shares rounded down, the remainder handed out by sampling so the total is exact
+    private int[] transactionsPerUser(SplittableRandom random) {
+        ZipfSampler userSampler = new ZipfSampler(plan.users(), plan.userSkew());
+        int[] counts = new int[plan.users()];
+        long assigned = 0;
+        for (int user = 0; user < counts.length; user++) {
+            counts[user] = (int) (plan.transactions() * userSampler.probability(user));
+            assigned += counts[user];
+        }
+        for (long i = assigned; i < plan.transactions(); i++) {
+            counts[userSampler.sample(random)]++;
+        }
+        return counts;
+    }
+
+    private List<PlannedTicket> writeTickets(Products products, Users users) throws SQLException {
+        SplittableRandom random = random(4);
+        ZipfSampler userSampler = new ZipfSampler(plan.users(), plan.userSkew());
+        ZipfSampler productSampler = new ZipfSampler(plan.products(), plan.productSkew());
+        List<PlannedTicket> tickets = new ArrayList<>(plan.tickets());
+        long started = System.nanoTime();
+        try (BulkWriter writer = BulkWriter.open(dataSource, "support_tickets", TICKET_COLUMNS, plan.batchSize())) {
+            for (int i = 0; i < plan.tickets(); i++) {
+                double draw = random.nextDouble();
+                TicketStatus status = draw < 0.3 ? TicketStatus.OPEN
+                        : draw < 0.7 ? TicketStatus.RESPONDED : TicketStatus.CLOSED;
+                draw = random.nextDouble();
+                Priority priority = draw < 0.3 ? Priority.LOW : draw < 0.8 ? Priority.MEDIUM : Priority.HIGH;
+                UUID userId = users.customers()[userSampler.sample(random)];
+                Integer productId = random.nextDouble() < TICKET_PRODUCT_SHARE
+                        ? products.id(productSampler.sample(random)) : null;
+                UUID adminId = users.admins()[random.nextInt(users.admins().length)];
+                String topic = TOPICS[random.nextInt(TOPICS.length)];
+
+                LocalDateTime[] times = threadTimes(status, random);
+                PlannedTicket ticket = new PlannedTicket(uuid("ticket", i), userId, adminId, times);
+                tickets.add(ticket);
+                writer.row(ticket.id(), userId, productId, adminId,
+                        "Question about " + topic,
+                        "Hello, I need help with a " + topic + ". " + CUSTOMER_LINES[random.nextInt(CUSTOMER_LINES.length)],
+                        status, priority, times[0], times[times.length - 1]);
+            }
+        }
+        log.info("Seeded {} tickets in {} ms", tickets.size(), elapsedMillis(started));
+        return tickets;
+    }
+
+    // threads alternate customer and admin from the customer's opening message;
+    // an open ticket waits on the admin, a responded one on the customer
+    private LocalDateTime[] threadTimes(TicketStatus status, SplittableRandom random) {
+        int count = 1 + random.nextInt(2 * plan.messagesPerTicket() - 1);
+        if (status == TicketStatus.OPEN && count % 2 == 0 || status == TicketStatus.RESPONDED && count % 2 == 1) {
+            count++;
+        }
+        long historySeconds = plan.historyDays() * 86_400L;
+        long offset = random.nextLong(historySeconds);
+        long maxGap = Math.max(301, Math.min(2 * 86_400L, (historySeconds - offset) / count));
+        LocalDateTime[] times = new LocalDateTime[count];
+        for (int i = 0; i < count; i++) {
+            times[i] = historyStart().plusSeconds(offset);
+            offset += random.nextLong(300, maxGap);
+        }
+        return times;
+    }
+
+    private long writeMessages(List<PlannedTicket> tickets) throws SQLException {
+        SplittableRandom random = random(5);
+        long started = System.nanoTime();
+        try (BulkWriter writer = BulkWriter.open(dataSource, "ticket_messages", MESSAGE_COLUMNS, plan.batchSize())) {
+            for (int t = 0; t < tickets.size(); t++) {
+                PlannedTicket ticket = tickets.get(t);
+                for (int m = 0; m < ticket.times().length; m++) {
+                    boolean fromCustomer = m % 2 == 0;
+                    String[] lines = fromCustomer ? CUSTOMER_LINES : ADMIN_LINES;
+                    writer.row(uuid("message", (long) t * 1_000 + m), ticket.id(),
+                            fromCustomer ? ticket.userId() : ticket.adminId(),
+                            lines[random.nextInt(lines.length)],
+                            ticket.times()[m],
+                            fromCustomer ? UserRole.USER : UserRole.ADMIN);
+                }
+            }
+            log.info("Seeded {} ticket messages in {} ms", writer.rows(), elapsedMillis(started));
+            return writer.rows();
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+
+    // the pooled optimizer treats a sequence value as the top of its block, so the
+    // restart value sits a whole increment past the last loaded id
+    private void restartSequence(String sequence, long next) {
+        try {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (next + SEQUENCE_INCREMENT));
+        } catch (DataAccessException e) {
+            log.warn("Could not move sequence {} past the seeded ids, new rows may collide with them", sequence, e);
+        }
+    }
+
+    private SplittableRandom random(int phase) {
+        return new SplittableRandom(plan.randomSeed() * 31 + phase);
+    }
+
+    private UUID uuid(String kind, long index) {
+        return UUID.nameUUIDFromBytes(("seed:" + plan.randomSeed() + ":" + kind + ":" + index)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private LocalDateTime historyStart() {
+        return plan.asOf().minusDays(plan.historyDays());
+    }
+
+    private LocalDateTime joinedAt(SplittableRandom random) {
+        return historyStart().minusSeconds(random.nextLong(365 * 86_400L));
+    }
+
+    static String userEmail(int index) {
+        return "user" + index + EMAIL_DOMAIN;
+    }
+
+    private static RiskLevel riskOf(InvestmentType type) {
+        return switch (type) {
+            case FIXED_DEPOSIT, GOVERNMENT_BOND, PUBLIC_PROVIDENT_FUND -> RiskLevel.LOW;
+            case MUTUAL_FUND, CORPORATE_BOND, REAL_ESTATE_INVESTMENT_TRUST -> RiskLevel.MEDIUM;
+            case STOCK, CRYPTOCURRENCY, OPTIONS -> RiskLevel.HIGH;
+        };
+    }
+
+    private static long expectedReturnBasisPoints(RiskLevel risk, SplittableRandom random) {
+        return switch (risk) {
+            case LOW -> 400 + random.nextInt(400);
+            case MEDIUM -> 700 + random.nextInt(500);
+            case HIGH -> 1000 + random.nextInt(1500);
+        };
+    }
+
+    private static String label(InvestmentType type) {
+        String words = type.name().replace('_', ' ').toLowerCase();
+        return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    private record Products(int firstId, long[] navCents) {
+        int id(int index) {
+            return firstId + index;
+        }
+    }
+
+    private record Users(UUID[] customers, UUID[] admins) {
+    }
+
+    private record PlannedTicket(UUID id, UUID userId, UUID adminId, LocalDateTime[] times) {
+    }
+
+    private static final class Holding {
+        private long units;
+        private double cost;
+    }
+}
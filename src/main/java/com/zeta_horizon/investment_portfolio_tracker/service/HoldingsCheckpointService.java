@@ -0,0 +1,28 @@
+package com.zeta_horizon.investment_portfolio_tracker.service;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioAsOfDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface HoldingsCheckpointService {
+
+    PortfolioAsOfDto getHoldingsAsOf(User user, LocalDate date);
+
+    List<UUID> findUsersDueForCheckpoint();
+
+    /**
+     * Same as {@link #findUsersDueForCheckpoint()}, but only among users who booked a
+     * transaction with an id above {@code afterTransactionId}.
+     */
+    List<UUID> findUsersDueForCheckpoint(Integer afterTransactionId);
+
+    /**
+     * @return the highest transaction id booked so far, or null when there is none
+     */
+    Integer latestTransactionId();
+
+    int createCheckpoints(UUID userId);
+}
@@ -0,0 +1,24 @@
+package com.zeta_horizon.investment_portfolio_tracker.service;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.NavSeries;
+import com.zeta_horizon.investment_portfolio_tracker.dto.NavPointDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface NavHistoryService {
+
+    void recordNavChange(InvestmentProduct product, BigDecimal nav);
+
+    List<NavPointDto> getNavHistory(Integer productId, LocalDate from, LocalDate to);
+
+    Optional<BigDecimal> getNavAsOf(Integer productId, LocalDate date);
+
+    NavSeries.Snapshot getNavSnapshot(Integer productId);
+
+    void preloadNavHistory(Collection<Integer> productIds);
+}
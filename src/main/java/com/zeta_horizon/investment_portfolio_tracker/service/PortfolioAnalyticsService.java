@@ -2,13 +2,21 @@ package com.zeta_horizon.investment_portfolio_tracker.service;
 
 import com.zeta_horizon.investment_portfolio_tracker.dto.AssetAllocationDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.GainLossDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioPerformanceDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioSummaryDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioValuePointDto;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.SeriesInterval;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface PortfolioAnalyticsService {
     PortfolioSummaryDto getPortfolioSummary(User user);
     List<AssetAllocationDto> getAssetAllocation(User user);
+    List<AssetAllocationDto> getAssetAllocationByRiskLevel(User user);
+    List<AssetAllocationDto> getAssetAllocationByProduct(User user);
     List<GainLossDto> getGainLossAnalysis(User user);
+    PortfolioPerformanceDto getPortfolioPerformance(User user);
+    List<PortfolioValuePointDto> getPortfolioValueSeries(User user, LocalDate from, LocalDate to, SeriesInterval interval);
 }
\ No newline at end of file
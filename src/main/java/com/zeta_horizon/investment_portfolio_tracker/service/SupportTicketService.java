@@ -1,14 +1,18 @@
 package com.zeta_horizon.investment_portfolio_tracker.service;
 
 
+import com.zeta_horizon.investment_portfolio_tracker.dto.CursorPageDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.MessageRequestDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketRequestDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessagePageDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchResultDto;
 import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
 import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface SupportTicketService {
     SupportTicketResponseDto createTicket(SupportTicketRequestDto requestDto, String email);
@@ -24,4 +28,19 @@ public interface SupportTicketService {
     List<SupportTicketResponseDto> filterTicketsForUser(String emailId, Priority priority, TicketStatus status);
 
     SupportTicketResponseDto getTicketViaId(UUID ticketId);
+
+    CursorPageDto<SupportTicketResponseDto> searchTickets(UUID userId, Priority priority, TicketStatus status,
+                                                          String cursor, Integer size);
+
+    CursorPageDto<SupportTicketResponseDto> searchTicketsForUser(String emailId, Priority priority, TicketStatus status,
+                                                                 String cursor, Integer size);
+
+    CursorPageDto<SupportTicketResponseDto> getAssignedTickets(String emailId, TicketStatus status,
+                                                               String cursor, Integer size);
+
+    TicketMessagePageDto getMessagesAfter(UUID ticketId, String after, Integer limit);
+
+    Runnable subscribeToMessages(UUID ticketId, Consumer<TicketMessagePageDto> listener, Runnable onOverflow);
+
+    TicketSearchResultDto searchTicketText(String query, Integer page, Integer size);
 }
@@ -0,0 +1,14 @@
+package com.zeta_horizon.investment_portfolio_tracker.service;
+
+import java.util.UUID;
+
+public interface TicketAccessService {
+
+    /**
+     * Whether the user may read the ticket and what hangs off it: admins may read
+     * every ticket, anyone else only the tickets they raised or are assigned to,
+     * archived ones included. Unknown users may read nothing; an admin is not told
+     * here whether the ticket exists, the read that follows answers that.
+     */
+    boolean canView(UUID ticketId, String emailId);
+}
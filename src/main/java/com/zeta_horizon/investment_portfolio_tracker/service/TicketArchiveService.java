@@ -0,0 +1,20 @@
+package com.zeta_horizon.investment_portfolio_tracker.service;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TicketArchiveService {
+
+    /**
+     * Moves up to {@code batchSize} tickets closed before the cutoff, with their
+     * messages, from the live tables into the archive.
+     *
+     * @return the number of tickets archived
+     */
+    int archiveClosedBatch(LocalDateTime cutoff, int batchSize);
+
+    Optional<SupportTicketResponseDto> findArchived(UUID ticketId);
+}
@@ -0,0 +1,23 @@
+package com.zeta_horizon.investment_portfolio_tracker.service;
+
+import com.zeta_horizon.investment_portfolio_tracker.attachment.AttachmentContent;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketAttachmentDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface TicketAttachmentService {
+
+    /**
+     * Stores the content as an attachment of one of the sender's own messages.
+     */
+    TicketAttachmentDto addAttachment(UUID ticketId, UUID messageId, String emailId, String fileName,
+                                      String contentType, InputStream content) throws IOException;
+
+    /**
+     * The attachment, if the user may read the ticket it belongs to; to anyone else
+     * it does not exist.
+     */
+    AttachmentContent getAttachment(UUID attachmentId, String emailId);
+}
@@ -0,0 +1,13 @@
+package com.zeta_horizon.investment_portfolio_tracker.service;
+
+import java.time.LocalDateTime;
+
+public interface TicketAutoCloseService {
+
+    /**
+     * Closes up to {@code batchSize} RESPONDED tickets last updated before the cutoff.
+     *
+     * @return the number of tickets closed
+     */
+    int closeStaleBatch(LocalDateTime cutoff, int batchSize);
+}
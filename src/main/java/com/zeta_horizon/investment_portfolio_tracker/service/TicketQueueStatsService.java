@@ -0,0 +1,10 @@
+package com.zeta_horizon.investment_portfolio_tracker.service;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketQueueStatsDto;
+
+public interface TicketQueueStatsService {
+
+    TicketQueueStatsDto getQueueStats();
+
+    int reconcileCounters();
+}
@@ -0,0 +1,147 @@
+package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
+
+import com.zeta_horizon.investment_portfolio_tracker.analytics.HoldingsLedger;
+import com.zeta_horizon.investment_portfolio_tracker.dto.HoldingAsOfDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.LedgerEntryProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioAsOfDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.CheckpointHolding;
+import com.zeta_horizon.investment_portfolio_tracker.entity.HoldingsCheckpoint;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.repository.HoldingsCheckpointRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TransactionRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.UserRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.HoldingsCheckpointService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HoldingsCheckpointServiceImpl implements HoldingsCheckpointService {
+
+    private final HoldingsCheckpointRepository checkpointRepository;
+    private final TransactionRepository transactionRepository;
+    private final InvestmentProductRepository investmentProductRepository;
+    private final UserRepository userRepository;
+
+    // a checkpoint is written after this many transactions, which bounds every replay to this length
+    @Value("${portfolio.checkpoint.every-transactions:500}")
+    private int checkpointEvery = 500;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PortfolioAsOfDto getHoldingsAsOf(User user, LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date is required");
+        }
+        LocalDateTime before = date.plusDays(1).atStartOfDay();
+        Optional<HoldingsCheckpoint> checkpoint = checkpointRepository
+                .findTopByUserIdAndLastTransactionDateBeforeOrderByTransactionCountDesc(user.getId(), before);
+
+        HoldingsLedger ledger = checkpoint.map(HoldingsLedger::from).orElseGet(HoldingsLedger::new);
+        long replayed;
+        try (Stream<LedgerEntryProjection> tail = streamTail(user.getId(), ledger, before)) {
+            long start = ledger.transactionCount();
+            tail.forEach(ledger::apply);
+            replayed = ledger.transactionCount() - start;
+        }
+        log.debug("Holdings of user {} as of {} rebuilt from checkpoint {} with {} transactions replayed",
+                user.getId(), date, checkpoint.map(HoldingsCheckpoint::getId).orElse(null), replayed);
+
+        return PortfolioAsOfDto.builder()
+                .date(date)
+                .holdings(toHoldingDtos(ledger.holdings()))
+                .replayedTransactions(replayed)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findUsersDueForCheckpoint() {
+        return transactionRepository.findUserIdsDueForCheckpoint(checkpointEvery);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findUsersDueForCheckpoint(Integer afterTransactionId) {
+        return transactionRepository.findUserIdsDueForCheckpointBookedAfter(checkpointEvery, afterTransactionId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer latestTransactionId() {
+        return transactionRepository.findMaxId();
+    }
+
+    /*
+     * Replays everything after the user's latest checkpoint and writes a new checkpoint
+     * at every checkpointEvery-th transaction, so a user who fell far behind is backfilled
+     * with evenly spaced checkpoints rather than a single one at the end.
+     */
+    @Override
+    @Transactional
+    public int createCheckpoints(UUID userId) {
+        User user = userRepository.getReferenceById(userId);
+        HoldingsLedger ledger = checkpointRepository.findTopByUserIdOrderByTransactionCountDesc(userId)
+                .map(HoldingsLedger::from)
+                .orElseGet(HoldingsLedger::new);
+
+        List<HoldingsCheckpoint> created = new ArrayList<>();
+        try (Stream<LedgerEntryProjection> tail = streamTail(userId, ledger, LocalDateTime.now().plusDays(1))) {
+            Iterator<LedgerEntryProjection> entries = tail.iterator();
+            while (entries.hasNext()) {
+                ledger.apply(entries.next());
+                if (ledger.transactionCount() % checkpointEvery == 0) {
+                    created.add(HoldingsCheckpoint.builder()
+                            .user(user)
+                            .transactionCount(ledger.transactionCount())
+                            .lastTransactionId(ledger.lastTransactionId())
+                            .lastTransactionDate(ledger.lastTransactionDate())
+                            .createdAt(LocalDateTime.now())
+                            .holdings(ledger.holdings())
+                            .build());
+                }
+            }
+        }
+        checkpointRepository.saveAll(created);
+        log.info("Created {} holdings checkpoints for user {}", created.size(), userId);
+        return created.size();
+    }
+
+    private Stream<LedgerEntryProjection> streamTail(UUID userId, HoldingsLedger ledger, LocalDateTime before) {
+        if (ledger.lastTransactionId() == null) {
+            return transactionRepository.streamLedgerByUserIdBefore(userId, before);
+        }
+        return transactionRepository.streamLedgerByUserIdBetween(userId,
+                ledger.lastTransactionDate(), ledger.lastTransactionId(), before);
+    }
+
+    private List<HoldingAsOfDto> toHoldingDtos(List<CheckpointHolding> holdings) {
+        Map<Integer, String> names = new HashMap<>();
+        List<Integer> productIds = holdings.stream().map(CheckpointHolding::getInvestmentProductId).toList();
+        for (InvestmentProduct product : investmentProductRepository.findAllById(productIds)) {
+            names.put(product.getId(), product.getName());
+        }
+
+        List<HoldingAsOfDto> result = new ArrayList<>(holdings.size());
+        for (CheckpointHolding holding : holdings) {
+            result.add(HoldingAsOfDto.builder()
+                    .investmentProductId(holding.getInvestmentProductId())
+                    .investmentProductName(names.get(holding.getInvestmentProductId()))
+                    .unitsOwned(holding.getUnitsOwned())
+                    .avgPurchasePrice(holding.getAvgPurchasePrice())
+                    .build());
+        }
+        return result;
+    }
+}
@@ -1,5 +1,7 @@
 package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
 
+import com.zeta_horizon.investment_portfolio_tracker.cache.CacheTags;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
 import com.zeta_horizon.investment_portfolio_tracker.dto.*;
 import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
 import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
@@ -7,13 +9,14 @@ import com.zeta_horizon.investment_portfolio_tracker.exception.ResourceNotFoundE
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
 import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
 import com.zeta_horizon.investment_portfolio_tracker.service.InvestmentProductService;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StopWatch;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -33,9 +36,12 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
+@Timed(value = "service.method", histogram = true)
 public class InvestmentProductServiceImpl implements InvestmentProductService {
 
     private final InvestmentProductRepository investmentProductRepository;
+    private final NavHistoryService navHistoryService;
+    private final TwoTierCache twoTierCache;
     private final ModelMapper modelMapper;
 
     /**
@@ -47,12 +53,18 @@ public class InvestmentProductServiceImpl implements InvestmentProductService {
      * - Better error detection during mapping operations
      *
      * @param investmentProductRepository Repository for database operations
+     * @param navHistoryService Service recording every NAV change into the price history
+     * @param twoTierCache Cache told about every product change, on all instances
      */
     @Autowired
-    public InvestmentProductServiceImpl(InvestmentProductRepository investmentProductRepository) {
+    public InvestmentProductServiceImpl(InvestmentProductRepository investmentProductRepository,
+                                        NavHistoryService navHistoryService,
+                                        TwoTierCache twoTierCache) {
         log.info("Initializing InvestmentProductServiceImpl");
 
         this.investmentProductRepository = investmentProductRepository;
+        this.navHistoryService = navHistoryService;
+        this.twoTierCache = twoTierCache;
         this.modelMapper = new ModelMapper();
 
         // Configure ModelMapper for strict mapping to prevent mapping errors
@@ -185,6 +197,8 @@ public class InvestmentProductServiceImpl implements InvestmentProductService {
         InvestmentProduct product = modelMapper.map(createDto, InvestmentProduct.class);
         product.setActive(true);
         InvestmentProduct savedProduct = investmentProductRepository.save(product);
+        navHistoryService.recordNavChange(savedProduct, savedProduct.getCurrentNetAssetValuePerUnit());
+        invalidateCaches(savedProduct.getId());
         log.info("Investment product created with id: {}", savedProduct.getId());
         return modelMapper.map(savedProduct, InvestmentProductDto.class);
     }
@@ -220,6 +234,7 @@ public class InvestmentProductServiceImpl implements InvestmentProductService {
             // Track what fields are being updated
             StringBuilder updateLog = new StringBuilder("Updating fields: ");
             boolean hasUpdates = false;
+            boolean navChanged = false;
 
             // Perform partial updates only for non-null fields
             if (updateDto.getName() != null && !updateDto.getName().equals(existingProduct.getName())) {
@@ -268,6 +283,7 @@ public class InvestmentProductServiceImpl implements InvestmentProductService {
                 existingProduct.setCurrentNetAssetValuePerUnit(updateDto.getCurrentNetAssetValuePerUnit());
                 updateLog.append("navPerUnit, ");
                 hasUpdates = true;
+                navChanged = true;
             }
 
             if (updateDto.getDescription() != null &&
@@ -295,6 +311,12 @@ public class InvestmentProductServiceImpl implements InvestmentProductService {
 
             // Save updated product
             InvestmentProduct updatedProduct = investmentProductRepository.save(existingProduct);
+            if (navChanged) {
+                navHistoryService.recordNavChange(updatedProduct, updatedProduct.getCurrentNetAssetValuePerUnit());
+            }
+            if (hasUpdates) {
+                invalidateCaches(id);
+            }
             InvestmentProductDto responseDto = modelMapper.map(updatedProduct, InvestmentProductDto.class);
 
             log.info("Successfully updated product with id: {} ", id);
@@ -343,6 +365,7 @@ public class InvestmentProductServiceImpl implements InvestmentProductService {
 
             existingProduct.setActive(false);
             investmentProductRepository.save(existingProduct);
+            invalidateCaches(id);
 
             log.info("Successfully soft deleted product '{}' with id: {}", existingProduct.getName(), id);
 
@@ -481,10 +504,21 @@ public class InvestmentProductServiceImpl implements InvestmentProductService {
     }
 
     @Override
+    @Transactional
     public void updateIsActive(Integer id, Boolean active) {
         InvestmentProduct investmentProduct = investmentProductRepository.findById(id).get();
         investmentProduct.setActive(active);
         investmentProductRepository.save(investmentProduct);
+        invalidateCaches(id);
+    }
+
+    /**
+     * Drops cached data of the product, and values computed from products, on every
+     * instance once the transaction commits. Hibernate's cache on this instance is
+     * updated by the commit itself.
+     */
+    private void invalidateCaches(Integer productId) {
+        twoTierCache.invalidateAfterCommit(CacheTags.product(productId), CacheTags.ANY_PRODUCT);
     }
 
     /**
@@ -0,0 +1,112 @@
+package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.NavHistoryCache;
+import com.zeta_horizon.investment_portfolio_tracker.cache.NavSeries;
+import com.zeta_horizon.investment_portfolio_tracker.dto.NavPointDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.NavHistory;
+import com.zeta_horizon.investment_portfolio_tracker.exception.InvestmentProductNotFoundException;
+import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.NavHistoryRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persists NAV changes to nav_history and serves history and as-of lookups
+ * from {@link NavHistoryCache}, so reads never go to the database once a
+ * product's series has been loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NavHistoryServiceImpl implements NavHistoryService {
+
+    private final NavHistoryRepository navHistoryRepository;
+    private final InvestmentProductRepository investmentProductRepository;
+    private final NavHistoryCache navHistoryCache;
+
+    /**
+     * Stores the NAV of today for the product. The cache is only updated once the
+     * surrounding transaction commits, so a rolled back update never shows up in reads.
+     */
+    @Override
+    @Transactional
+    public void recordNavChange(InvestmentProduct product, BigDecimal nav) {
+        LocalDate today = LocalDate.now();
+        NavHistory point = navHistoryRepository.findByInvestmentProductIdAndNavDate(product.getId(), today)
+                .orElseGet(() -> NavHistory.builder()
+                        .investmentProduct(product)
+                        .navDate(today)
+                        .build());
+        point.setNav(nav);
+        navHistoryRepository.save(point);
+        log.debug("Recorded NAV {} for product id: {} on {}", nav, product.getId(), today);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    navHistoryCache.record(product.getId(), today, nav);
+                }
+            });
+        } else {
+            navHistoryCache.record(product.getId(), today, nav);
+        }
+    }
+
+    @Override
+    public List<NavPointDto> getNavHistory(Integer productId, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' date must not be after 'to' date");
+        }
+        ensureProductExists(productId);
+
+        NavSeries.Snapshot series = navHistoryCache.snapshot(productId);
+        int start = from != null ? series.ceilIndex((int) from.toEpochDay()) : 0;
+        int end = to != null ? series.floorIndex((int) to.toEpochDay()) : series.size() - 1;
+
+        List<NavPointDto> points = new ArrayList<>(Math.max(0, end - start + 1));
+        for (int i = start; i <= end; i++) {
+            points.add(new NavPointDto(LocalDate.ofEpochDay(series.dayAt(i)), NavSeries.fromScaled(series.navAt(i))));
+        }
+        return points;
+    }
+
+    @Override
+    public Optional<BigDecimal> getNavAsOf(Integer productId, LocalDate date) {
+        ensureProductExists(productId);
+        NavSeries.Snapshot series = navHistoryCache.snapshot(productId);
+        int idx = series.floorIndex((int) date.toEpochDay());
+        return idx >= 0 ? Optional.of(NavSeries.fromScaled(series.navAt(idx))) : Optional.empty();
+    }
+
+    @Override
+    public NavSeries.Snapshot getNavSnapshot(Integer productId) {
+        return navHistoryCache.snapshot(productId);
+    }
+
+    @Override
+    public void preloadNavHistory(Collection<Integer> productIds) {
+        navHistoryCache.preload(productIds);
+    }
+
+    // checked before the first load, which would cache an unknown id as an empty series
+    private void ensureProductExists(Integer productId) {
+        if (!navHistoryCache.isLoaded(productId) && investmentProductRepository.findById(productId).isEmpty()) {
+            log.warn("NAV history requested for unknown product id: {}", productId);
+            throw new InvestmentProductNotFoundException("Investment product not found with id: " + productId);
+        }
+    }
+}
@@ -1,38 +1,52 @@
 package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
 
+import com.zeta_horizon.investment_portfolio_tracker.analytics.CashFlows;
+import com.zeta_horizon.investment_portfolio_tracker.analytics.PortfolioValueReplay;
+import com.zeta_horizon.investment_portfolio_tracker.cache.CacheTags;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
 import com.zeta_horizon.investment_portfolio_tracker.dto.*;
 import com.zeta_horizon.investment_portfolio_tracker.entity.*;
+import com.zeta_horizon.investment_portfolio_tracker.enums.SeriesInterval;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
 import com.zeta_horizon.investment_portfolio_tracker.repository.*;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
 import com.zeta_horizon.investment_portfolio_tracker.service.PortfolioAnalyticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class PortfolioAnalyticsServiceImpl implements PortfolioAnalyticsService {
 
+    // upper bound on points in one value series, about 13 years of daily values
+    static final int MAX_SERIES_POINTS = 5_000;
+    // below a millionth of a currency unit a portfolio value is floating point residue, not money
+    private static final double NEGLIGIBLE_VALUE = 1e-6;
+
     private final PortfolioRepository portfolioRepository;
     private final TransactionRepository transactionRepository;
     private final InvestmentProductRepository investmentProductRepository;
+    private final NavHistoryService navHistoryService;
+    // computed performance per user, shared by all instances until the user trades or any product changes
+    private final TwoTierCache twoTierCache;
 
     @Override
     public PortfolioSummaryDto getPortfolioSummary(User user) {
-        List<Portfolio> portfolios = portfolioRepository.findByUser(user);
-
-        BigDecimal totalInvested = BigDecimal.ZERO;
-        BigDecimal currentValue = BigDecimal.ZERO;
+        PortfolioTotalsProjection totals = portfolioRepository.sumTotalsByUserId(user.getId());
 
-        for (Portfolio p : portfolios) {
-            BigDecimal invested = p.getAvgPurchasePrice().multiply(p.getUnitsOwned());
-            BigDecimal current = p.getInvestmentProduct().getCurrentNetAssetValuePerUnit().multiply(p.getUnitsOwned());
-
-            totalInvested = totalInvested.add(invested);
-            currentValue = currentValue.add(current);
-        }
+        BigDecimal totalInvested = totals != null && totals.getTotalInvested() != null
+                ? totals.getTotalInvested() : BigDecimal.ZERO;
+        BigDecimal currentValue = totals != null && totals.getCurrentValue() != null
+                ? totals.getCurrentValue() : BigDecimal.ZERO;
 
         BigDecimal absoluteReturn = currentValue.subtract(totalInvested);
         BigDecimal returnPercentage = totalInvested.compareTo(BigDecimal.ZERO) > 0
@@ -49,28 +63,17 @@ public class PortfolioAnalyticsServiceImpl implements PortfolioAnalyticsService
 
     @Override
     public List<AssetAllocationDto> getAssetAllocation(User user) {
-        List<Portfolio> portfolios = portfolioRepository.findByUser(user);
-        Map<String, BigDecimal> allocationMap = new HashMap<>();
-        BigDecimal totalValue = BigDecimal.ZERO;
-
-        for (Portfolio p : portfolios) {
-            BigDecimal value = p.getInvestmentProduct().getCurrentNetAssetValuePerUnit().multiply(p.getUnitsOwned());
-            totalValue = totalValue.add(value);
-
-            String type = p.getInvestmentProduct().getType().name();
-            allocationMap.put(type, allocationMap.getOrDefault(type, BigDecimal.ZERO).add(value));
-        }
-
-        List<AssetAllocationDto> result = new ArrayList<>();
-        for (Map.Entry<String, BigDecimal> entry : allocationMap.entrySet()) {
-            BigDecimal percent = totalValue.compareTo(BigDecimal.ZERO) > 0
-                    ? entry.getValue().divide(totalValue, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                    : BigDecimal.ZERO;
+        return toAllocation(portfolioRepository.sumCurrentValueByType(user.getId()));
+    }
 
-            result.add(new AssetAllocationDto(entry.getKey(), percent));
-        }
+    @Override
+    public List<AssetAllocationDto> getAssetAllocationByRiskLevel(User user) {
+        return toAllocation(portfolioRepository.sumCurrentValueByRiskLevel(user.getId()));
+    }
 
-        return result;
+    @Override
+    public List<AssetAllocationDto> getAssetAllocationByProduct(User user) {
+        return toAllocation(portfolioRepository.sumCurrentValueByProduct(user.getId()));
     }
 
     @Override
@@ -94,4 +97,245 @@ public class PortfolioAnalyticsServiceImpl implements PortfolioAnalyticsService
 
         return result;
     }
-}
\ No newline at end of file
+
+    @Override
+    public PortfolioPerformanceDto getPortfolioPerformance(User user) {
+        // nothing may read before the lookup, a miss must open the transaction on the primary
+        return twoTierCache.get("portfolio-performance:" + user.getId(),
+                List.of(CacheTags.portfolio(user.getId()), CacheTags.ANY_PRODUCT),
+                PortfolioPerformanceDto.class, () -> computePerformance(user.getId()));
+    }
+
+    /*
+     * Streams the ledger up to the end of the range and samples the running balances at
+     * the end of every interval. Transactions before the range only move balances, so
+     * each series is one forward pass over the ledger and over each product's NAV history.
+     */
+    @Override
+    public List<PortfolioValuePointDto> getPortfolioValueSeries(User user, LocalDate from, LocalDate to,
+                                                                SeriesInterval interval) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        SeriesInterval step = interval != null ? interval : SeriesInterval.DAY;
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' date must not be after 'to' date");
+        }
+        List<LocalDate> sampleDates = sampleDates(start, end, step);
+
+        LocalDateTime before = end.plusDays(1).atStartOfDay();
+        navHistoryService.preloadNavHistory(transactionRepository.findProductIdsByUserIdBefore(user.getId(), before));
+        PortfolioValueReplay replay = new PortfolioValueReplay(navHistoryService::getNavSnapshot);
+        List<PortfolioValuePointDto> series = new ArrayList<>(sampleDates.size());
+        try (Stream<LedgerEntryProjection> ledger = transactionRepository.streamLedgerByUserIdBefore(
+                user.getId(), before)) {
+            Iterator<LedgerEntryProjection> entries = ledger.iterator();
+            LedgerEntryProjection pending = entries.hasNext() ? entries.next() : null;
+
+            for (LocalDate date : sampleDates) {
+                while (pending != null && !pending.getTxnDate().toLocalDate().isAfter(date)) {
+                    BigDecimal unitDelta = pending.getTxnType() == TransactionType.BUY
+                            ? pending.getUnits() : pending.getUnits().negate();
+                    replay.apply(pending.getProductId(), unitDelta, pending.getNavAtTxn());
+                    pending = entries.hasNext() ? entries.next() : null;
+                }
+                series.add(new PortfolioValuePointDto(date, replay.valueAt((int) date.toEpochDay())));
+            }
+        }
+        return series;
+    }
+
+    // end of every interval from start, always closing on the end date itself
+    private List<LocalDate> sampleDates(LocalDate start, LocalDate end, SeriesInterval interval) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = interval.next(date)) {
+            dates.add(date);
+            if (dates.size() > MAX_SERIES_POINTS) {
+                throw new IllegalArgumentException("Range has more than " + MAX_SERIES_POINTS
+                        + " points, use a longer interval");
+            }
+        }
+        if (dates.get(dates.size() - 1).isBefore(end)) {
+            dates.add(end);
+        }
+        return dates;
+    }
+
+    /*
+     * Replays the ledger once in chronological order.
+     *
+     * XIRR: every BUY is an outflow and every SELL an inflow at the transaction NAV,
+     * and the units still held are valued at today's NAV as a final inflow.
+     *
+     * TWR: the portfolio is revalued just before each transaction; the growth of
+     * each sub-period (value before this flow / value after the previous one) is
+     * chained, which removes the effect of how much money was added or withdrawn.
+     * The traded product is priced at its transaction NAV, the others at their
+     * recorded NAV history as of that day or, failing that, their last traded NAV.
+     */
+    private PortfolioPerformanceDto computePerformance(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<LedgerEntryProjection> ledger = transactionRepository.findLedgerByUserId(userId);
+        if (ledger.isEmpty()) {
+            return PortfolioPerformanceDto.builder()
+                    .currentValue(BigDecimal.ZERO)
+                    .holdings(List.of())
+                    .calculatedAt(now)
+                    .build();
+        }
+        // one query for the NAV history of every traded product instead of one per product
+        Set<Integer> productIds = new HashSet<>();
+        for (LedgerEntryProjection entry : ledger) {
+            productIds.add(entry.getProductId());
+        }
+        navHistoryService.preloadNavHistory(productIds);
+
+        Map<Integer, HoldingReplay> holdings = new LinkedHashMap<>();
+        CashFlows portfolioFlows = new CashFlows();
+        double portfolioGrowth = 1.0;
+        double valueAfterPreviousFlow = 0.0;
+        boolean portfolioHasPeriod = false;
+
+        for (LedgerEntryProjection entry : ledger) {
+            HoldingReplay traded = holdings.computeIfAbsent(entry.getProductId(), HoldingReplay::new);
+            double nav = entry.getNavAtTxn().doubleValue();
+
+            double valueBeforeFlow = 0.0;
+            for (HoldingReplay holding : holdings.values()) {
+                if (holding.unitsHeld.signum() > 0) {
+                    double price = holding == traded ? nav : priceAsOf(holding, entry.getTxnDate());
+                    valueBeforeFlow += holding.unitsHeld.doubleValue() * price;
+                }
+            }
+            if (valueAfterPreviousFlow > 0) {
+                portfolioGrowth *= valueBeforeFlow / valueAfterPreviousFlow;
+                portfolioHasPeriod = true;
+            }
+
+            double amount = entry.getUnits().multiply(entry.getNavAtTxn()).doubleValue();
+            double signedAmount = entry.getTxnType() == TransactionType.BUY ? -amount : amount;
+            traded.apply(entry, nav, signedAmount);
+            portfolioFlows.add(entry.getTxnDate(), signedAmount);
+            // the flow is valued like the holdings above, so a full sell leaves nothing but rounding behind
+            double flowValue = entry.getUnits().doubleValue() * nav;
+            valueAfterPreviousFlow = entry.getTxnType() == TransactionType.BUY
+                    ? valueBeforeFlow + flowValue : valueBeforeFlow - flowValue;
+            if (valueAfterPreviousFlow < NEGLIGIBLE_VALUE) {
+                valueAfterPreviousFlow = 0.0;
+            }
+        }
+
+        Map<Integer, InvestmentProduct> products = new HashMap<>();
+        for (InvestmentProduct product : investmentProductRepository.findAllById(holdings.keySet())) {
+            products.put(product.getId(), product);
+        }
+
+        BigDecimal currentValue = BigDecimal.ZERO;
+        List<HoldingPerformanceDto> holdingResults = new ArrayList<>(holdings.size());
+        for (HoldingReplay holding : holdings.values()) {
+            InvestmentProduct product = products.get(holding.productId);
+            BigDecimal currentNav = product != null && product.getCurrentNetAssetValuePerUnit() != null
+                    ? product.getCurrentNetAssetValuePerUnit() : BigDecimal.valueOf(holding.lastNav);
+            BigDecimal holdingValue = holding.unitsHeld.multiply(currentNav);
+            holding.close(now, currentNav.doubleValue(), holdingValue.doubleValue());
+            currentValue = currentValue.add(holdingValue);
+
+            holdingResults.add(HoldingPerformanceDto.builder()
+                    .investmentProductId(holding.productId)
+                    .investmentProductName(product != null ? product.getName() : null)
+                    .unitsHeld(holding.unitsHeld)
+                    .currentValue(holdingValue)
+                    .xirrPercentage(toPercentage(holding.flows.xirr()))
+                    .timeWeightedReturnPercentage(holding.hasPeriod ? toPercentage(holding.growth - 1.0) : null)
+                    .build());
+        }
+
+        if (currentValue.signum() > 0) {
+            portfolioFlows.add(now, currentValue.doubleValue());
+        }
+        if (valueAfterPreviousFlow > 0) {
+            portfolioGrowth *= currentValue.doubleValue() / valueAfterPreviousFlow;
+            portfolioHasPeriod = true;
+        }
+
+        return PortfolioPerformanceDto.builder()
+                .currentValue(currentValue)
+                .xirrPercentage(toPercentage(portfolioFlows.xirr()))
+                .timeWeightedReturnPercentage(portfolioHasPeriod ? toPercentage(portfolioGrowth - 1.0) : null)
+                .holdings(holdingResults)
+                .calculatedAt(now)
+                .build();
+    }
+
+    // NAV of a product on the day of another product's transaction
+    private double priceAsOf(HoldingReplay holding, LocalDateTime at) {
+        return navHistoryService.getNavAsOf(holding.productId, at.toLocalDate())
+                .map(BigDecimal::doubleValue)
+                .orElse(holding.lastNav);
+    }
+
+    private BigDecimal toPercentage(double rate) {
+        if (Double.isNaN(rate) || Double.isInfinite(rate)) {
+            return null;
+        }
+        return BigDecimal.valueOf(rate * 100).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // converts grouped value rows into percentage slices of the total
+    private List<AssetAllocationDto> toAllocation(List<AllocationSliceProjection> slices) {
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (AllocationSliceProjection slice : slices) {
+            if (slice.getTotal() != null) {
+                totalValue = totalValue.add(slice.getTotal());
+            }
+        }
+
+        List<AssetAllocationDto> result = new ArrayList<>(slices.size());
+        for (AllocationSliceProjection slice : slices) {
+            BigDecimal value = slice.getTotal() != null ? slice.getTotal() : BigDecimal.ZERO;
+            BigDecimal percent = totalValue.compareTo(BigDecimal.ZERO) > 0
+                    ? value.divide(totalValue, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
+                    : BigDecimal.ZERO;
+
+            result.add(new AssetAllocationDto(slice.getBucket(), percent));
+        }
+
+        return result;
+    }
+
+    // running state of one product while the ledger is replayed
+    private static final class HoldingReplay {
+        private final Integer productId;
+        private final CashFlows flows = new CashFlows();
+        private BigDecimal unitsHeld = BigDecimal.ZERO;
+        private double lastNav;
+        private double growth = 1.0;
+        private boolean hasPeriod;
+
+        private HoldingReplay(Integer productId) {
+            this.productId = productId;
+        }
+
+        private void apply(LedgerEntryProjection entry, double nav, double signedAmount) {
+            if (unitsHeld.signum() > 0 && lastNav > 0) {
+                growth *= nav / lastNav;
+                hasPeriod = true;
+            }
+            unitsHeld = entry.getTxnType() == TransactionType.BUY
+                    ? unitsHeld.add(entry.getUnits())
+                    : unitsHeld.subtract(entry.getUnits());
+            lastNav = nav;
+            flows.add(entry.getTxnDate(), signedAmount);
+        }
+
+        private void close(LocalDateTime now, double currentNav, double currentValue) {
+            if (unitsHeld.signum() <= 0) {
+                return;
+            }
+            if (lastNav > 0) {
+                growth *= currentNav / lastNav;
+                hasPeriod = true;
+            }
+            flows.add(now, currentValue);
+        }
+    }
+}
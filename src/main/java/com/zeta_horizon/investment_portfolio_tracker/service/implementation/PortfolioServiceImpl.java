@@ -1,5 +1,8 @@
 package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
 
+import com.zeta_horizon.investment_portfolio_tracker.cache.CacheTags;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReadYourWritesWindow;
 import com.zeta_horizon.investment_portfolio_tracker.dto.*;
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
 import com.zeta_horizon.investment_portfolio_tracker.entity.Portfolio;
@@ -13,9 +16,10 @@ import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProduc
 import com.zeta_horizon.investment_portfolio_tracker.repository.PortfolioRepository;
 import com.zeta_horizon.investment_portfolio_tracker.repository.TransactionRepository;
 import com.zeta_horizon.investment_portfolio_tracker.service.PortfolioService;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -24,21 +28,29 @@ import java.util.List;
 
 @Slf4j
 @Service
+@Timed(value = "service.method", histogram = true)
 public class PortfolioServiceImpl implements PortfolioService {
 
     private final PortfolioRepository portfolioRepository;
     private final InvestmentProductRepository investmentProductRepository;
     private final TransactionRepository transactionRepository;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final TwoTierCache twoTierCache;
 
     public PortfolioServiceImpl(PortfolioRepository portfolioRepository,
                                 InvestmentProductRepository investmentProductRepository,
-                                TransactionRepository transactionRepository) {
+                                TransactionRepository transactionRepository,
+                                ReadYourWritesWindow readYourWritesWindow,
+                                TwoTierCache twoTierCache) {
         this.portfolioRepository = portfolioRepository;
         this.investmentProductRepository = investmentProductRepository;
         this.transactionRepository = transactionRepository;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.twoTierCache = twoTierCache;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PortfolioResponseDto getUserPortfolio(User user) {
         log.info("Fetching portfolio for user: {}", user.getEmail());
         List<Portfolio> portfolios = portfolioRepository.findByUser(user);
@@ -67,7 +79,7 @@ public class PortfolioServiceImpl implements PortfolioService {
     @Override
     public PortfolioItemDto buyInvestment(User user, BuyInvestmentRequestDto request) {
         log.info("User {} is attempting to buy product ID: {}", user.getEmail(), request.getInvestmentProductId());
-        InvestmentProduct product = investmentProductRepository.findById(request.getInvestmentProductId())
+        InvestmentProduct product = investmentProductRepository.findCurrentById(request.getInvestmentProductId())
                 .orElseThrow(() -> new InvalidInvestmentException("Investment product not found"));
         if (!product.isActive()) {
             log.warn("Product ID {} is inactive", product.getId());
@@ -122,6 +134,10 @@ public class PortfolioServiceImpl implements PortfolioService {
 
         transactionRepository.save(transaction);
         log.info("BUY transaction recorded: User={}, ProductID={}, Units={}", user.getEmail(), product.getId(), request.getUnits());
+        // keep this user's reads on the primary until replicas have the trade
+        readYourWritesWindow.recordWrite(user.getEmail());
+        // the user's cached portfolio figures are recomputed on every instance
+        twoTierCache.invalidateAfterCommit(CacheTags.portfolio(user.getId()));
 
         return mapToPortfolioItemDto(savedPortfolio);
     }
@@ -130,7 +146,7 @@ public class PortfolioServiceImpl implements PortfolioService {
     @Transactional
     public PortfolioItemDto sellInvestment(User user, SellInvestmentRequestDto request) {
         log.info("User {} is attempting to sell product ID: {}", user.getEmail(), request.getInvestmentProductId());
-        InvestmentProduct product = investmentProductRepository.findById(request.getInvestmentProductId())
+        InvestmentProduct product = investmentProductRepository.findCurrentById(request.getInvestmentProductId())
                 .orElseThrow(() -> new InvalidInvestmentException("Investment product not found"));
 
         Portfolio portfolio = portfolioRepository.findByUserAndInvestmentProduct(user, product)
@@ -169,11 +185,14 @@ public class PortfolioServiceImpl implements PortfolioService {
 
         transactionRepository.save(transaction);
         log.info("SELL transaction recorded: User={}, ProductID={}, Units={}", user.getEmail(), product.getId(), request.getUnits());
+        readYourWritesWindow.recordWrite(user.getEmail());
+        twoTierCache.invalidateAfterCommit(CacheTags.portfolio(user.getId()));
 
         return mapToPortfolioItemDto(portfolio);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PortfolioItemDto getInvestmentById(User user, Integer id) {
         log.info("Fetching investment by ID: {} for user {}", id, user.getEmail());
 
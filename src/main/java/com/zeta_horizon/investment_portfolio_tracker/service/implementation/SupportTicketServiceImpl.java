@@ -1,7 +1,12 @@
 package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
 
+import com.zeta_horizon.investment_portfolio_tracker.assignment.AdminLoadBalancer;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.dto.CursorPageDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.MessageRequestDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessageDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessagePageDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchResultDto;
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
 import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
@@ -15,59 +20,87 @@ import com.zeta_horizon.investment_portfolio_tracker.exception.TicketClosedExcep
 import com.zeta_horizon.investment_portfolio_tracker.exception.UserNotFoundException;
 import com.zeta_horizon.investment_portfolio_tracker.mapper.SupportTicketMapper;
 import com.zeta_horizon.investment_portfolio_tracker.mapper.TicketMessageMapper;
+import com.zeta_horizon.investment_portfolio_tracker.realtime.TicketMessageWaiters;
+import com.zeta_horizon.investment_portfolio_tracker.repository.MessageCursor;
 import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketSpecifications;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TicketCursor;
 import com.zeta_horizon.investment_portfolio_tracker.repository.TicketMessageRepository;
+import com.zeta_horizon.investment_portfolio_tracker.search.TicketSearchIndex;
 import com.zeta_horizon.investment_portfolio_tracker.service.SupportTicketService;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketArchiveService;
 import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
 import com.zeta_horizon.investment_portfolio_tracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.method", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class SupportTicketServiceImpl implements SupportTicketService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_MESSAGE_LIMIT = 50;
+    private static final int MAX_MESSAGE_LIMIT = 200;
+    private static final int MAX_QUERY_LENGTH = 200;
+
     private final SupportTicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final InvestmentProductRepository investmentProductRepository;
     private final TicketMessageRepository ticketMessageRepository;
     private final SupportTicketMapper ticketMapper;
     private final TicketMessageMapper messageMapper;
-    private final  ExecutorService customExecutor = new ThreadPoolExecutor(5, 10, 60L,
-                TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>(100),
-                Executors.defaultThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+    private final TicketMessageWaiters messageWaiters;
+    private final TicketSearchIndex searchIndex;
+    private final TicketQueueCounters queueCounters;
+    private final AdminLoadBalancer adminLoadBalancer;
+    private final TicketArchiveService ticketArchiveService;
 
     //ticket creation methord
+    //the user and product lookups are two short indexed queries, running them on the request
+    //thread is cheaper than handing them to another pool and blocking on the results
+    //the ticket goes to the least loaded admin, whose reserved load is given back if the ticket is not committed
     @Override
+    @Transactional
     public SupportTicketResponseDto createTicket(SupportTicketRequestDto requestDto, String emailId) {
+        Priority priority = requestDto.getPriority() != null ? requestDto.getPriority() : Priority.MEDIUM;
         try {
-            CompletableFuture<User> userFuture = CompletableFuture.supplyAsync(() ->
-                    fetchUserByEmail(emailId), customExecutor);
-            CompletableFuture<InvestmentProduct> productFuture = CompletableFuture.supplyAsync(() -> {
-                if (!StringUtils.isEmpty(requestDto.getInvestmentProductName())) {
-                    return fetchInvestmentProductById(requestDto.getInvestmentProductName());
-                }
-                return null;
-            }, customExecutor);
-
-            User user = userFuture.get();
-            InvestmentProduct product = productFuture.get();
+            User user = fetchUserByEmail(emailId);
+            InvestmentProduct product = !StringUtils.isEmpty(requestDto.getInvestmentProductName())
+                    ? fetchInvestmentProductById(requestDto.getInvestmentProductName())
+                    : null;
             SupportTicket ticket = buildSupportTicket(requestDto, user, product);
+            UUID assignedAdminId = adminLoadBalancer.assign(priority);
+            if (assignedAdminId != null) {
+                settleReservation(assignedAdminId, priority);
+                ticket.setAssignedAdmin(userRepository.getReferenceById(assignedAdminId));
+            }
             SupportTicket saved = ticketRepository.save(ticket);
             log.info("Support ticket created with ID: {}", saved.getId());
+            runAfterCommit(() -> {
+                queueCounters.ticketCreated(saved.getStatus(), saved.getPriority());
+                searchIndex.index(saved);
+            });
             return ticketMapper.toResponseDto(saved);
         } catch (Exception exception) {
             throw new RuntimeException("Failed to create ticket", exception);
@@ -99,16 +132,28 @@ public class SupportTicketServiceImpl implements SupportTicketService {
     public SupportTicketResponseDto respondToTicket(MessageRequestDto messageRequestDto, String emailId) {
         try {
             User user = fetchUserByEmail(emailId);
-            SupportTicket ticket = fetchTicketById(UUID.fromString(messageRequestDto.getTicketId()));
+            SupportTicket ticket = lockTicketById(UUID.fromString(messageRequestDto.getTicketId()));
             if(ticket.getStatus().equals(TicketStatus.CLOSED)){
                 throw new TicketClosedException("ticket is already closed. pls raise another one");
             }
-            saveTicketMessage(ticket, user, messageRequestDto.getResponseMessage());
+            TicketMessage message = saveTicketMessage(ticket, user, messageRequestDto.getResponseMessage());
+            TicketStatus previousStatus = ticket.getStatus();
             updateTicketStatusAndTimestamp(ticket, messageRequestDto.getStatus());
-            List<TicketMessageDto> messages = getMessagesForTicket(ticket.getId());
-            SupportTicketResponseDto dto = ticketMapper.toResponseDto(ticket);
-            dto.setMessages(messages);
-            return dto;
+            //the ticket was loaded with its messages, so the new one is appended instead of reloading the thread
+            if (ticket.getMessages() == null) {
+                ticket.setMessages(new ArrayList<>());
+            }
+            ticket.getMessages().add(message);
+            runAfterCommit(() -> {
+                queueCounters.statusChanged(ticket.getPriority(), previousStatus, ticket.getStatus());
+                if (previousStatus != TicketStatus.CLOSED && ticket.getStatus() == TicketStatus.CLOSED
+                        && ticket.getAssignedAdmin() != null) {
+                    adminLoadBalancer.release(ticket.getAssignedAdmin().getId(), ticket.getPriority());
+                }
+                messageWaiters.publish(ticket.getId(), messageMapper.toDto(message));
+                searchIndex.index(ticket);
+            });
+            return ticketMapper.toResponseDto(ticket);
         } catch (Exception exception) {
             throw new RuntimeException("Failed to respond to ticket", exception);
         }
@@ -118,16 +163,8 @@ public class SupportTicketServiceImpl implements SupportTicketService {
     @Override
     public List<SupportTicketResponseDto> filterTickets(Priority priority, TicketStatus status) {
         log.info("Filtering tickets with priority={} and status={}", priority, status);
-        List<SupportTicket> filteredTickets;
-        if (priority != null && status != null) {
-            filteredTickets = ticketRepository.findByPriorityAndStatusOrderByCreatedAtDesc(priority, status);
-        } else if (priority != null) {
-            filteredTickets = ticketRepository.findByPriorityOrderByCreatedAtDesc(priority);
-        } else if (status != null) {
-            filteredTickets = ticketRepository.findByStatusOrderByCreatedAtDesc(status);
-        } else {
-            filteredTickets = ticketRepository.findAll();
-        }
+        List<SupportTicket> filteredTickets = ticketRepository.findAll(
+                SupportTicketSpecifications.matching(null, priority, status), SupportTicketSpecifications.NEWEST_FIRST);
         log.info("Found {} filtered tickets", filteredTickets.size());
         return filteredTickets.stream()
                 .map(ticketMapper::toResponseDto)
@@ -139,16 +176,8 @@ public class SupportTicketServiceImpl implements SupportTicketService {
     public List<SupportTicketResponseDto> filterTicketsForUser(String emailId, Priority priority, TicketStatus status) {
         log.info("Filtering tickets for user={} with priority={} and status={}", emailId, priority, status);
         UUID userId = getUserId(emailId);
-        List<SupportTicket> filteredTickets;
-        if (priority != null && status != null) {
-            filteredTickets = ticketRepository.findByUserIdAndPriorityAndStatusOrderByCreatedAtDesc(userId, priority, status);
-        } else if (priority != null) {
-            filteredTickets = ticketRepository.findByUserIdAndPriorityOrderByCreatedAtDesc(userId, priority);
-        } else if (status != null) {
-            filteredTickets = ticketRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status);
-        } else {
-            filteredTickets = ticketRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        }
+        List<SupportTicket> filteredTickets = ticketRepository.findAll(
+                SupportTicketSpecifications.matching(userId, priority, status), SupportTicketSpecifications.NEWEST_FIRST);
         if (filteredTickets == null) {
             log.warn("Filtered ticket list is null, returning empty list");
             return new ArrayList<>();
@@ -159,6 +188,98 @@ public class SupportTicketServiceImpl implements SupportTicketService {
                 .collect(Collectors.toList());
     }
 
+    //one keyset page of tickets, newest first, with every filter optional
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<SupportTicketResponseDto> searchTickets(UUID userId, Priority priority, TicketStatus status,
+                                                                 String cursor, Integer size) {
+        log.info("Ticket page request with userId={}, priority={}, status={}", userId, priority, status);
+        return ticketPage(SupportTicketSpecifications.matching(userId, priority, status), cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<SupportTicketResponseDto> searchTicketsForUser(String emailId, Priority priority,
+                                                                        TicketStatus status, String cursor, Integer size) {
+        return searchTickets(getUserId(emailId), priority, status, cursor, size);
+    }
+
+    //keyset pages of the tickets assigned to the admin, so an admin only queries their own slice
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<SupportTicketResponseDto> getAssignedTickets(String emailId, TicketStatus status,
+                                                                      String cursor, Integer size) {
+        UUID adminId = getUserId(emailId);
+        log.info("Assigned ticket page request for admin={} with status={}", emailId, status);
+        return ticketPage(SupportTicketSpecifications.matching(null, null, status)
+                .and(SupportTicketSpecifications.assignedTo(adminId)), cursor, size);
+    }
+
+    //messages of a ticket after the given position, oldest first
+    @Override
+    @Transactional(readOnly = true)
+    public TicketMessagePageDto getMessagesAfter(UUID ticketId, String after, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_MESSAGE_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_MESSAGE_LIMIT) {
+            throw new IllegalArgumentException("Message limit must be between 1 and " + MAX_MESSAGE_LIMIT);
+        }
+        MessageCursor cursor = MessageCursor.parse(after);
+        ensureTicketExists(ticketId);
+
+        // one extra message tells whether more are waiting without a count query
+        Limit fetch = Limit.of(pageSize + 1);
+        List<TicketMessage> messages = cursor == null
+                ? ticketMessageRepository.findBySupportTicketIdOrderByTimestampAscIdAsc(ticketId, fetch)
+                : ticketMessageRepository.findAfter(ticketId, cursor.timestamp(), cursor.id(), fetch);
+        boolean hasMore = messages.size() > pageSize;
+        if (hasMore) {
+            messages = messages.subList(0, pageSize);
+        }
+        log.debug("Fetched {} messages of ticket {} after {}, hasMore={}", messages.size(), ticketId, after, hasMore);
+
+        TicketMessage last = messages.isEmpty() ? null : messages.get(messages.size() - 1);
+        return TicketMessagePageDto.builder()
+                .messages(messages.stream().map(messageMapper::toDto).collect(Collectors.toList()))
+                .after(last != null ? new MessageCursor(last.getTimestamp(), last.getId()).toString()
+                        : cursor != null ? cursor.toString() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    //registers a listener for replies saved on this node, each one is handed over as a single message page
+    @Override
+    public Runnable subscribeToMessages(UUID ticketId, Consumer<TicketMessagePageDto> listener, Runnable onOverflow) {
+        ensureTicketExists(ticketId);
+        return messageWaiters.subscribe(ticketId, message -> listener.accept(TicketMessagePageDto.builder()
+                .messages(List.of(message))
+                .after(new MessageCursor(message.getTimestamp(), message.getMessageId()).toString())
+                .hasMore(false)
+                .build()), onOverflow);
+    }
+
+    //ranked full-text search over subjects, descriptions and message bodies
+    @Override
+    public TicketSearchResultDto searchTicketText(String query, Integer page, Integer size) {
+        if (!StringUtils.hasText(query)) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        TicketSearchResultDto result = searchIndex.search(query.trim(), pageNumber, pageSize);
+        log.info("Search '{}' page {} returned {} of {} tickets", query, pageNumber,
+                result.getHits().size(), result.getTotalElements());
+        return result;
+    }
+
     //methord to get the ticket based on the ticketId
     @Override
     public SupportTicketResponseDto getTicketViaId(UUID ticketId) {
@@ -166,6 +287,11 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         if(resultantTicket.isPresent()){
             return ticketMapper.toResponseDto(resultantTicket.get());
         }
+        //old closed tickets have been moved to the archive by TicketArchiveJob
+        Optional<SupportTicketResponseDto> archivedTicket = ticketArchiveService.findArchived(ticketId);
+        if(archivedTicket.isPresent()){
+            return archivedTicket.get();
+        }
         throw new SupportTicketNotFoundException("Ticket with id "+ticketId+" is not found");
     }
 
@@ -193,6 +319,14 @@ public class SupportTicketServiceImpl implements SupportTicketService {
                 .orElseThrow(() -> new SupportTicketNotFoundException("Support ticket not found with ID: " + ticketId));
     }
 
+    //locks the ticket row for the rest of the transaction, then loads it with its thread into the same instance;
+    //the auto-close job locks the row as well, so a reply never overwrites a close it raced with
+    private SupportTicket lockTicketById(UUID ticketId) {
+        ticketRepository.lockById(ticketId)
+                .orElseThrow(() -> new SupportTicketNotFoundException("Support ticket not found with ID: " + ticketId));
+        return fetchTicketById(ticketId);
+    }
+
     //builder fucntion for ticket creation
     private SupportTicket buildSupportTicket(SupportTicketRequestDto dto, User user, InvestmentProduct investmentProduct) {
         return SupportTicket.builder()
@@ -208,7 +342,7 @@ public class SupportTicketServiceImpl implements SupportTicketService {
     }
 
     //function to save the message conversation of the ticket
-    private void saveTicketMessage(SupportTicket ticket, User sender, String messageContent) {
+    private TicketMessage saveTicketMessage(SupportTicket ticket, User sender, String messageContent) {
         TicketMessage message = TicketMessage.builder()
                 .supportTicket(ticket)
                 .sender(sender)
@@ -217,6 +351,41 @@ public class SupportTicketServiceImpl implements SupportTicketService {
                 .timestamp(LocalDateTime.now())
                 .build();
         ticketMessageRepository.save(message);
+        return message;
+    }
+
+    //waiting clients and the search index only see a change once it is committed and readable
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    //a failure after the save, in the flush or the commit, still leaves the ticket unassigned
+    private void settleReservation(UUID adminId, Priority priority) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    adminLoadBalancer.confirm(adminId, priority);
+                } else {
+                    adminLoadBalancer.cancel(adminId, priority);
+                }
+            }
+        });
+    }
+
+    private void ensureTicketExists(UUID ticketId) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new SupportTicketNotFoundException("Support ticket not found with ID: " + ticketId);
+        }
     }
 
     //update the status of the ticket and save in db
@@ -228,12 +397,50 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         ticketRepository.save(ticket);
     }
 
-    //fetch the message conversation of particular ticket
-    private List<TicketMessageDto> getMessagesForTicket(UUID ticketId) {
-        List<TicketMessage> messages = ticketMessageRepository.findBySupportTicketIdOrderByTimestampAsc(ticketId);
-        return messages.stream()
-                .map(messageMapper::toDto)
-                .collect(Collectors.toList());
+    //one keyset page of the tickets matching the specification, newest first
+    private CursorPageDto<SupportTicketResponseDto> ticketPage(Specification<SupportTicket> filter,
+                                                               String cursor, Integer size) {
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Specification<SupportTicket> specification = filter
+                .and(SupportTicketSpecifications.after(TicketCursor.decode(cursor)));
+
+        // one extra position tells whether another page exists without a count query
+        List<TicketCursor> positions = ticketRepository.findPositions(specification, pageSize + 1);
+        boolean hasMore = positions.size() > pageSize;
+        if (hasMore) {
+            positions = positions.subList(0, pageSize);
+        }
+        // a ticket gone before its details are read is left out, the cursor still moves past it
+        List<SupportTicket> tickets = loadInOrder(positions.stream().map(TicketCursor::id).toList());
+        log.info("Ticket page returned {} tickets, hasMore={}", tickets.size(), hasMore);
+
+        return CursorPageDto.<SupportTicketResponseDto>builder()
+                .items(tickets.stream().map(ticketMapper::toResponseDto).collect(Collectors.toList()))
+                .nextCursor(hasMore ? positions.get(positions.size() - 1).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    //fetch the details of a page of tickets and put them back in the order of the ids
+    private List<SupportTicket> loadInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, SupportTicket> byId = new HashMap<>();
+        for (SupportTicket ticket : ticketRepository.findByIdIn(ids)) {
+            byId.put(ticket.getId(), ticket);
+        }
+        List<SupportTicket> ordered = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            SupportTicket ticket = byId.get(id);
+            if (ticket != null) {
+                ordered.add(ticket);
+            }
+        }
+        return ordered;
     }
 
 }
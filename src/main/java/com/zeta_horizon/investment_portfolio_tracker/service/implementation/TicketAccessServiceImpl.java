@@ -0,0 +1,36 @@
+package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.repository.ArchivedTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.UserRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAccessService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class TicketAccessServiceImpl implements TicketAccessService {
+
+    private final UserRepository userRepository;
+    private final SupportTicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+
+    //the caller comes from the natural id cache, a participant needs one indexed lookup, the archive only when that misses
+    //an admin needs none, whether the ticket exists is left to the read that follows
+    @Override
+    public boolean canView(UUID ticketId, String emailId) {
+        User user = userRepository.findByEmail(emailId);
+        if (user == null) {
+            return false;
+        }
+        if (user.getRole() == UserRole.ADMIN) {
+            return true;
+        }
+        return ticketRepository.isParticipant(ticketId, user.getId())
+                || archivedTicketRepository.existsByIdAndUserId(ticketId, user.getId());
+    }
+}
@@ -0,0 +1,99 @@
+package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
+
+import com.zeta_horizon.investment_portfolio_tracker.archive.TicketArchiveCodec;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.ArchivedTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.SupportTicketMapper;
+import com.zeta_horizon.investment_portfolio_tracker.repository.ArchivedTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.StaleTicket;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketBulkRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.search.TicketSearchIndex;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketArchiveServiceImpl implements TicketArchiveService {
+
+    private final SupportTicketRepository ticketRepository;
+    private final SupportTicketBulkRepository bulkRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final SupportTicketMapper ticketMapper;
+    private final TicketArchiveCodec codec;
+    private final TicketQueueCounters queueCounters;
+    private final TicketSearchIndex searchIndex;
+
+    //one batch is one transaction: lock the old closed rows, write their snapshots, then delete them
+    @Override
+    @Transactional
+    public int archiveClosedBatch(LocalDateTime cutoff, int batchSize) {
+        List<StaleTicket> old = bulkRepository.lockStale(TicketStatus.CLOSED, cutoff, batchSize);
+        if (old.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = old.stream().map(StaleTicket::id).toList();
+        LocalDateTime archivedAt = LocalDateTime.now();
+        List<ArchivedTicket> snapshots = new ArrayList<>(ids.size());
+        for (SupportTicket ticket : ticketRepository.findByIdIn(ids)) {
+            snapshots.add(ArchivedTicket.builder()
+                    .id(ticket.getId())
+                    .userId(ticket.getUser().getId())
+                    .closedAt(ticket.getUpdatedAt())
+                    .archivedAt(archivedAt)
+                    .payload(codec.encode(ticketMapper.toResponseDto(ticket)))
+                    .build());
+        }
+        bulkRepository.insertArchived(snapshots);
+        int deleted = bulkRepository.delete(ids, TicketStatus.CLOSED);
+        if (deleted != old.size() || snapshots.size() != old.size()) {
+            // the rows are locked, so this only happens if the locking read was bypassed; retry on the next run
+            throw new IllegalStateException("Archived " + snapshots.size() + " and deleted " + deleted
+                    + " of " + old.size() + " locked tickets");
+        }
+        log.info("Archived {} tickets closed before {}", deleted, cutoff);
+
+        //the in-memory views only follow once the batch is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyArchived(old);
+                }
+            });
+        } else {
+            applyArchived(old);
+        }
+        return deleted;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SupportTicketResponseDto> findArchived(UUID ticketId) {
+        return archivedTicketRepository.findById(ticketId)
+                .map(archived -> codec.decode(archived.getPayload()));
+    }
+
+    // closed tickets hold no admin load, so only the counters and the search index change
+    private void applyArchived(List<StaleTicket> tickets) {
+        for (StaleTicket ticket : tickets) {
+            queueCounters.ticketRemoved(TicketStatus.CLOSED, ticket.priority());
+        }
+        searchIndex.reindex(tickets.stream().map(StaleTicket::id).toList());
+    }
+}
@@ -0,0 +1,108 @@
+package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
+
+import com.zeta_horizon.investment_portfolio_tracker.attachment.AttachmentContent;
+import com.zeta_horizon.investment_portfolio_tracker.attachment.AttachmentStore;
+import com.zeta_horizon.investment_portfolio_tracker.attachment.StoredFile;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketAttachmentDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketAttachment;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.exception.ResourceNotFoundException;
+import com.zeta_horizon.investment_portfolio_tracker.exception.TicketClosedException;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.TicketMessageMapper;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TicketAttachmentRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TicketMessageRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAccessService;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAttachmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketAttachmentServiceImpl implements TicketAttachmentService {
+
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+
+    private final TicketMessageRepository ticketMessageRepository;
+    private final TicketAttachmentRepository attachmentRepository;
+    private final TicketMessageMapper messageMapper;
+    private final AttachmentStore attachmentStore;
+    private final TicketAccessService ticketAccessService;
+
+    @Value("${support.attachments.max-bytes:10485760}")
+    private long maxBytes;
+
+    //not transactional, no connection is held while the upload is copied to disk
+    @Override
+    public TicketAttachmentDto addAttachment(UUID ticketId, UUID messageId, String emailId, String fileName,
+                                             String contentType, InputStream content) throws IOException {
+        String name = cleanFileName(fileName);
+        TicketMessage message = ticketMessageRepository.findWithTicketAndSenderById(messageId)
+                .filter(m -> m.getSupportTicket().getId().equals(ticketId))
+                .orElseThrow(() -> new ResourceNotFoundException("Message " + messageId + " not found on ticket " + ticketId));
+        if (!message.getSender().getEmail().equals(emailId)) {
+            throw new IllegalArgumentException("Files can only be attached to your own messages");
+        }
+        if (message.getSupportTicket().getStatus() == TicketStatus.CLOSED) {
+            throw new TicketClosedException("Cannot attach files to a closed ticket");
+        }
+
+        StoredFile stored = attachmentStore.store(content, maxBytes);
+        TicketAttachment attachment = attachmentRepository.save(TicketAttachment.builder()
+                .message(message)
+                .ticketId(ticketId)
+                .sha256(stored.sha256())
+                .fileName(name)
+                .contentType(cleanContentType(contentType))
+                .size(stored.size())
+                .build());
+        log.info("Attached {} ({} bytes, {}) to message {} of ticket {}",
+                name, stored.size(), stored.sha256(), messageId, ticketId);
+        return messageMapper.toDto(attachment);
+    }
+
+    //the ticket id is kept on the attachment, the check still works once the message has been archived
+    @Override
+    public AttachmentContent getAttachment(UUID attachmentId, String emailId) {
+        TicketAttachment attachment = attachmentRepository.findById(attachmentId)
+                .filter(a -> ticketAccessService.canView(a.getTicketId(), emailId))
+                .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with ID: " + attachmentId));
+        Path path = attachmentStore.path(attachment.getSha256());
+        if (!Files.isReadable(path)) {
+            log.error("Content {} of attachment {} is missing from the store", attachment.getSha256(), attachmentId);
+            throw new ResourceNotFoundException("Attachment content not found with ID: " + attachmentId);
+        }
+        return new AttachmentContent(attachment.getFileName(), attachment.getContentType(), attachment.getSize(),
+                attachment.getSha256(), path);
+    }
+
+    //keep only the last path segment of the name the client sent
+    private String cleanFileName(String fileName) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(fileName != null ? fileName : "").replace('\\', '/'));
+        if (!StringUtils.hasText(name) || name.equals("..")) {
+            throw new IllegalArgumentException("Attachment file name must not be empty");
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(name.length() - MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    private String cleanContentType(String contentType) {
+        try {
+            return StringUtils.hasText(contentType)
+                    ? MediaType.parseMediaType(contentType).toString()
+                    : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+}
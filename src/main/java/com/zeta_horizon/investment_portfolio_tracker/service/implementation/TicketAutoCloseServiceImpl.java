@@ -0,0 +1,79 @@
+package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
+
+import com.zeta_horizon.investment_portfolio_tracker.assignment.AdminLoadBalancer;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.repository.StaleTicket;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketBulkRepository;
+import com.zeta_horizon.investment_portfolio_tracker.search.TicketSearchIndex;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAutoCloseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketAutoCloseServiceImpl implements TicketAutoCloseService {
+
+    static final String CLOSING_MESSAGE = "This ticket was closed automatically because there was no reply. "
+            + "Please raise a new ticket if you still need help.";
+
+    private final SupportTicketBulkRepository bulkRepository;
+    private final TicketQueueCounters queueCounters;
+    private final AdminLoadBalancer adminLoadBalancer;
+    private final TicketSearchIndex searchIndex;
+
+    //one batch is one transaction: lock the stale rows, close them with one update, add the messages in one jdbc batch
+    //replies lock their ticket row too, so a reply either lands first and keeps the ticket open or sees it closed
+    @Override
+    @Transactional
+    public int closeStaleBatch(LocalDateTime cutoff, int batchSize) {
+        List<StaleTicket> stale = bulkRepository.lockStale(TicketStatus.RESPONDED, cutoff, batchSize);
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime closedAt = LocalDateTime.now();
+        int closed = bulkRepository.close(stale, TicketStatus.RESPONDED, cutoff, closedAt);
+        if (closed != stale.size()) {
+            // the rows are locked, so this only happens if the locking read was bypassed; retry on the next run
+            throw new IllegalStateException("Closed " + closed + " of " + stale.size() + " locked tickets");
+        }
+        UUID fallbackSender = stale.stream().anyMatch(ticket -> ticket.assignedAdminId() == null)
+                ? bulkRepository.findSupportSenderId().orElse(null)
+                : null;
+        int notes = bulkRepository.insertClosingMessages(stale, fallbackSender, CLOSING_MESSAGE, closedAt);
+        if (notes < closed) {
+            log.warn("No admin account to sign the closing note, {} tickets closed without one", closed - notes);
+        }
+        log.info("Auto-closed {} tickets last updated before {}", closed, cutoff);
+
+        //the in-memory views only follow once the batch is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyClosed(stale);
+                }
+            });
+        } else {
+            applyClosed(stale);
+        }
+        return closed;
+    }
+
+    private void applyClosed(List<StaleTicket> tickets) {
+        for (StaleTicket ticket : tickets) {
+            queueCounters.statusChanged(ticket.priority(), TicketStatus.RESPONDED, TicketStatus.CLOSED);
+            adminLoadBalancer.release(ticket.assignedAdminId(), ticket.priority());
+        }
+        searchIndex.reindex(tickets.stream().map(StaleTicket::id).toList());
+    }
+}
@@ -0,0 +1,50 @@
+package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketQueueStatsDto;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketQueueStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketQueueStatsServiceImpl implements TicketQueueStatsService {
+
+    private final SupportTicketRepository ticketRepository;
+    private final TicketQueueCounters ticketQueueCounters;
+
+    //counts per status and priority straight from memory, no ticket is loaded
+    @Override
+    public TicketQueueStatsDto getQueueStats() {
+        Map<TicketStatus, Map<Priority, Long>> counts = ticketQueueCounters.snapshot();
+        Map<TicketStatus, Long> totalsByStatus = new EnumMap<>(TicketStatus.class);
+        long total = 0;
+        for (Map.Entry<TicketStatus, Map<Priority, Long>> row : counts.entrySet()) {
+            long rowTotal = row.getValue().values().stream().mapToLong(Long::longValue).sum();
+            totalsByStatus.put(row.getKey(), rowTotal);
+            total += rowTotal;
+        }
+        return TicketQueueStatsDto.builder()
+                .counts(counts)
+                .totalsByStatus(totalsByStatus)
+                .total(total)
+                .reconciledAt(ticketQueueCounters.reconciledAt())
+                .build();
+    }
+
+    //compare the counters with one grouped count query, the first call seeds them
+    @Override
+    public int reconcileCounters() {
+        int corrected = ticketQueueCounters.reconcile(ticketRepository.countByStatusAndPriority());
+        log.debug("Ticket counter reconcile corrected {} cells", corrected);
+        return corrected;
+    }
+}
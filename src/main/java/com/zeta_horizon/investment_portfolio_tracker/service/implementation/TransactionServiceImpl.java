@@ -1,5 +1,6 @@
 package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
 
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingQuery;
 import com.zeta_horizon.investment_portfolio_tracker.dto.PaginatedTransactionResponseDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.TransactionDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.TransactionFilterDto;
@@ -10,11 +11,13 @@ import com.zeta_horizon.investment_portfolio_tracker.repository.TransactionRepos
 import com.zeta_horizon.investment_portfolio_tracker.repository.UserRepository;
 import com.zeta_horizon.investment_portfolio_tracker.service.TransactionService;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
@@ -23,7 +26,9 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "service.method", histogram = true)
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
@@ -35,6 +40,7 @@ public class TransactionServiceImpl implements TransactionService {
      * Retrieves paginated and filtered transaction history for the given user.
      */
     @Override
+    @ReportingQuery
     public PaginatedTransactionResponseDto getFilteredTransactions(
             User user,
             TransactionFilterDto filterDto) {
@@ -87,6 +93,7 @@ public class TransactionServiceImpl implements TransactionService {
      * Returns full transaction history (non-paginated) for the user, sorted by date descending.
      */
     @Override
+    @ReportingQuery
     public TransactionHistoryResponseDto getTransactionHistory(User user) {
         log.info("Fetching full transaction history for user: {}", user.getEmail());
 
@@ -5,6 +5,7 @@ import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
 import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
 import com.zeta_horizon.investment_portfolio_tracker.exception.ResourceNotFoundException;
 import com.zeta_horizon.investment_portfolio_tracker.service.InvestmentProductService;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,10 +18,12 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.validation.BindingResult;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +36,9 @@ class InvestmentProductControllerTest {
     @Mock
     private InvestmentProductService investmentProductService;
 
+    @Mock
+    private NavHistoryService navHistoryService;
+
     @Mock
     private BindingResult bindingResult;
 
@@ -134,6 +140,37 @@ class InvestmentProductControllerTest {
         verify(investmentProductService, times(1)).getProductById(1);
     }
 
+    @Test
+    void getNavHistory_ShouldReturnPointsInRange() {
+        // Arrange
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        List<NavPointDto> points = List.of(
+                new NavPointDto(LocalDate.of(2024, 1, 2), new BigDecimal("10.50")),
+                new NavPointDto(LocalDate.of(2024, 1, 15), new BigDecimal("11.25")));
+        when(navHistoryService.getNavHistory(1, from, to)).thenReturn(points);
+
+        // Act
+        ResponseEntity<SuccessResponse<List<NavPointDto>>> response =
+                investmentProductController.getNavHistory(1, from, to);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().getData().size());
+        assertEquals(new BigDecimal("11.25"), response.getBody().getData().get(1).getNav());
+    }
+
+    @Test
+    void getNavAsOf_WithoutRecordedNav_ShouldThrowNotFound() {
+        // Arrange
+        LocalDate asOf = LocalDate.of(2020, 1, 1);
+        when(navHistoryService.getNavAsOf(1, asOf)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> investmentProductController.getNavAsOf(1, asOf));
+    }
+
     @Test
     void getProductById_WithInvalidId_ShouldThrowException() {
         // Act & Assert
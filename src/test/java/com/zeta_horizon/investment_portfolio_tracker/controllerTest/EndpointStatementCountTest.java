@@ -0,0 +1,212 @@
+package com.zeta_horizon.investment_portfolio_tracker.controllerTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.Portfolio;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.entity.Transaction;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.JWTServiceImpl;
+import com.zeta_horizon.investment_portfolio_tracker.testutil.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each read endpoint issues, end to end
+ * through the controller, service and repositories, at 1, 10 and 1000 rows per
+ * table. A count that grows with the rows is an N+1 and fails here before it
+ * reaches production. The test transaction is rolled back after every size.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class EndpointStatementCountTest {
+
+    private static final String BEARER = "Bearer token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private JWTServiceImpl jwtService;
+
+    private User customer;
+    private User admin;
+    private InvestmentProduct firstProduct;
+    private SupportTicket firstTicket;
+
+    @ParameterizedTest(name = "{0} rows")
+    @ValueSource(ints = {1, 10, 1000})
+    void readEndpointsIssueAFixedNumberOfStatements(int rows) {
+        seed(rows);
+        // every request pays one select for the caller in the JWT filter; the controllers
+        // that take the bearer token look the caller up again by email, the natural id,
+        // and find it already loaded
+        List<Endpoint> endpoints = new ArrayList<>();
+        endpoints.add(new Endpoint("GET /portfolio", 2, customer, get("/portfolio")));
+        endpoints.add(new Endpoint("GET /portfolio/transactions", 2, customer, get("/portfolio/transactions")));
+        // Spring Data skips the count query when the first page is not full
+        endpoints.add(new Endpoint("GET /portfolio/transactions/filter", rows > 20 ? 3 : 2, customer,
+                get("/portfolio/transactions/filter").param("size", "20")));
+        endpoints.add(new Endpoint("GET /portfolio/summary", 2, customer, get("/portfolio/summary")));
+        endpoints.add(new Endpoint("GET /portfolio/allocation", 2, customer, get("/portfolio/allocation")));
+        endpoints.add(new Endpoint("GET /portfolio/allocation/risk", 2, customer,
+                get("/portfolio/allocation/risk")));
+        endpoints.add(new Endpoint("GET /portfolio/allocation/product", 2, customer,
+                get("/portfolio/allocation/product")));
+        endpoints.add(new Endpoint("GET /portfolio/gains", 2, customer, get("/portfolio/gains")));
+        // performance is not cached yet for the seeded user
+        endpoints.add(new Endpoint("GET /portfolio/performance", 4, customer, get("/portfolio/performance")));
+        // the NAV cache is shared, performance preloads it and the later NAV readers find it warm
+        endpoints.add(new Endpoint("GET /portfolio/value-series", 3, customer,
+                get("/portfolio/value-series").param("interval", "MONTH")));
+
+        endpoints.add(new Endpoint("GET /investments", 2, customer, get("/investments")));
+        endpoints.add(new Endpoint("GET /investments/{id}", 2, customer,
+                get("/investments/{id}", firstProduct.getId())));
+        endpoints.add(new Endpoint("GET /investments/{id}/nav-history", 1, customer,
+                get("/investments/{id}/nav-history", firstProduct.getId())));
+        endpoints.add(new Endpoint("GET /investments/type/{type}", 2, customer,
+                get("/investments/type/{type}", InvestmentType.MUTUAL_FUND)));
+        endpoints.add(new Endpoint("GET /investments/risk/{riskLevel}", 2, customer,
+                get("/investments/risk/{riskLevel}", RiskLevel.LOW)));
+        endpoints.add(new Endpoint("GET /admin/investments", 2, admin, get("/admin/investments")));
+
+        endpoints.add(new Endpoint("GET /support/user", 2, customer, get("/support/user")));
+        endpoints.add(new Endpoint("GET /support/user as admin", 2, admin, get("/support/user")));
+        endpoints.add(new Endpoint("GET /support/user/tickets", 3, customer, get("/support/user/tickets")));
+        endpoints.add(new Endpoint("GET /support/user/filter", 2, customer,
+                get("/support/user/filter").param("status", "RESPONDED")));
+        endpoints.add(new Endpoint("GET /support/ticket/{id}", 3, customer,
+                get("/support/ticket/{id}", firstTicket.getId())));
+        endpoints.add(new Endpoint("GET /support/ticket/{id}/messages", 4, customer,
+                get("/support/ticket/{id}/messages", firstTicket.getId())));
+        endpoints.add(new Endpoint("GET /support/filter", 2, admin,
+                get("/support/filter").param("status", "RESPONDED")));
+        endpoints.add(new Endpoint("GET /support/admin/tickets", 3, admin, get("/support/admin/tickets")));
+        endpoints.add(new Endpoint("GET /support/admin/assigned", 3, admin, get("/support/admin/assigned")));
+        endpoints.add(new Endpoint("GET /support/admin/stats", 1, admin, get("/support/admin/stats")));
+
+        endpoints.add(new Endpoint("GET /admin/users", 2, admin, get("/admin/users")));
+        endpoints.add(new Endpoint("GET /user/profile", 1, customer, get("/user/profile")));
+
+        List<Executable> checks = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            entityManager.clear();
+            List<String> statements = SqlStatementCounter.record(() -> perform(endpoint));
+            checks.add(() -> assertEquals(endpoint.statements(), statements.size(),
+                    () -> endpoint.name() + " at " + rows + " rows:\n  " + String.join("\n  ", statements)));
+        }
+        assertAll(checks);
+    }
+
+    private void perform(Endpoint endpoint) {
+        // the JWT filter runs as in production, so the caller lookup it does is counted too
+        User caller = endpoint.caller();
+        when(jwtService.extractUsername(anyString())).thenReturn(caller.getEmail());
+        when(jwtService.extractRoles(anyString())).thenReturn(List.of("ROLE_" + caller.getRole().name()));
+        when(jwtService.validateToken(anyString(), any())).thenReturn(true);
+        try {
+            mockMvc.perform(endpoint.request().header("Authorization", BEARER))
+                    .andExpect(status().isOk());
+        } catch (Throwable e) {
+            throw new AssertionError(endpoint.name() + " failed", e);
+        }
+    }
+
+    private void seed(int rows) {
+        customer = persist(User.builder().name("Customer").email("customer@example.com")
+                .passwordHash("secret").role(UserRole.USER).build());
+        admin = persist(User.builder().name("Admin").email("admin@example.com")
+                .passwordHash("secret").role(UserRole.ADMIN).build());
+        LocalDateTime start = LocalDateTime.now().minusDays(rows + 1L);
+        for (int i = 0; i < rows; i++) {
+            InvestmentProduct product = persist(InvestmentProduct.builder()
+                    .name("Fund " + i)
+                    .type(InvestmentType.values()[i % InvestmentType.values().length])
+                    .riskLevel(RiskLevel.values()[i % RiskLevel.values().length])
+                    .minimumInvestment(new BigDecimal("100.00"))
+                    .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                    .currentNetAssetValuePerUnit(new BigDecimal("12.00"))
+                    .description("Fund " + i)
+                    .isActive(true)
+                    .build());
+            if (firstProduct == null) {
+                firstProduct = product;
+            }
+            persist(Portfolio.builder()
+                    .user(customer)
+                    .investmentProduct(product)
+                    .unitsOwned(new BigDecimal("10"))
+                    .avgPurchasePrice(new BigDecimal("10.00"))
+                    .build());
+            persist(Transaction.builder()
+                    .user(customer)
+                    .investmentProduct(product)
+                    .txnType(TransactionType.BUY)
+                    .units(new BigDecimal("10"))
+                    .navAtTxn(new BigDecimal("10.00"))
+                    .txnDate(start.plusDays(i))
+                    .build());
+            SupportTicket ticket = persist(SupportTicket.builder()
+                    .user(customer)
+                    .investmentProduct(product)
+                    .assignedAdmin(admin)
+                    .subject("Ticket " + i)
+                    .description("Description " + i)
+                    .status(TicketStatus.RESPONDED)
+                    .priority(Priority.values()[i % Priority.values().length])
+                    .build());
+            if (firstTicket == null) {
+                firstTicket = ticket;
+            }
+            persist(TicketMessage.builder().supportTicket(ticket).sender(customer)
+                    .senderType(UserRole.USER).message("Question " + i).build());
+            persist(TicketMessage.builder().supportTicket(ticket).sender(admin)
+                    .senderType(UserRole.ADMIN).message("Answer " + i).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private record Endpoint(String name, int statements, User caller, MockHttpServletRequestBuilder request) {
+    }
+}
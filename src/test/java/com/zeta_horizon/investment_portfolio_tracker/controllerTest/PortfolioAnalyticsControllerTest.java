@@ -3,7 +3,14 @@ package com.zeta_horizon.investment_portfolio_tracker.controllerTest;
 import com.zeta_horizon.investment_portfolio_tracker.controller.PortfolioAnalyticsController;
 import com.zeta_horizon.investment_portfolio_tracker.dto.AssetAllocationDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.GainLossDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.HoldingAsOfDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.HoldingPerformanceDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioAsOfDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioPerformanceDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioSummaryDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioValuePointDto;
+import com.zeta_horizon.investment_portfolio_tracker.enums.SeriesInterval;
+import com.zeta_horizon.investment_portfolio_tracker.service.HoldingsCheckpointService;
 import com.zeta_horizon.investment_portfolio_tracker.service.PortfolioAnalyticsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.Mockito.when;
@@ -27,10 +35,13 @@ public class PortfolioAnalyticsControllerTest {
     @Mock
     private PortfolioAnalyticsService portfolioAnalyticsService;
 
+    @Mock
+    private HoldingsCheckpointService holdingsCheckpointService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        PortfolioAnalyticsController controller = new PortfolioAnalyticsController(portfolioAnalyticsService);
+        PortfolioAnalyticsController controller = new PortfolioAnalyticsController(portfolioAnalyticsService, holdingsCheckpointService);
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
     }
 
@@ -72,6 +83,39 @@ public class PortfolioAnalyticsControllerTest {
                 .andExpect(jsonPath("$[1].percentage").value(30.0));
     }
 
+    @Test
+    void testGetAssetAllocationByRiskLevel() throws Exception {
+        List<AssetAllocationDto> allocations = List.of(
+                new AssetAllocationDto("HIGH", new BigDecimal("80.0")),
+                new AssetAllocationDto("LOW", new BigDecimal("20.0"))
+        );
+
+        when(portfolioAnalyticsService.getAssetAllocationByRiskLevel(null)).thenReturn(allocations);
+
+        mockMvc.perform(get("/portfolio/allocation/risk"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].assetType").value("HIGH"))
+                .andExpect(jsonPath("$[0].percentage").value(80.0))
+                .andExpect(jsonPath("$[1].assetType").value("LOW"))
+                .andExpect(jsonPath("$[1].percentage").value(20.0));
+    }
+
+    @Test
+    void testGetAssetAllocationByProduct() throws Exception {
+        List<AssetAllocationDto> allocations = List.of(
+                new AssetAllocationDto("Bitcoin", new BigDecimal("100.0"))
+        );
+
+        when(portfolioAnalyticsService.getAssetAllocationByProduct(null)).thenReturn(allocations);
+
+        mockMvc.perform(get("/portfolio/allocation/product"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].assetType").value("Bitcoin"))
+                .andExpect(jsonPath("$[0].percentage").value(100.0));
+    }
+
     @Test
     void testGetGainLossAnalysis() throws Exception {
         List<GainLossDto> gainLossList = List.of(
@@ -88,4 +132,64 @@ public class PortfolioAnalyticsControllerTest {
                 .andExpect(jsonPath("$[0].currentValue").value(12000))
                 .andExpect(jsonPath("$[0].gainOrLoss").value(2000));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPerformance() throws Exception {
+        PortfolioPerformanceDto performance = PortfolioPerformanceDto.builder()
+                .currentValue(new BigDecimal("1100"))
+                .xirrPercentage(new BigDecimal("10.00"))
+                .timeWeightedReturnPercentage(new BigDecimal("10.00"))
+                .holdings(List.of(HoldingPerformanceDto.builder()
+                        .investmentProductId(7)
+                        .investmentProductName("Index Fund")
+                        .xirrPercentage(new BigDecimal("10.00"))
+                        .build()))
+                .build();
+
+        when(portfolioAnalyticsService.getPortfolioPerformance(null)).thenReturn(performance);
+
+        mockMvc.perform(get("/portfolio/performance"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.xirrPercentage").value(10.00))
+                .andExpect(jsonPath("$.timeWeightedReturnPercentage").value(10.00))
+                .andExpect(jsonPath("$.holdings[0].investmentProductName").value("Index Fund"));
+    }
+
+    @Test
+    void testGetValueSeries() throws Exception {
+        List<PortfolioValuePointDto> series = List.of(
+                new PortfolioValuePointDto(LocalDate.of(2024, 1, 1), new BigDecimal("1000.00")),
+                new PortfolioValuePointDto(LocalDate.of(2024, 1, 8), new BigDecimal("1050.00"))
+        );
+
+        when(portfolioAnalyticsService.getPortfolioValueSeries(null, LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 8), SeriesInterval.WEEK)).thenReturn(series);
+
+        mockMvc.perform(get("/portfolio/value-series")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-08")
+                        .param("interval", "week"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[1].value").value(1050.00));
+    }
+
+    @Test
+    void testGetHoldingsAsOf() throws Exception {
+        PortfolioAsOfDto asOf = PortfolioAsOfDto.builder()
+                .date(LocalDate.of(2024, 3, 1))
+                .holdings(List.of(new HoldingAsOfDto(7, "Index Fund", new BigDecimal("90"), new BigDecimal("14.50"))))
+                .replayedTransactions(3)
+                .build();
+
+        when(holdingsCheckpointService.getHoldingsAsOf(null, LocalDate.of(2024, 3, 1))).thenReturn(asOf);
+
+        mockMvc.perform(get("/portfolio/as-of").param("date", "2024-03-01"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.holdings[0].investmentProductName").value("Index Fund"))
+                .andExpect(jsonPath("$.holdings[0].unitsOwned").value(90))
+                .andExpect(jsonPath("$.replayedTransactions").value(3));
+    }
+}
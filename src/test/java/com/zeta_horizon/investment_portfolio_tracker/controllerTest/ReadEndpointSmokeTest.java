@@ -0,0 +1,222 @@
+package com.zeta_horizon.investment_portfolio_tracker.controllerTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.NavHistory;
+import com.zeta_horizon.investment_portfolio_tracker.entity.Portfolio;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.entity.Transaction;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.JWTServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Calls every read endpoint with committed data and open-in-view off, as in
+ * production, so an association the service leaves unloaded fails serialization
+ * here with a LazyInitializationException. Unlike {@link EndpointStatementCountTest}
+ * no test transaction keeps the session open across the request.
+ */
+@SpringBootTest(properties = "spring.jpa.open-in-view=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadEndpointSmokeTest {
+
+    private static final String BEARER = "Bearer token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private JWTServiceImpl jwtService;
+
+    private User customer;
+    private User admin;
+    private InvestmentProduct product;
+    private SupportTicket ticket;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate.executeWithoutResult(status -> seed());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ticket_messages WHERE ticket_id = ?", ticket.getId());
+        jdbcTemplate.update("DELETE FROM support_tickets WHERE id = ?", ticket.getId());
+        jdbcTemplate.update("DELETE FROM transaction WHERE investment_product_id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM portfolio WHERE investment_product_id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM nav_history WHERE investment_product_id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM investment_product WHERE id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", customer.getId(), admin.getId());
+        // the rows went behind Hibernate's back, so must their cached copies
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void readEndpointsRenderOutsideATransaction() {
+        List<Endpoint> endpoints = List.of(
+                new Endpoint("GET /portfolio", customer, get("/portfolio")),
+                new Endpoint("GET /portfolio/transactions", customer, get("/portfolio/transactions")),
+                new Endpoint("GET /portfolio/transactions/filter", customer,
+                        get("/portfolio/transactions/filter").param("size", "20")),
+                new Endpoint("GET /portfolio/summary", customer, get("/portfolio/summary")),
+                new Endpoint("GET /portfolio/allocation", customer, get("/portfolio/allocation")),
+                new Endpoint("GET /portfolio/allocation/risk", customer, get("/portfolio/allocation/risk")),
+                new Endpoint("GET /portfolio/allocation/product", customer, get("/portfolio/allocation/product")),
+                new Endpoint("GET /portfolio/gains", customer, get("/portfolio/gains")),
+                new Endpoint("GET /portfolio/performance", customer, get("/portfolio/performance")),
+                new Endpoint("GET /portfolio/value-series", customer,
+                        get("/portfolio/value-series").param("interval", "MONTH")),
+                new Endpoint("GET /investments", customer, get("/investments")),
+                new Endpoint("GET /investments/{id}", customer, get("/investments/{id}", product.getId())),
+                new Endpoint("GET /investments/{id}/nav-history", customer,
+                        get("/investments/{id}/nav-history", product.getId())),
+                new Endpoint("GET /investments/type/{type}", customer,
+                        get("/investments/type/{type}", InvestmentType.MUTUAL_FUND)),
+                new Endpoint("GET /investments/risk/{riskLevel}", customer,
+                        get("/investments/risk/{riskLevel}", RiskLevel.LOW)),
+                new Endpoint("GET /admin/investments", admin, get("/admin/investments")),
+                new Endpoint("GET /support/user", customer, get("/support/user")),
+                new Endpoint("GET /support/user", admin, get("/support/user")),
+                new Endpoint("GET /support/user/tickets", customer, get("/support/user/tickets")),
+                new Endpoint("GET /support/user/filter", customer,
+                        get("/support/user/filter").param("status", "RESPONDED")),
+                new Endpoint("GET /support/ticket/{id}", customer, get("/support/ticket/{id}", ticket.getId())),
+                new Endpoint("GET /support/ticket/{id}/messages", customer,
+                        get("/support/ticket/{id}/messages", ticket.getId())),
+                new Endpoint("GET /support/filter", admin, get("/support/filter").param("status", "RESPONDED")),
+                new Endpoint("GET /support/admin/tickets", admin, get("/support/admin/tickets")),
+                new Endpoint("GET /support/admin/assigned", admin, get("/support/admin/assigned")),
+                new Endpoint("GET /support/admin/stats", admin, get("/support/admin/stats")),
+                new Endpoint("GET /admin/users", admin, get("/admin/users")),
+                new Endpoint("GET /user/profile", customer, get("/user/profile")));
+
+        List<Executable> checks = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            MvcResult result = perform(endpoint);
+            checks.add(() -> assertEquals(200, result.getResponse().getStatus(),
+                    () -> endpoint.name() + " as " + endpoint.caller().getRole() + ": " + result.getResolvedException()));
+            checks.add(() -> assertFalse(result.getResponse().getContentAsString().isEmpty(), endpoint.name()));
+        }
+        assertAll(checks);
+    }
+
+    private MvcResult perform(Endpoint endpoint) {
+        User caller = endpoint.caller();
+        when(jwtService.extractUsername(anyString())).thenReturn(caller.getEmail());
+        when(jwtService.extractRoles(anyString())).thenReturn(List.of("ROLE_" + caller.getRole().name()));
+        when(jwtService.validateToken(anyString(), any())).thenReturn(true);
+        try {
+            return mockMvc.perform(endpoint.request().header("Authorization", BEARER)).andReturn();
+        } catch (Exception e) {
+            throw new AssertionError(endpoint.name() + " failed", e);
+        }
+    }
+
+    private void seed() {
+        String run = UUID.randomUUID().toString();
+        customer = persist(User.builder().name("Customer").email("customer-" + run + "@example.com")
+                .passwordHash("secret").role(UserRole.USER).build());
+        admin = persist(User.builder().name("Admin").email("admin-" + run + "@example.com")
+                .passwordHash("secret").role(UserRole.ADMIN).build());
+        product = persist(InvestmentProduct.builder()
+                .name("Smoke Fund " + run)
+                .type(InvestmentType.MUTUAL_FUND)
+                .riskLevel(RiskLevel.LOW)
+                .minimumInvestment(new BigDecimal("100.00"))
+                .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                .currentNetAssetValuePerUnit(new BigDecimal("12.00"))
+                .description("Smoke test fund")
+                .isActive(true)
+                .build());
+        persist(NavHistory.builder()
+                .investmentProduct(product)
+                .navDate(LocalDate.now().minusDays(1))
+                .nav(new BigDecimal("11.00"))
+                .build());
+        persist(Portfolio.builder()
+                .user(customer)
+                .investmentProduct(product)
+                .unitsOwned(new BigDecimal("10"))
+                .avgPurchasePrice(new BigDecimal("10.00"))
+                .build());
+        persist(Transaction.builder()
+                .user(customer)
+                .investmentProduct(product)
+                .txnType(TransactionType.BUY)
+                .units(new BigDecimal("10"))
+                .navAtTxn(new BigDecimal("10.00"))
+                .txnDate(LocalDateTime.now().minusDays(2))
+                .build());
+        ticket = persist(SupportTicket.builder()
+                .user(customer)
+                .investmentProduct(product)
+                .assignedAdmin(admin)
+                .subject("Smoke ticket")
+                .description("Where is my redemption?")
+                .status(TicketStatus.RESPONDED)
+                .priority(Priority.MEDIUM)
+                .build());
+        persist(TicketMessage.builder().supportTicket(ticket).sender(customer)
+                .senderType(UserRole.USER).message("Question").build());
+        persist(TicketMessage.builder().supportTicket(ticket).sender(admin)
+                .senderType(UserRole.ADMIN).message("Answer").build());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private record Endpoint(String name, User caller, MockHttpServletRequestBuilder request) {
+    }
+}
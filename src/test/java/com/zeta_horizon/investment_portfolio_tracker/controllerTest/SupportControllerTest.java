@@ -3,16 +3,25 @@ package com.zeta_horizon.investment_portfolio_tracker.controllerTest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zeta_horizon.investment_portfolio_tracker.controller.SupportTicketController;
+import com.zeta_horizon.investment_portfolio_tracker.dto.CursorPageDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.MessageRequestDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketRequestDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessageDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessagePageDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketQueueStatsDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchHitDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchResultDto;
 import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
 import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
 import com.zeta_horizon.investment_portfolio_tracker.service.JWTService;
 import com.zeta_horizon.investment_portfolio_tracker.service.SupportTicketService;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAccessService;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketQueueStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -20,9 +29,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +56,12 @@ class SupportControllerTest {
     @MockBean
     private JWTService jwtService;
 
+    @MockBean
+    private TicketQueueStatsService ticketQueueStatsService;
+
+    @MockBean
+    private TicketAccessService ticketAccessService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -100,13 +119,25 @@ class SupportControllerTest {
     @Test
     void testGetTicketById() throws Exception {
         UUID ticketId = UUID.randomUUID();
+        allowView(ticketId, "user@example.com");
         when(supportTicketService.getTicketViaId(ticketId)).thenReturn(responseDto);
 
-        mockMvc.perform(get("/support/ticket/{ticketId}", ticketId))
+        mockMvc.perform(get("/support/ticket/{ticketId}", ticketId).header("Authorization", authHeader))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.subject").value("Login issue"));
     }
 
+    @Test
+    void testGetTicketByIdForbidsSomeoneElsesTicket() throws Exception {
+        UUID ticketId = UUID.randomUUID();
+        when(jwtService.extractUsername(anyString())).thenReturn("intruder@example.com");
+        when(ticketAccessService.canView(ticketId, "intruder@example.com")).thenReturn(false);
+
+        mockMvc.perform(get("/support/ticket/{ticketId}", ticketId).header("Authorization", authHeader))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(supportTicketService);
+    }
+
     @Test
     void testGetAllTickets() throws Exception {
         when(supportTicketService.getAllTickets()).thenReturn(List.of(responseDto));
@@ -268,4 +299,202 @@ class SupportControllerTest {
                 .andExpect(jsonPath("$.size()").value(1))
                 .andExpect(jsonPath("$[0].subject").value("Login issue"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchTicketsReturnsPage() throws Exception {
+        CursorPageDto<SupportTicketResponseDto> page = CursorPageDto.<SupportTicketResponseDto>builder()
+                .items(List.of(responseDto))
+                .nextCursor("next-page")
+                .hasMore(true)
+                .build();
+        when(supportTicketService.searchTickets(null, Priority.HIGH, TicketStatus.OPEN, null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/support/admin/tickets")
+                        .param("priority", "HIGH")
+                        .param("status", "OPEN")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()").value(1))
+                .andExpect(jsonPath("$.items[0].subject").value("Login issue"))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void testGetTicketMessagesAfterCursor() throws Exception {
+        UUID ticketId = responseDto.getTicketId();
+        TicketMessagePageDto page = TicketMessagePageDto.builder()
+                .messages(List.of(TicketMessageDto.builder().message("Any update?").build()))
+                .after("2024-05-01T10:02|id-2")
+                .hasMore(false)
+                .build();
+        when(supportTicketService.getMessagesAfter(ticketId, "2024-05-01T10:00|id-1", 10)).thenReturn(page);
+        allowView(ticketId, "test@example.com");
+
+        mockMvc.perform(get("/support/ticket/{ticketId}/messages", ticketId)
+                        .header("Authorization", authHeader)
+                        .param("after", "2024-05-01T10:00|id-1")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messages.size()").value(1))
+                .andExpect(jsonPath("$.messages[0].message").value("Any update?"))
+                .andExpect(jsonPath("$.after").value("2024-05-01T10:02|id-2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPollTicketMessagesWakesUpOnReply() throws Exception {
+        UUID ticketId = responseDto.getTicketId();
+        Runnable unsubscribe = mock(Runnable.class);
+        ArgumentCaptor<Consumer<TicketMessagePageDto>> listener = ArgumentCaptor.forClass(Consumer.class);
+        when(supportTicketService.subscribeToMessages(eq(ticketId), listener.capture(), any())).thenReturn(unsubscribe);
+        when(supportTicketService.getMessagesAfter(ticketId, "cursor-1", null)).thenReturn(
+                TicketMessagePageDto.builder().messages(List.of()).after("cursor-1").build(),
+                page("cursor-2", "Resolved"));
+
+        allowView(ticketId, "test@example.com");
+
+        MvcResult parked = mockMvc.perform(get("/support/ticket/{ticketId}/messages/poll", ticketId)
+                        .header("Authorization", authHeader)
+                        .param("after", "cursor-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        listener.getValue().accept(page("cursor-2", "Resolved"));
+
+        mockMvc.perform(asyncDispatch(parked))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messages[0].message").value("Resolved"))
+                .andExpect(jsonPath("$.after").value("cursor-2"));
+        verify(unsubscribe).run();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPollTicketMessagesKeepsAReplyPublishedBeforeItSubscribed() throws Exception {
+        UUID ticketId = responseDto.getTicketId();
+        ArgumentCaptor<Consumer<TicketMessagePageDto>> listener = ArgumentCaptor.forClass(Consumer.class);
+        when(supportTicketService.subscribeToMessages(eq(ticketId), listener.capture(), any()))
+                .thenReturn(mock(Runnable.class));
+        // first reply published before the poll subscribed; the second is delivered while the poll
+        // reads and wins the race to answer it
+        when(supportTicketService.getMessagesAfter(ticketId, "cursor-0", null))
+                .thenAnswer(invocation -> {
+                    listener.getValue().accept(page("cursor-2", "Second"));
+                    return page("cursor-1", "First");
+                })
+                .thenReturn(page("cursor-2", "First", "Second"));
+        allowView(ticketId, "test@example.com");
+
+        MvcResult parked = mockMvc.perform(get("/support/ticket/{ticketId}/messages/poll", ticketId)
+                        .header("Authorization", authHeader)
+                        .param("after", "cursor-0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(parked))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messages.size()").value(2))
+                .andExpect(jsonPath("$.messages[0].message").value("First"))
+                .andExpect(jsonPath("$.after").value("cursor-2"));
+    }
+
+    @Test
+    void testPollTicketMessagesRejectsLongTimeout() throws Exception {
+        mockMvc.perform(get("/support/ticket/{ticketId}/messages/poll", responseDto.getTicketId())
+                        .header("Authorization", authHeader)
+                        .param("timeoutSeconds", "600"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(supportTicketService);
+    }
+
+    @Test
+    void testMessageEndpointsForbidTicketsTheUserMayNotRead() throws Exception {
+        UUID ticketId = responseDto.getTicketId();
+        when(jwtService.extractUsername(anyString())).thenReturn("intruder@example.com");
+        when(ticketAccessService.canView(ticketId, "intruder@example.com")).thenReturn(false);
+
+        mockMvc.perform(get("/support/ticket/{ticketId}/messages", ticketId).header("Authorization", authHeader))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/support/ticket/{ticketId}/messages/poll", ticketId).header("Authorization", authHeader))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/support/ticket/{ticketId}/messages/stream", ticketId).header("Authorization", authHeader))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(supportTicketService);
+    }
+
+    @Test
+    void testSearchTicketTextReturnsRankedHits() throws Exception {
+        TicketSearchResultDto result = TicketSearchResultDto.builder()
+                .hits(List.of(TicketSearchHitDto.builder()
+                        .ticketId(responseDto.getTicketId())
+                        .subject("Login issue")
+                        .score(0.8)
+                        .highlight("Cannot <mark>log</mark> in")
+                        .build()))
+                .currentPage(0)
+                .pageSize(10)
+                .totalElements(1L)
+                .hasNext(false)
+                .build();
+        when(supportTicketService.searchTicketText("log in", 0, 10)).thenReturn(result);
+
+        mockMvc.perform(get("/support/search")
+                        .param("q", "log in")
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits[0].subject").value("Login issue"))
+                .andExpect(jsonPath("$.hits[0].highlight").value("Cannot <mark>log</mark> in"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void testGetQueueStats() throws Exception {
+        TicketQueueStatsDto stats = TicketQueueStatsDto.builder()
+                .counts(Map.of(TicketStatus.OPEN, Map.of(Priority.HIGH, 3L)))
+                .totalsByStatus(Map.of(TicketStatus.OPEN, 3L))
+                .total(3)
+                .build();
+        when(ticketQueueStatsService.getQueueStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/support/admin/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.OPEN.HIGH").value(3))
+                .andExpect(jsonPath("$.totalsByStatus.OPEN").value(3))
+                .andExpect(jsonPath("$.total").value(3));
+        verifyNoInteractions(supportTicketService);
+    }
+
+    @Test
+    void testGetAssignedTicketsForCallingAdmin() throws Exception {
+        responseDto.setAssignedAdminId(UUID.randomUUID());
+        CursorPageDto<SupportTicketResponseDto> page = CursorPageDto.<SupportTicketResponseDto>builder()
+                .items(List.of(responseDto))
+                .hasMore(false)
+                .build();
+        when(jwtService.extractUsername(anyString())).thenReturn("admin@example.com");
+        when(supportTicketService.getAssignedTickets("admin@example.com", TicketStatus.OPEN, null, 5)).thenReturn(page);
+
+        mockMvc.perform(get("/support/admin/assigned")
+                        .header("Authorization", authHeader)
+                        .param("status", "OPEN")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].assignedAdminId").value(responseDto.getAssignedAdminId().toString()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    private void allowView(UUID ticketId, String email) {
+        when(jwtService.extractUsername(anyString())).thenReturn(email);
+        when(ticketAccessService.canView(ticketId, email)).thenReturn(true);
+    }
+
+    private static TicketMessagePageDto page(String after, String... messages) {
+        List<TicketMessageDto> dtos = new ArrayList<>();
+        for (String message : messages) {
+            dtos.add(TicketMessageDto.builder().message(message).build());
+        }
+        return TicketMessagePageDto.builder().messages(dtos).after(after).hasMore(false).build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.zeta_horizon.investment_portfolio_tracker.controllerTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.attachment.AttachmentContent;
+import com.zeta_horizon.investment_portfolio_tracker.controller.TicketAttachmentController;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketAttachmentDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.entity.UserPrincipal;
+import com.zeta_horizon.investment_portfolio_tracker.exception.GlobalExceptionHandler;
+import com.zeta_horizon.investment_portfolio_tracker.exception.ResourceNotFoundException;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAttachmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class TicketAttachmentControllerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String SHA = "a".repeat(64);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private TicketAttachmentService ticketAttachmentService;
+
+    private MockMvc mockMvc;
+    private UUID attachmentId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TicketAttachmentController(ticketAttachmentService))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        Path file = Files.writeString(directory.resolve(SHA), CONTENT);
+        attachmentId = UUID.randomUUID();
+        signIn("test@example.com");
+        when(ticketAttachmentService.getAttachment(attachmentId, "test@example.com")).thenReturn(
+                new AttachmentContent("statement.txt", "text/plain", CONTENT.length(), SHA, file));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void downloadAttachment_shouldServeWholeFile() throws Exception {
+        mockMvc.perform(get("/support/attachments/{id}", attachmentId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + SHA + "\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statement.txt\""))
+                .andExpect(content().contentType("text/plain"))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void downloadAttachment_shouldServeRequestedRange() throws Exception {
+        mockMvc.perform(get("/support/attachments/{id}", attachmentId).header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().string("56789"));
+    }
+
+    @Test
+    void downloadAttachment_shouldRejectRangePastTheEnd() throws Exception {
+        mockMvc.perform(get("/support/attachments/{id}", attachmentId).header(HttpHeaders.RANGE, "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    void downloadAttachment_shouldAnswerNotModifiedForCurrentEtag() throws Exception {
+        mockMvc.perform(get("/support/attachments/{id}", attachmentId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + SHA + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void downloadAttachment_shouldAnswerNotFoundForAnotherUsersAttachment() throws Exception {
+        signIn("other@example.com");
+        when(ticketAttachmentService.getAttachment(attachmentId, "other@example.com"))
+                .thenThrow(new ResourceNotFoundException("Attachment not found with ID: " + attachmentId));
+
+        mockMvc.perform(get("/support/attachments/{id}", attachmentId))
+                .andExpect(status().isNotFound());
+        verify(ticketAttachmentService, never()).getAttachment(attachmentId, "test@example.com");
+    }
+
+    @Test
+    void uploadAttachment_shouldStreamBodyToService() throws Exception {
+        UUID ticketId = UUID.randomUUID();
+        UUID messageId = UUID.randomUUID();
+        ArgumentCaptor<InputStream> body = ArgumentCaptor.forClass(InputStream.class);
+        when(ticketAttachmentService.addAttachment(eq(ticketId), eq(messageId), eq("test@example.com"),
+                eq("screen.png"), eq("image/png"), body.capture()))
+                .thenAnswer(invocation -> TicketAttachmentDto.builder()
+                        .attachmentId(attachmentId)
+                        .fileName("screen.png")
+                        .contentType("image/png")
+                        .size(new String(invocation.<InputStream>getArgument(5).readAllBytes(),
+                                StandardCharsets.UTF_8).length())
+                        .build());
+
+        mockMvc.perform(post("/support/ticket/{ticketId}/messages/{messageId}/attachments", ticketId, messageId)
+                        .param("fileName", "screen.png")
+                        .contentType("image/png")
+                        .content(CONTENT))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.attachmentId").value(attachmentId.toString()))
+                .andExpect(jsonPath("$.size").value(CONTENT.length()));
+        assertEquals(1, body.getAllValues().size());
+    }
+
+    private void signIn(String email) {
+        UserPrincipal principal = new UserPrincipal(User.builder().email(email).build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,170 @@
+package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.HoldingAsOfDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioAsOfDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.HoldingsCheckpoint;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.Transaction;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.repository.HoldingsCheckpointRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.HoldingsCheckpointServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "portfolio.checkpoint.every-transactions=5")
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.zeta_horizon.investment_portfolio_tracker.entity")
+@Import(HoldingsCheckpointServiceImpl.class)
+public class HoldingsCheckpointRepositoryTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private HoldingsCheckpointServiceImpl checkpointService;
+
+    @Autowired
+    private HoldingsCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private InvestmentProduct fund;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+                .name("Checkpoint User")
+                .email("checkpoint.user@example.com")
+                .passwordHash("secret")
+                .role(UserRole.USER)
+                .build());
+        fund = entityManager.persist(InvestmentProduct.builder()
+                .name("Index Fund")
+                .type(InvestmentType.MUTUAL_FUND)
+                .riskLevel(RiskLevel.LOW)
+                .minimumInvestment(new BigDecimal("100.00"))
+                .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                .currentNetAssetValuePerUnit(new BigDecimal("10.00"))
+                .description("Checkpoint test fund")
+                .isActive(true)
+                .build());
+
+        // one transaction per day: ten buys of 10 units at NAV 10..19, then two sells of 5 units
+        for (int day = 0; day < 12; day++) {
+            entityManager.persist(Transaction.builder()
+                    .user(user)
+                    .investmentProduct(fund)
+                    .txnType(day < 10 ? TransactionType.BUY : TransactionType.SELL)
+                    .units(day < 10 ? new BigDecimal("10") : new BigDecimal("5"))
+                    .navAtTxn(BigDecimal.valueOf(10 + day))
+                    .txnDate(FIRST_DAY.plusDays(day).atTime(12, 0))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void createsCheckpointEveryNTransactionsAndReplaysOnlyTheTail() {
+        PortfolioAsOfDto fullReplay = checkpointService.getHoldingsAsOf(user, FIRST_DAY.plusDays(11));
+        assertEquals(12, fullReplay.getReplayedTransactions());
+
+        assertEquals(List.of(user.getId()), checkpointService.findUsersDueForCheckpoint());
+        assertEquals(2, checkpointService.createCheckpoints(user.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(2, checkpointRepository.count());
+        assertTrue(checkpointService.findUsersDueForCheckpoint().isEmpty());
+
+        PortfolioAsOfDto fromCheckpoint = checkpointService.getHoldingsAsOf(user, FIRST_DAY.plusDays(11));
+        assertEquals(2, fromCheckpoint.getReplayedTransactions());
+        assertEquals(fullReplay.getHoldings(), fromCheckpoint.getHoldings());
+
+        HoldingAsOfDto holding = fromCheckpoint.getHoldings().get(0);
+        assertEquals("Index Fund", holding.getInvestmentProductName());
+        assertEquals(0, new BigDecimal("90").compareTo(holding.getUnitsOwned()));
+
+        PortfolioAsOfDto midway = checkpointService.getHoldingsAsOf(user, FIRST_DAY.plusDays(6));
+        assertEquals(2, midway.getReplayedTransactions());
+        assertEquals(0, new BigDecimal("70").compareTo(midway.getHoldings().get(0).getUnitsOwned()));
+
+        assertTrue(checkpointService.getHoldingsAsOf(user, FIRST_DAY.minusDays(1)).getHoldings().isEmpty());
+    }
+
+    @Test
+    void dueCountsTransactionsAfterTheCheckpointPositionWhateverTheirIds() {
+        checkpointService.createCheckpoints(user.getId());
+        // booked late with higher ids, but dated before the last checkpoint
+        for (int day = 0; day < 5; day++) {
+            entityManager.persist(transaction(FIRST_DAY.plusDays(day).atTime(13, 0)));
+        }
+        entityManager.flush();
+        assertTrue(checkpointService.findUsersDueForCheckpoint().isEmpty());
+
+        // two transactions are already past the checkpoint at the tenth, three more make five
+        for (int day = 12; day < 15; day++) {
+            entityManager.persist(transaction(FIRST_DAY.plusDays(day).atTime(12, 0)));
+        }
+        entityManager.flush();
+        assertEquals(List.of(user.getId()), checkpointService.findUsersDueForCheckpoint());
+    }
+
+    @Test
+    void dueAfterATransactionIdOnlyCountsUsersWhoBookedSince() {
+        Integer latest = checkpointService.latestTransactionId();
+        // due, but booked nothing after the mark
+        assertTrue(checkpointService.findUsersDueForCheckpoint(latest).isEmpty());
+
+        entityManager.persist(transaction(FIRST_DAY.plusDays(12).atTime(12, 0)));
+        entityManager.flush();
+        assertEquals(List.of(user.getId()), checkpointService.findUsersDueForCheckpoint(latest));
+    }
+
+    @Test
+    void aCheckpointPositionIsWrittenOnlyOnce() {
+        checkpointService.createCheckpoints(user.getId());
+        entityManager.flush();
+        HoldingsCheckpoint first = checkpointRepository.findTopByUserIdOrderByTransactionCountDesc(user.getId())
+                .orElseThrow();
+
+        // what a second instance checkpointing the same user at the same time would write
+        HoldingsCheckpoint duplicate = HoldingsCheckpoint.builder()
+                .user(user)
+                .transactionCount(first.getTransactionCount())
+                .lastTransactionId(first.getLastTransactionId())
+                .lastTransactionDate(first.getLastTransactionDate())
+                .createdAt(LocalDateTime.now())
+                .build();
+        assertThrows(DataIntegrityViolationException.class, () -> checkpointRepository.saveAndFlush(duplicate));
+    }
+
+    private Transaction transaction(LocalDateTime txnDate) {
+        return Transaction.builder()
+                .user(user)
+                .investmentProduct(fund)
+                .txnType(TransactionType.BUY)
+                .units(BigDecimal.ONE)
+                .navAtTxn(new BigDecimal("10"))
+                .txnDate(txnDate)
+                .build();
+    }
+}
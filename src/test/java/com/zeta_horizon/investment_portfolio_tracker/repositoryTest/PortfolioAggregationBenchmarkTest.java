@@ -0,0 +1,173 @@
+package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.AllocationSliceProjection;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.Portfolio;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.repository.PortfolioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the old "load every holding and loop in Java" allocation against the
+ * grouped SQL aggregate for a user with 1k+ holdings by the statements each
+ * issues and the bytes each transfers.
+ *
+ * Transferred bytes are approximated by summing the text width of every column
+ * of every row the equivalent SQL returns, which is roughly what the PostgreSQL
+ * text protocol sends.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.zeta_horizon.investment_portfolio_tracker.entity")
+public class PortfolioAggregationBenchmarkTest {
+
+    private static final int HOLDINGS = 1_200;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+                .name("Heavy Trader")
+                .email("heavy.trader@example.com")
+                .passwordHash("secret")
+                .role(UserRole.USER)
+                .build());
+
+        InvestmentType[] types = InvestmentType.values();
+        RiskLevel[] risks = RiskLevel.values();
+        for (int i = 0; i < HOLDINGS; i++) {
+            InvestmentProduct product = entityManager.persist(InvestmentProduct.builder()
+                    .name("Product " + i)
+                    .type(types[i % types.length])
+                    .riskLevel(risks[i % risks.length])
+                    .minimumInvestment(new BigDecimal("100.00"))
+                    .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                    .currentNetAssetValuePerUnit(BigDecimal.valueOf(10 + i % 90, 0))
+                    .description("Benchmark product " + i)
+                    .isActive(true)
+                    .build());
+            entityManager.persist(Portfolio.builder()
+                    .user(user)
+                    .investmentProduct(product)
+                    .unitsOwned(BigDecimal.valueOf(1 + i % 50))
+                    .avgPurchasePrice(new BigDecimal("12.5000"))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void aggregateAllocationBeatsEntityLoopForLargePortfolio() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, BigDecimal> legacy = legacyAllocation();
+        Map<String, BigDecimal> aggregated = aggregatedAllocation();
+        assertEquals(legacy.size(), aggregated.size());
+        legacy.forEach((type, value) -> assertEquals(0, value.compareTo(aggregated.get(type)), type));
+
+        statistics.clear();
+        legacyAllocation();
+        long legacyStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        aggregatedAllocation();
+        long aggregatedStatements = statistics.getPrepareStatementCount();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long legacyBytes = resultWidth(jdbcTemplate,
+                "SELECT * FROM portfolio WHERE user_id = ?")
+                + resultWidth(jdbcTemplate,
+                "SELECT * FROM investment_product WHERE id IN " +
+                        "(SELECT investment_product_id FROM portfolio WHERE user_id = ?)");
+        long aggregatedBytes = resultWidth(jdbcTemplate,
+                "SELECT ip.type, SUM(p.units_owned * ip.current_net_asset_value_per_unit) " +
+                        "FROM portfolio p JOIN investment_product ip ON ip.id = p.investment_product_id " +
+                        "WHERE p.user_id = ? GROUP BY ip.type");
+
+        assertEquals(1, aggregatedStatements);
+        assertTrue(legacyStatements > aggregatedStatements);
+        assertTrue(aggregatedBytes * 100 < legacyBytes);
+    }
+
+    // the allocation loop as it was written before the aggregate queries existed, queried
+    // without the entity graph findByUser has now so the products still load one by one
+    private Map<String, BigDecimal> legacyAllocation() {
+        entityManager.clear();
+        Map<String, BigDecimal> allocationMap = new HashMap<>();
+        List<Portfolio> holdings = entityManager.getEntityManager()
+                .createQuery("SELECT p FROM Portfolio p WHERE p.user = :user", Portfolio.class)
+                .setParameter("user", user)
+                .getResultList();
+        for (Portfolio p : holdings) {
+            BigDecimal value = p.getInvestmentProduct().getCurrentNetAssetValuePerUnit().multiply(p.getUnitsOwned());
+            allocationMap.merge(p.getInvestmentProduct().getType().name(), value, BigDecimal::add);
+        }
+        return allocationMap;
+    }
+
+    private Map<String, BigDecimal> aggregatedAllocation() {
+        entityManager.clear();
+        Map<String, BigDecimal> allocationMap = new HashMap<>();
+        for (AllocationSliceProjection slice : portfolioRepository.sumCurrentValueByType(user.getId())) {
+            allocationMap.put(slice.getBucket(), slice.getTotal());
+        }
+        return allocationMap;
+    }
+
+    private long resultWidth(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.query(sql, (ResultSet rs) -> {
+            long bytes = 0;
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                bytes += rowWidth(rs, columns);
+            }
+            return bytes;
+        }, user.getId());
+    }
+
+    private long rowWidth(ResultSet rs, int columns) throws SQLException {
+        long bytes = 0;
+        for (int i = 1; i <= columns; i++) {
+            String value = rs.getString(i);
+            bytes += value != null ? value.length() : 0;
+        }
+        return bytes;
+    }
+}
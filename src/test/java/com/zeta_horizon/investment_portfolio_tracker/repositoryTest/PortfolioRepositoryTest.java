@@ -1,16 +1,31 @@
 package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
 
+import com.zeta_horizon.investment_portfolio_tracker.dto.AllocationSliceProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioTotalsProjection;
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
 import com.zeta_horizon.investment_portfolio_tracker.entity.Portfolio;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
 import com.zeta_horizon.investment_portfolio_tracker.repository.PortfolioRepository;
+import com.zeta_horizon.investment_portfolio_tracker.testutil.SqlStatementCounter;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -77,4 +92,80 @@ public class PortfolioRepositoryTest {
         assertFalse(result.isPresent());
         verify(portfolioRepository, times(1)).findByUserAndInvestmentProduct(testUser, testProduct);
     }
+
+    @Nested
+    @DataJpaTest
+    @ActiveProfiles("test")
+    @EntityScan(basePackages = "com.zeta_horizon.investment_portfolio_tracker.entity")
+    class StatementCount {
+
+        @Autowired
+        private PortfolioRepository portfolioRepository;
+
+        @Autowired
+        private TestEntityManager entityManager;
+
+        private User customer;
+
+        // one product per row, so an association loaded row by row shows up as extra statements
+        private void seed(int rows) {
+            customer = entityManager.persist(User.builder()
+                    .name("Customer")
+                    .email("customer@example.com")
+                    .passwordHash("secret")
+                    .role(UserRole.USER)
+                    .build());
+            LocalDateTime start = LocalDateTime.now().minusDays(rows + 1L);
+            for (int i = 0; i < rows; i++) {
+                InvestmentProduct product = entityManager.persist(InvestmentProduct.builder()
+                        .name("Fund " + i)
+                        .type(InvestmentType.values()[i % InvestmentType.values().length])
+                        .riskLevel(RiskLevel.values()[i % RiskLevel.values().length])
+                        .minimumInvestment(new BigDecimal("100.00"))
+                        .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                        .currentNetAssetValuePerUnit(new BigDecimal("12.00"))
+                        .description("Fund " + i)
+                        .isActive(true)
+                        .build());
+                entityManager.persist(Portfolio.builder()
+                        .user(customer)
+                        .investmentProduct(product)
+                        .unitsOwned(new BigDecimal("10"))
+                        .avgPurchasePrice(new BigDecimal("10.00"))
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        @ParameterizedTest(name = "{0} holdings")
+        @ValueSource(ints = {1, 10, 1000})
+        void holdingsLoadWithTheirProductsInOneStatement(int rows) {
+            seed(rows);
+
+            List<String> names = SqlStatementCounter.assertStatements(1, () -> portfolioRepository.findByUser(customer)
+                    .stream()
+                    .map(portfolio -> portfolio.getInvestmentProduct().getName())
+                    .toList());
+
+            assertEquals(rows, names.size());
+        }
+
+        @ParameterizedTest(name = "{0} holdings")
+        @ValueSource(ints = {1, 10, 1000})
+        void aggregatesTakeOneStatementEach(int rows) {
+            seed(rows);
+
+            PortfolioTotalsProjection totals = SqlStatementCounter.assertStatements(1,
+                    () -> portfolioRepository.sumTotalsByUserId(customer.getId()));
+            SqlStatementCounter.assertStatements(1, () -> portfolioRepository.sumCurrentValueByType(customer.getId()));
+            SqlStatementCounter.assertStatements(1,
+                    () -> portfolioRepository.sumCurrentValueByRiskLevel(customer.getId()));
+            List<AllocationSliceProjection> byProduct = SqlStatementCounter.assertStatements(1,
+                    () -> portfolioRepository.sumCurrentValueByProduct(customer.getId()));
+
+            assertEquals(0, new BigDecimal(rows * 120).compareTo(totals.getCurrentValue()));
+            assertEquals(rows, byProduct.size());
+        }
+    }
 }
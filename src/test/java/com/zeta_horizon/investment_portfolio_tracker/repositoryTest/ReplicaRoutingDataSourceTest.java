@@ -0,0 +1,156 @@
+package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta_horizon.investment_portfolio_tracker.cache.InMemorySharedCacheStore;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.PrimaryReads;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReadYourWritesWindow;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReplicaRoutingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes between separate in-memory databases, each with a one-row table naming it,
+ * so every query shows which database it reached.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final InMemorySharedCacheStore sharedStore = new InMemorySharedCacheStore(100);
+    private final ReadYourWritesWindow window = new ReadYourWritesWindow(sharedStore, 60_000);
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        routing.close();
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkUseThePrimary() {
+        route(database("primary"), database("replica-a"), database("replica-b"));
+
+        assertEquals("primary", writes.execute(status -> name()));
+        assertEquals("primary", name());
+    }
+
+    @Test
+    void readOnlyTransactionsRoundRobinOverTheReplicas() {
+        route(database("primary"), database("replica-a"), database("replica-b"));
+
+        List<String> served = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            served.add(reads.execute(status -> name()));
+        }
+
+        assertEquals(List.of("replica-a", "replica-b", "replica-a", "replica-b"), served);
+    }
+
+    @Test
+    void readsStayOnThePrimaryWhileTheUsersWindowIsOpen() {
+        route(database("primary"), database("replica-a"));
+        window.recordWrite("trader@example.com");
+
+        authenticate("trader@example.com");
+        assertEquals("primary", reads.execute(status -> name()));
+
+        authenticate("someone-else@example.com");
+        assertEquals("replica-a", reads.execute(status -> name()));
+    }
+
+    @Test
+    void aWriteOnAnotherInstanceKeepsTheUsersReadsOnThePrimary() {
+        route(database("primary"), database("replica-a"));
+        new ReadYourWritesWindow(sharedStore, 60_000).recordWrite("trader@example.com");
+
+        authenticate("trader@example.com");
+        assertEquals("primary", reads.execute(status -> name()));
+    }
+
+    @Test
+    void cacheMissesLoadFromThePrimaryRatherThanALaggingReplica() {
+        route(database("primary"), database("replica-a"));
+        TwoTierCache cache = new TwoTierCache(sharedStore, new ObjectMapper(), 100, 60_000, 600_000);
+
+        // the replica's row stands for data it has not caught up with yet
+        String cached = reads.execute(status -> cache.get("marker", List.of("markers"), String.class, this::name));
+
+        assertEquals("primary", cached);
+        assertEquals("primary", reads.execute(status -> PrimaryReads.call(this::name)));
+        assertEquals("replica-a", reads.execute(status -> name()));
+    }
+
+    @Test
+    void unreachableReplicaIsSkippedUntilItPassesAHealthCheck() {
+        JdbcDataSource broken = database("replica-b");
+        broken.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        route(database("primary"), database("replica-a"), broken);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-a", reads.execute(status -> name()));
+        }
+        assertEquals(1, routing.healthyReplicas());
+
+        broken.setURL("jdbc:h2:mem:replica-b;DB_CLOSE_DELAY=-1");
+        routing.checkReplicas();
+        assertEquals(2, routing.healthyReplicas());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWithoutHealthyReplicas() {
+        JdbcDataSource broken = database("replica-a");
+        broken.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        route(database("primary"), broken);
+
+        assertEquals("primary", reads.execute(status -> name()));
+        routing.checkReplicas();
+        assertEquals("primary", reads.execute(status -> name()));
+        assertEquals(0, routing.healthyReplicas());
+    }
+
+    private void route(DataSource primary, DataSource... replicas) {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replicas), window);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    private String name() {
+        return jdbc.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(32))");
+        jdbc.update("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
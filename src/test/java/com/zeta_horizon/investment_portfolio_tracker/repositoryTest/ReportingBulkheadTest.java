@@ -0,0 +1,126 @@
+package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.datasource.BulkheadRoutingDataSource;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingBulkhead;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReportingQuery;
+import com.zeta_horizon.investment_portfolio_tracker.exception.ReportingCapacityExceededException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs calls through the bulkhead advisor onto two in-memory databases, each with a
+ * one-row table naming it, so every query shows which pool served it.
+ */
+class ReportingBulkheadTest {
+
+    private final ReportingBulkhead bulkhead = new ReportingBulkhead(1);
+    private Queries queries;
+
+    interface Queries {
+        String lookup();
+
+        @ReportingQuery
+        String report();
+
+        @ReportingQuery
+        String reportAfter(CountDownLatch entered, CountDownLatch release) throws InterruptedException;
+
+        @ReportingQuery
+        String nestedReport();
+    }
+
+    @BeforeEach
+    void setup() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new BulkheadRoutingDataSource(database("oltp"), database("reporting"), bulkhead));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        ProxyFactory factory = new ProxyFactory(new Queries() {
+            @Override
+            public String lookup() {
+                return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+            }
+
+            @Override
+            public String report() {
+                return lookup();
+            }
+
+            @Override
+            public String reportAfter(CountDownLatch entered, CountDownLatch release) throws InterruptedException {
+                entered.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return lookup();
+            }
+
+            @Override
+            public String nestedReport() {
+                return queries.report();
+            }
+        });
+        factory.addInterface(Queries.class);
+        factory.addAdvisor(bulkhead);
+        queries = (Queries) factory.getProxy();
+    }
+
+    @Test
+    void onlyAnnotatedCallsUseTheReportingPool() {
+        assertEquals("reporting", queries.report());
+        assertEquals("oltp", queries.lookup());
+    }
+
+    @Test
+    void nestedReportingCallsShareOnePermit() {
+        assertEquals("reporting", queries.nestedReport());
+        assertEquals(0, bulkhead.inUse());
+    }
+
+    @Test
+    void callsBeyondCapacityFailFastWhileOltpCarriesOn() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queries.reportAfter(entered, release);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        assertThrows(ReportingCapacityExceededException.class, queries::report);
+        assertEquals("oltp", queries.lookup());
+        assertEquals(1, bulkhead.rejected());
+
+        release.countDown();
+        assertEquals("reporting", running.get(10, TimeUnit.SECONDS));
+        assertEquals("reporting", queries.report());
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bulkhead-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(32))");
+        jdbc.update("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -1,21 +1,47 @@
 package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
 
+import com.zeta_horizon.investment_portfolio_tracker.dto.AdminLoadProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessageDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketCountProjection;
 import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
 import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
 import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.SupportTicketMapper;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.TicketMessageMapper;
+import com.zeta_horizon.investment_portfolio_tracker.repository.MessageCursor;
 import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketSpecifications;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TicketCursor;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TicketMessageRepository;
+import com.zeta_horizon.investment_portfolio_tracker.testutil.SqlStatementCounter;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -74,103 +100,6 @@ public class SupportRepositoryTest {
                 .build();
     }
 
-    @Test
-    void findByPriorityOrderByCreatedAtDesc() {
-        List<SupportTicket> expectedTickets = Arrays.asList(highPriorityTicket);
-        when(supportTicketRepository.findByPriorityOrderByCreatedAtDesc(Priority.HIGH))
-                .thenReturn(expectedTickets);
-
-        List<SupportTicket> result = supportTicketRepository.findByPriorityOrderByCreatedAtDesc(Priority.HIGH);
-
-        assertEquals(1, result.size());
-        assertEquals(Priority.HIGH, result.get(0).getPriority());
-        assertEquals("Urgent issue", result.get(0).getSubject());
-        verify(supportTicketRepository, times(1)).findByPriorityOrderByCreatedAtDesc(Priority.HIGH);
-    }
-
-    @Test
-    void findByStatusOrderByCreatedAtDesc() {
-        List<SupportTicket> expectedTickets = Arrays.asList(mediumPriorityTicket);
-        when(supportTicketRepository.findByStatusOrderByCreatedAtDesc(TicketStatus.RESPONDED))
-                .thenReturn(expectedTickets);
-
-        List<SupportTicket> result = supportTicketRepository.findByStatusOrderByCreatedAtDesc(TicketStatus.RESPONDED);
-
-        assertEquals(1, result.size());
-        assertEquals(TicketStatus.RESPONDED, result.get(0).getStatus());
-        assertNull(result.get(0).getInvestmentProduct());
-        verify(supportTicketRepository, times(1)).findByStatusOrderByCreatedAtDesc(TicketStatus.RESPONDED);
-    }
-
-    @Test
-    void findByPriorityAndStatusOrderByCreatedAtDesc() {
-        List<SupportTicket> expectedTickets = Arrays.asList(highPriorityTicket);
-        when(supportTicketRepository.findByPriorityAndStatusOrderByCreatedAtDesc(Priority.HIGH, TicketStatus.OPEN))
-                .thenReturn(expectedTickets);
-
-        List<SupportTicket> result = supportTicketRepository.findByPriorityAndStatusOrderByCreatedAtDesc(
-                Priority.HIGH, TicketStatus.OPEN);
-
-        assertEquals(1, result.size());
-        assertEquals(Priority.HIGH, result.get(0).getPriority());
-        assertEquals(TicketStatus.OPEN, result.get(0).getStatus());
-        assertEquals(testProduct, result.get(0).getInvestmentProduct());
-        verify(supportTicketRepository, times(1))
-                .findByPriorityAndStatusOrderByCreatedAtDesc(Priority.HIGH, TicketStatus.OPEN);
-    }
-
-    @Test
-    void findByUserIdAndPriorityAndStatusOrderByCreatedAtDesc() {
-        List<SupportTicket> expectedTickets = Arrays.asList(highPriorityTicket);
-        when(supportTicketRepository.findByUserIdAndPriorityAndStatusOrderByCreatedAtDesc(
-                testUser.getId(), Priority.HIGH, TicketStatus.OPEN))
-                .thenReturn(expectedTickets);
-
-        List<SupportTicket> result = supportTicketRepository.findByUserIdAndPriorityAndStatusOrderByCreatedAtDesc(
-                testUser.getId(), Priority.HIGH, TicketStatus.OPEN);
-
-        assertEquals(1, result.size());
-        assertEquals(testUser.getId(), result.get(0).getUser().getId());
-        assertEquals(Priority.HIGH, result.get(0).getPriority());
-        assertEquals(TicketStatus.OPEN, result.get(0).getStatus());
-        verify(supportTicketRepository, times(1))
-                .findByUserIdAndPriorityAndStatusOrderByCreatedAtDesc(testUser.getId(), Priority.HIGH, TicketStatus.OPEN);
-    }
-
-    @Test
-    void findByUserIdAndPriorityOrderByCreatedAtDesc() {
-        List<SupportTicket> expectedTickets = Arrays.asList(highPriorityTicket);
-        when(supportTicketRepository.findByUserIdAndPriorityOrderByCreatedAtDesc(testUser.getId(), Priority.HIGH))
-                .thenReturn(expectedTickets);
-
-        List<SupportTicket> result = supportTicketRepository.findByUserIdAndPriorityOrderByCreatedAtDesc(
-                testUser.getId(), Priority.HIGH);
-
-        assertEquals(1, result.size());
-        assertEquals(testUser.getId(), result.get(0).getUser().getId());
-        assertEquals(Priority.HIGH, result.get(0).getPriority());
-        assertEquals("System not working", result.get(0).getDescription());
-        verify(supportTicketRepository, times(1))
-                .findByUserIdAndPriorityOrderByCreatedAtDesc(testUser.getId(), Priority.HIGH);
-    }
-
-    @Test
-    void findByUserIdAndStatusOrderByCreatedAtDesc() {
-        List<SupportTicket> expectedTickets = Arrays.asList(mediumPriorityTicket);
-        when(supportTicketRepository.findByUserIdAndStatusOrderByCreatedAtDesc(testUser.getId(), TicketStatus.RESPONDED))
-                .thenReturn(expectedTickets);
-
-        List<SupportTicket> result = supportTicketRepository.findByUserIdAndStatusOrderByCreatedAtDesc(
-                testUser.getId(), TicketStatus.RESPONDED);
-
-        assertEquals(1, result.size());
-        assertEquals(testUser.getId(), result.get(0).getUser().getId());
-        assertEquals(TicketStatus.RESPONDED, result.get(0).getStatus());
-        assertEquals("General question", result.get(0).getSubject());
-        verify(supportTicketRepository, times(1))
-                .findByUserIdAndStatusOrderByCreatedAtDesc(testUser.getId(), TicketStatus.RESPONDED);
-    }
-
     @Test
     void findByUserIdOrderByCreatedAtDesc() {
         List<SupportTicket> expectedTickets = Arrays.asList(mediumPriorityTicket, highPriorityTicket);
@@ -199,4 +128,237 @@ public class SupportRepositoryTest {
         assertTrue(result.get(1).getCreatedAt().isAfter(result.get(2).getCreatedAt()));
         verify(supportTicketRepository, times(1)).findAllByOrderByCreatedAtDesc();
     }
+
+    /**
+     * Runs the real queries against H2 and counts the statements needed to load a
+     * ticket list and map it the way the service does. The count must not depend
+     * on how many tickets, messages or distinct senders there are.
+     */
+    @Nested
+    @DataJpaTest
+    @ActiveProfiles("test")
+    @EntityScan(basePackages = "com.zeta_horizon.investment_portfolio_tracker.entity")
+    class StatementCount {
+
+        private static final int TICKETS = 40;
+        private static final int MESSAGES_PER_TICKET = 3;
+
+        @Autowired
+        private SupportTicketRepository ticketRepository;
+
+        @Autowired
+        private TicketMessageRepository ticketMessageRepository;
+
+        @Autowired
+        private TestEntityManager entityManager;
+
+        private final SupportTicketMapper ticketMapper = new SupportTicketMapper(new TicketMessageMapper());
+        private User customer;
+        private User admin;
+        private UUID firstTicketId;
+
+        @BeforeEach
+        void seed() {
+            customer = entityManager.persist(user("customer@example.com", UserRole.USER));
+            admin = entityManager.persist(user("admin@example.com", UserRole.ADMIN));
+            InvestmentProduct product = entityManager.persist(InvestmentProduct.builder()
+                    .name("Support Fund")
+                    .type(InvestmentType.MUTUAL_FUND)
+                    .riskLevel(RiskLevel.LOW)
+                    .minimumInvestment(new BigDecimal("100.00"))
+                    .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                    .currentNetAssetValuePerUnit(new BigDecimal("10.00"))
+                    .description("Support test fund")
+                    .isActive(true)
+                    .build());
+
+            for (int i = 0; i < TICKETS; i++) {
+                SupportTicket ticket = entityManager.persist(SupportTicket.builder()
+                        .user(customer)
+                        .investmentProduct(i % 2 == 0 ? product : null)
+                        .assignedAdmin(i % 2 == 1 ? admin : null)
+                        .subject("Ticket " + i)
+                        .description("Description " + i)
+                        .status(i % 3 == 0 ? TicketStatus.OPEN : TicketStatus.RESPONDED)
+                        .priority(Priority.values()[i % Priority.values().length])
+                        .build());
+                if (firstTicketId == null) {
+                    firstTicketId = ticket.getId();
+                }
+                for (int m = 0; m < MESSAGES_PER_TICKET; m++) {
+                    User sender = m % 2 == 0 ? customer : admin;
+                    entityManager.persist(TicketMessage.builder()
+                            .supportTicket(ticket)
+                            .sender(sender)
+                            .senderType(sender.getRole())
+                            .message("Message " + m)
+                            .build());
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        @Test
+        void allTicketsLoadInOneStatement() {
+            List<SupportTicketResponseDto> dtos = countStatements(1, () -> map(ticketRepository.findAllByOrderByCreatedAtDesc()));
+
+            assertEquals(TICKETS, dtos.size());
+            dtos.forEach(dto -> assertEquals(MESSAGES_PER_TICKET, dto.getMessages().size()));
+        }
+
+        @Test
+        void unfilteredFindAllLoadsInOneStatement() {
+            assertEquals(TICKETS, countStatements(1, () -> map(ticketRepository.findAll())).size());
+        }
+
+        @Test
+        void filteredTicketsLoadInOneStatement() {
+            List<SupportTicketResponseDto> open = countStatements(1, () -> map(ticketRepository.findAll(
+                    SupportTicketSpecifications.matching(null, null, TicketStatus.OPEN),
+                    SupportTicketSpecifications.NEWEST_FIRST)));
+            assertEquals(TICKETS / 3 + 1, open.size());
+            entityManager.clear();
+            countStatements(1, () -> map(ticketRepository.findAll(
+                    SupportTicketSpecifications.matching(customer.getId(), Priority.HIGH, TicketStatus.RESPONDED),
+                    SupportTicketSpecifications.NEWEST_FIRST)));
+            entityManager.clear();
+            List<SupportTicketResponseDto> own = countStatements(1,
+                    () -> map(ticketRepository.findByUserIdOrderByCreatedAtDesc(customer.getId())));
+            assertEquals(TICKETS, own.size());
+        }
+
+        @Test
+        void singleTicketAndItsMessagesLoadInOneStatementEach() {
+            SupportTicketResponseDto dto = countStatements(1,
+                    () -> ticketMapper.toResponseDto(ticketRepository.findById(firstTicketId).orElseThrow()));
+            assertEquals(MESSAGES_PER_TICKET, dto.getMessages().size());
+
+            entityManager.clear();
+            TicketMessageMapper messageMapper = new TicketMessageMapper();
+            List<TicketMessageDto> messages = countStatements(1, () -> ticketMessageRepository
+                    .findBySupportTicketIdOrderByTimestampAsc(firstTicketId).stream()
+                    .map(messageMapper::toDto)
+                    .toList());
+            assertEquals(MESSAGES_PER_TICKET, messages.size());
+        }
+
+        @Test
+        void statusAndPriorityCountsComeFromOneGroupedStatement() {
+            List<TicketCountProjection> rows = countStatements(1, () -> ticketRepository.countByStatusAndPriority());
+
+            assertEquals(TICKETS, rows.stream().mapToLong(TicketCountProjection::getTotal).sum());
+            assertEquals(TICKETS / 3 + 1, rows.stream()
+                    .filter(row -> row.getStatus() == TicketStatus.OPEN)
+                    .mapToLong(TicketCountProjection::getTotal)
+                    .sum());
+        }
+
+        @Test
+        void participantsAreTheOwnerAndTheAssignedAdmin() {
+            UUID assignedTicketId = ticketRepository.findPositions(
+                    SupportTicketSpecifications.assignedTo(admin.getId()), 1).get(0).id();
+
+            assertTrue(countStatements(1, () -> ticketRepository.isParticipant(firstTicketId, customer.getId())));
+            assertFalse(ticketRepository.isParticipant(firstTicketId, admin.getId()));
+            assertTrue(ticketRepository.isParticipant(assignedTicketId, admin.getId()));
+            assertTrue(ticketRepository.isParticipant(assignedTicketId, customer.getId()));
+            assertFalse(ticketRepository.isParticipant(firstTicketId, UUID.randomUUID()));
+        }
+
+        @Test
+        void adminLoadsAndAssignedPagesComeFromOneStatementEach() {
+            long assignedNotClosed = TICKETS / 2;
+            List<AdminLoadProjection> loads = countStatements(1,
+                    () -> ticketRepository.countOpenByAssignedAdmin(TicketStatus.CLOSED));
+            assertTrue(loads.stream().allMatch(row -> row.getAdminId().equals(admin.getId())));
+            assertEquals(assignedNotClosed, loads.stream().mapToLong(AdminLoadProjection::getTotal).sum());
+
+            List<UUID> assigned = countStatements(1, () -> ticketRepository.findPositions(
+                    SupportTicketSpecifications.matching(null, null, TicketStatus.OPEN)
+                            .and(SupportTicketSpecifications.assignedTo(admin.getId())), TICKETS)).stream()
+                    .map(TicketCursor::id)
+                    .toList();
+            List<SupportTicketResponseDto> page = countStatements(1, () -> map(ticketRepository.findByIdIn(assigned)));
+            assertFalse(page.isEmpty());
+            page.forEach(dto -> {
+                assertEquals(admin.getId(), dto.getAssignedAdminId());
+                assertEquals(TicketStatus.OPEN, dto.getStatus());
+            });
+        }
+
+        @Test
+        void messagesAfterCursorCoverTheConversationOnceInOneStatementEach() {
+            List<UUID> all = ticketMessageRepository
+                    .findBySupportTicketIdOrderByTimestampAscIdAsc(firstTicketId, Limit.unlimited()).stream()
+                    .map(TicketMessage::getId)
+                    .toList();
+            entityManager.clear();
+
+            List<UUID> fetched = new ArrayList<>();
+            MessageCursor cursor = null;
+            int limit = 2;
+            do {
+                MessageCursor after = cursor;
+                List<TicketMessage> page = countStatements(1, () -> after == null
+                        ? ticketMessageRepository.findBySupportTicketIdOrderByTimestampAscIdAsc(firstTicketId, Limit.of(limit))
+                        : ticketMessageRepository.findAfter(firstTicketId, after.timestamp(), after.id(), Limit.of(limit)));
+                page.forEach(message -> fetched.add(message.getId()));
+                TicketMessage last = page.isEmpty() ? null : page.get(page.size() - 1);
+                cursor = page.size() == limit ? new MessageCursor(last.getTimestamp(), last.getId()) : null;
+                entityManager.clear();
+            } while (cursor != null);
+
+            assertEquals(MESSAGES_PER_TICKET, all.size());
+            assertEquals(all, fetched);
+        }
+
+        @Test
+        void keysetPagesCoverEveryTicketOnceInTwoStatementsEach() {
+            List<SupportTicket> all = ticketRepository.findAll(
+                    SupportTicketSpecifications.matching(null, null, null), SupportTicketSpecifications.NEWEST_FIRST);
+            entityManager.clear();
+
+            List<UUID> paged = new ArrayList<>();
+            TicketCursor cursor = null;
+            int pageSize = 7;
+            do {
+                TicketCursor after = cursor;
+                List<SupportTicket> page = countStatements(2, () -> {
+                    List<UUID> ids = ticketRepository.findPositions(SupportTicketSpecifications.matching(null, null, null)
+                            .and(SupportTicketSpecifications.after(after)), pageSize).stream()
+                            .map(TicketCursor::id)
+                            .toList();
+                    List<SupportTicket> details = ticketRepository.findByIdIn(ids);
+                    map(details);
+                    return details.stream()
+                            .sorted(Comparator.comparing((SupportTicket t) -> ids.indexOf(t.getId())))
+                            .toList();
+                });
+                page.forEach(ticket -> paged.add(ticket.getId()));
+                SupportTicket last = page.isEmpty() ? null : page.get(page.size() - 1);
+                cursor = page.size() == pageSize ? new TicketCursor(last.getCreatedAt(), last.getId()) : null;
+                entityManager.clear();
+            } while (cursor != null);
+
+            assertEquals(all.stream().map(SupportTicket::getId).toList(), paged);
+        }
+
+        private List<SupportTicketResponseDto> map(List<SupportTicket> tickets) {
+            return tickets.stream().map(ticketMapper::toResponseDto).toList();
+        }
+
+        private <T> T countStatements(int expected, Supplier<T> work) {
+            return SqlStatementCounter.assertStatements(expected, work);
+        }
+
+        private User user(String email, UserRole role) {
+            return User.builder()
+                    .name(email)
+                    .email(email)
+                    .passwordHash("secret")
+                    .role(role)
+                    .build();
+        }
+    }
 }
@@ -0,0 +1,132 @@
+package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.Portfolio;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.PortfolioRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.UserRepository;
+import com.zeta_horizon.investment_portfolio_tracker.seed.SeedPlan;
+import com.zeta_horizon.investment_portfolio_tracker.seed.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads a small plan through the JDBC batch path on H2. The writers commit on their
+ * own connections, so the test runs outside a test transaction and in a context of
+ * its own (the extra property), keeping the rows away from the other repository tests.
+ */
+@DataJpaTest(properties = "seed.test-context=isolated")
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.zeta_horizon.investment_portfolio_tracker.entity")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SyntheticDataGeneratorTest {
+
+    private static final SeedPlan PLAN = new SeedPlan(7, 200, 3, 20, 5_000, 30, 4, 0.9, 1.1, 365,
+            LocalDateTime.of(2026, 1, 1, 0, 0), 128);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InvestmentProductRepository productRepository;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    private SyntheticDataGenerator.Summary summary;
+
+    @BeforeAll
+    void seed() throws Exception {
+        summary = new SyntheticDataGenerator(dataSource, PLAN, "hash").generate().orElseThrow();
+    }
+
+    @Test
+    void generate_shouldLoadThePlannedRowCounts() {
+        assertEquals(20, count("investment_product"));
+        assertEquals(203, count("users"));
+        assertEquals(5_000, count("transaction"));
+        assertEquals(30, count("support_tickets"));
+        assertEquals(summary.portfolios(), count("portfolio"));
+        assertEquals(summary.messages(), count("ticket_messages"));
+        assertTrue(summary.portfolios() > 0);
+        assertTrue(summary.messages() >= 30);
+    }
+
+    @Test
+    void generate_shouldSkipAnAlreadySeededDatabase() throws Exception {
+        assertTrue(new SyntheticDataGenerator(dataSource, PLAN, "hash").generate().isEmpty());
+        assertEquals(5_000, count("transaction"));
+    }
+
+    @Test
+    void generate_shouldUseSeedDerivedIdsAndSkewActivity() {
+        UUID heaviest = UUID.nameUUIDFromBytes("seed:7:user:0".getBytes(StandardCharsets.UTF_8));
+        assertEquals("user0@seed.example", jdbcTemplate.queryForObject(
+                "SELECT email FROM users WHERE id = ?", String.class, heaviest));
+
+        List<Long> perUser = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM transaction GROUP BY user_id ORDER BY COUNT(*) DESC", Long.class);
+        Long heaviestCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction WHERE user_id = ?", Long.class, heaviest);
+        assertEquals(perUser.get(0), heaviestCount);
+        assertTrue(heaviestCount > 10 * perUser.get(perUser.size() / 2));
+    }
+
+    @Test
+    void generate_shouldDerivePortfoliosFromTheTransactions() {
+        List<Map<String, Object>> mismatches = jdbcTemplate.queryForList(
+                "SELECT p.id FROM portfolio p WHERE p.units_owned <> (" +
+                        "SELECT SUM(CASE WHEN t.txn_type = 'BUY' THEN t.units ELSE -t.units END) FROM transaction t " +
+                        "WHERE t.user_id = p.user_id AND t.investment_product_id = p.investment_product_id)");
+        assertTrue(mismatches.isEmpty());
+    }
+
+    @Test
+    void generate_shouldLeaveIdGeneratorsPastTheSeededRows() {
+        User user = userRepository.findByEmail("user1@seed.example");
+        InvestmentProduct product = productRepository.save(InvestmentProduct.builder()
+                .name("After seeding").type(InvestmentType.STOCK).riskLevel(RiskLevel.HIGH)
+                .minimumInvestment(BigDecimal.TEN).expectedAnnualReturnRate(BigDecimal.ONE)
+                .currentNetAssetValuePerUnit(BigDecimal.TEN).isActive(true).build());
+        Portfolio portfolio = portfolioRepository.save(Portfolio.builder()
+                .user(user).investmentProduct(product).unitsOwned(BigDecimal.ONE).avgPurchasePrice(BigDecimal.TEN).build());
+        // nothing rolls these back, the row count test must still see only seeded rows
+        portfolioRepository.delete(portfolio);
+        productRepository.delete(product);
+
+        assertTrue(product.getId() > 20);
+        assertTrue(portfolio.getId() > summary.portfolios());
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
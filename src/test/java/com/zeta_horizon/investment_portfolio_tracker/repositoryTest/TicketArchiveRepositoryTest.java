@@ -0,0 +1,151 @@
+package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.archive.TicketArchiveCodec;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.dto.SupportTicketResponseDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.SupportTicketMapper;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.TicketMessageMapper;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketBulkRepository;
+import com.zeta_horizon.investment_portfolio_tracker.search.TicketSearchIndex;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.TicketArchiveServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the archive batch against H2. As in {@link TicketAutoCloseRepositoryTest}
+ * the test transaction never commits, so the after-commit updates are not run.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.zeta_horizon.investment_portfolio_tracker.entity")
+@Import({TicketArchiveServiceImpl.class, SupportTicketBulkRepository.class, TicketArchiveCodec.class,
+        SupportTicketMapper.class, TicketMessageMapper.class, TicketQueueCounters.class})
+public class TicketArchiveRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final LocalDateTime CUTOFF = NOW.minusDays(90);
+
+    @Autowired
+    private TicketArchiveServiceImpl archiveService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private TicketSearchIndex searchIndex;
+
+    private User customer;
+    private User admin;
+    private final List<UUID> old = new ArrayList<>();
+    private UUID recentlyClosed;
+    private UUID oldButResponded;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(user("customer@example.com", UserRole.USER));
+        admin = entityManager.persist(user("admin@example.com", UserRole.ADMIN));
+        for (int i = 0; i < 3; i++) {
+            old.add(ticket(TicketStatus.CLOSED, NOW.minusDays(100 + i)));
+        }
+        recentlyClosed = ticket(TicketStatus.CLOSED, NOW.minusDays(10));
+        oldButResponded = ticket(TicketStatus.RESPONDED, NOW.minusDays(120));
+        entityManager.clear();
+    }
+
+    @Test
+    void movesOldClosedTicketsAndTheirMessagesOutOfTheLiveTables() {
+        assertEquals(2, archiveService.archiveClosedBatch(CUTOFF, 2));
+        assertEquals(1, archiveService.archiveClosedBatch(CUTOFF, 2));
+        assertEquals(0, archiveService.archiveClosedBatch(CUTOFF, 2));
+        entityManager.clear();
+
+        for (UUID id : old) {
+            assertNull(entityManager.find(SupportTicket.class, id));
+        }
+        assertNotNull(entityManager.find(SupportTicket.class, recentlyClosed));
+        assertNotNull(entityManager.find(SupportTicket.class, oldButResponded));
+        assertEquals(4, count("SELECT COUNT(*) FROM ticket_messages"));
+        assertEquals(3, count("SELECT COUNT(*) FROM support_ticket_archive"));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void archivedTicketReadsBackWithItsThread() {
+        archiveService.archiveClosedBatch(CUTOFF, 10);
+        entityManager.clear();
+
+        SupportTicketResponseDto archived = archiveService.findArchived(old.get(0)).orElseThrow();
+        assertEquals(old.get(0), archived.getTicketId());
+        assertEquals(customer.getId(), archived.getUserId());
+        assertEquals(TicketStatus.CLOSED, archived.getStatus());
+        assertEquals("Statement missing", archived.getSubject());
+        assertEquals(2, archived.getMessages().size());
+        assertEquals("Please resend the statement", archived.getMessages().get(0).getMessage());
+        assertEquals(admin.getName(), archived.getMessages().get(1).getSenderName());
+        assertTrue(archiveService.findArchived(recentlyClosed).isEmpty());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private UUID ticket(TicketStatus status, LocalDateTime updatedAt) {
+        SupportTicket ticket = entityManager.persist(SupportTicket.builder()
+                .user(customer)
+                .subject("Statement missing")
+                .description("The monthly statement was not sent")
+                .status(status)
+                .priority(Priority.LOW)
+                .build());
+        entityManager.persist(message(ticket, customer, "Please resend the statement", updatedAt.minusDays(2)));
+        entityManager.persist(message(ticket, admin, "Sent again", updatedAt.minusDays(1)));
+        entityManager.flush();
+        // @UpdateTimestamp sets updated_at on every write, so age the row directly
+        jdbcTemplate.update("UPDATE support_tickets SET updated_at = ? WHERE id = ?", updatedAt, ticket.getId());
+        return ticket.getId();
+    }
+
+    private TicketMessage message(SupportTicket ticket, User sender, String text, LocalDateTime at) {
+        return TicketMessage.builder()
+                .supportTicket(ticket)
+                .sender(sender)
+                .message(text)
+                .senderType(sender.getRole())
+                .timestamp(at)
+                .build();
+    }
+
+    private User user(String email, UserRole role) {
+        return User.builder()
+                .name(email)
+                .email(email)
+                .passwordHash("secret")
+                .role(role)
+                .build();
+    }
+}
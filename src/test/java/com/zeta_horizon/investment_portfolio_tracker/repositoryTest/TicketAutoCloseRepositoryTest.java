@@ -0,0 +1,152 @@
+package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.assignment.AdminLoadBalancer;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketBulkRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.search.TicketSearchIndex;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.TicketAutoCloseServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the auto-close batch against H2. The test transaction never commits, so
+ * the after-commit updates of the in-memory views are not exercised here.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@EntityScan(basePackages = "com.zeta_horizon.investment_portfolio_tracker.entity")
+@Import({TicketAutoCloseServiceImpl.class, SupportTicketBulkRepository.class, TicketQueueCounters.class})
+public class TicketAutoCloseRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final LocalDateTime CUTOFF = NOW.minusDays(14);
+
+    @Autowired
+    private TicketAutoCloseServiceImpl autoCloseService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SupportTicketRepository ticketRepository;
+
+    @MockBean
+    private AdminLoadBalancer adminLoadBalancer;
+
+    @MockBean
+    private TicketSearchIndex searchIndex;
+
+    private User customer;
+    private User admin;
+    private final List<UUID> stale = new ArrayList<>();
+    private UUID recentlyResponded;
+    private UUID staleButOpen;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(user("customer@example.com", UserRole.USER));
+        admin = entityManager.persist(user("admin@example.com", UserRole.ADMIN));
+        for (int i = 0; i < 5; i++) {
+            stale.add(ticket(TicketStatus.RESPONDED, i % 2 == 0 ? admin : null, NOW.minusDays(30 + i)));
+        }
+        recentlyResponded = ticket(TicketStatus.RESPONDED, admin, NOW.minusDays(2));
+        staleButOpen = ticket(TicketStatus.OPEN, admin, NOW.minusDays(40));
+        entityManager.clear();
+    }
+
+    @Test
+    void closesStaleRespondedTicketsInBoundedBatches() {
+        assertEquals(2, autoCloseService.closeStaleBatch(CUTOFF, 2));
+        assertEquals(2, autoCloseService.closeStaleBatch(CUTOFF, 2));
+        assertEquals(1, autoCloseService.closeStaleBatch(CUTOFF, 2));
+        assertEquals(0, autoCloseService.closeStaleBatch(CUTOFF, 2));
+
+        for (UUID id : stale) {
+            SupportTicket ticket = entityManager.find(SupportTicket.class, id);
+            assertEquals(TicketStatus.CLOSED, ticket.getStatus());
+            assertTrue(ticket.getUpdatedAt().isAfter(CUTOFF));
+        }
+        assertEquals(TicketStatus.RESPONDED, entityManager.find(SupportTicket.class, recentlyResponded).getStatus());
+        assertEquals(TicketStatus.OPEN, entityManager.find(SupportTicket.class, staleButOpen).getStatus());
+    }
+
+    @Test
+    void addsOneClosingMessageFromTheSupportSide() {
+        autoCloseService.closeStaleBatch(CUTOFF, 10);
+
+        List<TicketMessage> messages = entityManager.getEntityManager()
+                .createQuery("SELECT m FROM TicketMessage m JOIN FETCH m.sender", TicketMessage.class)
+                .getResultList();
+        assertEquals(stale.size(), messages.size());
+        // the assignee signs, unassigned tickets get the only admin account, never the customer
+        for (TicketMessage message : messages) {
+            assertEquals(admin.getId(), message.getSender().getId());
+            assertEquals(UserRole.ADMIN, message.getSenderType());
+            assertTrue(message.getMessage().startsWith("This ticket was closed automatically"));
+            assertNotNull(message.getId());
+        }
+        // the in-memory views are only touched after commit
+        verifyNoInteractions(adminLoadBalancer, searchIndex);
+    }
+
+    @Test
+    void replyLockReadsTheStatusLeftByTheJob() {
+        autoCloseService.closeStaleBatch(CUTOFF, 10);
+        entityManager.clear();
+
+        // respondToTicket takes this lock before it checks for CLOSED
+        SupportTicket locked = ticketRepository.lockById(stale.get(0)).orElseThrow();
+
+        assertEquals(TicketStatus.CLOSED, locked.getStatus());
+    }
+
+    private UUID ticket(TicketStatus status, User assignee, LocalDateTime updatedAt) {
+        SupportTicket ticket = entityManager.persist(SupportTicket.builder()
+                .user(customer)
+                .assignedAdmin(assignee)
+                .subject("Ticket")
+                .description("Description")
+                .status(status)
+                .priority(Priority.MEDIUM)
+                .build());
+        entityManager.flush();
+        // @UpdateTimestamp sets updated_at on every write, so age the row directly
+        jdbcTemplate.update("UPDATE support_tickets SET updated_at = ? WHERE id = ?", updatedAt, ticket.getId());
+        return ticket.getId();
+    }
+
+    private User user(String email, UserRole role) {
+        return User.builder()
+                .name(email)
+                .email(email)
+                .passwordHash("secret")
+                .role(role)
+                .build();
+    }
+}
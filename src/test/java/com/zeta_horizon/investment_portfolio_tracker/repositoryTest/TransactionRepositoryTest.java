@@ -1,17 +1,30 @@
 package com.zeta_horizon.investment_portfolio_tracker.repositoryTest;
 
+import com.zeta_horizon.investment_portfolio_tracker.dto.LedgerEntryProjection;
 import com.zeta_horizon.investment_portfolio_tracker.entity.Transaction;
 import com.zeta_horizon.investment_portfolio_tracker.entity.User;
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
 import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
 import com.zeta_horizon.investment_portfolio_tracker.repository.TransactionRepository;
+import com.zeta_horizon.investment_portfolio_tracker.testutil.SqlStatementCounter;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
@@ -118,4 +131,104 @@ public class TransactionRepositoryTest {
         );
     }
 
+
+    @Nested
+    @DataJpaTest
+    @ActiveProfiles("test")
+    @EntityScan(basePackages = "com.zeta_horizon.investment_portfolio_tracker.entity")
+    class StatementCount {
+
+        @Autowired
+        private TransactionRepository transactionRepository;
+
+        @Autowired
+        private TestEntityManager entityManager;
+
+        private User customer;
+
+        // one product per row, so an association loaded row by row shows up as extra statements
+        private void seed(int rows) {
+            customer = entityManager.persist(User.builder()
+                    .name("Customer")
+                    .email("customer@example.com")
+                    .passwordHash("secret")
+                    .role(UserRole.USER)
+                    .build());
+            LocalDateTime start = LocalDateTime.now().minusDays(rows + 1L);
+            for (int i = 0; i < rows; i++) {
+                InvestmentProduct product = entityManager.persist(InvestmentProduct.builder()
+                        .name("Fund " + i)
+                        .type(InvestmentType.values()[i % InvestmentType.values().length])
+                        .riskLevel(RiskLevel.values()[i % RiskLevel.values().length])
+                        .minimumInvestment(new BigDecimal("100.00"))
+                        .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                        .currentNetAssetValuePerUnit(new BigDecimal("12.00"))
+                        .description("Fund " + i)
+                        .isActive(true)
+                        .build());
+                entityManager.persist(Transaction.builder()
+                        .user(customer)
+                        .investmentProduct(product)
+                        .txnType(TransactionType.BUY)
+                        .units(new BigDecimal("10"))
+                        .navAtTxn(new BigDecimal("10.00"))
+                        .txnDate(start.plusDays(i))
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        @ParameterizedTest(name = "{0} transactions")
+        @ValueSource(ints = {1, 10, 1000})
+        void historyLoadsWithItsProductsInOneStatement(int rows) {
+            seed(rows);
+
+            List<String> all = SqlStatementCounter.assertStatements(1, () -> productNames(
+                    transactionRepository.findByUser(customer)));
+            entityManager.clear();
+            List<String> newestFirst = SqlStatementCounter.assertStatements(1, () -> productNames(
+                    transactionRepository.findByUserOrderByTxnDateDesc(customer)));
+
+            assertEquals(rows, all.size());
+            assertEquals("Fund " + (rows - 1), newestFirst.get(0));
+        }
+
+        @ParameterizedTest(name = "{0} transactions")
+        @ValueSource(ints = {1, 10, 1000})
+        void filteredPageLoadsWithItsProducts(int rows) {
+            seed(rows);
+
+            // the count query only runs when the first page is full
+            Page<Transaction> page = SqlStatementCounter.assertStatements(rows > 20 ? 2 : 1, () -> {
+                Page<Transaction> result = transactionRepository.findFilteredTransactions(customer.getId(),
+                        null, null, null, null, PageRequest.of(0, 20, Sort.by("txnDate").descending()));
+                productNames(result.getContent());
+                return result;
+            });
+
+            assertEquals(rows, page.getTotalElements());
+            assertEquals(Math.min(rows, 20), page.getNumberOfElements());
+        }
+
+        @ParameterizedTest(name = "{0} transactions")
+        @ValueSource(ints = {1, 10, 1000})
+        void ledgerReadsTakeOneStatementEach(int rows) {
+            seed(rows);
+
+            List<LedgerEntryProjection> ledger = SqlStatementCounter.assertStatements(1,
+                    () -> transactionRepository.findLedgerByUserId(customer.getId()));
+            List<Integer> productIds = SqlStatementCounter.assertStatements(1,
+                    () -> transactionRepository.findProductIdsByUserIdBefore(customer.getId(), LocalDateTime.now()));
+
+            assertEquals(rows, ledger.size());
+            assertEquals(rows, productIds.size());
+        }
+
+        private List<String> productNames(List<Transaction> transactions) {
+            return transactions.stream()
+                    .map(transaction -> transaction.getInvestmentProduct().getName())
+                    .toList();
+        }
+    }
 }
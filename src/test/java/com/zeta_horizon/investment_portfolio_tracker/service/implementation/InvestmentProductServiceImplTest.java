@@ -1,11 +1,14 @@
 package com.zeta_horizon.investment_portfolio_tracker.service.implementation;
 
+import com.zeta_horizon.investment_portfolio_tracker.cache.CacheTags;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
 import com.zeta_horizon.investment_portfolio_tracker.dto.*;
 import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
 import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
 import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
 import com.zeta_horizon.investment_portfolio_tracker.exception.ResourceNotFoundException;
 import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -32,6 +35,12 @@ class InvestmentProductServiceImplTest {
     @Mock
     private InvestmentProductRepository investmentProductRepository;
 
+    @Mock
+    private NavHistoryService navHistoryService;
+
+    @Mock
+    private TwoTierCache twoTierCache;
+
     @InjectMocks
     private InvestmentProductServiceImpl investmentProductService;
 
@@ -161,6 +170,7 @@ class InvestmentProductServiceImplTest {
         assertThat(result.getName()).isEqualTo("Test Mutual Fund");
         assertThat(result.isActive()).isTrue();
         verify(investmentProductRepository).save(any(InvestmentProduct.class));
+        verify(navHistoryService).recordNavChange(savedProduct, savedProduct.getCurrentNetAssetValuePerUnit());
     }
 
     @Test
@@ -182,6 +192,27 @@ class InvestmentProductServiceImplTest {
         assertThat(result.getName()).isEqualTo("Updated Mutual Fund");
         verify(investmentProductRepository).findById(productId);
         verify(investmentProductRepository).save(any(InvestmentProduct.class));
+        verify(navHistoryService).recordNavChange(existingProduct, new BigDecimal("18.75"));
+        verify(twoTierCache).invalidateAfterCommit(CacheTags.product(productId), CacheTags.ANY_PRODUCT);
+    }
+
+    @Test
+    @DisplayName("Should not record NAV history when NAV is unchanged")
+    void testUpdateProduct_NavUnchanged() {
+        // Given
+        Integer productId = 1;
+        InvestmentProduct existingProduct = createTestProduct();
+        existingProduct.setId(productId);
+        updateDto.setCurrentNetAssetValuePerUnit(existingProduct.getCurrentNetAssetValuePerUnit());
+
+        when(investmentProductRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
+        when(investmentProductRepository.save(any(InvestmentProduct.class))).thenReturn(existingProduct);
+
+        // When
+        investmentProductService.updateProduct(productId, updateDto);
+
+        // Then
+        verify(navHistoryService, never()).recordNavChange(any(), any());
     }
 
     @Test
@@ -0,0 +1,154 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.assignment.AdminLoadBalancer;
+import com.zeta_horizon.investment_portfolio_tracker.assignment.AdminLoadHeap;
+import com.zeta_horizon.investment_portfolio_tracker.dto.AdminLoadProjection;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminLoadBalancerTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private SupportTicketRepository ticketRepository;
+
+    private AdminLoadBalancer balancer;
+    private final UUID alice = new UUID(0L, 1L);
+    private final UUID bob = new UUID(0L, 2L);
+    private final UUID carol = new UUID(0L, 3L);
+
+    @BeforeEach
+    void setup() {
+        balancer = new AdminLoadBalancer(userRepository, ticketRepository);
+    }
+
+    @Test
+    void assign_shouldPickLeastWeightedLoadFromDatabase() {
+        when(userRepository.findIdsByRole(UserRole.ADMIN)).thenReturn(List.of(alice, bob, carol));
+        when(ticketRepository.countOpenByAssignedAdmin(TicketStatus.CLOSED)).thenReturn(List.of(
+                row(alice, Priority.HIGH, 2),
+                row(bob, Priority.LOW, 4),
+                row(carol, Priority.MEDIUM, 2)));
+
+        // alice 6, bob 4, carol 4: ties go to the lower id
+        assertEquals(bob, balancer.assign(Priority.HIGH));
+        assertEquals(carol, balancer.assign(Priority.LOW));
+        assertEquals(carol, balancer.assign(Priority.LOW));
+        assertEquals(Map.of(alice, 6L, bob, 7L, carol, 6L), balancer.loads());
+
+        balancer.release(bob, Priority.HIGH);
+        assertEquals(bob, balancer.assign(Priority.MEDIUM));
+        verify(userRepository, times(1)).findIdsByRole(UserRole.ADMIN);
+    }
+
+    @Test
+    void assign_shouldReturnNullWithoutAdmins() {
+        when(userRepository.findIdsByRole(UserRole.ADMIN)).thenReturn(List.of());
+        when(ticketRepository.countOpenByAssignedAdmin(TicketStatus.CLOSED)).thenReturn(List.of());
+
+        assertNull(balancer.assign(Priority.HIGH));
+    }
+
+    @Test
+    void refresh_shouldAddNewAdminsAndDropRemovedOnes() {
+        when(userRepository.findIdsByRole(UserRole.ADMIN)).thenReturn(List.of(alice, bob));
+        when(ticketRepository.countOpenByAssignedAdmin(TicketStatus.CLOSED)).thenReturn(List.of(
+                row(alice, Priority.LOW, 1), row(bob, Priority.LOW, 5)));
+        balancer.refresh();
+
+        when(userRepository.findIdsByRole(UserRole.ADMIN)).thenReturn(List.of(bob, carol));
+        when(ticketRepository.countOpenByAssignedAdmin(TicketStatus.CLOSED)).thenReturn(List.of(
+                row(alice, Priority.LOW, 1), row(bob, Priority.LOW, 5)));
+        balancer.refresh();
+
+        assertEquals(Map.of(bob, 5L, carol, 0L), balancer.loads());
+        assertEquals(carol, balancer.assign(Priority.MEDIUM));
+    }
+
+    @Test
+    void refresh_shouldKeepReservationsOfTicketsNotCommittedYet() {
+        when(userRepository.findIdsByRole(UserRole.ADMIN)).thenReturn(List.of(alice, bob));
+        when(ticketRepository.countOpenByAssignedAdmin(TicketStatus.CLOSED)).thenReturn(List.of(
+                row(alice, Priority.LOW, 1), row(bob, Priority.LOW, 5)));
+
+        // both tickets are still being created when the refresh counts the database
+        assertEquals(alice, balancer.assign(Priority.HIGH));
+        assertEquals(alice, balancer.assign(Priority.LOW));
+        balancer.refresh();
+        assertEquals(Map.of(alice, 5L, bob, 5L), balancer.loads());
+
+        // one rolls back, the other commits and is counted by the next refresh
+        balancer.cancel(alice, Priority.HIGH);
+        assertEquals(Map.of(alice, 2L, bob, 5L), balancer.loads());
+        balancer.confirm(alice, Priority.LOW);
+        when(ticketRepository.countOpenByAssignedAdmin(TicketStatus.CLOSED)).thenReturn(List.of(
+                row(alice, Priority.LOW, 2), row(bob, Priority.LOW, 5)));
+        balancer.refresh();
+        assertEquals(Map.of(alice, 2L, bob, 5L), balancer.loads());
+    }
+
+    @Test
+    void heap_shouldAlwaysExposeMinimumUnderRandomUpdates() {
+        AdminLoadHeap heap = new AdminLoadHeap();
+        Map<UUID, Long> expected = new HashMap<>();
+        List<UUID> admins = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            UUID admin = UUID.randomUUID();
+            long load = random.nextInt(20);
+            admins.add(admin);
+            expected.put(admin, load);
+            heap.put(admin, load);
+        }
+        for (int step = 0; step < 2_000; step++) {
+            UUID admin = admins.get(random.nextInt(admins.size()));
+            int action = random.nextInt(10);
+            if (action == 0 && expected.containsKey(admin)) {
+                heap.remove(admin);
+                expected.remove(admin);
+            } else if (action == 1 && !expected.containsKey(admin)) {
+                heap.put(admin, 3);
+                expected.put(admin, 3L);
+            } else if (expected.containsKey(admin)) {
+                long delta = random.nextInt(7) - 3;
+                heap.adjust(admin, delta);
+                expected.merge(admin, delta, Long::sum);
+            }
+            UUID min = expected.entrySet().stream()
+                    .min(Map.Entry.<UUID, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            assertEquals(min, heap.peek());
+            assertEquals(expected.size(), heap.size());
+        }
+        assertEquals(expected, heap.snapshot());
+    }
+
+    private AdminLoadProjection row(UUID adminId, Priority priority, long total) {
+        return new AdminLoadProjection() {
+            public UUID getAdminId() { return adminId; }
+            public Priority getPriority() { return priority; }
+            public Long getTotal() { return total; }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.job.HoldingsCheckpointJob;
+import com.zeta_horizon.investment_portfolio_tracker.service.HoldingsCheckpointService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldingsCheckpointJobTest {
+
+    @Mock
+    private HoldingsCheckpointService checkpointService;
+
+    private HoldingsCheckpointJob job;
+    private final UUID user = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        job = new HoldingsCheckpointJob(checkpointService);
+    }
+
+    @Test
+    void createDueCheckpoints_shouldOnlyCountUsersWhoBookedSinceTheLastRun() {
+        when(checkpointService.latestTransactionId()).thenReturn(100, 150);
+        when(checkpointService.findUsersDueForCheckpoint()).thenReturn(List.of(user));
+        when(checkpointService.findUsersDueForCheckpoint(100)).thenReturn(List.of());
+
+        job.createDueCheckpoints();
+        job.createDueCheckpoints();
+
+        verify(checkpointService, times(1)).findUsersDueForCheckpoint();
+        verify(checkpointService).findUsersDueForCheckpoint(100);
+        verify(checkpointService).createCheckpoints(user);
+    }
+
+    @Test
+    void createDueCheckpoints_shouldRetryFromTheSameMarkAfterAFailure() {
+        when(checkpointService.latestTransactionId()).thenReturn(100, 150, 200);
+        when(checkpointService.findUsersDueForCheckpoint()).thenReturn(List.of());
+        when(checkpointService.findUsersDueForCheckpoint(100)).thenReturn(List.of(user));
+        when(checkpointService.createCheckpoints(user)).thenThrow(new IllegalStateException("db down")).thenReturn(1);
+
+        job.createDueCheckpoints();
+        job.createDueCheckpoints();
+        job.createDueCheckpoints();
+
+        verify(checkpointService, times(2)).findUsersDueForCheckpoint(100);
+        verify(checkpointService, never()).findUsersDueForCheckpoint(150);
+        verify(checkpointService, times(2)).createCheckpoints(user);
+    }
+
+    @Test
+    void createDueCheckpoints_shouldKeepDoingFullPassesWhileThereAreNoTransactions() {
+        when(checkpointService.latestTransactionId()).thenReturn(null);
+        when(checkpointService.findUsersDueForCheckpoint()).thenReturn(List.of());
+
+        job.createDueCheckpoints();
+        job.createDueCheckpoints();
+
+        verify(checkpointService, times(2)).findUsersDueForCheckpoint();
+        verify(checkpointService, never()).findUsersDueForCheckpoint(anyInt());
+    }
+}
@@ -0,0 +1,178 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.NavHistoryCache;
+import com.zeta_horizon.investment_portfolio_tracker.dto.NavPointDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.NavPointProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.ProductNavPointProjection;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.NavHistory;
+import com.zeta_horizon.investment_portfolio_tracker.exception.InvestmentProductNotFoundException;
+import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.NavHistoryRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.NavHistoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NavHistoryServiceTest {
+
+    @Mock
+    private NavHistoryRepository navHistoryRepository;
+
+    @Mock
+    private InvestmentProductRepository investmentProductRepository;
+
+    private NavHistoryCache navHistoryCache;
+    private NavHistoryServiceImpl navHistoryService;
+    private InvestmentProduct product;
+
+    @BeforeEach
+    void setup() {
+        navHistoryCache = new NavHistoryCache(navHistoryRepository);
+        navHistoryService = new NavHistoryServiceImpl(navHistoryRepository, investmentProductRepository, navHistoryCache);
+        product = InvestmentProduct.builder().id(7).name("Index Fund").build();
+    }
+
+    @Test
+    void getNavHistory_shouldLoadOnceAndFilterByRange() {
+        when(investmentProductRepository.findById(7)).thenReturn(Optional.of(product));
+        when(navHistoryRepository.findPointsByProductId(7)).thenReturn(List.of(
+                point(LocalDate.of(2024, 1, 1), "10.00"),
+                point(LocalDate.of(2024, 2, 1), "11.00"),
+                point(LocalDate.of(2024, 3, 1), "12.00")));
+
+        List<NavPointDto> all = navHistoryService.getNavHistory(7, null, null);
+        List<NavPointDto> february = navHistoryService.getNavHistory(7,
+                LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 20));
+
+        assertEquals(3, all.size());
+        assertEquals(1, february.size());
+        assertEquals(LocalDate.of(2024, 2, 1), february.get(0).getDate());
+        assertEquals(new BigDecimal("11.00"), february.get(0).getNav());
+        verify(navHistoryRepository, times(1)).findPointsByProductId(7);
+        verify(investmentProductRepository, times(1)).findById(7);
+    }
+
+    @Test
+    void getNavHistory_shouldRejectUnknownProductWithoutCachingIt() {
+        when(investmentProductRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThrows(InvestmentProductNotFoundException.class, () -> navHistoryService.getNavHistory(99, null, null));
+        assertThrows(InvestmentProductNotFoundException.class, () -> navHistoryService.getNavHistory(99, null, null));
+
+        assertFalse(navHistoryCache.isLoaded(99));
+        verify(navHistoryRepository, never()).findPointsByProductId(any());
+    }
+
+    @Test
+    void getNavAsOf_shouldReturnLastPointOnOrBeforeDate() {
+        when(investmentProductRepository.findById(7)).thenReturn(Optional.of(product));
+        when(navHistoryRepository.findPointsByProductId(7)).thenReturn(List.of(
+                point(LocalDate.of(2024, 1, 1), "10.00"),
+                point(LocalDate.of(2024, 3, 1), "12.00")));
+
+        assertEquals(Optional.of(new BigDecimal("10.00")),
+                navHistoryService.getNavAsOf(7, LocalDate.of(2024, 2, 29)));
+        assertEquals(Optional.of(new BigDecimal("12.00")),
+                navHistoryService.getNavAsOf(7, LocalDate.of(2024, 3, 1)));
+        assertTrue(navHistoryService.getNavAsOf(7, LocalDate.of(2023, 12, 31)).isEmpty());
+    }
+
+    @Test
+    void getNavAsOf_shouldRejectUnknownProductWithoutCachingIt() {
+        when(investmentProductRepository.findById(99)).thenReturn(Optional.empty());
+
+        assertThrows(InvestmentProductNotFoundException.class,
+                () -> navHistoryService.getNavAsOf(99, LocalDate.of(2024, 3, 1)));
+
+        assertFalse(navHistoryCache.isLoaded(99));
+        verify(navHistoryRepository, never()).findPointsByProductId(any());
+    }
+
+    @Test
+    void getNavHistory_shouldRejectInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> navHistoryService.getNavHistory(7,
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 1, 1)));
+        verifyNoInteractions(navHistoryRepository);
+    }
+
+    @Test
+    void recordNavChange_shouldPersistAndUpdateLoadedSeries() {
+        when(navHistoryRepository.findPointsByProductId(7)).thenReturn(List.of(
+                point(LocalDate.now().minusDays(1), "10.00")));
+        when(navHistoryRepository.findByInvestmentProductIdAndNavDate(7, LocalDate.now()))
+                .thenReturn(Optional.empty());
+        when(investmentProductRepository.findById(7)).thenReturn(Optional.of(product));
+        navHistoryService.getNavHistory(7, null, null);
+        long versionBefore = navHistoryCache.version();
+
+        navHistoryService.recordNavChange(product, new BigDecimal("10.40"));
+
+        ArgumentCaptor<NavHistory> saved = ArgumentCaptor.forClass(NavHistory.class);
+        verify(navHistoryRepository).save(saved.capture());
+        assertEquals(LocalDate.now(), saved.getValue().getNavDate());
+        assertEquals(new BigDecimal("10.40"), saved.getValue().getNav());
+        assertEquals(Optional.of(new BigDecimal("10.40")), navHistoryService.getNavAsOf(7, LocalDate.now()));
+        assertEquals(versionBefore + 1, navHistoryCache.version());
+    }
+
+    @Test
+    void recordNavChange_shouldOverwriteSameDayPoint() {
+        NavHistory existing = NavHistory.builder().id(1L).investmentProduct(product)
+                .navDate(LocalDate.now()).nav(new BigDecimal("9.00")).build();
+        when(navHistoryRepository.findByInvestmentProductIdAndNavDate(7, LocalDate.now()))
+                .thenReturn(Optional.of(existing));
+        when(navHistoryRepository.save(any(NavHistory.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        navHistoryService.recordNavChange(product, new BigDecimal("9.50"));
+
+        assertEquals(new BigDecimal("9.50"), existing.getNav());
+        verify(navHistoryRepository).save(existing);
+    }
+
+    @Test
+    void preloadNavHistory_shouldLoadMissingProductsInOneQuery() {
+        when(navHistoryRepository.findPointsByProductId(7)).thenReturn(List.of(
+                point(LocalDate.of(2024, 1, 1), "10.00")));
+        when(investmentProductRepository.findById(7)).thenReturn(Optional.of(product));
+        navHistoryService.getNavHistory(7, null, null);
+        when(navHistoryRepository.findPointsByProductIdIn(List.of(8, 9))).thenReturn(List.of(
+                productPoint(8, LocalDate.of(2024, 1, 1), "20.00"),
+                productPoint(8, LocalDate.of(2024, 2, 1), "21.00")));
+
+        navHistoryService.preloadNavHistory(List.of(7, 8, 9));
+
+        assertEquals(Optional.of(new BigDecimal("21.00")), navHistoryService.getNavAsOf(8, LocalDate.of(2024, 3, 1)));
+        assertTrue(navHistoryService.getNavHistory(9, null, null).isEmpty());
+        verify(navHistoryRepository, never()).findPointsByProductId(8);
+        verify(navHistoryRepository, never()).findPointsByProductId(9);
+    }
+
+    private ProductNavPointProjection productPoint(Integer productId, LocalDate date, String nav) {
+        return new ProductNavPointProjection() {
+            public Integer getProductId() { return productId; }
+            public LocalDate getNavDate() { return date; }
+            public BigDecimal getNav() { return new BigDecimal(nav); }
+        };
+    }
+
+    private NavPointProjection point(LocalDate date, String nav) {
+        return new NavPointProjection() {
+            public LocalDate getNavDate() { return date; }
+            public BigDecimal getNav() { return new BigDecimal(nav); }
+        };
+    }
+}
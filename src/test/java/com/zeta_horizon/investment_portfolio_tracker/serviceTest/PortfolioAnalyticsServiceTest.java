@@ -1,20 +1,39 @@
 package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta_horizon.investment_portfolio_tracker.analytics.ReturnCalculator;
+import com.zeta_horizon.investment_portfolio_tracker.cache.CacheTags;
+import com.zeta_horizon.investment_portfolio_tracker.cache.InMemorySharedCacheStore;
+import com.zeta_horizon.investment_portfolio_tracker.cache.NavSeries;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
 import com.zeta_horizon.investment_portfolio_tracker.dto.*;
 import com.zeta_horizon.investment_portfolio_tracker.entity.*;
 import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.SeriesInterval;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TransactionType;
 import com.zeta_horizon.investment_portfolio_tracker.repository.*;
+import com.zeta_horizon.investment_portfolio_tracker.service.NavHistoryService;
 import com.zeta_horizon.investment_portfolio_tracker.service.implementation.PortfolioAnalyticsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class PortfolioAnalyticsServiceImplTest {
@@ -28,6 +47,13 @@ class PortfolioAnalyticsServiceImplTest {
     @Mock
     private InvestmentProductRepository investmentProductRepository;
 
+    @Mock
+    private NavHistoryService navHistoryService;
+
+    @Spy
+    private TwoTierCache twoTierCache = new TwoTierCache(new InMemorySharedCacheStore(100),
+            new ObjectMapper().findAndRegisterModules(), 100, 60_000, 600_000);
+
     @InjectMocks
     private PortfolioAnalyticsServiceImpl service;
 
@@ -37,24 +63,13 @@ class PortfolioAnalyticsServiceImplTest {
     void setup() {
         MockitoAnnotations.openMocks(this);
         user = new User();
+        user.setId(UUID.randomUUID());
     }
 
     @Test
     void testGetPortfolioSummary() {
-        InvestmentProduct product = InvestmentProduct.builder()
-                .name("Bitcoin")
-                .type(InvestmentType.CRYPTOCURRENCY)
-                .currentNetAssetValuePerUnit(new BigDecimal("5700000.00"))
-                .build();
-
-        Portfolio portfolio = Portfolio.builder()
-                .investmentProduct(product)
-                .unitsOwned(new BigDecimal("2"))
-                .avgPurchasePrice(new BigDecimal("5000000.00"))
-                .user(user)
-                .build();
-
-        when(portfolioRepository.findByUser(user)).thenReturn(List.of(portfolio));
+        when(portfolioRepository.sumTotalsByUserId(user.getId()))
+                .thenReturn(totals(new BigDecimal("10000000.00"), new BigDecimal("11400000.00")));
 
         PortfolioSummaryDto summary = service.getPortfolioSummary(user);
 
@@ -66,20 +81,20 @@ class PortfolioAnalyticsServiceImplTest {
     }
 
     @Test
-    void testGetAssetAllocation() {
-        InvestmentProduct product = InvestmentProduct.builder()
-                .name("Bitcoin")
-                .type(InvestmentType.CRYPTOCURRENCY)
-                .currentNetAssetValuePerUnit(new BigDecimal("5700000.00"))
-                .build();
+    void testGetPortfolioSummaryWithNoHoldings() {
+        when(portfolioRepository.sumTotalsByUserId(user.getId())).thenReturn(totals(null, null));
 
-        Portfolio portfolio = Portfolio.builder()
-                .investmentProduct(product)
-                .unitsOwned(new BigDecimal("1"))
-                .user(user)
-                .build();
+        PortfolioSummaryDto summary = service.getPortfolioSummary(user);
 
-        when(portfolioRepository.findByUser(user)).thenReturn(List.of(portfolio));
+        assertEquals(BigDecimal.ZERO, summary.getTotalInvested());
+        assertEquals(BigDecimal.ZERO, summary.getCurrentValue());
+        assertEquals(BigDecimal.ZERO, summary.getReturnPercentage());
+    }
+
+    @Test
+    void testGetAssetAllocation() {
+        when(portfolioRepository.sumCurrentValueByType(user.getId()))
+                .thenReturn(List.of(slice("CRYPTOCURRENCY", new BigDecimal("5700000.00"))));
 
         List<AssetAllocationDto> allocations = service.getAssetAllocation(user);
 
@@ -88,6 +103,36 @@ class PortfolioAnalyticsServiceImplTest {
         assertEquals(new BigDecimal("100.0000"), allocations.get(0).getPercentage());
     }
 
+    @Test
+    void testGetAssetAllocationByRiskLevel() {
+        when(portfolioRepository.sumCurrentValueByRiskLevel(user.getId()))
+                .thenReturn(List.of(slice("HIGH", new BigDecimal("750.00")),
+                        slice("LOW", new BigDecimal("250.00"))));
+
+        List<AssetAllocationDto> allocations = service.getAssetAllocationByRiskLevel(user);
+
+        assertEquals(2, allocations.size());
+        assertEquals("HIGH", allocations.get(0).getAssetType());
+        assertEquals(new BigDecimal("75.0000"), allocations.get(0).getPercentage());
+        assertEquals("LOW", allocations.get(1).getAssetType());
+        assertEquals(new BigDecimal("25.0000"), allocations.get(1).getPercentage());
+    }
+
+    @Test
+    void testGetAssetAllocationByProduct() {
+        when(portfolioRepository.sumCurrentValueByProduct(user.getId()))
+                .thenReturn(List.of(slice("Bitcoin", new BigDecimal("600.00")),
+                        slice("Gold ETF", new BigDecimal("400.00"))));
+
+        List<AssetAllocationDto> allocations = service.getAssetAllocationByProduct(user);
+
+        assertEquals(2, allocations.size());
+        assertEquals("Bitcoin", allocations.get(0).getAssetType());
+        assertEquals(new BigDecimal("60.0000"), allocations.get(0).getPercentage());
+        assertEquals("Gold ETF", allocations.get(1).getAssetType());
+        assertEquals(new BigDecimal("40.0000"), allocations.get(1).getPercentage());
+    }
+
     @Test
     void testGetGainLossAnalysis() {
         InvestmentProduct product = InvestmentProduct.builder()
@@ -111,4 +156,200 @@ class PortfolioAnalyticsServiceImplTest {
         assertEquals("Bitcoin", result.get(0).getInvestmentName());
         assertEquals(new BigDecimal("1000000.00"), result.get(0).getGainOrLoss());
     }
+
+    @Test
+    void testXirrOfSingleYearGrowth() {
+        double rate = ReturnCalculator.xirr(new double[]{0, 365}, new double[]{-1000, 1100}, 2);
+
+        assertEquals(0.10, rate, 1e-9);
+        assertTrue(Double.isNaN(ReturnCalculator.xirr(new double[]{0, 365}, new double[]{1000, 1100}, 2)));
+    }
+
+    @Test
+    void testGetPortfolioPerformanceForSingleBuy() {
+        when(transactionRepository.findLedgerByUserId(user.getId())).thenReturn(List.of(
+                ledgerEntry(1, 7, TransactionType.BUY, "100", "10.00", LocalDateTime.now().minusDays(365))));
+        when(investmentProductRepository.findAllById(anyIterable())).thenReturn(List.of(product(7, "11.00")));
+
+        PortfolioPerformanceDto performance = service.getPortfolioPerformance(user);
+
+        assertEquals(0, new BigDecimal("1100.00").compareTo(performance.getCurrentValue()));
+        assertEquals(10.0, performance.getXirrPercentage().doubleValue(), 0.05);
+        assertEquals(new BigDecimal("10.00"), performance.getTimeWeightedReturnPercentage());
+        assertEquals(1, performance.getHoldings().size());
+        assertEquals("Index Fund", performance.getHoldings().get(0).getInvestmentProductName());
+        assertEquals(new BigDecimal("10.00"), performance.getHoldings().get(0).getTimeWeightedReturnPercentage());
+    }
+
+    @Test
+    void testTimeWeightedReturnIgnoresTimingOfContributions() {
+        // NAV doubles, the holding is doubled at the top, then NAV falls back: TWR is flat, XIRR is a loss
+        when(transactionRepository.findLedgerByUserId(user.getId())).thenReturn(List.of(
+                ledgerEntry(1, 7, TransactionType.BUY, "100", "10.00", LocalDateTime.now().minusDays(730)),
+                ledgerEntry(2, 7, TransactionType.BUY, "100", "20.00", LocalDateTime.now().minusDays(365))));
+        when(investmentProductRepository.findAllById(anyIterable())).thenReturn(List.of(product(7, "10.00")));
+
+        PortfolioPerformanceDto performance = service.getPortfolioPerformance(user);
+
+        assertEquals(new BigDecimal("0.00"), performance.getTimeWeightedReturnPercentage());
+        assertTrue(performance.getXirrPercentage().signum() < 0);
+    }
+
+    @Test
+    void testTimeWeightedReturnRestartsAfterAFullSell() {
+        // 0.1 x 1.55 is not exact in double, the emptied portfolio must still be worth nothing rather than a residue
+        when(transactionRepository.findLedgerByUserId(user.getId())).thenReturn(List.of(
+                ledgerEntry(1, 7, TransactionType.BUY, "0.1", "1.55", LocalDateTime.now().minusDays(730)),
+                ledgerEntry(2, 7, TransactionType.SELL, "0.1", "1.55", LocalDateTime.now().minusDays(365)),
+                ledgerEntry(3, 7, TransactionType.BUY, "100", "10.00", LocalDateTime.now().minusDays(30))));
+        when(investmentProductRepository.findAllById(anyIterable())).thenReturn(List.of(product(7, "11.00")));
+
+        PortfolioPerformanceDto performance = service.getPortfolioPerformance(user);
+
+        assertEquals(new BigDecimal("10.00"), performance.getTimeWeightedReturnPercentage());
+    }
+
+    @Test
+    void testGetPortfolioPerformanceIsCachedUntilThePortfolioOrAnyProductChanges() {
+        when(transactionRepository.findLedgerByUserId(user.getId())).thenReturn(List.of(
+                ledgerEntry(1, 7, TransactionType.BUY, "100", "10.00", LocalDateTime.now().minusDays(30))));
+        when(investmentProductRepository.findAllById(anyIterable())).thenReturn(List.of(product(7, "11.00")));
+
+        PortfolioPerformanceDto first = service.getPortfolioPerformance(user);
+        PortfolioPerformanceDto second = service.getPortfolioPerformance(user);
+        assertSame(first, second);
+        verify(transactionRepository, times(1)).findLedgerByUserId(user.getId());
+
+        twoTierCache.invalidate(CacheTags.ANY_PRODUCT);
+        service.getPortfolioPerformance(user);
+        verify(transactionRepository, times(2)).findLedgerByUserId(user.getId());
+
+        twoTierCache.invalidate(CacheTags.portfolio(user.getId()));
+        service.getPortfolioPerformance(user);
+        verify(transactionRepository, times(3)).findLedgerByUserId(user.getId());
+    }
+
+    @Test
+    void testGetPortfolioPerformanceWithoutTransactions() {
+        when(transactionRepository.findLedgerByUserId(user.getId())).thenReturn(List.of());
+
+        PortfolioPerformanceDto performance = service.getPortfolioPerformance(user);
+
+        assertEquals(BigDecimal.ZERO, performance.getCurrentValue());
+        assertNull(performance.getXirrPercentage());
+        assertNull(performance.getTimeWeightedReturnPercentage());
+        assertTrue(performance.getHoldings().isEmpty());
+    }
+
+    @Test
+    void testGetPortfolioValueSeriesReplaysLedgerAgainstNavHistory() {
+        NavSeries nav = new NavSeries();
+        nav.put(LocalDate.of(2024, 1, 1), new BigDecimal("10.00"));
+        nav.put(LocalDate.of(2024, 1, 3), new BigDecimal("12.00"));
+        when(navHistoryService.getNavSnapshot(7)).thenReturn(nav.snapshot());
+        when(transactionRepository.streamLedgerByUserIdBefore(eq(user.getId()), any())).thenReturn(Stream.of(
+                ledgerEntry(1, 7, TransactionType.BUY, "100", "10.00", LocalDateTime.of(2024, 1, 1, 10, 0)),
+                ledgerEntry(2, 7, TransactionType.SELL, "40", "12.00", LocalDateTime.of(2024, 1, 3, 15, 0))));
+
+        List<PortfolioValuePointDto> series = service.getPortfolioValueSeries(user,
+                LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 4), SeriesInterval.DAY);
+
+        assertEquals(5, series.size());
+        assertEquals(new BigDecimal("0.00"), series.get(0).getValue());
+        assertEquals(new BigDecimal("1000.00"), series.get(1).getValue());
+        assertEquals(new BigDecimal("1000.00"), series.get(2).getValue());
+        assertEquals(new BigDecimal("720.00"), series.get(3).getValue());
+        assertEquals(LocalDate.of(2024, 1, 4), series.get(4).getDate());
+        assertEquals(new BigDecimal("720.00"), series.get(4).getValue());
+    }
+
+    @Test
+    void testGetPortfolioValueSeriesClosesOnEndDate() {
+        when(transactionRepository.streamLedgerByUserIdBefore(eq(user.getId()), any()))
+                .thenReturn(Stream.empty());
+
+        List<PortfolioValuePointDto> series = service.getPortfolioValueSeries(user,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 10), SeriesInterval.MONTH);
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 10)),
+                series.stream().map(PortfolioValuePointDto::getDate).toList());
+    }
+
+    @Test
+    void testGetPortfolioValueSeriesRejectsInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> service.getPortfolioValueSeries(user,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), SeriesInterval.DAY));
+        assertThrows(IllegalArgumentException.class, () -> service.getPortfolioValueSeries(user,
+                LocalDate.of(1990, 1, 1), LocalDate.of(2024, 1, 1), SeriesInterval.DAY));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testGetPortfolioValueSeriesForLargeLedger() {
+        // 50k transactions across 40 products over three years, daily NAV history for each product;
+        // how long it takes is measured by ValueSeriesBenchmark
+        int products = 40;
+        int transactions = 50_000;
+        LocalDate start = LocalDate.of(2021, 1, 1);
+        LocalDate end = LocalDate.of(2023, 12, 31);
+        int days = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+
+        List<NavSeries.Snapshot> navs = new ArrayList<>();
+        for (int p = 0; p < products; p++) {
+            NavSeries series = new NavSeries();
+            for (int d = 0; d < days; d++) {
+                series.put(start.plusDays(d), BigDecimal.valueOf(1000 + (d * (p + 1)) % 500, 2));
+            }
+            navs.add(series.snapshot());
+        }
+        when(navHistoryService.getNavSnapshot(anyInt())).thenAnswer(inv -> navs.get((Integer) inv.getArgument(0)));
+
+        List<LedgerEntryProjection> ledger = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            LocalDateTime at = start.atStartOfDay().plusMinutes((long) i * days * 24 * 60 / transactions);
+            ledger.add(ledgerEntry(i, i % products, i % 5 == 4 ? TransactionType.SELL : TransactionType.BUY,
+                    "1.5000", "10.00", at));
+        }
+        when(transactionRepository.streamLedgerByUserIdBefore(eq(user.getId()), any()))
+                .thenAnswer(inv -> ledger.stream());
+
+        List<PortfolioValuePointDto> series = service.getPortfolioValueSeries(user, start, end, SeriesInterval.DAY);
+
+        assertEquals(days, series.size());
+        assertTrue(series.get(series.size() - 1).getValue().signum() > 0);
+    }
+
+    private InvestmentProduct product(Integer id, String nav) {
+        return InvestmentProduct.builder()
+                .id(id)
+                .name("Index Fund")
+                .currentNetAssetValuePerUnit(new BigDecimal(nav))
+                .build();
+    }
+
+    private LedgerEntryProjection ledgerEntry(Integer id, Integer productId, TransactionType type,
+                                              String units, String nav, LocalDateTime date) {
+        return new LedgerEntryProjection() {
+            public Integer getId() { return id; }
+            public Integer getProductId() { return productId; }
+            public TransactionType getTxnType() { return type; }
+            public BigDecimal getUnits() { return new BigDecimal(units); }
+            public BigDecimal getNavAtTxn() { return new BigDecimal(nav); }
+            public LocalDateTime getTxnDate() { return date; }
+        };
+    }
+
+    private PortfolioTotalsProjection totals(BigDecimal invested, BigDecimal current) {
+        return new PortfolioTotalsProjection() {
+            public BigDecimal getTotalInvested() { return invested; }
+            public BigDecimal getCurrentValue() { return current; }
+        };
+    }
+
+    private AllocationSliceProjection slice(String bucket, BigDecimal total) {
+        return new AllocationSliceProjection() {
+            public String getBucket() { return bucket; }
+            public BigDecimal getTotal() { return total; }
+        };
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
 
+import com.zeta_horizon.investment_portfolio_tracker.cache.CacheTags;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
+import com.zeta_horizon.investment_portfolio_tracker.datasource.ReadYourWritesWindow;
 import com.zeta_horizon.investment_portfolio_tracker.dto.BuyInvestmentRequestDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioItemDto;
 import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioResponseDto;
@@ -45,6 +48,12 @@ class PortfolioServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private ReadYourWritesWindow readYourWritesWindow;
+
+    @Mock
+    private TwoTierCache twoTierCache;
+
     @InjectMocks
     private PortfolioServiceImpl portfolioService;
 
@@ -108,7 +117,7 @@ class PortfolioServiceTest {
                 .units(new BigDecimal("15"))
                 .build();
 
-        when(investmentProductRepository.findById(investmentProduct.getId()))
+        when(investmentProductRepository.findCurrentById(investmentProduct.getId()))
                 .thenReturn(Optional.of(investmentProduct));
 
         when(portfolioRepository.findByUserAndInvestmentProduct(user, investmentProduct))
@@ -125,6 +134,8 @@ class PortfolioServiceTest {
         assertEquals(0, new BigDecimal("25").compareTo(result.getUnitsOwned()));
         verify(transactionRepository, times(1)).save(any(Transaction.class));
         verify(portfolioRepository, times(1)).save(any(Portfolio.class));
+        verify(readYourWritesWindow).recordWrite("test@example.com");
+        verify(twoTierCache).invalidateAfterCommit(CacheTags.portfolio(user.getId()));
     }
 
     @Test
@@ -136,7 +147,7 @@ class PortfolioServiceTest {
                 .units(new BigDecimal("15"))
                 .build();
 
-        when(investmentProductRepository.findById(investmentProduct.getId()))
+        when(investmentProductRepository.findCurrentById(investmentProduct.getId()))
                 .thenReturn(Optional.of(investmentProduct));
 
         InvalidInvestmentException ex = assertThrows(InvalidInvestmentException.class, () ->
@@ -151,7 +162,7 @@ class PortfolioServiceTest {
                 .units(new BigDecimal("5")) // 5 * 100 = 500 < minimum 1000
                 .build();
 
-        when(investmentProductRepository.findById(investmentProduct.getId()))
+        when(investmentProductRepository.findCurrentById(investmentProduct.getId()))
                 .thenReturn(Optional.of(investmentProduct));
 
         MinimumInvestmentException ex = assertThrows(MinimumInvestmentException.class, () ->
@@ -167,7 +178,7 @@ class PortfolioServiceTest {
                 .units(new BigDecimal("5"))
                 .build();
 
-        when(investmentProductRepository.findById(investmentProduct.getId()))
+        when(investmentProductRepository.findCurrentById(investmentProduct.getId()))
                 .thenReturn(Optional.of(investmentProduct));
 
         when(portfolioRepository.findByUserAndInvestmentProduct(user, investmentProduct))
@@ -184,6 +195,8 @@ class PortfolioServiceTest {
 
         verify(transactionRepository, times(1)).save(any(Transaction.class));
         verify(portfolioRepository, times(1)).save(any(Portfolio.class));
+        verify(readYourWritesWindow).recordWrite("test@example.com");
+        verify(twoTierCache).invalidateAfterCommit(CacheTags.portfolio(user.getId()));
     }
 
     @Test
@@ -193,7 +206,7 @@ class PortfolioServiceTest {
                 .units(new BigDecimal("20")) // more than owned 10
                 .build();
 
-        when(investmentProductRepository.findById(investmentProduct.getId()))
+        when(investmentProductRepository.findCurrentById(investmentProduct.getId()))
                 .thenReturn(Optional.of(investmentProduct));
 
         when(portfolioRepository.findByUserAndInvestmentProduct(user, investmentProduct))
@@ -0,0 +1,114 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.RedisSharedCacheStore;
+import io.lettuce.core.KillArgs;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Redis store against a real Redis in a container; skipped where Docker is
+ * not available. A second client inspects keys and disconnects subscribers.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisSharedCacheStoreTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    private RedisSharedCacheStore store;
+    private RedisClient adminClient;
+    private StatefulRedisConnection<String, String> adminConnection;
+    private RedisCommands<String, String> admin;
+
+    @BeforeEach
+    void setup() {
+        adminClient = RedisClient.create(url());
+        adminConnection = adminClient.connect();
+        admin = adminConnection.sync();
+        admin.flushall();
+        store = new RedisSharedCacheStore(url(), 2_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+        adminConnection.close();
+        adminClient.shutdown();
+    }
+
+    @Test
+    void versionsOfSeveralTagsAreReadInOneCall() {
+        assertArrayEquals(new long[] {0, 0}, store.versions(List.of("products", "portfolio:user")));
+
+        assertEquals(1, store.increment("portfolio:user"));
+        assertEquals(2, store.increment("portfolio:user"));
+
+        assertArrayEquals(new long[] {0, 2}, store.versions(List.of("products", "portfolio:user")));
+        assertArrayEquals(new long[0], store.versions(List.of()));
+    }
+
+    @Test
+    void valuesAreStoredWithTheirTimeToLive() {
+        store.put("portfolio-performance:user", "{\"value\":1}", Duration.ofSeconds(60));
+
+        assertEquals("{\"value\":1}", store.get("portfolio-performance:user"));
+        long ttl = admin.pttl("cache:value:portfolio-performance:user");
+        assertTrue(ttl > 0 && ttl <= 60_000, "expected a millisecond expiry, was " + ttl);
+        assertNull(store.get("portfolio-performance:nobody"));
+    }
+
+    @Test
+    void publishedInvalidationsReachEverySubscribedInstance() throws Exception {
+        store.subscribe(received::add, () -> { });
+
+        try (RedisSharedCacheStore other = new RedisSharedCacheStore(url(), 2_000)) {
+            other.publish("other-instance 3 products");
+        }
+
+        assertEquals("other-instance 3 products", received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void reconnectedChannelReportsLostMessagesAndKeepsListening() throws Exception {
+        CountDownLatch lost = new CountDownLatch(1);
+        store.subscribe(received::add, lost::countDown);
+
+        admin.clientKill(KillArgs.Builder.typePubsub());
+
+        assertTrue(lost.await(10, TimeUnit.SECONDS), "a dropped channel should be reported once it is back");
+        // Lettuce subscribes again by itself, possibly just after reporting the reconnect
+        String message = null;
+        for (int attempt = 0; attempt < 50 && message == null; attempt++) {
+            store.publish("node 4 products");
+            message = received.poll(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals("node 4 products", message);
+    }
+
+    private static String url() {
+        return "redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379);
+    }
+}
@@ -0,0 +1,193 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.CacheTags;
+import com.zeta_horizon.investment_portfolio_tracker.cache.SharedCacheStore;
+import com.zeta_horizon.investment_portfolio_tracker.dto.BuyInvestmentRequestDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.InvestmentProductListDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.InvestmentProductUpdateDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioItemDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.InvestmentProduct;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.InvestmentType;
+import com.zeta_horizon.investment_portfolio_tracker.enums.RiskLevel;
+import com.zeta_horizon.investment_portfolio_tracker.enums.UserRole;
+import com.zeta_horizon.investment_portfolio_tracker.exception.InvalidInvestmentException;
+import com.zeta_horizon.investment_portfolio_tracker.repository.InvestmentProductRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.UserRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.InvestmentProductService;
+import com.zeta_horizon.investment_portfolio_tracker.service.PortfolioService;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.JWTServiceImpl;
+import com.zeta_horizon.investment_portfolio_tracker.testutil.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the services against the real second-level cache with committed
+ * transactions, so every step reads what the cache holds after the previous
+ * commit. Rows are removed after each test because nothing is rolled back, and
+ * the second-level cache is emptied with them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private InvestmentProductService investmentProductService;
+
+    @Autowired
+    private InvestmentProductRepository investmentProductRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SharedCacheStore sharedCacheStore;
+
+    @MockBean
+    private JWTServiceImpl jwtService;
+
+    private Statistics statistics;
+    private User user;
+    private InvestmentProduct product;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder()
+                .name("Cache Test")
+                .email("cache-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("secret")
+                .role(UserRole.USER)
+                .build());
+        product = investmentProductRepository.save(InvestmentProduct.builder()
+                .name("Cached Fund " + UUID.randomUUID())
+                .type(InvestmentType.MUTUAL_FUND)
+                .riskLevel(RiskLevel.LOW)
+                .minimumInvestment(new BigDecimal("10.00"))
+                .expectedAnnualReturnRate(new BigDecimal("8.50"))
+                .currentNetAssetValuePerUnit(new BigDecimal("10.00"))
+                .description("Second-level cache test fund")
+                .isActive(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transaction WHERE investment_product_id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM portfolio WHERE investment_product_id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM nav_history WHERE investment_product_id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM investment_product WHERE id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        // the rows went behind Hibernate's back, their cached copies must not outlive them
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void buyAfterANavChangeUsesTheNewNav() {
+        portfolioService.buyInvestment(user, buy(1));
+
+        InvestmentProductUpdateDto update = new InvestmentProductUpdateDto();
+        update.setCurrentNetAssetValuePerUnit(new BigDecimal("14.00"));
+        investmentProductService.updateProduct(product.getId(), update);
+
+        PortfolioItemDto item = portfolioService.buyInvestment(user, buy(1));
+
+        assertEquals(0, new BigDecimal("14.00").compareTo(item.getCurrentNAV()));
+        // 1 unit at 10.00 and 1 at 14.00
+        assertEquals(0, new BigDecimal("12.00").compareTo(item.getAvgPurchasePrice()));
+        assertEquals(0, new BigDecimal("14.00").compareTo(lastNavAtTxn()));
+    }
+
+    @Test
+    void buyPricesFromTheDatabaseWhenTheCachedProductIsStale() {
+        portfolioService.buyInvestment(user, buy(1));
+        // changed behind the cache, as a copy cached from a lagging replica would be
+        jdbcTemplate.update("UPDATE investment_product SET current_net_asset_value_per_unit = ? WHERE id = ?",
+                new BigDecimal("14.00"), product.getId());
+
+        PortfolioItemDto item = portfolioService.buyInvestment(user, buy(1));
+
+        assertEquals(0, new BigDecimal("14.00").compareTo(item.getCurrentNAV()));
+        assertEquals(0, new BigDecimal("14.00").compareTo(lastNavAtTxn()));
+    }
+
+    @Test
+    void deactivatingAProductDropsItFromTheCachedActiveListAndBlocksBuys() {
+        investmentProductService.getAllActiveProducts();
+        long queryHits = statistics.getQueryCacheHitCount();
+        assertTrue(listsProduct(), "the active list should contain the new product");
+        assertTrue(statistics.getQueryCacheHitCount() > queryHits, "the active list should come from the query cache");
+
+        investmentProductService.updateIsActive(product.getId(), false);
+
+        assertFalse(listsProduct(), "the cached active list should be dropped when a product changes");
+        assertThrows(InvalidInvestmentException.class, () -> portfolioService.buyInvestment(user, buy(1)));
+    }
+
+    @Test
+    void repeatedLookupByEmailIsServedWithoutSql() {
+        userRepository.findByEmail(user.getEmail());
+
+        User cached = SqlStatementCounter.assertStatements(0, () -> userRepository.findByEmail(user.getEmail()));
+
+        assertEquals(user.getId(), cached.getId());
+    }
+
+    @Test
+    void productChangedOnAnotherInstanceIsEvicted() {
+        portfolioService.buyInvestment(user, buy(1));
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        assertTrue(sessionFactory.getCache().containsEntity(InvestmentProduct.class, product.getId()));
+
+        String tag = CacheTags.product(product.getId());
+        sharedCacheStore.publish("other-instance " + sharedCacheStore.increment(tag) + " " + tag);
+
+        assertFalse(sessionFactory.getCache().containsEntity(InvestmentProduct.class, product.getId()),
+                "a product written elsewhere should be reloaded from the database");
+    }
+
+    private BuyInvestmentRequestDto buy(int units) {
+        return BuyInvestmentRequestDto.builder()
+                .investmentProductId(product.getId())
+                .units(new BigDecimal(units))
+                .build();
+    }
+
+    private boolean listsProduct() {
+        return investmentProductService.getAllActiveProducts().stream()
+                .map(InvestmentProductListDto::getId)
+                .anyMatch(product.getId()::equals);
+    }
+
+    private BigDecimal lastNavAtTxn() {
+        return jdbcTemplate.queryForObject(
+                "SELECT nav_at_txn FROM transaction WHERE investment_product_id = ? ORDER BY id DESC LIMIT 1",
+                BigDecimal.class, product.getId());
+    }
+}
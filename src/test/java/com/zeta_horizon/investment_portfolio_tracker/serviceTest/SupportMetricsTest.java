@@ -0,0 +1,60 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.config.MetricsConfig;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessageDto;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.realtime.TicketMessageWaiters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SupportMetricsTest {
+
+    @Test
+    void gauges_shouldReadLiveSupportState() {
+        TicketMessageWaiters waiters = new TicketMessageWaiters(1, 10);
+        TicketQueueCounters counters = new TicketQueueCounters();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().supportTicketMetrics(waiters, counters).bindTo(registry);
+
+        Runnable unsubscribe = waiters.subscribe(UUID.randomUUID(), message -> { }, () -> { });
+        waiters.subscribe(UUID.randomUUID(), message -> { }, () -> { });
+        counters.ticketCreated(TicketStatus.OPEN, Priority.HIGH);
+        counters.ticketCreated(TicketStatus.OPEN, Priority.HIGH);
+        counters.statusChanged(Priority.HIGH, TicketStatus.OPEN, TicketStatus.RESPONDED);
+
+        assertEquals(2, registry.get("support.messages.waiting").gauge().value());
+        assertEquals(1, registry.get("support.tickets").tags("status", "OPEN", "priority", "HIGH").gauge().value());
+        assertEquals(1, registry.get("support.tickets").tags("status", "RESPONDED", "priority", "HIGH").gauge().value());
+
+        unsubscribe.run();
+        assertEquals(1, registry.get("support.messages.waiting").gauge().value());
+    }
+
+    @Test
+    void deliveryExecutor_shouldBeReportedWithTheExecutorMeters() throws Exception {
+        try (TicketMessageWaiters waiters = new TicketMessageWaiters(2, 10)) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            new MetricsConfig().supportTicketMetrics(waiters, new TicketQueueCounters()).bindTo(registry);
+            UUID ticketId = UUID.randomUUID();
+            CountDownLatch delivered = new CountDownLatch(1);
+            waiters.subscribe(ticketId, message -> delivered.countDown(), () -> { });
+
+            waiters.publish(ticketId, TicketMessageDto.builder().messageId(UUID.randomUUID()).message("hi").build());
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(2, registry.get("executor.pool.max").tag("name", "ticket.message.delivery").gauge().value());
+            assertNotNull(registry.get("executor.completed").tag("name", "ticket.message.delivery").functionCounter());
+            assertNotNull(registry.get("executor.queued").tag("name", "ticket.message.delivery").gauge());
+        }
+    }
+}
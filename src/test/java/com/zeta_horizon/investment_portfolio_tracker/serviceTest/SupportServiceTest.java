@@ -1,20 +1,32 @@
 package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
 
+import com.zeta_horizon.investment_portfolio_tracker.assignment.AdminLoadBalancer;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
 import com.zeta_horizon.investment_portfolio_tracker.dto.*;
 import com.zeta_horizon.investment_portfolio_tracker.entity.*;
 import com.zeta_horizon.investment_portfolio_tracker.enums.*;
 import com.zeta_horizon.investment_portfolio_tracker.exception.*;
 import com.zeta_horizon.investment_portfolio_tracker.mapper.*;
+import com.zeta_horizon.investment_portfolio_tracker.realtime.TicketMessageWaiters;
+import com.zeta_horizon.investment_portfolio_tracker.search.TicketSearchIndex;
 import com.zeta_horizon.investment_portfolio_tracker.repository.*;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketArchiveService;
 import com.zeta_horizon.investment_portfolio_tracker.service.implementation.SupportTicketServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.LocalDateTime;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +44,16 @@ class SupportServiceTest {
     private SupportTicketMapper ticketMapper;
     @Mock
     private TicketMessageMapper messageMapper;
+    @Mock
+    private TicketMessageWaiters messageWaiters;
+    @Mock
+    private TicketSearchIndex searchIndex;
+    @Mock
+    private TicketQueueCounters queueCounters;
+    @Mock
+    private AdminLoadBalancer adminLoadBalancer;
+    @Mock
+    private TicketArchiveService ticketArchiveService;
 
     @InjectMocks
     private SupportTicketServiceImpl supportTicketService;
@@ -70,6 +92,88 @@ class SupportServiceTest {
         assertNotNull(result);
         assertEquals(ticket.getId(), result.getTicketId());
         verify(ticketRepository).save(any(SupportTicket.class));
+        verify(searchIndex).index(ticket);
+        verify(queueCounters).ticketCreated(TicketStatus.OPEN, Priority.HIGH);
+    }
+
+    @Test
+    void createTicket_shouldRunLookupsOnTheCallingThread() {
+        SupportTicketRequestDto requestDto = SupportTicketRequestDto.builder()
+                .subject("Test Subject").description("Test Description")
+                .investmentProductName("Test Investment").priority(Priority.HIGH).build();
+        List<Thread> lookupThreads = new ArrayList<>();
+        when(userRepository.findByEmail(user.getEmail())).thenAnswer(inv -> {
+            lookupThreads.add(Thread.currentThread());
+            return user;
+        });
+        when(investmentProductRepository.findByNameContainingIgnoreCaseAndIsActiveTrue("Test Investment"))
+                .thenAnswer(inv -> {
+                    lookupThreads.add(Thread.currentThread());
+                    return List.of(investmentProduct);
+                });
+        when(ticketRepository.save(any(SupportTicket.class))).thenReturn(ticket);
+        when(ticketMapper.toResponseDto(any(SupportTicket.class))).thenReturn(ticketResponseDto);
+
+        supportTicketService.createTicket(requestDto, user.getEmail());
+
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), lookupThreads);
+    }
+
+    @Test
+    void createTicket_shouldAssignLeastLoadedAdmin() {
+        User admin = User.builder().id(UUID.randomUUID()).email("admin@example.com").role(UserRole.ADMIN).build();
+        SupportTicketRequestDto requestDto = SupportTicketRequestDto.builder()
+                .subject("Test Subject").description("Test Description").priority(Priority.HIGH).build();
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
+        when(adminLoadBalancer.assign(Priority.HIGH)).thenReturn(admin.getId());
+        when(userRepository.getReferenceById(admin.getId())).thenReturn(admin);
+        when(ticketRepository.save(any(SupportTicket.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(ticketMapper.toResponseDto(any(SupportTicket.class))).thenReturn(ticketResponseDto);
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED,
+                () -> supportTicketService.createTicket(requestDto, user.getEmail()));
+
+        ArgumentCaptor<SupportTicket> saved = ArgumentCaptor.forClass(SupportTicket.class);
+        verify(ticketRepository).save(saved.capture());
+        assertSame(admin, saved.getValue().getAssignedAdmin());
+        verify(adminLoadBalancer).confirm(admin.getId(), Priority.HIGH);
+        verify(adminLoadBalancer, never()).cancel(any(), any());
+    }
+
+    @Test
+    void createTicket_shouldGiveBackReservedLoadWhenSaveFails() {
+        UUID adminId = UUID.randomUUID();
+        SupportTicketRequestDto requestDto = SupportTicketRequestDto.builder()
+                .subject("Test Subject").description("Test Description").build();
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
+        when(adminLoadBalancer.assign(Priority.MEDIUM)).thenReturn(adminId);
+        when(ticketRepository.save(any(SupportTicket.class))).thenThrow(new IllegalStateException("db down"));
+
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            assertThrows(RuntimeException.class, () -> supportTicketService.createTicket(requestDto, user.getEmail()));
+            // the load is only given back once the transaction has rolled back
+            verify(adminLoadBalancer, never()).cancel(any(), any());
+        });
+        verify(adminLoadBalancer).cancel(adminId, Priority.MEDIUM);
+        verifyNoInteractions(queueCounters);
+    }
+
+    @Test
+    void createTicket_shouldGiveBackReservedLoadWhenTheCommitFails() {
+        UUID adminId = UUID.randomUUID();
+        SupportTicketRequestDto requestDto = SupportTicketRequestDto.builder()
+                .subject("Test Subject").description("Test Description").build();
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
+        when(adminLoadBalancer.assign(Priority.MEDIUM)).thenReturn(adminId);
+        when(ticketRepository.save(any(SupportTicket.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(ticketMapper.toResponseDto(any(SupportTicket.class))).thenReturn(ticketResponseDto);
+
+        // the save returned, but the insert failed when the transaction flushed
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+                () -> supportTicketService.createTicket(requestDto, user.getEmail()));
+
+        verify(adminLoadBalancer).cancel(adminId, Priority.MEDIUM);
+        verify(adminLoadBalancer, never()).confirm(any(), any());
     }
 
     @Test
@@ -108,13 +212,25 @@ class SupportServiceTest {
     void getTicketViaId_shouldThrowExceptionIfNotFound() {
         UUID ticketId = UUID.randomUUID();
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
+        when(ticketArchiveService.findArchived(ticketId)).thenReturn(Optional.empty());
 
         assertThrows(SupportTicketNotFoundException.class, () -> supportTicketService.getTicketViaId(ticketId));
     }
 
+    @Test
+    void getTicketViaId_shouldFallBackToArchive() {
+        UUID ticketId = UUID.randomUUID();
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
+        when(ticketArchiveService.findArchived(ticketId)).thenReturn(Optional.of(ticketResponseDto));
+
+        assertSame(ticketResponseDto, supportTicketService.getTicketViaId(ticketId));
+        verifyNoInteractions(ticketMapper);
+    }
+
     @Test
     void filterTickets_shouldReturnFilteredTickets() {
-        when(ticketRepository.findByPriorityOrderByCreatedAtDesc(Priority.HIGH)).thenReturn(List.of(ticket));
+        when(ticketRepository.findAll(anySpecification(), eq(SupportTicketSpecifications.NEWEST_FIRST)))
+                .thenReturn(List.of(ticket));
         when(ticketMapper.toResponseDto(ticket)).thenReturn(ticketResponseDto);
 
         List<SupportTicketResponseDto> result = supportTicketService.filterTickets(Priority.HIGH, null);
@@ -124,7 +240,8 @@ class SupportServiceTest {
 
     @Test
     void filterTickets_shouldReturnAllTicketsWhenNoFilter() {
-        when(ticketRepository.findAll()).thenReturn(List.of(ticket));
+        when(ticketRepository.findAll(anySpecification(), eq(SupportTicketSpecifications.NEWEST_FIRST)))
+                .thenReturn(List.of(ticket));
         when(ticketMapper.toResponseDto(ticket)).thenReturn(ticketResponseDto);
 
         List<SupportTicketResponseDto> result = supportTicketService.filterTickets(null, null);
@@ -135,7 +252,7 @@ class SupportServiceTest {
     @Test
     void filterTicketsForUser_shouldReturnFilteredTickets() {
         when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
-        when(ticketRepository.findByUserIdAndPriorityOrderByCreatedAtDesc(user.getId(), Priority.HIGH))
+        when(ticketRepository.findAll(anySpecification(), eq(SupportTicketSpecifications.NEWEST_FIRST)))
                 .thenReturn(List.of(ticket));
         when(ticketMapper.toResponseDto(ticket)).thenReturn(ticketResponseDto);
 
@@ -151,12 +268,12 @@ class SupportServiceTest {
         MessageRequestDto messageRequestDto = MessageRequestDto.builder()
                 .ticketId(ticketId.toString()).responseMessage("Message").status("CLOSED").build();
 
-        TicketMessage message = TicketMessage.builder().supportTicket(ticket).sender(user).message("Message").build();
+        TicketMessageDto published = new TicketMessageDto();
 
         when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
+        when(ticketRepository.lockById(ticketId)).thenReturn(Optional.of(ticket));
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-        when(ticketMessageRepository.findBySupportTicketIdOrderByTimestampAsc(ticketId)).thenReturn(List.of(message));
-        when(messageMapper.toDto(message)).thenReturn(new TicketMessageDto());
+        when(messageMapper.toDto(any(TicketMessage.class))).thenReturn(published);
         when(ticketMapper.toResponseDto(ticket)).thenReturn(ticketResponseDto);
 
         SupportTicketResponseDto result = supportTicketService.respondToTicket(messageRequestDto, user.getEmail());
@@ -164,6 +281,99 @@ class SupportServiceTest {
         assertNotNull(result);
         assertEquals(ticket.getId(), result.getTicketId());
         verify(ticketMessageRepository).save(any(TicketMessage.class));
+        // the reply is appended to the loaded thread instead of reloading every message
+        assertEquals(1, ticket.getMessages().size());
+        assertEquals("Message", ticket.getMessages().get(0).getMessage());
+        verify(ticketMessageRepository, never()).findBySupportTicketIdOrderByTimestampAsc(any());
+        // the row is locked before the status is read, against TicketAutoCloseJob
+        InOrder order = inOrder(ticketRepository);
+        order.verify(ticketRepository).lockById(ticketId);
+        order.verify(ticketRepository).findById(ticketId);
+        verify(messageWaiters).publish(ticketId, published);
+        verify(searchIndex).index(ticket);
+        verify(queueCounters).statusChanged(Priority.HIGH, TicketStatus.OPEN, TicketStatus.CLOSED);
+        verifyNoInteractions(adminLoadBalancer);
+    }
+
+    @Test
+    void respondToTicket_shouldReleaseAdminLoadWhenClosing() {
+        User admin = User.builder().id(UUID.randomUUID()).email("admin@example.com").role(UserRole.ADMIN).build();
+        ticket.setAssignedAdmin(admin);
+        MessageRequestDto messageRequestDto = MessageRequestDto.builder()
+                .ticketId(ticket.getId().toString()).responseMessage("Done").status("closed").build();
+        when(userRepository.findByEmail(admin.getEmail())).thenReturn(admin);
+        when(ticketRepository.lockById(ticket.getId())).thenReturn(Optional.of(ticket));
+        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+        when(messageMapper.toDto(any(TicketMessage.class))).thenReturn(new TicketMessageDto());
+        when(ticketMapper.toResponseDto(ticket)).thenReturn(ticketResponseDto);
+
+        supportTicketService.respondToTicket(messageRequestDto, admin.getEmail());
+
+        verify(adminLoadBalancer).release(admin.getId(), Priority.HIGH);
+    }
+
+    @Test
+    void searchTicketText_shouldDelegateWithDefaultsAndValidate() {
+        TicketSearchResultDto page = TicketSearchResultDto.builder().hits(List.of()).totalElements(0L).build();
+        when(searchIndex.search("refund", 0, 20)).thenReturn(page);
+
+        assertSame(page, supportTicketService.searchTicketText("  refund ", null, null));
+        assertThrows(IllegalArgumentException.class, () -> supportTicketService.searchTicketText(" ", 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> supportTicketService.searchTicketText("refund", -1, 20));
+        assertThrows(IllegalArgumentException.class, () -> supportTicketService.searchTicketText("refund", 0, 101));
+        verify(searchIndex, times(1)).search(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getMessagesAfter_shouldReturnPageAndCursorPastLastMessage() {
+        UUID ticketId = ticket.getId();
+        LocalDateTime since = LocalDateTime.of(2024, 5, 1, 10, 0);
+        UUID sinceId = UUID.randomUUID();
+        TicketMessage first = TicketMessage.builder().id(UUID.randomUUID()).supportTicket(ticket).sender(user)
+                .timestamp(since.plusMinutes(1)).build();
+        TicketMessage second = TicketMessage.builder().id(UUID.randomUUID()).supportTicket(ticket).sender(user)
+                .timestamp(since.plusMinutes(2)).build();
+        TicketMessage third = TicketMessage.builder().id(UUID.randomUUID()).supportTicket(ticket).sender(user)
+                .timestamp(since.plusMinutes(3)).build();
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(ticketMessageRepository.findAfter(ticketId, since, sinceId, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+        when(messageMapper.toDto(any(TicketMessage.class))).thenReturn(new TicketMessageDto());
+
+        TicketMessagePageDto page = supportTicketService.getMessagesAfter(ticketId, since + "|" + sinceId, 2);
+
+        assertEquals(2, page.getMessages().size());
+        assertTrue(page.isHasMore());
+        assertEquals(second.getTimestamp() + "|" + second.getId(), page.getAfter());
+    }
+
+    @Test
+    void getMessagesAfter_shouldKeepCursorWhenNothingIsNew() {
+        UUID ticketId = ticket.getId();
+        LocalDateTime since = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(ticketRepository.existsById(ticketId)).thenReturn(true);
+        when(ticketMessageRepository.findAfter(ticketId, since, new UUID(0L, 0L), Limit.of(51)))
+                .thenReturn(List.of());
+
+        TicketMessagePageDto page = supportTicketService.getMessagesAfter(ticketId, since.toString(), null);
+
+        assertTrue(page.getMessages().isEmpty());
+        assertFalse(page.isHasMore());
+        assertEquals(since + "|" + new UUID(0L, 0L), page.getAfter());
+    }
+
+    @Test
+    void getMessagesAfter_shouldRejectUnknownTicketAndBadCursor() {
+        UUID ticketId = ticket.getId();
+        when(ticketRepository.existsById(ticketId)).thenReturn(false);
+
+        assertThrows(SupportTicketNotFoundException.class,
+                () -> supportTicketService.getMessagesAfter(ticketId, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> supportTicketService.getMessagesAfter(ticketId, "yesterday", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> supportTicketService.getMessagesAfter(ticketId, null, 500));
+        verifyNoInteractions(ticketMessageRepository);
     }
 
     @Test
@@ -175,6 +385,7 @@ class SupportServiceTest {
                 .responseMessage("Test")
                 .build();
         when(userRepository.findByEmail(user.getEmail())).thenReturn(user);
+        when(ticketRepository.lockById(ticket.getId())).thenReturn(Optional.of(ticket));
         when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
 
         RuntimeException thrown = assertThrows(RuntimeException.class,
@@ -182,4 +393,95 @@ class SupportServiceTest {
         assertTrue(thrown.getCause() instanceof TicketClosedException);
     }
 
+    @Test
+    void searchTickets_shouldReturnPageInIdOrderWithCursor() {
+        SupportTicket older = SupportTicket.builder().id(UUID.randomUUID()).user(user)
+                .subject("Older").description("Older").priority(Priority.HIGH).status(TicketStatus.OPEN)
+                .createdAt(ticket.getCreatedAt().minusMinutes(5)).build();
+        SupportTicket oldest = SupportTicket.builder().id(UUID.randomUUID()).user(user)
+                .subject("Oldest").description("Oldest").priority(Priority.HIGH).status(TicketStatus.OPEN)
+                .createdAt(ticket.getCreatedAt().minusMinutes(10)).build();
+        when(ticketRepository.findPositions(anySpecification(), eq(3)))
+                .thenReturn(List.of(position(ticket), position(older), position(oldest)));
+        when(ticketRepository.findByIdIn(List.of(ticket.getId(), older.getId()))).thenReturn(List.of(older, ticket));
+        when(ticketMapper.toResponseDto(any(SupportTicket.class))).thenAnswer(inv -> SupportTicketResponseDto.builder()
+                .ticketId(((SupportTicket) inv.getArgument(0)).getId()).build());
+
+        CursorPageDto<SupportTicketResponseDto> page = supportTicketService.searchTickets(null, Priority.HIGH,
+                null, null, 2);
+
+        assertTrue(page.isHasMore());
+        assertEquals(List.of(ticket.getId(), older.getId()),
+                page.getItems().stream().map(SupportTicketResponseDto::getTicketId).toList());
+        assertEquals(new TicketCursor(older.getCreatedAt(), older.getId()), TicketCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void searchTickets_shouldMovePastATicketGoneBeforeItsDetailsWereRead() {
+        SupportTicket archived = SupportTicket.builder().id(UUID.randomUUID()).user(user)
+                .subject("Archived").description("Archived").priority(Priority.HIGH).status(TicketStatus.CLOSED)
+                .createdAt(ticket.getCreatedAt().minusMinutes(5)).build();
+        SupportTicket next = SupportTicket.builder().id(UUID.randomUUID()).user(user)
+                .subject("Next").description("Next").priority(Priority.HIGH).status(TicketStatus.OPEN)
+                .createdAt(ticket.getCreatedAt().minusMinutes(10)).build();
+        when(ticketRepository.findPositions(anySpecification(), eq(3)))
+                .thenReturn(List.of(position(ticket), position(archived), position(next)));
+        // archived between the two queries
+        when(ticketRepository.findByIdIn(List.of(ticket.getId(), archived.getId()))).thenReturn(List.of(ticket));
+        when(ticketMapper.toResponseDto(any(SupportTicket.class))).thenAnswer(inv -> SupportTicketResponseDto.builder()
+                .ticketId(((SupportTicket) inv.getArgument(0)).getId()).build());
+
+        CursorPageDto<SupportTicketResponseDto> page = supportTicketService.searchTickets(null, Priority.HIGH,
+                null, null, 2);
+
+        assertTrue(page.isHasMore());
+        assertEquals(List.of(ticket.getId()),
+                page.getItems().stream().map(SupportTicketResponseDto::getTicketId).toList());
+        assertEquals(position(archived), TicketCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void searchTickets_shouldEndWithoutCursorOnLastPage() {
+        when(ticketRepository.findPositions(anySpecification(), eq(21))).thenReturn(List.of());
+
+        CursorPageDto<SupportTicketResponseDto> page = supportTicketService.searchTickets(null, null, null, null, null);
+
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertTrue(page.getItems().isEmpty());
+        verify(ticketRepository, never()).findByIdIn(any());
+    }
+
+    @Test
+    void searchTickets_shouldRejectBadSizeAndCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> supportTicketService.searchTickets(null, null, null, null, 500));
+        assertThrows(IllegalArgumentException.class,
+                () -> supportTicketService.searchTickets(null, null, null, "not-a-cursor", 10));
+        verify(ticketRepository, never()).findPositions(any(), anyInt());
+    }
+
+    private static TicketCursor position(SupportTicket ticket) {
+        return new TicketCursor(ticket.getCreatedAt(), ticket.getId());
+    }
+
+    // stands in for the transaction manager: runs the work with synchronization on, then ends it with the status
+    private static void inTransaction(int status, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Specification<SupportTicket> anySpecification() {
+        return any(Specification.class);
+    }
 }
@@ -0,0 +1,161 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.attachment.AttachmentContent;
+import com.zeta_horizon.investment_portfolio_tracker.attachment.AttachmentStore;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketAttachmentDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketAttachment;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.entity.User;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.exception.ResourceNotFoundException;
+import com.zeta_horizon.investment_portfolio_tracker.exception.TicketClosedException;
+import com.zeta_horizon.investment_portfolio_tracker.mapper.TicketMessageMapper;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TicketAttachmentRepository;
+import com.zeta_horizon.investment_portfolio_tracker.repository.TicketMessageRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.TicketAccessService;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.TicketAttachmentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketAttachmentServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private TicketMessageRepository ticketMessageRepository;
+    @Mock
+    private TicketAttachmentRepository attachmentRepository;
+    @Mock
+    private TicketAccessService ticketAccessService;
+
+    private AttachmentStore attachmentStore;
+    private TicketAttachmentServiceImpl attachmentService;
+    private SupportTicket ticket;
+    private TicketMessage message;
+
+    @BeforeEach
+    void setup() {
+        attachmentStore = new AttachmentStore(directory);
+        attachmentService = new TicketAttachmentServiceImpl(ticketMessageRepository, attachmentRepository,
+                new TicketMessageMapper(), attachmentStore, ticketAccessService);
+        ReflectionTestUtils.setField(attachmentService, "maxBytes", 64L);
+        ticket = SupportTicket.builder().id(UUID.randomUUID()).status(TicketStatus.OPEN).build();
+        message = TicketMessage.builder()
+                .id(UUID.randomUUID())
+                .supportTicket(ticket)
+                .sender(User.builder().email("user@example.com").build())
+                .build();
+    }
+
+    @Test
+    void addAttachment_shouldStoreSameContentOnce() throws Exception {
+        when(ticketMessageRepository.findWithTicketAndSenderById(message.getId())).thenReturn(Optional.of(message));
+        when(attachmentRepository.save(any(TicketAttachment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TicketAttachmentDto first = upload("../../etc/screen.png", "same bytes");
+        TicketAttachmentDto second = upload("C:\\Users\\me\\copy.png", "same bytes");
+
+        ArgumentCaptor<TicketAttachment> saved = ArgumentCaptor.forClass(TicketAttachment.class);
+        verify(attachmentRepository, times(2)).save(saved.capture());
+        List<TicketAttachment> attachments = saved.getAllValues();
+        assertEquals(attachments.get(0).getSha256(), attachments.get(1).getSha256());
+        assertEquals("screen.png", first.getFileName());
+        assertEquals("copy.png", second.getFileName());
+        assertEquals(10, first.getSize());
+        assertEquals("image/png", first.getContentType());
+        assertEquals("same bytes", Files.readString(attachmentStore.path(attachments.get(0).getSha256())));
+        assertEquals(1, storedFiles());
+    }
+
+    @Test
+    void addAttachment_shouldRejectOversizedUploadAndLeaveNothingBehind() throws Exception {
+        when(ticketMessageRepository.findWithTicketAndSenderById(message.getId())).thenReturn(Optional.of(message));
+
+        assertThrows(IllegalArgumentException.class, () -> upload("big.bin", "x".repeat(65)));
+
+        verifyNoInteractions(attachmentRepository);
+        assertEquals(0, storedFiles());
+    }
+
+    @Test
+    void addAttachment_shouldOnlyAcceptOwnMessagesOnOpenTickets() {
+        when(ticketMessageRepository.findWithTicketAndSenderById(message.getId())).thenReturn(Optional.of(message));
+
+        assertThrows(IllegalArgumentException.class, () -> attachmentService.addAttachment(ticket.getId(),
+                message.getId(), "someone@example.com", "a.txt", "text/plain", stream("hi")));
+        assertThrows(ResourceNotFoundException.class, () -> attachmentService.addAttachment(UUID.randomUUID(),
+                message.getId(), "user@example.com", "a.txt", "text/plain", stream("hi")));
+        ticket.setStatus(TicketStatus.CLOSED);
+        assertThrows(TicketClosedException.class, () -> upload("a.txt", "hi"));
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void getAttachment_shouldResolveContentPath() throws Exception {
+        String sha = attachmentStore.store(stream("report"), 64).sha256();
+        UUID attachmentId = UUID.randomUUID();
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(TicketAttachment.builder()
+                .id(attachmentId).ticketId(ticket.getId()).sha256(sha).fileName("report.txt")
+                .contentType("text/plain").size(6).build()));
+        when(ticketAccessService.canView(ticket.getId(), "user@example.com")).thenReturn(true);
+
+        AttachmentContent content = attachmentService.getAttachment(attachmentId, "user@example.com");
+
+        assertEquals(attachmentStore.path(sha), content.path());
+        assertEquals("report.txt", content.fileName());
+        assertThrows(ResourceNotFoundException.class,
+                () -> attachmentService.getAttachment(UUID.randomUUID(), "user@example.com"));
+    }
+
+    @Test
+    void getAttachment_shouldHideAttachmentsOfTicketsTheUserCannotRead() throws Exception {
+        String sha = attachmentStore.store(stream("report"), 64).sha256();
+        UUID attachmentId = UUID.randomUUID();
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(TicketAttachment.builder()
+                .id(attachmentId).ticketId(ticket.getId()).sha256(sha).fileName("report.txt")
+                .contentType("text/plain").size(6).build()));
+        when(ticketAccessService.canView(ticket.getId(), "other@example.com")).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> attachmentService.getAttachment(attachmentId, "other@example.com"));
+    }
+
+    private TicketAttachmentDto upload(String fileName, String content) throws Exception {
+        return attachmentService.addAttachment(ticket.getId(), message.getId(), "user@example.com",
+                fileName, "image/png", stream(content));
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // content files only, the incoming directory must be empty again
+    private long storedFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.assignment.AdminLoadBalancer;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.repository.StaleTicket;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketBulkRepository;
+import com.zeta_horizon.investment_portfolio_tracker.search.TicketSearchIndex;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.TicketAutoCloseServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketAutoCloseServiceTest {
+
+    @Mock
+    private SupportTicketBulkRepository bulkRepository;
+    @Mock
+    private TicketQueueCounters queueCounters;
+    @Mock
+    private AdminLoadBalancer adminLoadBalancer;
+    @Mock
+    private TicketSearchIndex searchIndex;
+
+    @InjectMocks
+    private TicketAutoCloseServiceImpl autoCloseService;
+
+    private final LocalDateTime cutoff = LocalDateTime.now().minusDays(14);
+
+    @Test
+    void closeStaleBatch_shouldUpdateCountersLoadsAndIndex() {
+        UUID adminId = UUID.randomUUID();
+        StaleTicket assigned = new StaleTicket(UUID.randomUUID(), Priority.HIGH, UUID.randomUUID(), adminId);
+        StaleTicket legacy = new StaleTicket(UUID.randomUUID(), Priority.LOW, UUID.randomUUID(), null);
+        List<StaleTicket> stale = List.of(assigned, legacy);
+        when(bulkRepository.lockStale(TicketStatus.RESPONDED, cutoff, 100)).thenReturn(stale);
+        when(bulkRepository.close(eq(stale), eq(TicketStatus.RESPONDED), eq(cutoff), any())).thenReturn(2);
+        UUID supportId = UUID.randomUUID();
+        when(bulkRepository.findSupportSenderId()).thenReturn(Optional.of(supportId));
+        when(bulkRepository.insertClosingMessages(eq(stale), eq(supportId), anyString(), any())).thenReturn(2);
+
+        assertEquals(2, autoCloseService.closeStaleBatch(cutoff, 100));
+
+        verify(bulkRepository).insertClosingMessages(eq(stale), eq(supportId), anyString(), any());
+        verify(queueCounters).statusChanged(Priority.HIGH, TicketStatus.RESPONDED, TicketStatus.CLOSED);
+        verify(queueCounters).statusChanged(Priority.LOW, TicketStatus.RESPONDED, TicketStatus.CLOSED);
+        verify(adminLoadBalancer).release(adminId, Priority.HIGH);
+        verify(searchIndex).reindex(List.of(assigned.id(), legacy.id()));
+    }
+
+    @Test
+    void closeStaleBatch_shouldOnlyLookUpASupportSenderForUnassignedTickets() {
+        StaleTicket assigned = new StaleTicket(UUID.randomUUID(), Priority.HIGH, UUID.randomUUID(), UUID.randomUUID());
+        when(bulkRepository.lockStale(TicketStatus.RESPONDED, cutoff, 100)).thenReturn(List.of(assigned));
+        when(bulkRepository.close(any(), any(), any(), any())).thenReturn(1);
+        when(bulkRepository.insertClosingMessages(eq(List.of(assigned)), isNull(), anyString(), any())).thenReturn(1);
+
+        assertEquals(1, autoCloseService.closeStaleBatch(cutoff, 100));
+
+        verify(bulkRepository, never()).findSupportSenderId();
+    }
+
+    @Test
+    void closeStaleBatch_shouldStopWhenNothingIsStale() {
+        when(bulkRepository.lockStale(TicketStatus.RESPONDED, cutoff, 100)).thenReturn(List.of());
+
+        assertEquals(0, autoCloseService.closeStaleBatch(cutoff, 100));
+
+        verify(bulkRepository, never()).close(any(), any(), any(), any());
+        verifyNoInteractions(queueCounters, adminLoadBalancer, searchIndex);
+    }
+
+    @Test
+    void closeStaleBatch_shouldFailWithoutMessagesWhenUpdateMissesLockedRows() {
+        StaleTicket ticket = new StaleTicket(UUID.randomUUID(), Priority.MEDIUM, UUID.randomUUID(), null);
+        when(bulkRepository.lockStale(TicketStatus.RESPONDED, cutoff, 100)).thenReturn(List.of(ticket));
+        when(bulkRepository.close(any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> autoCloseService.closeStaleBatch(cutoff, 100));
+
+        verify(bulkRepository, never()).insertClosingMessages(any(), any(), any(), any());
+        verifyNoInteractions(queueCounters);
+    }
+}
@@ -0,0 +1,87 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketMessageDto;
+import com.zeta_horizon.investment_portfolio_tracker.realtime.TicketMessageWaiters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketMessageWaitersTest {
+
+    private final TicketMessageWaiters waiters = new TicketMessageWaiters(2, 3);
+    private final UUID ticketId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        waiters.close();
+    }
+
+    @Test
+    void publish_shouldNotWaitForASlowListener() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        waiters.subscribe(ticketId, message -> {
+            await(release);
+            received.add(message.getMessage());
+        }, () -> { });
+        waiters.subscribe(ticketId, message -> received.add("fast:" + message.getMessage()), () -> { });
+
+        waiters.publish(ticketId, message("first"));
+
+        // the publisher is back while the slow listener is still writing
+        assertEquals("fast:first", received.poll(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals("first", received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void publish_shouldDeliverInOrderToEachListener() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        waiters.subscribe(ticketId, message -> received.add(message.getMessage()), () -> { });
+
+        for (String text : List.of("a", "b", "c")) {
+            waiters.publish(ticketId, message(text));
+        }
+
+        assertEquals("a", received.poll(5, TimeUnit.SECONDS));
+        assertEquals("b", received.poll(5, TimeUnit.SECONDS));
+        assertEquals("c", received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void publish_shouldDropAListenerThatFallsTooFarBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch overflowed = new CountDownLatch(1);
+        waiters.subscribe(ticketId, message -> await(release), overflowed::countDown);
+
+        // one message is being written, three wait, the fifth is one too many
+        for (int i = 0; i < 5; i++) {
+            waiters.publish(ticketId, message("m" + i));
+        }
+
+        assertTrue(overflowed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, waiters.waiting(ticketId));
+        release.countDown();
+    }
+
+    private static TicketMessageDto message(String text) {
+        return TicketMessageDto.builder().messageId(UUID.randomUUID()).message(text).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
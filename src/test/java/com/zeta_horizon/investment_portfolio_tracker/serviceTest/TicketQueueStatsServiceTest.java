@@ -0,0 +1,90 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.cache.TicketQueueCounters;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketCountProjection;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketQueueStatsDto;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.service.implementation.TicketQueueStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketQueueStatsServiceTest {
+
+    @Mock
+    private SupportTicketRepository ticketRepository;
+
+    private TicketQueueCounters counters;
+    private TicketQueueStatsServiceImpl statsService;
+
+    @BeforeEach
+    void setup() {
+        counters = new TicketQueueCounters();
+        statsService = new TicketQueueStatsServiceImpl(ticketRepository, counters);
+    }
+
+    @Test
+    void reconcileCounters_shouldSeedFromGroupedCounts() {
+        when(ticketRepository.countByStatusAndPriority()).thenReturn(List.of(
+                row(TicketStatus.OPEN, Priority.HIGH, 4),
+                row(TicketStatus.CLOSED, Priority.LOW, 10)));
+
+        assertEquals(2, statsService.reconcileCounters());
+
+        TicketQueueStatsDto stats = statsService.getQueueStats();
+        assertEquals(4L, stats.getCounts().get(TicketStatus.OPEN).get(Priority.HIGH));
+        assertEquals(0L, stats.getCounts().get(TicketStatus.RESPONDED).get(Priority.MEDIUM));
+        assertEquals(10L, stats.getTotalsByStatus().get(TicketStatus.CLOSED));
+        assertEquals(14, stats.getTotal());
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    @Test
+    void counters_shouldFollowCreatesAndStatusChanges() {
+        counters.ticketCreated(TicketStatus.OPEN, Priority.MEDIUM);
+        counters.ticketCreated(TicketStatus.OPEN, Priority.MEDIUM);
+        counters.statusChanged(Priority.MEDIUM, TicketStatus.OPEN, TicketStatus.RESPONDED);
+        counters.statusChanged(Priority.MEDIUM, TicketStatus.RESPONDED, TicketStatus.RESPONDED);
+
+        assertEquals(1, counters.count(TicketStatus.OPEN, Priority.MEDIUM));
+        assertEquals(1, counters.count(TicketStatus.RESPONDED, Priority.MEDIUM));
+        assertEquals(2, statsService.getQueueStats().getTotal());
+    }
+
+    @Test
+    void reconcileCounters_shouldOnlyCorrectDriftSeenTwice() {
+        when(ticketRepository.countByStatusAndPriority()).thenReturn(List.of(row(TicketStatus.OPEN, Priority.LOW, 3)));
+        statsService.reconcileCounters();
+
+        // a commit that is in the database but whose counter update has not run yet
+        when(ticketRepository.countByStatusAndPriority()).thenReturn(List.of(row(TicketStatus.OPEN, Priority.LOW, 4)));
+        assertEquals(0, statsService.reconcileCounters());
+        counters.ticketCreated(TicketStatus.OPEN, Priority.LOW);
+        assertEquals(0, statsService.reconcileCounters());
+        assertEquals(4, counters.count(TicketStatus.OPEN, Priority.LOW));
+
+        // a row deleted outside the service stays off by one until the second check
+        when(ticketRepository.countByStatusAndPriority()).thenReturn(List.of(row(TicketStatus.OPEN, Priority.LOW, 3)));
+        assertEquals(0, statsService.reconcileCounters());
+        assertEquals(1, statsService.reconcileCounters());
+        assertEquals(3, counters.count(TicketStatus.OPEN, Priority.LOW));
+    }
+
+    private TicketCountProjection row(TicketStatus status, Priority priority, long total) {
+        return new TicketCountProjection() {
+            public TicketStatus getStatus() { return status; }
+            public Priority getPriority() { return priority; }
+            public Long getTotal() { return total; }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchHitDto;
+import com.zeta_horizon.investment_portfolio_tracker.dto.TicketSearchResultDto;
+import com.zeta_horizon.investment_portfolio_tracker.entity.SupportTicket;
+import com.zeta_horizon.investment_portfolio_tracker.entity.TicketMessage;
+import com.zeta_horizon.investment_portfolio_tracker.enums.Priority;
+import com.zeta_horizon.investment_portfolio_tracker.enums.TicketStatus;
+import com.zeta_horizon.investment_portfolio_tracker.repository.SupportTicketRepository;
+import com.zeta_horizon.investment_portfolio_tracker.search.InMemoryTicketSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketSearchIndexTest {
+
+    @Mock
+    private SupportTicketRepository ticketRepository;
+
+    private InMemoryTicketSearchIndex searchIndex;
+    private SupportTicket refundInSubject;
+    private SupportTicket refundInDescription;
+    private SupportTicket refundInMessage;
+
+    @BeforeEach
+    void setup() {
+        searchIndex = new InMemoryTicketSearchIndex(ticketRepository);
+        refundInSubject = ticket("Refund not received", "Payment went through last week but nothing came back");
+        refundInDescription = ticket("Payment question", "When will the refund for my SIP be processed?");
+        refundInMessage = ticket("Login issue", "Cannot log in from the mobile app");
+        refundInMessage.getMessages().add(message(refundInMessage, "Also waiting on the refund for order 42"));
+    }
+
+    @Test
+    void search_shouldRankSubjectAboveDescriptionAboveMessages() {
+        stubTickets(refundInSubject, refundInDescription, refundInMessage);
+        TicketSearchResultDto result = searchIndex.search("refunds", 0, 10);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(List.of(refundInSubject.getId(), refundInDescription.getId(), refundInMessage.getId()),
+                result.getHits().stream().map(TicketSearchHitDto::getTicketId).toList());
+        assertEquals("When will the <mark>refund</mark> for my SIP be processed?", result.getHits().get(1).getHighlight());
+        assertEquals("Also waiting on the <mark>refund</mark> for order 42", result.getHits().get(2).getHighlight());
+    }
+
+    @Test
+    void search_shouldRequireEveryTermInOneDocument() {
+        stubTickets(refundInSubject, refundInDescription, refundInMessage);
+        assertEquals(List.of(refundInSubject.getId()), ids(searchIndex.search("refund payment week", 0, 10)));
+        // 'login' is in the ticket, 'refund' only in a message: not one document
+        assertTrue(searchIndex.search("login refund", 0, 10).getHits().isEmpty());
+        assertTrue(searchIndex.search("the of", 0, 10).getHits().isEmpty());
+    }
+
+    @Test
+    void search_shouldPageRankedHits() {
+        stubTickets(refundInSubject, refundInDescription, refundInMessage);
+        TicketSearchResultDto first = searchIndex.search("refund", 0, 2);
+        TicketSearchResultDto second = searchIndex.search("refund", 1, 2);
+
+        assertEquals(2, first.getHits().size());
+        assertTrue(first.getHasNext());
+        assertEquals(List.of(refundInMessage.getId()), ids(second));
+        assertFalse(second.getHasNext());
+        verify(ticketRepository, times(1)).findAll();
+    }
+
+    @Test
+    void index_shouldReplacePreviousTextOfTicket() {
+        stubTickets(refundInSubject, refundInDescription, refundInMessage);
+        searchIndex.search("refund", 0, 10);
+
+        refundInMessage.getMessages().add(message(refundInMessage, "Password reset link expired"));
+        refundInMessage.setStatus(TicketStatus.RESPONDED);
+        searchIndex.index(refundInMessage);
+        refundInSubject.setSubject("Statement missing");
+        searchIndex.index(refundInSubject);
+
+        TicketSearchResultDto password = searchIndex.search("password expired", 0, 10);
+        assertEquals(List.of(refundInMessage.getId()), ids(password));
+        assertEquals(TicketStatus.RESPONDED, password.getHits().get(0).getStatus());
+        assertEquals(2, searchIndex.search("refund", 0, 10).getTotalElements());
+    }
+
+    @Test
+    void reindex_shouldDropTicketsNoLongerInTheTable() {
+        stubTickets(refundInSubject, refundInDescription, refundInMessage);
+        searchIndex.search("refund", 0, 10);
+        when(ticketRepository.findByIdIn(List.of(refundInSubject.getId(), refundInMessage.getId())))
+                .thenReturn(List.of(refundInMessage));
+
+        searchIndex.reindex(List.of(refundInSubject.getId(), refundInMessage.getId()));
+
+        assertEquals(List.of(refundInDescription.getId(), refundInMessage.getId()),
+                ids(searchIndex.search("refund", 0, 10)));
+    }
+
+    @Test
+    void highlight_shouldCutLongTextAroundFirstMatch() {
+        SupportTicket longTicket = ticket("Statement", "word ".repeat(200) + "the dividend was credited twice " + "word ".repeat(200));
+        stubTickets(longTicket);
+
+        String highlight = searchIndex.search("dividend", 0, 10).getHits().get(0).getHighlight();
+
+        assertTrue(highlight.startsWith("...word"));
+        assertTrue(highlight.endsWith("..."));
+        assertTrue(highlight.contains("the <mark>dividend</mark> was credited twice"));
+        assertTrue(highlight.length() < 220);
+    }
+
+    @Test
+    void highlight_shouldEscapeMarkupInTicketText() {
+        refundInMessage.getMessages().add(message(refundInMessage,
+                "<img src=x onerror=alert(1)> dividend <script>steal()</script> & \"more\""));
+        stubTickets(refundInMessage);
+
+        String highlight = searchIndex.search("dividend", 0, 10).getHits().get(0).getHighlight();
+
+        assertEquals("&lt;img src=x onerror=alert(1)&gt; <mark>dividend</mark> "
+                + "&lt;script&gt;steal()&lt;/script&gt; &amp; &quot;more&quot;", highlight);
+    }
+
+    private void stubTickets(SupportTicket... tickets) {
+        when(ticketRepository.findAll()).thenReturn(List.of(tickets));
+    }
+
+    private List<UUID> ids(TicketSearchResultDto result) {
+        return result.getHits().stream().map(TicketSearchHitDto::getTicketId).toList();
+    }
+
+    private SupportTicket ticket(String subject, String description) {
+        return SupportTicket.builder()
+                .id(UUID.randomUUID())
+                .subject(subject)
+                .description(description)
+                .status(TicketStatus.OPEN)
+                .priority(Priority.MEDIUM)
+                .messages(new ArrayList<>())
+                .build();
+    }
+
+    private TicketMessage message(SupportTicket ticket, String text) {
+        return TicketMessage.builder().id(UUID.randomUUID()).supportTicket(ticket).message(text).build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.zeta_horizon.investment_portfolio_tracker.serviceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zeta_horizon.investment_portfolio_tracker.cache.InMemorySharedCacheStore;
+import com.zeta_horizon.investment_portfolio_tracker.cache.TwoTierCache;
+import com.zeta_horizon.investment_portfolio_tracker.dto.PortfolioPerformanceDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Several caches on one in-memory store stand in for application instances on one
+ * Redis. The store can hold back published messages and deliver them in any order.
+ */
+class TwoTierCacheTest {
+
+    private static final String KEY = "portfolio-performance:user";
+    private static final List<String> TAGS = List.of("portfolio:user", "products");
+
+    private final HeldMessagesStore store = new HeldMessagesStore();
+    private final TwoTierCache first = instance();
+    private final TwoTierCache second = instance();
+
+    @Test
+    void anotherInstanceIsServedFromTheSharedTier() {
+        PortfolioPerformanceDto computed = performance("1250.50");
+        first.get(KEY, TAGS, PortfolioPerformanceDto.class, () -> computed);
+
+        PortfolioPerformanceDto shared = second.get(KEY, TAGS, PortfolioPerformanceDto.class, notCalled());
+
+        assertEquals(computed, shared);
+    }
+
+    @Test
+    void invalidationOnOneInstanceReachesTheOthers() {
+        first.get(KEY, TAGS, PortfolioPerformanceDto.class, () -> performance("100.00"));
+        second.get(KEY, TAGS, PortfolioPerformanceDto.class, notCalled());
+
+        second.invalidate("products");
+
+        assertEquals(new BigDecimal("200.00"), first.get(KEY, TAGS, PortfolioPerformanceDto.class,
+                () -> performance("200.00")).getCurrentValue());
+        assertEquals(new BigDecimal("200.00"), second.get(KEY, TAGS, PortfolioPerformanceDto.class,
+                notCalled()).getCurrentValue());
+    }
+
+    @Test
+    void lateInvalidationDoesNotBringBackAnOlderValue() {
+        store.holdMessages();
+        second.invalidate("portfolio:user");
+        first.get(KEY, TAGS, PortfolioPerformanceDto.class, () -> performance("100.00"));
+        second.invalidate("portfolio:user");
+
+        // the second invalidation overtakes the first
+        store.deliverInReverse();
+
+        AtomicInteger loads = new AtomicInteger();
+        PortfolioPerformanceDto current = first.get(KEY, TAGS, PortfolioPerformanceDto.class, () -> {
+            loads.incrementAndGet();
+            return performance("300.00");
+        });
+        assertEquals(1, loads.get());
+        assertEquals(new BigDecimal("300.00"), current.getCurrentValue());
+        assertEquals(current, first.get(KEY, TAGS, PortfolioPerformanceDto.class, notCalled()));
+    }
+
+    @Test
+    void valueComputedWhileAWriteCommitsIsNotServedAfterIt() {
+        first.get(KEY, TAGS, PortfolioPerformanceDto.class, () -> {
+            // committed while the old ledger is being read
+            second.invalidate("portfolio:user");
+            return performance("100.00");
+        });
+
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<PortfolioPerformanceDto> loader = () -> {
+            loads.incrementAndGet();
+            return performance("150.00");
+        };
+        assertEquals(new BigDecimal("150.00"),
+                instance().get(KEY, TAGS, PortfolioPerformanceDto.class, loader).getCurrentValue());
+        // the reload replaced the shared copy, so the first instance takes it from there
+        assertEquals(new BigDecimal("150.00"),
+                first.get(KEY, TAGS, PortfolioPerformanceDto.class, loader).getCurrentValue());
+        assertEquals(1, loads.get());
+    }
+
+    private TwoTierCache instance() {
+        return new TwoTierCache(store, new ObjectMapper().findAndRegisterModules(), 100, 60_000, 600_000);
+    }
+
+    private static PortfolioPerformanceDto performance(String currentValue) {
+        return PortfolioPerformanceDto.builder()
+                .currentValue(new BigDecimal(currentValue))
+                .xirrPercentage(new BigDecimal("7.25"))
+                .holdings(List.of())
+                .calculatedAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .build();
+    }
+
+    private static <V> Supplier<V> notCalled() {
+        return () -> fail("expected a cached value");
+    }
+
+    private static class HeldMessagesStore extends InMemorySharedCacheStore {
+
+        private final List<String> held = new ArrayList<>();
+        private boolean holding;
+
+        HeldMessagesStore() {
+            super(100);
+        }
+
+        void holdMessages() {
+            holding = true;
+        }
+
+        void deliverInReverse() {
+            holding = false;
+            Collections.reverse(held);
+            held.forEach(super::publish);
+            held.clear();
+        }
+
+        @Override
+        public void publish(String message) {
+            if (holding) {
+                held.add(message);
+            } else {
+                super.publish(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.zeta_horizon.investment_portfolio_tracker.testutil;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so a test
+ * can pin the number of queries a block of work issues and an N+1 shows up as a
+ * failing count. Registered for every test through
+ * {@code hibernate.session_factory.statement_inspector} in application-test.properties.
+ *
+ * Statements sent through JdbcTemplate bypass Hibernate and are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Runs the work and returns the statements it prepared, in order.
+     */
+    public static List<String> record(Runnable work) {
+        List<String> previous = STATEMENTS.get();
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            work.run();
+        } finally {
+            STATEMENTS.set(previous);
+        }
+        return statements;
+    }
+
+    /**
+     * Runs the work and fails, listing the statements, unless it prepared exactly {@code expected}.
+     */
+    public static <T> T assertStatements(int expected, Supplier<T> work) {
+        List<T> result = new ArrayList<>(1);
+        List<String> statements = record(() -> result.add(work.get()));
+        assertEquals(expected, statements.size(),
+                () -> "Expected " + expected + " statements but got " + statements.size() + ":\n  "
+                        + String.join("\n  ", statements));
+        return result.get(0);
+    }
+
+    public static void assertStatements(int expected, Runnable work) {
+        assertStatements(expected, () -> {
+            work.run();
+            return null;
+        });
+    }
+}